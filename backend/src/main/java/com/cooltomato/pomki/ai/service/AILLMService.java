@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 public class AILLMService {
 
     private final RestTemplate geminiRestTemplate;
+    private final LlmResponseCache llmResponseCache;
 
     @Value("${gemini.api.key}")
     private String geminiApiKey;
@@ -41,6 +42,13 @@ public class AILLMService {
     @Value("${gemini.api.temperature}")
     private Double temperature;
 
+    /**
+     * 같은 모델/파라미터/프롬프트의 응답은 기능별 TTL 동안 캐시에서 돌려주고, 동시 요청은 한 번의 호출로 묶는다.
+     */
+    public String generateContent(LlmResponseCache.Feature feature, String promptText) {
+        return llmResponseCache.getOrGenerate(feature, () -> generateContent(promptText),
+                geminiModel, maxOutputTokens, temperature, promptText);
+    }
 
     public String generateContent(String promptText) {
         String geminiURL = String.format("%s/%s:generateContent?key=%s", geminiApiBaseUrl, geminiModel, geminiApiKey);
@@ -27,7 +27,12 @@ public class AIService {
     private final MemberRepository memberRepository;
     private final MemberAiHistoryService memberAiHistoryService;
     private final GoogleGeminiService googleGeminiService;
+    private final LlmResponseCache llmResponseCache;
     private final RestTemplate restTemplate = new RestTemplate();
+
+    private static final String POLISH_SYSTEM_PROMPT = "당신은 학습 노트를 정리하고 개선하는 전문가입니다. 사용자의 요청에 따라 노트를 요약, 확장, 개념 정리, 문법 교정 등을 수행합니다.";
+    private static final int MAX_TOKENS = 2000;
+    private static final double TEMPERATURE = 0.3;
     
     @Value("${ai.openai.api-key:}")
     private String openaiApiKey;
@@ -47,7 +52,9 @@ public class AIService {
         
         try {
             String prompt = buildPolishPrompt(rawContent, style);
-            return callOpenAI(prompt);
+            // 같은 노트를 같은 스타일로 다시 다듬는 요청은 캐시된 응답을 사용
+            return llmResponseCache.getOrGenerate(LlmResponseCache.Feature.NOTE_POLISH, () -> callOpenAI(prompt),
+                    openaiModel, MAX_TOKENS, TEMPERATURE, POLISH_SYSTEM_PROMPT, prompt);
         } catch (Exception e) {
             log.error("AI note polishing failed: {}", e.getMessage());
             return rawContent; // 실패 시 원본 반환 (안전한 fallback)
@@ -111,11 +118,11 @@ public class AIService {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", openaiModel);
         requestBody.put("messages", new Object[]{
-            Map.of("role", "system", "content", "당신은 학습 노트를 정리하고 개선하는 전문가입니다. 사용자의 요청에 따라 노트를 요약, 확장, 개념 정리, 문법 교정 등을 수행합니다."),
+            Map.of("role", "system", "content", POLISH_SYSTEM_PROMPT),
             Map.of("role", "user", "content", prompt)
         });
-        requestBody.put("max_tokens", 2000);
-        requestBody.put("temperature", 0.3);
+        requestBody.put("max_tokens", MAX_TOKENS);
+        requestBody.put("temperature", TEMPERATURE);
         
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
         
@@ -133,8 +140,9 @@ public class AIService {
                 }
             }
             
+            // 예외로 처리해야 캐시에 저장되지 않고 호출부의 fallback 으로 넘어간다
             log.warn("OpenAI API returned unexpected format");
-            return "AI 응답 형식이 예상과 다릅니다.";
+            throw new IllegalStateException("AI 응답 형식이 예상과 다릅니다.");
             
         } catch (Exception e) {
             log.error("OpenAI API call failed: {}", e.getMessage());
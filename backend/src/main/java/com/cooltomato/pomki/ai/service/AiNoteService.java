@@ -6,14 +6,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
 
-import java.io.File;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,11 +17,10 @@ public class AiNoteService {
 
     private final AILLMService aillmService;
     private final ObjectMapper objectMapper;
+    private final PromptTemplateRegistry promptTemplateRegistry;
 
     public NoteEnhancementResponseDto enhanceNote(NoteEnhancementRequestDto requestDto) {
         try {
-            String promptTemplate = loadPrompt("prompts/NoteEnhancementDetailed.txt");
-
             String title = requestDto.getNoteTitle() != null ? requestDto.getNoteTitle() : "";
             String content = requestDto.getNoteContent();
 
@@ -34,11 +28,10 @@ public class AiNoteService {
                 throw new IllegalArgumentException("노트 내용이 비어있습니다.");
             }
 
-            String prompt = promptTemplate
-                    .replace("{noteTitle}", title)
-                    .replace("{noteContent}", content);
+            String prompt = promptTemplateRegistry.render("NoteEnhancementDetailed",
+                    Map.of("noteTitle", title, "noteContent", content));
 
-            String jsonResponse = aillmService.generateContent(prompt);
+            String jsonResponse = aillmService.generateContent(LlmResponseCache.Feature.NOTE_ENHANCEMENT, prompt);
 
             jsonResponse = jsonResponse.replace("```json", "").replace("```", "").trim();
 
@@ -49,16 +42,4 @@ public class AiNoteService {
             throw new RuntimeException("AI 노트를 강화하는 데 실패했습니다.", e);
         }
     }
-
-    private String loadPrompt(String path) {
-        try {
-            ClassPathResource resource = new ClassPathResource(path);
-            try (InputStream inputStream = resource.getInputStream()) {
-                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            }
-        } catch (Exception e) {
-            log.error("프롬프트 파일을 불러오는 데 실패했습니다: {}", path, e);
-            throw new RuntimeException("필요한 프롬프트 파일을 불러올 수 없습니다.", e);
-        }
-    }
 } 
\ No newline at end of file
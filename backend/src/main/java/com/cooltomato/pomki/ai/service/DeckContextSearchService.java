@@ -13,16 +13,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
 
-import java.io.File;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +29,7 @@ public class DeckContextSearchService {
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
     private final ObjectMapper objectMapper;
+    private final PromptTemplateRegistry promptTemplateRegistry;
 
     /**
      * 덱 내 카드들을 컨텍스트로 하여 AI 기반 질문 답변
@@ -55,23 +51,20 @@ public class DeckContextSearchService {
                 );
             }
 
-            // 프롬프트 템플릿 로드
-            String promptTemplate = loadPrompt("prompts/DeckContextSearch.txt");
-
             // 카드 내용을 컨텍스트로 구성
             String cardContents = buildCardContents(cards);
 
             // 프롬프트 생성
-            String prompt = promptTemplate
-                    .replace("{deckName}", deck.getDeckName())
-                    .replace("{cardCount}", String.valueOf(cards.size()))
-                    .replace("{cardContents}", cardContents)
-                    .replace("{userQuestion}", requestDto.getQuestion());
+            String prompt = promptTemplateRegistry.render("DeckContextSearch", Map.of(
+                    "deckName", deck.getDeckName(),
+                    "cardCount", cards.size(),
+                    "cardContents", cardContents,
+                    "userQuestion", requestDto.getQuestion()));
 
             log.info("AI 덱 컨텍스트 검색 요청 - 덱 ID: {}, 카드 수: {}", requestDto.getDeckId(), cards.size());
 
             // AI 호출
-            String jsonResponse = aillmService.generateContent(prompt);
+            String jsonResponse = aillmService.generateContent(LlmResponseCache.Feature.DECK_CONTEXT_SEARCH, prompt);
             jsonResponse = cleanJsonResponse(jsonResponse);
 
             // JSON 응답 파싱
@@ -195,18 +188,6 @@ public class DeckContextSearchService {
         return suggestions;
     }
 
-    private String loadPrompt(String path) {
-        try {
-            ClassPathResource resource = new ClassPathResource(path);
-            try (InputStream inputStream = resource.getInputStream()) {
-                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            }
-        } catch (Exception e) {
-            log.error("프롬프트 파일을 불러오는 데 실패했습니다: {}", path, e);
-            throw new RuntimeException("필요한 프롬프트 파일을 불러올 수 없습니다.", e);
-        }
-    }
-
     private String cleanJsonResponse(String jsonResponse) {
         return jsonResponse.replace("```json", "").replace("```", "").trim();
     }
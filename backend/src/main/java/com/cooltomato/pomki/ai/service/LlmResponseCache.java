@@ -0,0 +1,190 @@
+package com.cooltomato.pomki.ai.service;
+
+import com.cooltomato.pomki.global.cache.BoundedCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 모델/파라미터/렌더링된 프롬프트의 해시를 키로 LLM 응답을 저장하는 캐시
+ * - L1: 서버별 크기 제한 LRU (TTL은 기능별 TTL과 local-ttl-seconds 중 짧은 쪽)
+ * - L2: Redis, 기능별 TTL (pomki.ai.cache.ttl-seconds.<기능>, 0이면 해당 기능은 캐시하지 않음)
+ * - 같은 키의 동시 요청은 single-flight 로 묶어 서버당 업스트림 호출이 하나만 나가게 한다.
+ *   대기는 wait-timeout-seconds 까지만 하고, 넘기면 직접 호출한다.
+ * - 퀴즈 생성처럼 같은 입력에도 매번 다른 결과를 기대하는 기능은 기본 TTL을 0으로 두어 캐시하지 않는다.
+ * 키가 입력 내용 자체의 해시이므로 무효화는 필요 없고, 호출 실패와 JSON을 기대하는 기능의 깨진(잘린) 응답은 캐시하지 않는다.
+ * Redis 장애 시에는 캐시 없이 바로 호출한다. 기본 RedisTemplate은 DB 트랜잭션에 묶이므로 StringRedisTemplate을 사용한다.
+ */
+@Component
+@Slf4j
+public class LlmResponseCache {
+
+    private static final String KEY_PREFIX = "llm:response:";
+
+    public enum Feature {
+        TAG_RECOMMENDATION("tag-recommendation", Duration.ofDays(7), true),
+        NOTE_ENHANCEMENT("note-enhancement", Duration.ofDays(1), true),
+        NOTE_POLISH("note-polish", Duration.ofDays(1), false),
+        QUIZ_GENERATION("quiz-generation", Duration.ZERO, true),
+        DECK_CONTEXT_SEARCH("deck-context-search", Duration.ofHours(1), true);
+
+        private final String key;
+        private final Duration defaultTtl;
+        private final boolean jsonResponse;
+
+        Feature(String key, Duration defaultTtl, boolean jsonResponse) {
+            this.key = key;
+            this.defaultTtl = defaultTtl;
+            this.jsonResponse = jsonResponse;
+        }
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<Feature, Duration> ttls = new EnumMap<>(Feature.class);
+    private final BoundedCache<String, String> localCache;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutMillis;
+
+    public LlmResponseCache(StringRedisTemplate stringRedisTemplate,
+                            Environment environment,
+                            @Value("${pomki.ai.cache.local-size:500}") int localSize,
+                            @Value("${pomki.ai.cache.local-ttl-seconds:600}") long localTtlSeconds,
+                            @Value("${pomki.ai.cache.wait-timeout-seconds:60}") long waitTimeoutSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        for (Feature feature : Feature.values()) {
+            Long ttlSeconds = environment.getProperty("pomki.ai.cache.ttl-seconds." + feature.key, Long.class);
+            ttls.put(feature, ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : feature.defaultTtl);
+        }
+        this.localCache = new BoundedCache<>(localSize, Duration.ofSeconds(localTtlSeconds));
+        this.waitTimeoutMillis = waitTimeoutSeconds * 1000;
+    }
+
+    /**
+     * 캐시된 응답을 돌려주고, 없으면 loader 로 한 번만 호출해 저장한다.
+     * keyParts 에는 모델명, 생성 파라미터, 렌더링된 프롬프트처럼 응답을 결정하는 값을 모두 넘긴다.
+     */
+    public String getOrGenerate(Feature feature, Supplier<String> loader, Object... keyParts) {
+        Duration ttl = ttls.get(feature);
+        if (ttl.isZero() || ttl.isNegative()) {
+            return loader.get();
+        }
+        String key = KEY_PREFIX + feature.key + ":" + hash(keyParts);
+
+        String cached = localCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<String> flight = new CompletableFuture<>();
+        CompletableFuture<String> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            String response = await(leader, key);
+            return response != null ? response : loader.get();
+        }
+
+        try {
+            String response = getRemote(key);
+            if (response == null) {
+                response = loader.get();
+                if (!isCacheable(feature, response)) {
+                    flight.complete(response);
+                    return response;
+                }
+                putRemote(key, response, ttl);
+            }
+            localCache.put(key, response, ttl);
+            flight.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Error 로 끝나도 대기 중인 요청이 계속 기다리지 않도록 모든 실패를 전달
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // 선행 호출의 응답, 제한 시간 안에 끝나지 않으면 null (호출한 쪽이 직접 호출)
+    private String await(CompletableFuture<String> leader, String key) {
+        try {
+            return leader.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("선행 LLM 호출 대기 시간 초과, 직접 호출합니다: {}", key);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("LLM 응답을 기다리는 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            // 대기하던 요청도 선행 호출과 같은 예외로 실패시킨다 (실패는 캐시하지 않으므로 다음 요청은 다시 호출)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // max-tokens 에 걸려 잘린 JSON 이 TTL 동안 계속 파싱 실패를 내지 않도록 코드 블록을 벗긴 본문의 양끝만 확인한다
+    private static boolean isCacheable(Feature feature, String response) {
+        if (response == null) {
+            return false;
+        }
+        if (!feature.jsonResponse) {
+            return true;
+        }
+        String body = response.replace("```json", "").replace("```", "").trim();
+        return (body.startsWith("{") && body.endsWith("}")) || (body.startsWith("[") && body.endsWith("]"));
+    }
+
+    private String getRemote(String key) {
+        try {
+            return stringRedisTemplate.opsForValue().get(key);
+        } catch (DataAccessException e) {
+            log.warn("LLM 응답 캐시 조회 실패, 캐시 없이 호출합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, String response, Duration ttl) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, response, ttl);
+        } catch (DataAccessException e) {
+            log.warn("LLM 응답 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String hash(Object... keyParts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : keyParts) {
+                byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+                // 구분자 대신 길이를 먼저 넣어 ("ab","c")와 ("a","bc")가 같은 키가 되지 않게 한다
+                digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
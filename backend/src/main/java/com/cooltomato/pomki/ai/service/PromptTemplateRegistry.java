@@ -0,0 +1,216 @@
+package com.cooltomato.pomki.ai.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * resources/prompts 의 프롬프트 템플릿을 기동 시 한 번만 읽어 리터럴/변수 조각 목록으로 파싱해 두는 레지스트리
+ * - 렌더링은 리터럴 길이 + 변수 값 길이로 미리 크기를 잡은 StringBuilder 하나에 이어 붙인다.
+ *   (String.replace 체인처럼 변수마다 프롬프트 전체를 다시 훑고 복사하지 않음)
+ * - 변수는 {name} 과 {{name}} 을 모두 인식하며, 넘기지 않은 변수와 JSON 예시의 중괄호는 원문 그대로 둔다.
+ * - 이름이 v숫자로 끝나는 파일(NotePolishingv1..v3)은 버전 템플릿으로 보고, 기본 이름으로 조회하면 최신 버전을 쓴다.
+ * - pomki.ai.prompt.watch-dir 을 지정하면(개발용) 해당 디렉터리의 템플릿이 classpath 것을 덮어쓰고, 파일이 바뀌면 다시 파싱한다.
+ */
+@Component
+@Slf4j
+public class PromptTemplateRegistry {
+
+    private static final String CLASSPATH_PATTERN = "classpath*:prompts/*.txt";
+    private static final String EXTENSION = ".txt";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([A-Za-z_][A-Za-z0-9_]*)}}|\\{([A-Za-z_][A-Za-z0-9_]*)}");
+    private static final Pattern VERSIONED_NAME = Pattern.compile("(.+)v(\\d+)");
+
+    // 파일명(확장자 제외) -> 템플릿, 기본 이름 -> 최신 버전 템플릿
+    private final Map<String, PromptTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, PromptTemplate> latestVersions = new ConcurrentHashMap<>();
+
+    @Value("${pomki.ai.prompt.watch-dir:}")
+    private String watchDir;
+
+    private WatchService watchService;
+    private Thread watchThread;
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(CLASSPATH_PATTERN)) {
+            String fileName = resource.getFilename();
+            if (fileName == null) {
+                continue;
+            }
+            try (InputStream inputStream = resource.getInputStream()) {
+                register(templateName(fileName), new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        if (!watchDir.isBlank()) {
+            Path dir = Path.of(watchDir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    reload(file);
+                }
+            }
+            startWatching(dir);
+        }
+        log.info("프롬프트 템플릿 {}개 로드 완료", templates.size());
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 템플릿을 렌더링한다. name 은 파일명(QuizGenerationv2) 또는 버전 템플릿의 기본 이름(NotePolishing → 최신 버전)
+     */
+    public String render(String name, Map<String, ?> variables) {
+        PromptTemplate template = templates.get(name);
+        if (template == null) {
+            template = latestVersions.get(name);
+        }
+        if (template == null) {
+            log.error("프롬프트 템플릿을 찾을 수 없습니다: {}", name);
+            throw new IllegalStateException("필요한 프롬프트 파일을 불러올 수 없습니다.");
+        }
+        return template.render(variables);
+    }
+
+    /**
+     * 버전 템플릿을 지정한 버전으로 렌더링한다. (예: render("NotePolishing", 2, ...) → NotePolishingv2)
+     */
+    public String render(String name, int version, Map<String, ?> variables) {
+        return render(name + "v" + version, variables);
+    }
+
+    // 파일명(확장자 제외)으로 템플릿을 등록한다 (테스트에서 classpath 없이 등록할 수 있도록 package-private)
+    void register(String name, String source) {
+        PromptTemplate template = PromptTemplate.parse(source);
+        templates.put(name, template);
+
+        Matcher matcher = VERSIONED_NAME.matcher(name);
+        if (matcher.matches()) {
+            String baseName = matcher.group(1);
+            int version = Integer.parseInt(matcher.group(2));
+            latestVersions.merge(baseName, template.withVersion(version),
+                    (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        }
+    }
+
+    private void reload(Path file) {
+        try {
+            register(templateName(file.getFileName().toString()), Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // 편집 도중의 일시적인 읽기 실패는 이전 템플릿을 유지하고 다음 변경 이벤트를 기다린다
+            log.warn("프롬프트 템플릿 다시 읽기 실패: {}", file, e);
+        }
+    }
+
+    private void startWatching(Path dir) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watchThread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path changed && changed.toString().endsWith(EXTENSION)) {
+                            reload(dir.resolve(changed));
+                            log.info("프롬프트 템플릿 다시 로드: {}", changed);
+                        }
+                    }
+                    if (!key.reset()) {
+                        log.warn("프롬프트 감시 디렉터리를 더 이상 감시할 수 없습니다: {}", dir);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ClosedWatchServiceException e) {
+                // 종료 시 stopWatching 에서 닫은 경우
+            }
+        }, "prompt-template-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        log.info("프롬프트 템플릿 디렉터리 감시 시작: {}", dir);
+    }
+
+    private static String templateName(String fileName) {
+        return fileName.endsWith(EXTENSION) ? fileName.substring(0, fileName.length() - EXTENSION.length()) : fileName;
+    }
+
+    /**
+     * 파싱된 템플릿. segments 의 짝수 칸은 리터럴, 홀수 칸은 변수 이름이고 rawPlaceholders 는 변수 자리의 원문이다.
+     */
+    private record PromptTemplate(String[] segments, String[] rawPlaceholders, int literalLength, int version) {
+
+        static PromptTemplate parse(String source) {
+            List<String> segments = new ArrayList<>();
+            List<String> rawPlaceholders = new ArrayList<>();
+            int literalLength = 0;
+            int last = 0;
+
+            Matcher matcher = PLACEHOLDER.matcher(source);
+            while (matcher.find()) {
+                String literal = source.substring(last, matcher.start());
+                segments.add(literal);
+                literalLength += literal.length();
+                segments.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+                rawPlaceholders.add(matcher.group());
+                last = matcher.end();
+            }
+            String tail = source.substring(last);
+            segments.add(tail);
+            literalLength += tail.length();
+
+            return new PromptTemplate(segments.toArray(String[]::new), rawPlaceholders.toArray(String[]::new),
+                    literalLength, 0);
+        }
+
+        PromptTemplate withVersion(int version) {
+            return new PromptTemplate(segments, rawPlaceholders, literalLength, version);
+        }
+
+        String render(Map<String, ?> variables) {
+            int capacity = literalLength;
+            for (int i = 1; i < segments.length; i += 2) {
+                Object value = variables.get(segments[i]);
+                capacity += value != null ? value.toString().length() : rawPlaceholders[i / 2].length();
+            }
+
+            StringBuilder prompt = new StringBuilder(capacity);
+            prompt.append(segments[0]);
+            for (int i = 1; i < segments.length; i += 2) {
+                Object value = variables.get(segments[i]);
+                prompt.append(value != null ? value.toString() : rawPlaceholders[i / 2]);
+                prompt.append(segments[i + 1]);
+            }
+            return prompt.toString();
+        }
+    }
+}
@@ -9,16 +9,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
 
-import java.io.File;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +23,7 @@ public class TagRecommendationService {
     private final AILLMService aillmService;
     private final CardRepository cardRepository;
     private final ObjectMapper objectMapper;
+    private final PromptTemplateRegistry promptTemplateRegistry;
 
     /**
      * 카드 내용을 기반으로 AI 태그 추천
@@ -38,18 +34,14 @@ public class TagRecommendationService {
             Card card = cardRepository.findById(requestDto.getCardId())
                     .orElseThrow(() -> new IllegalArgumentException("해당 카드를 찾을 수 없습니다."));
 
-            // 프롬프트 템플릿 로드
-            String promptTemplate = loadPrompt("prompts/TagRecommendation.txt");
-
             // 프롬프트 생성
-            String prompt = promptTemplate
-                    .replace("{cardContent}", requestDto.getCardContent())
-                    .replace("{cardAnswer}", requestDto.getCardAnswer());
+            String prompt = promptTemplateRegistry.render("TagRecommendation",
+                    Map.of("cardContent", requestDto.getCardContent(), "cardAnswer", requestDto.getCardAnswer()));
 
             log.info("AI 태그 추천 요청 - 카드 ID: {}", requestDto.getCardId());
 
             // AI 호출
-            String jsonResponse = aillmService.generateContent(prompt);
+            String jsonResponse = aillmService.generateContent(LlmResponseCache.Feature.TAG_RECOMMENDATION, prompt);
 
             // JSON 응답 파싱
             jsonResponse = cleanJsonResponse(jsonResponse);
@@ -107,18 +99,6 @@ public class TagRecommendationService {
         }
     }
 
-    private String loadPrompt(String path) {
-        try {
-            ClassPathResource resource = new ClassPathResource(path);
-            try (InputStream inputStream = resource.getInputStream()) {
-                return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            }
-        } catch (Exception e) {
-            log.error("프롬프트 파일을 불러오는 데 실패했습니다: {}", path, e);
-            throw new RuntimeException("필요한 프롬프트 파일을 불러올 수 없습니다.", e);
-        }
-    }
-
     private String cleanJsonResponse(String jsonResponse) {
         // AI 응답에서 마크다운 코드 블록 제거
         return jsonResponse.replace("```json", "").replace("```", "").trim();
@@ -3,16 +3,26 @@ package com.cooltomato.pomki.bookmark.repository;
 import com.cooltomato.pomki.bookmark.entity.Bookmark;
 import com.cooltomato.pomki.bookmark.entity.BookmarkId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookmarkRepository extends JpaRepository<Bookmark, BookmarkId> {
     List<Bookmark> findByMemberMemberId(Long memberId);
+    // 노트 목록의 북마크 여부 표시용 (노트 엔티티를 읽지 않고 ID만 조회)
+    @Query("SELECT b.note.noteId FROM Bookmark b WHERE b.member.memberId = :memberId")
+    List<String> findNoteIdsByMemberId(@Param("memberId") Long memberId);
+    @Query("SELECT b.note.noteId FROM Bookmark b WHERE b.member.memberId = :memberId AND b.note.noteId IN :noteIds")
+    List<String> findNoteIdsByMemberIdAndNoteIdIn(@Param("memberId") Long memberId, @Param("noteIds") Collection<String> noteIds);
     List<Bookmark> findByNoteNoteId(String noteId);
     Optional<Bookmark> findByMemberMemberIdAndNoteNoteId(Long memberId, String noteId);
     boolean existsByMemberMemberIdAndNoteNoteId(Long memberId, String noteId);
     void deleteByMemberMemberIdAndNoteNoteId(Long memberId, String noteId);
-} 
\ No newline at end of file
+    List<Bookmark> findByMemberMemberIdAndCreatedAtAfter(Long memberId, LocalDateTime since);
+}
@@ -3,8 +3,12 @@ package com.cooltomato.pomki.bookmark.repository;
 import com.cooltomato.pomki.bookmark.entity.CardBookmark;
 import com.cooltomato.pomki.bookmark.entity.CardBookmarkId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +22,14 @@ public interface CardBookmarkRepository extends JpaRepository<CardBookmark, Card
     boolean existsByCardCardId(Long cardId);
     void deleteAllByCardCardIdIn(List<Long> cardIds);
     void deleteByCardCardIdAndMemberMemberId(Long cardId, Long memberId);
-} 
\ No newline at end of file
+
+    @Modifying
+    @Query("DELETE FROM CardBookmark cb WHERE cb.card.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId AND c.isDeleted = false)")
+    int deleteByDeckId(@Param("deckId") String deckId);
+
+    // 덱 삭제 시 동기화 삭제 기록을 남길 북마크 대상 (deleteByDeckId와 같은 범위)
+    @Query("SELECT cb.card.cardId FROM CardBookmark cb WHERE cb.member.memberId = :memberId AND cb.card.deck.deckId = :deckId AND cb.card.isDeleted = false")
+    List<Long> findLiveCardIdsByMemberIdAndDeckId(@Param("memberId") Long memberId, @Param("deckId") String deckId);
+
+    List<CardBookmark> findByMemberMemberIdAndCreatedAtAfter(Long memberId, LocalDateTime since);
+}
@@ -10,6 +10,8 @@ import com.cooltomato.pomki.member.entity.Member;
 import com.cooltomato.pomki.member.repository.MemberRepository;
 import com.cooltomato.pomki.note.entity.Note;
 import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+import com.cooltomato.pomki.sync.service.SyncService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +28,7 @@ public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final MemberRepository memberRepository;
     private final NoteRepository noteRepository;
+    private final SyncService syncService;
 
     @Transactional
     public void addBookmark(Long memberId, String noteId) {
@@ -54,6 +57,7 @@ public class BookmarkService {
     @Transactional
     public void removeBookmark(Long memberId, String noteId) {
         bookmarkRepository.deleteByMemberMemberIdAndNoteNoteId(memberId, noteId);
+        syncService.recordDeletion(memberId, SyncEntityType.NOTE_BOOKMARK, noteId);
     }
 
     public List<BookmarkDto> getBookmarks(Long memberId) {
@@ -9,6 +9,8 @@ import com.cooltomato.pomki.global.exception.AlreadyBookmarkedException;
 import com.cooltomato.pomki.global.exception.NotFoundException;
 import com.cooltomato.pomki.member.entity.Member;
 import com.cooltomato.pomki.member.repository.MemberRepository;
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+import com.cooltomato.pomki.sync.service.SyncService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,7 @@ public class CardBookmarkService {
     private final CardBookmarkRepository cardBookmarkRepository;
     private final MemberRepository memberRepository;
     private final CardRepository cardRepository;
+    private final SyncService syncService;
 
     @Transactional
     public void addCardBookmark(Long memberId, Long cardId) {
@@ -49,6 +52,7 @@ public class CardBookmarkService {
     @Transactional
     public void removeCardBookmark(Long memberId, Long cardId) {
         cardBookmarkRepository.deleteByMemberMemberIdAndCardCardId(memberId, cardId);
+        syncService.recordDeletion(memberId, SyncEntityType.CARD_BOOKMARK, String.valueOf(cardId));
     }
 
     public List<CardBookmarkDto> getCardBookmarks(Long memberId) {
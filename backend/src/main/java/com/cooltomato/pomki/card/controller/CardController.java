@@ -11,9 +11,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.card.dto.CardDuplicateResponseDto;
 import com.cooltomato.pomki.card.dto.CardListRequestDto;
 import com.cooltomato.pomki.card.dto.CardRequestDto;
 import com.cooltomato.pomki.card.dto.CardResponseDto;
+import com.cooltomato.pomki.card.service.CardDuplicateService;
 import com.cooltomato.pomki.card.service.CardService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,6 +41,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 @Tag(name = "Card", description = "카드 관리 API")
 public class CardController {
     private final CardService service;
+    private final CardDuplicateService cardDuplicateService;
 
     @Operation(summary = "카드 생성", description = "특정 덱에 새로운 카드를 생성합니다.")
     @ApiResponses(value = {
@@ -74,6 +77,19 @@ public class CardController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "중복 카드 조회", description = "내 모든 덱에서 내용이 거의 같은 카드 쌍을 유사도 순으로 조회합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "중복 카드 조회 성공"),
+        @ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<CardDuplicateResponseDto>> readDuplicateCards(
+        @Parameter(description = "인증된 사용자 정보") @AuthenticationPrincipal PrincipalMember principal) {
+        log.info("debug >>> CardCtrl readDuplicateCards 중복 카드 조회");
+        List<CardDuplicateResponseDto> duplicates = cardDuplicateService.findDuplicatesService(principal.getMemberId());
+        return ResponseEntity.ok(duplicates);
+    }
+
     @Operation(summary = "카드 조회", description = "특정 카드의 상세 정보를 조회합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "카드 조회 성공"),
@@ -0,0 +1,19 @@
+package com.cooltomato.pomki.card.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardDuplicateResponseDto {
+    private CardResponseDto card;
+    private CardResponseDto duplicateCard;
+    // MinHash로 추정한 Jaccard 유사도 (0.0 ~ 1.0)
+    private double similarity;
+}
@@ -15,4 +15,6 @@ import java.util.List;
 @NoArgsConstructor
 public class CardListRequestDto {
     private List<CardRequestDto> cards;
+    // true면 기존 카드 또는 같은 요청 안의 카드와 거의 같은 카드는 생성하지 않음
+    private boolean skipDuplicates;
 } 
\ No newline at end of file
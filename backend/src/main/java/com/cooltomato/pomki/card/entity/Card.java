@@ -7,10 +7,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.cooltomato.pomki.bookmark.entity.CardBookmark;
 import com.cooltomato.pomki.deck.entity.Deck;
+import com.cooltomato.pomki.global.converter.CompressedTextConverter;
 import com.cooltomato.pomki.cardtag.entity.CardTag;
 // import com.cooltomato.pomki.tag.entity.Tag;
 import com.cooltomato.pomki.trash.entity.TrashCard;
@@ -20,7 +22,10 @@ import java.util.ArrayList;
 
 @Builder
 @Entity
-@Table(name = "card")
+@Table(name = "card", indexes = {
+    @Index(name = "idx_card_deck_updated", columnList = "deck_id, updated_at"),
+    @Index(name = "idx_card_copy_batch", columnList = "copy_batch_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,23 +36,34 @@ public class Card {
     @Column(name = "card_id")
     private Long cardId;
 
+    // 긴 본문은 압축해서 저장 (CompressedTextConverter)
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "answer", nullable = false, columnDefinition = "TEXT")
     private String answer;
 
-    @CreationTimestamp
+    @CreationTimestamp(source = SourceType.DB)
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
     @Column(name = "is_deleted", nullable = false)
     private Boolean isDeleted = false;
 
+    // 덱 복제/병합으로 만들어진 카드의 원본 카드 ID (중복 카드 탐지에서 복사본 쌍을 제외하는 데 사용)
+    @Column(name = "copied_from_card_id")
+    private Long copiedFromCardId;
+
+    // 덱 복제/병합 한 번의 작업 ID. 동시에 같은 덱으로 복사해도 작업별로 행을 구분하는 임시 컬럼 (작업 종료 시 NULL로 비움)
+    @Column(name = "copy_batch_id", length = 36)
+    private String copyBatchId;
+
     // 의존관계
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
@@ -0,0 +1,26 @@
+package com.cooltomato.pomki.card.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 기존 카드 시그니처 색인 작업의 진행 위치. 실행마다 처음부터 다시 훑지 않도록 마지막으로 본 카드 ID를 저장
+@Entity
+@Table(name = "card_index_state")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class CardIndexState {
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "after_card_id", nullable = false)
+    private Long afterCardId;
+}
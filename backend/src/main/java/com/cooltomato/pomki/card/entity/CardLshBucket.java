@@ -0,0 +1,32 @@
+package com.cooltomato.pomki.card.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// MinHash 시그니처를 밴드 단위로 나눈 LSH 버킷 (같은 버킷에 들어간 카드끼리만 비교)
+@Entity
+@Table(name = "card_lsh_bucket", indexes = {
+    @Index(name = "idx_card_lsh_member_bucket", columnList = "member_id, bucket_hash")
+})
+@IdClass(CardLshBucketId.class)
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class CardLshBucket {
+    @Id
+    @Column(name = "card_id", nullable = false)
+    private Long cardId;
+
+    @Id
+    @Column(name = "band", nullable = false)
+    private Integer band;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // 밴드 번호와 밴드 안의 해시값들을 합쳐 만든 버킷 키
+    @Column(name = "bucket_hash", nullable = false)
+    private Long bucketHash;
+}
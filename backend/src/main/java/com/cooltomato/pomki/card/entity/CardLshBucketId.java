@@ -0,0 +1,29 @@
+package com.cooltomato.pomki.card.entity;
+
+import lombok.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CardLshBucketId implements Serializable {
+    private Long cardId;
+    private Integer band;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardLshBucketId)) return false;
+        CardLshBucketId that = (CardLshBucketId) o;
+        return Objects.equals(getCardId(), that.getCardId()) &&
+               Objects.equals(getBand(), that.getBand());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getCardId(), getBand());
+    }
+}
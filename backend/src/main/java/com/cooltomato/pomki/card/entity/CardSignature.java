@@ -0,0 +1,35 @@
+package com.cooltomato.pomki.card.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 중복 카드 탐지용 MinHash 시그니처 (카드 1장당 1행)
+@Builder
+@Entity
+@Table(name = "card_signature", indexes = {
+    @Index(name = "idx_card_signature_member", columnList = "member_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSignature {
+    @Id
+    @Column(name = "card_id")
+    private Long cardId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "signature", nullable = false, columnDefinition = "VARBINARY(512)")
+    private byte[] signature;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
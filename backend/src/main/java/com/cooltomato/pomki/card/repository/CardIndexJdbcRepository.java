@@ -0,0 +1,54 @@
+package com.cooltomato.pomki.card.repository;
+
+import com.cooltomato.pomki.card.entity.CardLshBucket;
+import com.cooltomato.pomki.card.entity.CardSignature;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 중복 탐지 시그니처/버킷 일괄 저장
+ * ID를 직접 지정하는 엔티티를 saveAll 하면 행마다 merge(SELECT 후 INSERT/UPDATE)가 일어나므로
+ * INSERT … ON DUPLICATE KEY UPDATE 를 JDBC 배치로 한 번에 보낸다. (JPA 트랜잭션의 커넥션을 그대로 사용)
+ */
+@Repository
+@RequiredArgsConstructor
+public class CardIndexJdbcRepository {
+
+    private static final String UPSERT_SIGNATURE =
+            "INSERT INTO card_signature (card_id, member_id, signature, updated_at) VALUES (?, ?, ?, NOW(6)) " +
+            "ON DUPLICATE KEY UPDATE member_id = VALUES(member_id), signature = VALUES(signature), updated_at = VALUES(updated_at)";
+
+    private static final String UPSERT_BUCKET =
+            "INSERT INTO card_lsh_bucket (card_id, band, member_id, bucket_hash) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE member_id = VALUES(member_id), bucket_hash = VALUES(bucket_hash)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertSignatures(List<CardSignature> signatures) {
+        if (signatures.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SIGNATURE, signatures, signatures.size(), (ps, signature) -> {
+            ps.setLong(1, signature.getCardId());
+            ps.setLong(2, signature.getMemberId());
+            ps.setBytes(3, signature.getSignature());
+        });
+    }
+
+    public void upsertBuckets(List<CardLshBucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_BUCKET, buckets, buckets.size(), (ps, bucket) -> {
+            ps.setLong(1, bucket.getCardId());
+            ps.setInt(2, bucket.getBand());
+            ps.setLong(3, bucket.getMemberId());
+            ps.setLong(4, bucket.getBucketHash());
+        });
+    }
+}
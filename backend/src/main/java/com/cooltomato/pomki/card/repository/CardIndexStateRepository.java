@@ -0,0 +1,10 @@
+package com.cooltomato.pomki.card.repository;
+
+import com.cooltomato.pomki.card.entity.CardIndexState;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardIndexStateRepository extends JpaRepository<CardIndexState, String> {
+}
@@ -0,0 +1,47 @@
+package com.cooltomato.pomki.card.repository;
+
+import com.cooltomato.pomki.card.entity.CardLshBucket;
+import com.cooltomato.pomki.card.entity.CardLshBucketId;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CardLshBucketRepository extends JpaRepository<CardLshBucket, CardLshBucketId> {
+
+    @Modifying
+    @Query("DELETE FROM CardLshBucket b WHERE b.cardId = :cardId")
+    int deleteByCardId(@Param("cardId") Long cardId);
+
+    @Modifying
+    @Query("DELETE FROM CardLshBucket b WHERE b.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId)")
+    int deleteByDeckId(@Param("deckId") String deckId);
+
+    // 주어진 버킷 중 하나라도 겹치는 카드 (새 카드의 후보군, 휴지통 카드/덱은 제외)
+    @Query("SELECT b FROM CardLshBucket b, Card c WHERE c.cardId = b.cardId " +
+           "AND b.memberId = :memberId AND b.bucketHash IN :bucketHashes " +
+           "AND c.isDeleted = false AND c.deck.isDeleted = false")
+    List<CardLshBucket> findActiveByMemberIdAndBucketHashIn(@Param("memberId") Long memberId,
+                                                            @Param("bucketHashes") Collection<Long> bucketHashes);
+
+    // 같은 버킷을 공유하는 카드 쌍만 조회 (전체 카드 쌍 비교 없이 후보 쌍만 추출, 휴지통 카드/덱은 제외)
+    @Query("SELECT DISTINCT b1.cardId, b2.cardId FROM CardLshBucket b1, CardLshBucket b2, Card c1, Card c2 " +
+           "WHERE b1.memberId = :memberId AND b2.memberId = :memberId " +
+           "AND b1.bucketHash = b2.bucketHash AND b1.cardId < b2.cardId " +
+           "AND c1.cardId = b1.cardId AND c1.isDeleted = false AND c1.deck.isDeleted = false " +
+           "AND c2.cardId = b2.cardId AND c2.isDeleted = false AND c2.deck.isDeleted = false")
+    List<Object[]> findCandidatePairs(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query(value = "INSERT INTO card_lsh_bucket (card_id, band, member_id, bucket_hash) " +
+                   "SELECT c.card_id, b.band, b.member_id, b.bucket_hash " +
+                   "FROM card c JOIN card_lsh_bucket b ON b.card_id = c.copied_from_card_id " +
+                   "WHERE c.copy_batch_id = :batchId", nativeQuery = true)
+    int copyForCopiedCards(@Param("batchId") String batchId);
+}
@@ -3,9 +3,16 @@ package com.cooltomato.pomki.card.repository;
 import com.cooltomato.pomki.card.entity.Card;
 import com.cooltomato.pomki.member.entity.Member;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +27,121 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     List<Card> findByDeck_MemberIdAndIsDeletedFalseAndContentContainingIgnoreCaseOrDeck_MemberIdAndIsDeletedFalseAndAnswerContainingIgnoreCase(
     Long memberId, String contentKeyword, Long memberId2, String answerKeyword);
     Optional<Card> findByCardIdAndIsDeletedIsFalse(Long cardId);
-} 
\ No newline at end of file
+
+    // 덱 삭제 시 덱에 속한 카드를 한 번의 UPDATE로 삭제 처리
+    @Modifying
+    @Query("UPDATE Card c SET c.isDeleted = true, c.updatedAt = LOCAL DATETIME WHERE c.deck.deckId = :deckId AND c.isDeleted = false")
+    int softDeleteByDeckId(@Param("deckId") String deckId);
+
+    // 이미지 정리: 카드 질문/답변 키셋 순회 (휴지통에서 복원될 수 있으므로 삭제된 카드 포함)
+    @Query("SELECT c.cardId, c.content, c.answer FROM Card c WHERE c.cardId > :afterCardId ORDER BY c.cardId")
+    List<Object[]> findContentsAfter(@Param("afterCardId") Long afterCardId, Limit limit);
+
+    @Query("SELECT c.cardId, c.content, c.answer FROM Card c " +
+           "WHERE c.updatedAt >= :since AND c.cardId > :afterCardId ORDER BY c.cardId")
+    List<Object[]> findContentsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterCardId") Long afterCardId,
+                                            Limit limit);
+
+    // 덱 영구 삭제: 덱과 함께 지워지는 카드 (휴지통에 들어간 카드 포함)
+    @Query("SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId")
+    List<Long> findCardIdsByDeckId(@Param("deckId") String deckId);
+
+    // 중복 탐지 시그니처가 아직 없는 카드 (기존 카드 백그라운드 색인용, card_id 키셋 순회)
+    // 위치를 되돌리지 않으므로 나중에 복원될 수 있는 휴지통 카드도 함께 색인
+    @Query("SELECT c FROM Card c JOIN FETCH c.deck WHERE c.cardId > :afterCardId " +
+           "AND NOT EXISTS (SELECT 1 FROM CardSignature s WHERE s.cardId = c.cardId) ORDER BY c.cardId")
+    List<Card> findUnsignedCards(@Param("afterCardId") Long afterCardId, Limit limit);
+
+    // 덱 복제/병합: 원본 덱들의 카드를 대상 덱으로 한 번의 INSERT ... SELECT로 복사
+    @Modifying
+    // 복사본에는 작업 ID(copy_batch_id)를 남겨 이어지는 태그/통계/시그니처 복사가 이 작업의 행만 대상으로 하게 함
+    @Query(value = "INSERT INTO card (content, answer, created_at, updated_at, is_deleted, deck_id, copied_from_card_id, copy_batch_id) " +
+                   "SELECT c.content, c.answer, NOW(6), NOW(6), false, :targetDeckId, c.card_id, :batchId " +
+                   "FROM card c WHERE c.deck_id IN (:sourceDeckIds) AND c.is_deleted = false " +
+                   "ORDER BY c.card_id", nativeQuery = true)
+    int copyCardsToDeck(@Param("sourceDeckIds") List<String> sourceDeckIds, @Param("targetDeckId") String targetDeckId,
+                        @Param("batchId") String batchId);
+
+    // 복사가 끝난 뒤 작업 ID를 비움 (원본 카드 ID는 복사본 표시로 남김)
+    @Modifying
+    @Query(value = "UPDATE card SET copy_batch_id = NULL WHERE copy_batch_id = :batchId", nativeQuery = true)
+    int clearCopyBatchId(@Param("batchId") String batchId);
+
+    // 동기화: 워터마크 이후 생성/수정/삭제된 카드 (삭제된 카드 포함)
+    @Query("SELECT c FROM Card c JOIN FETCH c.deck d WHERE d.memberId = :memberId AND c.updatedAt > :since")
+    List<Card> findChangedByMemberId(@Param("memberId") Long memberId, @Param("since") LocalDateTime since);
+
+    // 동기화: 전체 동기화용 회원의 살아 있는 카드
+    @Query("SELECT c FROM Card c JOIN FETCH c.deck d WHERE d.memberId = :memberId AND c.isDeleted = false AND d.isDeleted = false")
+    List<Card> findAllActiveByMemberId(@Param("memberId") Long memberId);
+
+    // 태그 검색 비트맵: 회원의 살아 있는 카드 ID만 조회
+    @Query("SELECT c.cardId FROM Card c WHERE c.deck.memberId = :memberId AND c.isDeleted = false AND c.deck.isDeleted = false")
+    List<Long> findActiveCardIdsByMemberId(@Param("memberId") Long memberId);
+
+    // 태그 검색 결과: 태그 검색 도입 전과 같은 카드 ID 순서로 조회
+    @Query("SELECT c FROM Card c JOIN FETCH c.deck WHERE c.cardId IN :cardIds ORDER BY c.cardId")
+    List<Card> findAllWithDeckByCardIdIn(@Param("cardIds") List<Long> cardIds);
+
+    // 본문 압축 마이그레이션: 아직 압축되지 않은 긴 본문 (card_id 키셋 순회)
+    @Query(value = "SELECT card_id, content, answer FROM card WHERE card_id > :afterCardId " +
+                   "AND ((LENGTH(content) >= :threshold AND content NOT LIKE CONCAT(:header, '%')) " +
+                   "OR (LENGTH(answer) >= :threshold AND answer NOT LIKE CONCAT(:header, '%'))) " +
+                   "ORDER BY card_id LIMIT :batchSize", nativeQuery = true)
+    List<Object[]> findUncompressedContents(@Param("afterCardId") Long afterCardId, @Param("threshold") int threshold,
+                                            @Param("header") String header, @Param("batchSize") int batchSize);
+
+    // 저장 형식만 바꾸므로 updated_at은 건드리지 않음 (동기화 대상 아님)
+    // 읽은 뒤 그 사이 수정된 행은 덮어쓰지 않도록 읽었던 값 그대로일 때만 갱신 (BINARY: 대소문자/공백 차이도 수정으로 봄)
+    @Modifying
+    @Query(value = "UPDATE card SET content = :content, answer = :answer WHERE card_id = :cardId " +
+                   "AND BINARY content <=> BINARY :oldContent AND BINARY answer <=> BINARY :oldAnswer", nativeQuery = true)
+    int updateStoredContents(@Param("cardId") Long cardId, @Param("content") String content, @Param("answer") String answer,
+                             @Param("oldContent") String oldContent, @Param("oldAnswer") String oldAnswer);
+
+    // 키워드 검색: 압축 저장된 값은 Base64라 LIKE가 엉뚱하게 걸릴 수 있으므로 헤더로 시작하는 값은 제외
+    // keyword는 LIKE 와일드카드를 이스케이프해서 넘김
+    @Query(value = "SELECT c.* FROM card c JOIN card_deck d ON d.deck_id = c.deck_id " +
+                   "WHERE d.member_id = :memberId AND c.is_deleted = false " +
+                   "AND ((LOWER(c.content) LIKE CONCAT('%', LOWER(:keyword), '%') AND c.content NOT LIKE CONCAT(:header, '%')) " +
+                   "OR (LOWER(c.answer) LIKE CONCAT('%', LOWER(:keyword), '%') AND c.answer NOT LIKE CONCAT(:header, '%'))) " +
+                   "ORDER BY c.card_id", nativeQuery = true)
+    List<Card> searchUncompressedByMemberId(@Param("memberId") Long memberId, @Param("keyword") String keyword,
+                                            @Param("header") String header);
+
+    // 키워드 검색 보완: LIKE로는 찾을 수 없는 압축 저장된 카드만 card_id 키셋으로 나눠 조회해 애플리케이션에서 검사
+    @Query(value = "SELECT c.* FROM card c JOIN card_deck d ON d.deck_id = c.deck_id " +
+                   "WHERE d.member_id = :memberId AND c.is_deleted = false AND c.card_id > :afterCardId " +
+                   "AND (c.content LIKE CONCAT(:header, '%') OR c.answer LIKE CONCAT(:header, '%')) " +
+                   "ORDER BY c.card_id LIMIT :batchSize", nativeQuery = true)
+    List<Card> findCompressedByMemberId(@Param("memberId") Long memberId, @Param("header") String header,
+                                        @Param("afterCardId") Long afterCardId, @Param("batchSize") int batchSize);
+
+    // 태그 일괄 적용/이름 변경 후 동기화 대상이 되도록 수정 시각 갱신
+    @Modifying
+    @Query(value = "UPDATE card c JOIN card_deck d ON d.deck_id = c.deck_id SET c.updated_at = NOW(6) " +
+                   "WHERE d.member_id = :memberId AND c.is_deleted = false AND c.card_id IN (:cardIds)", nativeQuery = true)
+    int touchByCardIds(@Param("memberId") Long memberId, @Param("cardIds") Collection<Long> cardIds);
+
+    @Modifying
+    @Query(value = "UPDATE card c JOIN card_deck d ON d.deck_id = c.deck_id SET c.updated_at = NOW(6) " +
+                   "WHERE d.member_id = :memberId AND c.is_deleted = false AND c.deck_id = :deckId", nativeQuery = true)
+    int touchByDeckId(@Param("memberId") Long memberId, @Param("deckId") String deckId);
+
+    @Modifying
+    @Query(value = "UPDATE card c JOIN card_tag ct ON ct.card_id = c.card_id SET c.updated_at = NOW(6) " +
+                   "WHERE ct.member_id = :memberId AND ct.tag_name = :tagName", nativeQuery = true)
+    int touchByTagName(@Param("memberId") Long memberId, @Param("tagName") String tagName);
+
+    // 내보내기: (deck_id, card_id) 키셋으로 덱 순서대로 한 페이지씩 읽어 덱별 CSV를 차례로 작성
+    @Query("SELECT c FROM Card c JOIN FETCH c.deck d WHERE d.memberId = :memberId AND c.isDeleted = false AND d.isDeleted = false " +
+           "AND (d.deckId > :afterDeckId OR (d.deckId = :afterDeckId AND c.cardId > :afterCardId)) " +
+           "ORDER BY d.deckId, c.cardId")
+    List<Card> findActiveByMemberIdAfter(@Param("memberId") Long memberId, @Param("afterDeckId") String afterDeckId,
+                                         @Param("afterCardId") Long afterCardId, Limit limit);
+
+    // 링크 그래프: 노드 이름 표시와 링크 대상 확인용
+    @Query("SELECT c.cardId, c.content FROM Card c WHERE c.deck.memberId = :memberId AND c.isDeleted = false " +
+           "AND c.deck.isDeleted = false AND c.cardId IN :cardIds")
+    List<Object[]> findContentsByMemberIdAndCardIdIn(@Param("memberId") Long memberId, @Param("cardIds") Collection<Long> cardIds);
+}
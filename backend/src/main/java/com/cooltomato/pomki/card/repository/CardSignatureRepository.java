@@ -0,0 +1,25 @@
+package com.cooltomato.pomki.card.repository;
+
+import com.cooltomato.pomki.card.entity.CardSignature;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardSignatureRepository extends JpaRepository<CardSignature, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CardSignature s WHERE s.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId)")
+    int deleteByDeckId(@Param("deckId") String deckId);
+
+    // 덱 복제/병합으로 만들어진 카드는 원본 카드의 시그니처를 그대로 사용
+    @Modifying
+    @Query(value = "INSERT INTO card_signature (card_id, member_id, signature, updated_at) " +
+                   "SELECT c.card_id, s.member_id, s.signature, NOW(6) " +
+                   "FROM card c JOIN card_signature s ON s.card_id = c.copied_from_card_id " +
+                   "WHERE c.copy_batch_id = :batchId", nativeQuery = true)
+    int copyForCopiedCards(@Param("batchId") String batchId);
+}
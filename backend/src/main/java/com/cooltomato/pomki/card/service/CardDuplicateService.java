@@ -0,0 +1,379 @@
+package com.cooltomato.pomki.card.service;
+
+import com.cooltomato.pomki.card.dto.CardDuplicateResponseDto;
+import com.cooltomato.pomki.card.dto.CardRequestDto;
+import com.cooltomato.pomki.card.dto.CardResponseDto;
+import com.cooltomato.pomki.card.entity.Card;
+import com.cooltomato.pomki.card.entity.CardIndexState;
+import com.cooltomato.pomki.card.entity.CardLshBucket;
+import com.cooltomato.pomki.card.entity.CardSignature;
+import com.cooltomato.pomki.card.repository.CardIndexJdbcRepository;
+import com.cooltomato.pomki.card.repository.CardIndexStateRepository;
+import com.cooltomato.pomki.card.repository.CardLshBucketRepository;
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.card.repository.CardSignatureRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MinHash + LSH 기반 중복 카드 탐지
+ * 카드 내용을 정규화한 뒤 3글자 shingle 집합의 MinHash 시그니처(128개)를 만들고,
+ * 16개 밴드(밴드당 8행)로 나눈 버킷에 색인한다. 같은 버킷을 공유하는 카드끼리만 비교하므로
+ * 전체 카드 쌍을 비교하지 않는다. (밴드 구성상 유사도 약 0.7 이상에서 후보로 잡힘)
+ * 색인은 카드 생성/수정 시 하고, 시그니처가 없는 기존 카드는 백그라운드 작업이 채운다. 조회는 읽기만 한다.
+ * 영구 삭제되는 카드/덱의 시그니처와 버킷은 TrashService가 removeCard/removeDeck으로 지운다. (카드 FK가 없음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardDuplicateService {
+
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 3;
+    private static final long[] HASH_SEEDS = new SplittableRandom(0x5EEDL).longs(NUM_HASHES).toArray();
+    private static final String BACKFILL_STATE_NAME = "signature-backfill";
+
+    private final CardSignatureRepository cardSignatureRepository;
+    private final CardLshBucketRepository cardLshBucketRepository;
+    private final CardIndexJdbcRepository cardIndexJdbcRepository;
+    private final CardIndexStateRepository cardIndexStateRepository;
+    private final CardRepository cardRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pomki.card.duplicate.threshold:0.8}")
+    private double duplicateThreshold;
+
+    @Value("${pomki.card.duplicate.index-batch-size:500}")
+    private int indexBatchSize;
+
+    // 카드 생성/수정 시 시그니처와 버킷을 갱신
+    @Transactional
+    public void indexCard(Long memberId, Card card) {
+        indexCards(memberId, List.of(card));
+    }
+
+    @Transactional
+    public void indexCards(Long memberId, List<Card> cards) {
+        List<CardSignature> signatures = new ArrayList<>();
+        List<CardLshBucket> buckets = new ArrayList<>();
+        for (Card card : cards) {
+            cardLshBucketRepository.deleteByCardId(card.getCardId());
+            int[] signature = signature(card.getContent(), card.getAnswer());
+            if (signature == null) {
+                cardSignatureRepository.findById(card.getCardId()).ifPresent(cardSignatureRepository::delete);
+                continue;
+            }
+            signatures.add(CardSignature.builder()
+                    .cardId(card.getCardId())
+                    .memberId(memberId)
+                    .signature(toBytes(signature))
+                    .build());
+            long[] bucketHashes = bucketHashes(signature);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.add(CardLshBucket.builder()
+                        .cardId(card.getCardId())
+                        .band(band)
+                        .memberId(memberId)
+                        .bucketHash(bucketHashes[band])
+                        .build());
+            }
+        }
+        // 지정 ID 엔티티의 saveAll(행마다 merge) 대신 upsert 배치
+        cardIndexJdbcRepository.upsertSignatures(signatures);
+        cardIndexJdbcRepository.upsertBuckets(buckets);
+    }
+
+    @Transactional
+    public void removeCard(Long cardId) {
+        cardLshBucketRepository.deleteByCardId(cardId);
+        cardSignatureRepository.findById(cardId).ifPresent(cardSignatureRepository::delete);
+    }
+
+    @Transactional
+    public void removeDeck(String deckId) {
+        cardLshBucketRepository.deleteByDeckId(deckId);
+        cardSignatureRepository.deleteByDeckId(deckId);
+    }
+
+    // 덱 복제/병합으로 만들어진 카드는 내용이 같으므로 원본 시그니처를 SQL로 복사
+    // (원본-복사본 쌍은 의도한 복사이므로 findDuplicatesService에서 제외)
+    @Transactional
+    public void copyForCopiedCards(String batchId) {
+        cardSignatureRepository.copyForCopiedCards(batchId);
+        cardLshBucketRepository.copyForCopiedCards(batchId);
+    }
+
+    /**
+     * 배치 생성 전 중복 검사
+     * @return 기존 카드 또는 요청 안의 앞선 카드와 거의 같은 요청의 인덱스
+     */
+    @Transactional(readOnly = true)
+    public Set<Integer> findDuplicateRequestIndexes(Long memberId, List<CardRequestDto> requests) {
+        List<int[]> requestSignatures = new ArrayList<>();
+        Set<Long> allBucketHashes = new HashSet<>();
+        for (CardRequestDto request : requests) {
+            int[] signature = signature(request.getContent(), request.getAnswer());
+            requestSignatures.add(signature);
+            if (signature != null) {
+                for (long bucketHash : bucketHashes(signature)) {
+                    allBucketHashes.add(bucketHash);
+                }
+            }
+        }
+        if (allBucketHashes.isEmpty()) {
+            return Set.of();
+        }
+
+        // 요청 전체의 버킷을 한 번에 조회해 기존 카드 후보를 구함
+        Map<Long, Set<Long>> cardIdsByBucket = new HashMap<>();
+        for (CardLshBucket bucket : cardLshBucketRepository.findActiveByMemberIdAndBucketHashIn(memberId, allBucketHashes)) {
+            cardIdsByBucket.computeIfAbsent(bucket.getBucketHash(), k -> new HashSet<>()).add(bucket.getCardId());
+        }
+        Set<Long> candidateCardIds = cardIdsByBucket.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+        Map<Long, int[]> existingSignatures = cardSignatureRepository.findAllById(candidateCardIds).stream()
+                .collect(Collectors.toMap(CardSignature::getCardId, s -> fromBytes(s.getSignature())));
+
+        Set<Integer> duplicates = new HashSet<>();
+        Map<Long, List<Integer>> acceptedByBucket = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            int[] signature = requestSignatures.get(i);
+            if (signature == null) {
+                continue;
+            }
+            long[] bucketHashes = bucketHashes(signature);
+            if (hasSimilar(signature, bucketHashes, cardIdsByBucket, existingSignatures::get)
+                    || hasSimilar(signature, bucketHashes, acceptedByBucket, requestSignatures::get)) {
+                duplicates.add(i);
+                continue;
+            }
+            for (long bucketHash : bucketHashes) {
+                acceptedByBucket.computeIfAbsent(bucketHash, k -> new ArrayList<>()).add(i);
+            }
+        }
+        return duplicates;
+    }
+
+    // 시그니처가 없는 기존 카드(기능 도입 전 카드)를 배치마다 짧은 트랜잭션으로 색인
+    // card_id 위치를 card_index_state에 배치마다 저장하므로, 내용이 비어 시그니처가 생기지 않는 카드도
+    // 실행이 바뀌어도 다시 훑지 않는다. (이후 생성/수정되는 카드는 그때 색인되므로 위치를 되돌릴 필요 없음)
+    @Scheduled(fixedDelayString = "${pomki.card.duplicate.index-interval-ms:600000}")
+    public void indexUnsignedCards() {
+        long afterCardId = loadBackfillCursor();
+        int indexed = 0;
+        while (true) {
+            long cursor = afterCardId;
+            List<Card> cards = transactionTemplate.execute(status -> {
+                List<Card> page = cardRepository.findUnsignedCards(cursor, Limit.of(indexBatchSize));
+                Map<Long, List<Card>> byMember = page.stream()
+                        .collect(Collectors.groupingBy(card -> card.getDeck().getMemberId()));
+                byMember.forEach(this::indexCards);
+                if (!page.isEmpty()) {
+                    CardIndexState state = cardIndexStateRepository.findById(BACKFILL_STATE_NAME).orElseThrow();
+                    state.setAfterCardId(Math.max(state.getAfterCardId(), page.get(page.size() - 1).getCardId()));
+                }
+                return page;
+            });
+            if (cards == null || cards.isEmpty()) {
+                break;
+            }
+            indexed += cards.size();
+            afterCardId = cards.get(cards.size() - 1).getCardId();
+        }
+        if (indexed > 0) {
+            log.info("debug >>> 시그니처가 없던 카드 {}장 색인", indexed);
+        }
+    }
+
+    // 저장된 색인 위치, 처음이면 상태 행을 만든다 (다른 서버가 먼저 만든 경우는 그 행을 사용)
+    private long loadBackfillCursor() {
+        return cardIndexStateRepository.findById(BACKFILL_STATE_NAME)
+                .map(CardIndexState::getAfterCardId)
+                .orElseGet(() -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> cardIndexStateRepository.save(
+                                CardIndexState.builder().name(BACKFILL_STATE_NAME).afterCardId(0L).build()));
+                    } catch (DataIntegrityViolationException e) {
+                        // 다른 서버가 먼저 만든 경우
+                    }
+                    return 0L;
+                });
+    }
+
+    // 회원의 전체 덱에서 거의 같은 카드 쌍 조회
+    @Transactional(readOnly = true)
+    public List<CardDuplicateResponseDto> findDuplicatesService(Long memberId) {
+        log.info("debug >>> CardDuplicateService findDuplicates");
+        List<Object[]> candidatePairs = cardLshBucketRepository.findCandidatePairs(memberId);
+        if (candidatePairs.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> candidateCardIds = new HashSet<>();
+        for (Object[] pair : candidatePairs) {
+            candidateCardIds.add((Long) pair[0]);
+            candidateCardIds.add((Long) pair[1]);
+        }
+        Map<Long, int[]> signatures = cardSignatureRepository.findAllById(candidateCardIds).stream()
+                .collect(Collectors.toMap(CardSignature::getCardId, s -> fromBytes(s.getSignature())));
+        Map<Long, Card> cards = cardRepository.findAllById(candidateCardIds).stream()
+                .filter(card -> !card.getIsDeleted())
+                .collect(Collectors.toMap(Card::getCardId, Function.identity()));
+
+        List<CardDuplicateResponseDto> result = new ArrayList<>();
+        for (Object[] pair : candidatePairs) {
+            Card card = cards.get((Long) pair[0]);
+            Card duplicate = cards.get((Long) pair[1]);
+            int[] signature = signatures.get((Long) pair[0]);
+            int[] duplicateSignature = signatures.get((Long) pair[1]);
+            if (card == null || duplicate == null || signature == null || duplicateSignature == null
+                    || isCopyPair(card, duplicate)) {
+                continue;
+            }
+            double similarity = similarity(signature, duplicateSignature);
+            if (similarity >= duplicateThreshold) {
+                result.add(CardDuplicateResponseDto.builder()
+                        .card(toCardResponseDto(card))
+                        .duplicateCard(toCardResponseDto(duplicate))
+                        .similarity(similarity)
+                        .build());
+            }
+        }
+        result.sort(Comparator.comparingDouble(CardDuplicateResponseDto::getSimilarity).reversed());
+        return result;
+    }
+
+    // 덱 복제/병합으로 생긴 원본-복사본, 같은 원본의 복사본끼리는 중복으로 보지 않음
+    private boolean isCopyPair(Card card, Card other) {
+        Long origin = card.getCopiedFromCardId() != null ? card.getCopiedFromCardId() : card.getCardId();
+        Long otherOrigin = other.getCopiedFromCardId() != null ? other.getCopiedFromCardId() : other.getCardId();
+        return origin.equals(otherOrigin);
+    }
+
+    private <K> boolean hasSimilar(int[] signature, long[] bucketHashes, Map<Long, ? extends Iterable<K>> keysByBucket,
+                                   Function<K, int[]> signatureOf) {
+        for (long bucketHash : bucketHashes) {
+            Iterable<K> keys = keysByBucket.get(bucketHash);
+            if (keys == null) {
+                continue;
+            }
+            for (K key : keys) {
+                int[] other = signatureOf.apply(key);
+                if (other != null && similarity(signature, other) >= duplicateThreshold) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private CardResponseDto toCardResponseDto(Card card) {
+        return CardResponseDto.builder()
+                .cardId(card.getCardId())
+                .content(card.getContent())
+                .answer(card.getAnswer())
+                .deckId(card.getDeck().getDeckId())
+                .deckName(card.getDeck().getDeckName())
+                .createdAt(card.getCreatedAt())
+                .updatedAt(card.getUpdatedAt())
+                .isDeleted(card.getIsDeleted())
+                .build();
+    }
+
+    // 내용이 비어 있으면 null
+    private int[] signature(String content, String answer) {
+        String text = normalize((content == null ? "" : content) + " " + (answer == null ? "" : answer));
+        if (text.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingleCount = Math.max(1, text.length() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingleCount; start++) {
+            int shingleHash = text.substring(start, Math.min(text.length(), start + SHINGLE_SIZE)).hashCode();
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) mix(shingleHash ^ HASH_SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private long[] bucketHashes(int[] signature) {
+        long[] bucketHashes = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                hash = hash * 31 + signature[band * ROWS_PER_BAND + row];
+            }
+            bucketHashes[band] = mix(hash);
+        }
+        return bucketHashes;
+    }
+
+    private double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    // 대소문자, 전각/반각, 문장부호, 공백 차이는 무시
+    private String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    private static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+}
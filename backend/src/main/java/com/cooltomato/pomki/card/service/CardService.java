@@ -1,5 +1,7 @@
 package com.cooltomato.pomki.card.service;
 
+import jakarta.persistence.EntityManager;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,18 +20,22 @@ import com.cooltomato.pomki.cardtag.entity.CardTagId;
 import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
 import com.cooltomato.pomki.deck.entity.Deck;
 import com.cooltomato.pomki.deck.repository.DeckRepository;
-import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
-import com.cooltomato.pomki.notetag.entity.NoteTag;
-import com.cooltomato.pomki.tag.entity.Tag;
-import com.cooltomato.pomki.tag.repository.TagRepository;
+import com.cooltomato.pomki.global.converter.CompressedTextConverter;
+import com.cooltomato.pomki.link.service.LinkService;
+import com.cooltomato.pomki.tag.service.TagBitmapCache;
+import com.cooltomato.pomki.tag.service.TagService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,14 +46,19 @@ public class CardService {
     private final CardRepository cardRepository;
     private final DeckRepository deckRepository;
     private final CardTagRepository cardTagRepository;
-    private final NoteTagRepository noteTagRepository;
-    private final TagRepository tagRepository;
     private final CardBookmarkRepository cardBookmarkRepository;
+    private final CardDuplicateService cardDuplicateService;
+    private final TagService tagService;
+    private final TagBitmapCache tagBitmapCache;
+    private final LinkService linkService;
+    private final EntityManager entityManager;
+
+    private static final int COMPRESSED_SCAN_BATCH = 100;
     
     @Transactional
     public CardResponseDto createOneCardService(PrincipalMember principal, String deckId, CardRequestDto request) {
         log.info("debug >>> CardService createCardService 카드 한 장 생성");
-        Deck deck = getDeckWithLock(principal.getMemberId(), deckId);
+        Deck deck = getDeck(principal.getMemberId(), deckId);
             
         Card entity = Card.builder()
                                     .deck(deck)
@@ -56,9 +67,12 @@ public class CardService {
                                     .isDeleted(false)
                                     .build();
         cardRepository.save(entity);
+        cardDuplicateService.indexCard(principal.getMemberId(), entity);
+        tagBitmapCache.cardAdded(principal.getMemberId(), entity.getCardId());
+        linkService.updateCardLinks(principal.getMemberId(), entity);
         log.info("debug >>> CardService createCardService 카드 생성 성공");
 
-        updateDeckCardCount(deck, 1);
+        updateDeckCardCount(principal.getMemberId(), deckId, 1);
         log.info("debug >>> CardService createCardService 덱별 카드 카운트 업데이트 성공");
 
         return CardResponseDto.builder()
@@ -84,14 +98,25 @@ public class CardService {
             throw new IllegalArgumentException("생성할 카드 목록이 비어있습니다.");
         }
         
-        // 비관적 락으로 덱 조회
-        Deck deck = getDeckWithLock(principal.getMemberId(), deckId);
+        Deck deck = getDeck(principal.getMemberId(), deckId);
         
         List<CardResponseDto> createdCards = new ArrayList<>();
         List<Card> cardsToSave = new ArrayList<>();
+
+        // 저장 전 기존 카드/요청 내 카드와 거의 같은 카드 검사
+        Set<Integer> duplicateIndexes = request.isSkipDuplicates()
+                ? cardDuplicateService.findDuplicateRequestIndexes(principal.getMemberId(), request.getCards())
+                : Set.of();
+        if (!duplicateIndexes.isEmpty()) {
+            log.info("debug >>> CardService createMultipleCardsService 중복 카드 {}장 제외", duplicateIndexes.size());
+        }
         
         // 카드들을 배치로 생성
-        for (CardRequestDto cardRequest : request.getCards()) {
+        for (int i = 0; i < request.getCards().size(); i++) {
+            if (duplicateIndexes.contains(i)) {
+                continue;
+            }
+            CardRequestDto cardRequest = request.getCards().get(i);
             Card entity = Card.builder()
                     .deck(deck)
                     .content(cardRequest.getContent())
@@ -103,6 +128,9 @@ public class CardService {
         
         // 카드들을 배치로 저장
         List<Card> savedCards = cardRepository.saveAll(cardsToSave);
+        cardDuplicateService.indexCards(principal.getMemberId(), savedCards);
+        savedCards.forEach(card -> tagBitmapCache.cardAdded(principal.getMemberId(), card.getCardId()));
+        linkService.createCardLinks(principal.getMemberId(), savedCards);
         log.info("debug >>> CardService createMultipleCardsService {} 장의 카드 생성 성공", savedCards.size());
         
         // 응답 DTO 생성
@@ -124,7 +152,7 @@ public class CardService {
         }
         
         // 덱 카드 개수 업데이트 (한 번에 처리)
-        updateDeckCardCount(deck, savedCards.size());
+        updateDeckCardCount(principal.getMemberId(), deckId, savedCards.size());
         log.info("debug >>> CardService createMultipleCardsService 덱별 카드 카운트 업데이트 성공");
         
         return createdCards;
@@ -176,6 +204,8 @@ public class CardService {
             aCardOp.get().setAnswer(request.getAnswer());
             aCardOp.get().setUpdatedAt(LocalDateTime.now());
             cardRepository.save(aCardOp.get());
+            cardDuplicateService.indexCard(aCardOp.get().getDeck().getMemberId(), aCardOp.get());
+            linkService.updateCardLinks(aCardOp.get().getDeck().getMemberId(), aCardOp.get());
             log.info("debug >>> CardService updateAcardService 카드 수정 성공");
 
             return CardResponseDto.builder()
@@ -210,6 +240,8 @@ public class CardService {
             aCardOp.get().setIsDeleted(true);
             aCardOp.get().setUpdatedAt(LocalDateTime.now());
             cardRepository.save(aCardOp.get());
+            cardDuplicateService.removeCard(cardId);
+            tagBitmapCache.cardRemoved(principal.getMemberId(), cardId);
             log.info("debug >>> CardService deleteAcardService 카드 삭제 성공");
 
             // 덱 카드 개수 감소
@@ -218,30 +250,10 @@ public class CardService {
             cardBookmarkRepository.deleteByCardCardIdAndMemberMemberId(cardId, principal.getMemberId());
             log.info("debug >>> CardService deleteOneCardService 카드 북마크 삭제 성공");
 
-            // 카드 태그 삭제 전에 태그 이름들을 먼저 저장
-            List<CardTag> cardTags = cardTagRepository.findByCard_CardId(aCardOp.get().getCardId());
-            List<String> cardTagNames = cardTags.stream()
-                    .map(CardTag::getTagName)
-                    .collect(Collectors.toList());
-            
-            // 카드 태그는 엔터티 관계상 자동으로 삭제되므로 별도 삭제 불필요
-            cardTagRepository.deleteAll(cardTags);
-
-            // 다른 카드에서 해당 태그를 사용하지 않고 노트에 대해서도 해당 태그가 없다면 태그 테이블에서 삭제
-            for(String tagName : cardTagNames) {
-                // 다른 카드에서 해당 태그 사용 여부 확인
-                long remainingCardTagCount = cardTagRepository.countByTagNameAndMemberId(tagName, principal.getMemberId());
-                
-                // 노트에서 해당 태그 사용 여부 확인
-                long noteTagCount = noteTagRepository.countByTagNameAndMemberId(tagName, principal.getMemberId());
-                
-                // 카드와 노트 모두에서 해당 태그를 사용하지 않으면 태그 테이블에서 삭제
-                if(remainingCardTagCount == 0 && noteTagCount == 0) {
-                    Optional<Tag> tag = tagRepository.findByMemberIdAndTagName(principal.getMemberId(), tagName);
-                    tag.ifPresent(tagRepository::delete);
-                    log.info("debug >>> CardService deleteOneCardService 태그 삭제 완료: " + tagName);
-                }
-            }
+            // 카드 태그 삭제 후 태그 사용 수 감소, 사용 수가 0이 된 태그만 삭제
+            List<String> cardTagNames = cardTagRepository.findTagNameByCardId(cardId, principal.getMemberId());
+            cardTagRepository.deleteByCardId(cardId);
+            tagService.releaseTags(principal.getMemberId(), cardTagNames);
 
             return CardResponseDto.builder()
                                     .cardId(aCardOp.get().getCardId())
@@ -263,8 +275,34 @@ public class CardService {
 
     @Transactional(readOnly = true)
     public List<CardResponseDto> searchCardsByKeywordService(PrincipalMember principal, String keyword) {
-        List<Card> cards = cardRepository.findByDeck_MemberIdAndIsDeletedFalseAndContentContainingIgnoreCaseOrDeck_MemberIdAndIsDeletedFalseAndAnswerContainingIgnoreCase(
-            principal.getMemberId(), keyword, principal.getMemberId(), keyword);
+        // 압축 저장된 값은 SQL에서 제외하고 아래에서 풀어서 검사하므로, 한 카드가 두 번 들어가지 않도록 cardId로 합침
+        Map<Long, Card> matched = new LinkedHashMap<>();
+        for (Card card : cardRepository.searchUncompressedByMemberId(principal.getMemberId(), escapeLike(keyword),
+                CompressedTextConverter.HEADER)) {
+            matched.put(card.getCardId(), card);
+        }
+
+        // 압축 저장된 긴 카드는 LIKE에 걸리지 않으므로 배치로 나눠 끝까지 풀어서 따로 검사 (결과가 중간에 잘리지 않음)
+        // 맞지 않는 카드는 바로 영속성 컨텍스트에서 떼어 내 메모리에는 배치 하나와 검색 결과만 남김
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        long afterCardId = 0L;
+        while (true) {
+            List<Card> compressed = cardRepository.findCompressedByMemberId(principal.getMemberId(), CompressedTextConverter.HEADER,
+                    afterCardId, COMPRESSED_SCAN_BATCH);
+            for (Card card : compressed) {
+                if (card.getContent().toLowerCase(Locale.ROOT).contains(lowerKeyword)
+                        || card.getAnswer().toLowerCase(Locale.ROOT).contains(lowerKeyword)) {
+                    matched.putIfAbsent(card.getCardId(), card);
+                } else if (!matched.containsKey(card.getCardId())) {
+                    entityManager.detach(card);
+                }
+            }
+            if (compressed.size() < COMPRESSED_SCAN_BATCH) {
+                break;
+            }
+            afterCardId = compressed.get(compressed.size() - 1).getCardId();
+        }
+        List<Card> cards = new ArrayList<>(matched.values());
 
         // List<CardBookmark> bookmarkedCards = cardBookmarkRepository
         
@@ -287,34 +325,30 @@ public class CardService {
     }
 
     /**
-     * 비관적 락을 사용하여 덱을 조회하는 메서드
+     * 덱을 조회하는 메서드 (락 없음, 카드 개수는 updateDeckCardCount에서 원자적으로 갱신)
      */
-    private Deck getDeckWithLock(Long memberId, String deckId) {
-        return deckRepository.findByMemberIdAndDeckIdAndIsDeletedFalseWithLock(memberId, deckId)
+    private Deck getDeck(Long memberId, String deckId) {
+        return deckRepository.findByMemberIdAndDeckIdAndIsDeletedFalse(memberId, deckId)
                 .orElseThrow(() -> new IllegalArgumentException("덱을 찾을 수 없습니다."));
     }
 
-    /**
-     * 덱의 카드 개수를 업데이트하는 메서드
-     * @param deck 업데이트할 덱 (이미 락이 걸린 상태)
-     * @param countChange 변경할 개수 (양수: 증가, 음수: 감소)
-     */
-    private void updateDeckCardCount(Deck deck, int countChange) {
-        deck.setCardCnt(deck.getCardCnt() + countChange);
-        deck.setUpdatedAt(LocalDateTime.now());
-        deckRepository.save(deck);
-        log.info("debug >>> 덱 카드 개수 업데이트: deckId={}, change={}, newCount={}", 
-                deck.getDeckId(), countChange, deck.getCardCnt());
+    // LIKE 패턴 문자(\, %, _)를 글자 그대로 찾도록 이스케이프
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
-     * 덱의 카드 개수를 업데이트하는 메서드 (덱 조회부터 처리)
+     * 덱의 카드 개수를 UPDATE 한 번으로 증감하는 메서드
+     * 덱 행을 미리 잠그지 않으므로 같은 덱에 대한 카드 쓰기가 직렬화되지 않음
      * @param memberId 회원 ID
      * @param deckId 덱 ID
      * @param countChange 변경할 개수 (양수: 증가, 음수: 감소)
      */
     private void updateDeckCardCount(Long memberId, String deckId, int countChange) {
-        Deck deck = getDeckWithLock(memberId, deckId);
-        updateDeckCardCount(deck, countChange);
+        int updated = deckRepository.addCardCnt(memberId, deckId, countChange);
+        if (updated == 0) {
+            throw new IllegalArgumentException("덱을 찾을 수 없습니다.");
+        }
+        log.info("debug >>> 덱 카드 개수 업데이트: deckId={}, change={}", deckId, countChange);
     }
 } 
\ No newline at end of file
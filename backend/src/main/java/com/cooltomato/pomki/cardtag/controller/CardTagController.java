@@ -48,6 +48,14 @@ public class CardTagController {
         return ResponseEntity.noContent().build();
     }
 
+    // [Tag] queryCardByTags: 태그 검색식(AND/OR/NOT)으로 카드 조회
+    @Operation(summary = "태그 검색식으로 카드 조회", description = "AND, OR, NOT과 괄호로 조합한 태그 검색식에 해당하는 카드를 조회합니다. 예) grammar AND NOT easy, 공백이 있는 태그는 \"큰따옴표\"로 감쌉니다.")
+    @GetMapping("/query")
+    public ResponseEntity<List<CardResponseDto>> queryCardByTags(@AuthenticationPrincipal PrincipalMember principal, @RequestParam("q") String query) {
+        List<CardResponseDto> response = service.queryCardsByTagsService(principal, query);
+        return ResponseEntity.ok(response);
+    }
+
     // [Tag] readCardByTagName: 특정 태그 선택시 태그에 해당하는 모든 카드 조회
     @Operation(summary = "특정 태그의 카드 조회", description = "특정 태그에 해당하는 모든 카드를 조회합니다.")
     @GetMapping("/{tagName}")
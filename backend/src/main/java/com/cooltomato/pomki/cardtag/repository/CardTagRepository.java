@@ -3,10 +3,12 @@ package com.cooltomato.pomki.cardtag.repository;
 import com.cooltomato.pomki.cardtag.entity.CardTag;
 import com.cooltomato.pomki.cardtag.entity.CardTagId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -27,4 +29,69 @@ public interface CardTagRepository extends JpaRepository<CardTag, CardTagId> {
 
     @Query("SELECT ct.tagName FROM CardTag ct WHERE ct.cardId = :cardId AND ct.memberId = :memberId")
     List<String> findTagNameByCardId(@Param("cardId") Long cardId, @Param("memberId") Long memberId);
-} 
+
+    // 덱 삭제용: 휴지통에 있는 카드는 복원될 수 있으므로 살아 있는 카드의 태그만 대상
+    @Query("SELECT DISTINCT ct.tagName FROM CardTag ct WHERE ct.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId AND c.isDeleted = false)")
+    List<String> findDistinctTagNameByDeckId(@Param("deckId") String deckId);
+
+    @Modifying
+    @Query("DELETE FROM CardTag ct WHERE ct.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId AND c.isDeleted = false)")
+    int deleteByDeckId(@Param("deckId") String deckId);
+
+    // 덱 영구 삭제용: 휴지통 카드까지 덱의 모든 카드가 지워지므로 전체 대상
+    @Query("SELECT DISTINCT ct.tagName FROM CardTag ct WHERE ct.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId)")
+    List<String> findDistinctTagNameOfAllCardsByDeckId(@Param("deckId") String deckId);
+
+    @Modifying
+    @Query("DELETE FROM CardTag ct WHERE ct.cardId IN (SELECT c.cardId FROM Card c WHERE c.deck.deckId = :deckId)")
+    int deleteAllCardsByDeckId(@Param("deckId") String deckId);
+
+    // 덱 복제/병합으로 새로 만들어진 카드에 원본 카드의 태그를 그대로 복사
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO card_tag (member_id, tag_name, card_id) " +
+                   "SELECT ct.member_id, ct.tag_name, c.card_id " +
+                   "FROM card c JOIN card_tag ct ON ct.card_id = c.copied_from_card_id " +
+                   "WHERE c.copy_batch_id = :batchId", nativeQuery = true)
+    int copyTagsForCopiedCards(@Param("batchId") String batchId);
+
+    List<CardTag> findByMemberIdAndCardIdIn(Long memberId, Collection<Long> cardIds);
+
+    // 이미 붙어 있는 태그면 무시 (반환값 1일 때만 태그 사용 수 증가)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO card_tag (member_id, tag_name, card_id) VALUES (:memberId, :tagName, :cardId)", nativeQuery = true)
+    int insertIgnore(@Param("memberId") Long memberId, @Param("tagName") String tagName, @Param("cardId") Long cardId);
+
+    @Modifying
+    @Query("DELETE FROM CardTag ct WHERE ct.memberId = :memberId AND ct.tagName = :tagName AND ct.cardId = :cardId")
+    int deleteLink(@Param("memberId") Long memberId, @Param("tagName") String tagName, @Param("cardId") Long cardId);
+
+    @Modifying
+    @Query("DELETE FROM CardTag ct WHERE ct.cardId = :cardId")
+    int deleteByCardId(@Param("cardId") Long cardId);
+
+    // 태그 일괄 적용: 회원 소유의 살아 있는 카드에만 태그를 한 번에 연결 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO card_tag (member_id, tag_name, card_id) " +
+                   "SELECT d.member_id, t.tag_name, c.card_id " +
+                   "FROM card c JOIN card_deck d ON d.deck_id = c.deck_id " +
+                   "JOIN tag t ON t.member_id = d.member_id AND t.tag_name IN (:tagNames) " +
+                   "WHERE d.member_id = :memberId AND c.is_deleted = false AND c.card_id IN (:cardIds)", nativeQuery = true)
+    int bulkInsertIgnore(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames, @Param("cardIds") Collection<Long> cardIds);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO card_tag (member_id, tag_name, card_id) " +
+                   "SELECT d.member_id, t.tag_name, c.card_id " +
+                   "FROM card c JOIN card_deck d ON d.deck_id = c.deck_id " +
+                   "JOIN tag t ON t.member_id = d.member_id AND t.tag_name IN (:tagNames) " +
+                   "WHERE d.member_id = :memberId AND c.is_deleted = false AND c.deck_id = :deckId", nativeQuery = true)
+    int bulkInsertIgnoreByDeckId(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames, @Param("deckId") String deckId);
+
+    // 태그 이름 변경: 새 이름이 이미 붙은 카드는 건너뛰고(IGNORE) 나머지 연결만 새 이름으로 변경
+    @Modifying
+    @Query(value = "UPDATE IGNORE card_tag SET tag_name = :newTagName WHERE member_id = :memberId AND tag_name = :tagName", nativeQuery = true)
+    int renameTag(@Param("memberId") Long memberId, @Param("tagName") String tagName, @Param("newTagName") String newTagName);
+
+    @Modifying
+    @Query("DELETE FROM CardTag ct WHERE ct.memberId = :memberId AND ct.tagName = :tagName")
+    int deleteByMemberIdAndTagName(@Param("memberId") Long memberId, @Param("tagName") String tagName);
+}
@@ -1,10 +1,12 @@
 package com.cooltomato.pomki.cardtag.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
@@ -14,12 +16,10 @@ import com.cooltomato.pomki.card.repository.CardRepository;
 import com.cooltomato.pomki.cardtag.dto.CardTagRequestDto;
 import com.cooltomato.pomki.cardtag.dto.CardTagResponseDto;
 import com.cooltomato.pomki.cardtag.entity.CardTag;
-import com.cooltomato.pomki.cardtag.entity.CardTagId;
 import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
-import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
-import com.cooltomato.pomki.tag.entity.Tag;
-import com.cooltomato.pomki.tag.entity.TagId;
-import com.cooltomato.pomki.tag.repository.TagRepository;
+import com.cooltomato.pomki.tag.service.TagBitmapCache;
+import com.cooltomato.pomki.tag.service.TagQuery;
+import com.cooltomato.pomki.tag.service.TagService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,9 +29,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CardTagService {
     private final CardTagRepository cardTagRepository;
-    private final TagRepository tagRepository;
     private final CardRepository cardRepository;
-    private final NoteTagRepository noteTagRepository;
+    private final TagService tagService;
+    private final TagBitmapCache tagBitmapCache;
 
     public List<CardTagResponseDto> readAllCardTagService(PrincipalMember principal) {
         List<CardTag> cardTagList = cardTagRepository.findByMemberId(principal.getMemberId());
@@ -44,6 +44,7 @@ public class CardTagService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public List<CardTagResponseDto> createCardTagService(PrincipalMember principal, CardTagRequestDto request) {
         log.info("debug >>> 카드에 태그 추가 시작");
         Card card = cardRepository.findById(request.getCardId())
@@ -58,74 +59,61 @@ public class CardTagService {
 
         List<CardTagResponseDto> createdTags = new ArrayList<>();
 
-        // 리스트로 입력한 태그 하나하나를 카드태그로 저장
+        // 리스트로 입력한 태그 하나하나를 카드태그로 저장, 새로 붙은 태그만 사용 수 증가
         for (String tagName : request.getTagNames()) {
-            CardTag entity = CardTag.builder()
-                    .cardId(request.getCardId())
-                    .memberId(principal.getMemberId())
-                    .tagName(tagName)
-                    .card(card)
-                    .build();
+            if (cardTagRepository.insertIgnore(principal.getMemberId(), tagName, request.getCardId()) == 0) {
+                continue;
+            }
+            tagService.acquireTag(principal.getMemberId(), tagName);
+            tagBitmapCache.cardTagAdded(principal.getMemberId(), request.getCardId(), tagName);
+            log.info("debug >>> 카드에 태그 추가 완료: " + tagName);
 
-            if (!cardTagRepository.findById(CardTagId.builder()
+            createdTags.add(CardTagResponseDto.builder()
                     .cardId(request.getCardId())
                     .memberId(principal.getMemberId())
                     .tagName(tagName)
-                    .build()).isPresent()) {
-                cardTagRepository.save(entity);
-                log.info("debug >>> 카드에 태그 추가 완료: " + tagName);
-                
-                createdTags.add(CardTagResponseDto.builder()
-                        .cardId(request.getCardId())
-                        .memberId(principal.getMemberId())
-                        .tagName(tagName)
-                        .build());
-            }
-            
-            if (!tagRepository.findById(TagId.builder()
-                    .tagName(tagName)
-                    .memberId(principal.getMemberId())
-                    .build()).isPresent()) {
-                tagRepository.save(Tag.builder()
-                        .tagName(tagName)
-                        .memberId(principal.getMemberId())
-                        .build());
-                log.info("debug >>> Tag에 추가 완료: " + tagName);
-            }
+                    .build());
+        }
+
+        // 태그 목록도 카드의 일부로 동기화되므로 카드 수정 시각 갱신 (DB 시각)
+        if (!createdTags.isEmpty()) {
+            cardRepository.touchByCardIds(principal.getMemberId(), List.of(request.getCardId()));
         }
         
         return createdTags;
     }
 
+    @Transactional
     public void deleteCardTagService(PrincipalMember principal, @RequestParam("cardId") Long cardId, @RequestParam("tagName") String tagName) {
-        CardTagId cardTagIdEntity = CardTagId.builder()
-                .cardId(cardId)
-                .memberId(principal.getMemberId())
-                .tagName(tagName)
-                .build();
-        cardTagRepository.deleteById(cardTagIdEntity);
-        Long remainingCardTagCount = cardTagRepository.countByTagNameAndMemberId(
-                tagName, principal.getMemberId());
-        Long noteTagCount = noteTagRepository.countByTagNameAndMemberId(
-                tagName, principal.getMemberId());
-        if (remainingCardTagCount == 0 && noteTagCount == 0) {
-            TagId tagIdEntity = TagId.builder()
-                    .tagName(tagName)
-                    .memberId(principal.getMemberId())
-                    .build();
-            tagRepository.deleteById(tagIdEntity);
-            log.info("debug >>> Tag에서 삭제 완료");
-        } else {
-            log.info("debug >>> Tag는 유지 (다른 노트에서 {}개 사용 중)", remainingCardTagCount) ;
+        if (cardTagRepository.deleteLink(principal.getMemberId(), tagName, cardId) == 0) {
+            log.info("debug >>> 카드에 해당 태그가 없습니다.");
+            return;
         }
+        tagBitmapCache.cardTagRemoved(principal.getMemberId(), cardId, tagName);
+        cardRepository.touchByCardIds(principal.getMemberId(), List.of(cardId));
+        // 사용 수가 0이 되면 Tag에서도 삭제
+        tagService.releaseTags(principal.getMemberId(), List.of(tagName));
     }
 
     public List<CardResponseDto> readCardByTagNameService(PrincipalMember principal, String tagName) {
-        List<CardTag> allSameTagName = cardTagRepository.findAllCardIdByMemberIdAndTagName(principal.getMemberId(), tagName);
-        List<Card> cardsWithTagName = cardRepository.findAllById(allSameTagName.stream()
-                .map(CardTag::getCardId)
-                .collect(Collectors.toList()));
-        return cardsWithTagName.stream()
+        return readCardsByTagQuery(principal.getMemberId(), TagQuery.tag(tagName));
+    }
+
+    // 태그 검색식(AND/OR/NOT) 조회: 회원별 태그 비트맵 연산으로 카드 ID를 구한 뒤 한 번에 조회
+    public List<CardResponseDto> queryCardsByTagsService(PrincipalMember principal, String query) {
+        return readCardsByTagQuery(principal.getMemberId(), TagQuery.parse(query));
+    }
+
+    private List<CardResponseDto> readCardsByTagQuery(Long memberId, TagQuery query) {
+        List<Long> cardIds = tagBitmapCache.queryCardIds(memberId, query);
+        if (cardIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> tagsByCardId = cardTagRepository.findByMemberIdAndCardIdIn(memberId, cardIds).stream()
+                .collect(Collectors.groupingBy(CardTag::getCardId,
+                        Collectors.mapping(CardTag::getTagName, Collectors.toList())));
+        return cardRepository.findAllWithDeckByCardIdIn(cardIds).stream()
+                .filter(card -> !card.getIsDeleted())
                 .map(card -> CardResponseDto.builder()
                         .cardId(card.getCardId())
                         .deckId(card.getDeck().getDeckId())
@@ -134,10 +122,7 @@ public class CardTagService {
                         .answer(card.getAnswer())
                         .createdAt(card.getCreatedAt())
                         .updatedAt(card.getUpdatedAt())
-                        .tags(card.getCardTags().stream()
-                                .map(CardTag::getTagName)
-                                .distinct()
-                                .collect(Collectors.toList()))
+                        .tags(tagsByCardId.getOrDefault(card.getCardId(), List.of()))
                         .build())
                 .collect(Collectors.toList());
     }
@@ -1,5 +1,7 @@
 package com.cooltomato.pomki.deck.controller;
 
+import com.cooltomato.pomki.deck.dto.DeckCloneRequestDto;
+import com.cooltomato.pomki.deck.dto.DeckMergeRequestDto;
 import com.cooltomato.pomki.deck.dto.DeckRequestDto;
 import com.cooltomato.pomki.deck.dto.DeckResponseDto;
 import com.cooltomato.pomki.deck.service.DeckService;
@@ -125,6 +127,39 @@ public class DeckController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "덱 복제", description = "덱의 카드와 카드 태그를 새 덱으로 복사합니다. 선택 시 복습 스케줄도 함께 복사합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "덱 복제 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "401", description = "인증 실패"),
+        @ApiResponse(responseCode = "404", description = "덱을 찾을 수 없음")
+    })
+    @PostMapping("/{deckId}/clone")
+    public ResponseEntity<DeckResponseDto> cloneDeck(
+        @Parameter(description = "인증된 사용자 정보") @AuthenticationPrincipal PrincipalMember principal,
+        @Parameter(description = "원본 덱 ID") @PathVariable("deckId") String deckId,
+        @Parameter(description = "덱 복제 요청 정보") @RequestBody DeckCloneRequestDto request) {
+        log.info("Cloning deck: {}", deckId);
+        DeckResponseDto response = deckService.cloneDeckService(principal, deckId, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "덱 병합", description = "여러 덱의 카드를 기존 덱 또는 새 덱으로 합칩니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "덱 병합 성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "401", description = "인증 실패"),
+        @ApiResponse(responseCode = "404", description = "덱을 찾을 수 없음")
+    })
+    @PostMapping("/merge")
+    public ResponseEntity<DeckResponseDto> mergeDecks(
+        @Parameter(description = "인증된 사용자 정보") @AuthenticationPrincipal PrincipalMember principal,
+        @Parameter(description = "덱 병합 요청 정보") @RequestBody DeckMergeRequestDto request) {
+        log.info("Merging decks: {}", request.getSourceDeckIds());
+        DeckResponseDto response = deckService.mergeDecksService(principal, request);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "덱 내 카드 검색", description = "사용자의 모든 덱에서 키워드로 카드를 검색합니다.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "검색 성공"),
@@ -0,0 +1,19 @@
+package com.cooltomato.pomki.deck.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckCloneRequestDto {
+    // 비어 있으면 "원본 덱 이름 (복사본)"으로 생성
+    private String deckName;
+    // 원본 카드의 복습 스케줄(CardStat)까지 복사할지 여부
+    private boolean includeStats;
+}
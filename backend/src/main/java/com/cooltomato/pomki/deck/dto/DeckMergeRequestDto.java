@@ -0,0 +1,25 @@
+package com.cooltomato.pomki.deck.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckMergeRequestDto {
+    private List<String> sourceDeckIds;
+    // 기존 덱으로 합칠 때 사용, 없으면 targetDeckName으로 새 덱을 만들어 합침
+    private String targetDeckId;
+    private String targetDeckName;
+    // 원본 카드의 복습 스케줄(CardStat)까지 복사할지 여부
+    private boolean includeStats;
+    // 병합 후 원본 덱 삭제 여부
+    private boolean deleteSourceDecks;
+}
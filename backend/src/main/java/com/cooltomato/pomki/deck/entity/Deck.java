@@ -10,6 +10,7 @@ import org.hibernate.annotations.GenericGenerator;
 import com.cooltomato.pomki.card.entity.Card;
 import com.cooltomato.pomki.trash.entity.TrashDeck;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -18,7 +19,9 @@ import java.util.List;
 
 @Builder
 @Entity
-@Table(name = "card_deck")
+@Table(name = "card_deck", indexes = {
+    @Index(name = "idx_card_deck_member_updated", columnList = "member_id, updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -48,11 +51,11 @@ public class Deck {
     @Column(name = "deck_name", nullable = false, length = 255)
     private String deckName;
 
-    @CreationTimestamp
+    @CreationTimestamp(source = SourceType.DB)
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
@@ -3,12 +3,13 @@ package com.cooltomato.pomki.deck.repository;
 import com.cooltomato.pomki.card.entity.Card;
 import com.cooltomato.pomki.deck.entity.Deck;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,14 +17,28 @@ import java.util.Optional;
 public interface DeckRepository extends JpaRepository<Deck, String> {
     List<Deck> findAllDecksByMemberId(Long memberId);
     boolean existsByMemberIdAndDeckNameAndIsDeletedFalse(Long memberId, String deckName);
+    long countByMemberIdAndDeckIdInAndIsDeletedFalse(Long memberId, Collection<String> deckIds);
     Optional<Card> findAllCardsByDeckId(String deckId);
     List<Deck> findAllDecksByMemberIdAndIsDeletedFalse(Long memberId);
     Optional<Deck> findByMemberIdAndDeckIdAndIsDeletedFalse(Long memberId, String deckId);
     List<Deck> findByMemberIdAndIsDeletedFalse(Long memberId);
     Deck findMemberIdByDeckId(String deckId);
     Optional<Deck> findByMemberIdAndDeckNameAndIsDeletedFalse(Long memberId, String deckName);
-    
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT d FROM Deck d WHERE d.memberId = :memberId AND d.deckId = :deckId AND d.isDeleted = false")
-    Optional<Deck> findByMemberIdAndDeckIdAndIsDeletedFalseWithLock(@Param("memberId") Long memberId, @Param("deckId") String deckId);
+
+    // 덱 행을 잠그지 않고 카드 개수만 원자적으로 증감 (갱신된 행 수 반환, 0이면 덱 없음)
+    @Modifying
+    @Query("UPDATE Deck d SET d.cardCnt = d.cardCnt + :delta, d.updatedAt = LOCAL DATETIME " +
+           "WHERE d.memberId = :memberId AND d.deckId = :deckId AND d.isDeleted = false")
+    int addCardCnt(@Param("memberId") Long memberId, @Param("deckId") String deckId, @Param("delta") long delta);
+
+    // 실제 카드 수와 어긋난 card_cnt 보정 (정합성 배치용)
+    @Modifying
+    @Query(value = "UPDATE card_deck d " +
+                   "SET d.card_cnt = (SELECT COUNT(*) FROM card c WHERE c.deck_id = d.deck_id AND c.is_deleted = false) " +
+                   "WHERE d.card_cnt <> (SELECT COUNT(*) FROM card c WHERE c.deck_id = d.deck_id AND c.is_deleted = false)",
+           nativeQuery = true)
+    int reconcileCardCnt();
+
+    // 동기화: 워터마크 이후 생성/수정/삭제된 덱 (삭제된 덱 포함)
+    List<Deck> findByMemberIdAndUpdatedAtAfter(Long memberId, LocalDateTime since);
 }
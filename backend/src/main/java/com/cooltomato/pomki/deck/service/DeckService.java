@@ -7,17 +7,23 @@ import com.cooltomato.pomki.bookmark.repository.BookmarkRepository;
 import com.cooltomato.pomki.bookmark.repository.CardBookmarkRepository;
 import com.cooltomato.pomki.card.dto.CardResponseDto;
 import com.cooltomato.pomki.card.entity.Card;
+import com.cooltomato.pomki.deck.dto.DeckCloneRequestDto;
+import com.cooltomato.pomki.deck.dto.DeckMergeRequestDto;
 import com.cooltomato.pomki.deck.dto.DeckRequestDto;
 import com.cooltomato.pomki.deck.dto.DeckResponseDto;
 import com.cooltomato.pomki.deck.entity.Deck;
 import com.cooltomato.pomki.deck.repository.DeckRepository;
-import com.cooltomato.pomki.notetag.entity.NoteTag;
-import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
-import com.cooltomato.pomki.tag.entity.Tag;
-import com.cooltomato.pomki.tag.repository.TagRepository;
 import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.card.service.CardDuplicateService;
 import com.cooltomato.pomki.cardtag.entity.CardTag;
 import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
+import com.cooltomato.pomki.link.service.LinkService;
+import com.cooltomato.pomki.stats.repository.CardStatRepository;
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+import com.cooltomato.pomki.sync.service.SyncService;
+import com.cooltomato.pomki.tag.service.TagService;
+
+import jakarta.persistence.EntityManager;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,8 +32,10 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -40,10 +48,14 @@ public class DeckService {
         private final DeckRepository deckRepository;
         private final CardRepository cardRepository;
         private final CardTagRepository cardTagRepository;
-        private final TagRepository tagRepository;
-        private final NoteTagRepository noteTagRepository;
         private final BookmarkRepository bookmarkRepository;
         private final CardBookmarkRepository cardBookmarkRepository;
+        private final CardStatRepository cardStatRepository;
+        private final CardDuplicateService cardDuplicateService;
+        private final TagService tagService;
+        private final LinkService linkService;
+        private final SyncService syncService;
+        private final EntityManager entityManager;
     
         @Transactional
         public DeckResponseDto createOneDeckService(Long memberId, DeckRequestDto request) {
@@ -161,52 +173,147 @@ public class DeckService {
         }
 
 
+        // 덱 복제: 카드 본문을 애플리케이션으로 읽어오지 않고 INSERT ... SELECT로 복사
         @Transactional
-        public void deleteOneDeckService(PrincipalMember principal, String deckId) {
-            log.info("debug >>> DeckService deleteDeck");
-            Optional<Deck> deck = deckRepository.findByMemberIdAndDeckIdAndIsDeletedFalse(principal.getMemberId(), deckId) ;
- 
-            deck.get().setIsDeleted(true);
-            deckRepository.save(deck.get());
-            log.info("debug >>> 덱 삭제 성공, deckId:" + deckId);
-            log.info("debug >>> 덱에 소속된 카드 전체 삭제");
+        public DeckResponseDto cloneDeckService(PrincipalMember principal, String deckId, DeckCloneRequestDto request) {
+            log.info("debug >>> DeckService cloneDeck");
+            Deck source = deckRepository.findByMemberIdAndDeckIdAndIsDeletedFalse(principal.getMemberId(), deckId)
+                    .orElseThrow(() -> new IllegalArgumentException("덱을 찾을 수 없습니다."));
 
-            List<Card> cards = cardRepository.findByDeckDeckIdAndIsDeletedFalse(deckId);
-            if (!cards.isEmpty()) {
-                cards.forEach(card -> card.setIsDeleted(true));
-                cardRepository.saveAll(cards);
-                cardBookmarkRepository.deleteAllByCardCardIdIn(cards.stream().map(Card::getCardId).collect(Collectors.toList()));
-                log.info("debug >>> 덱 안 카드 삭제 성공");
+            String deckName = request.getDeckName() == null || request.getDeckName().isBlank()
+                    ? source.getDeckName() + " (복사본)"
+                    : request.getDeckName();
+            Deck target = createEmptyDeck(principal.getMemberId(), deckName);
+
+            long copied = copyCardsIntoDeck(principal.getMemberId(), List.of(source.getDeckId()), target, request.isIncludeStats());
+            log.info("debug >>> 덱 복제 성공, {} -> {}, {}장", deckId, target.getDeckId(), copied);
+
+            return toDeckResponseDto(target);
+        }
+
+        // 덱 병합: 여러 덱의 카드를 기존 덱 또는 새 덱으로 한 번에 복사
+        @Transactional
+        public DeckResponseDto mergeDecksService(PrincipalMember principal, DeckMergeRequestDto request) {
+            log.info("debug >>> DeckService mergeDecks");
+            Long memberId = principal.getMemberId();
+            if (request.getSourceDeckIds() == null || request.getSourceDeckIds().isEmpty()) {
+                throw new IllegalArgumentException("병합할 덱을 선택해주세요.");
             }
 
-            // 덱의 모든 카드에서 사용된 태그들을 수집
-            List<String> usedTagNames = new ArrayList<>();
-            for(Card card : cards) {
-                List<String> cardTagNames = cardTagRepository.findTagNameByCardId(card.getCardId(), principal.getMemberId());
-                usedTagNames.addAll(cardTagNames);
-                // 카드태그 삭제
-                List<CardTag> cardTags = cardTagRepository.findByCard_CardId(card.getCardId());
-                cardTagRepository.deleteAll(cardTags);
+            List<String> sourceDeckIds = request.getSourceDeckIds().stream().distinct().toList();
+            if (request.getTargetDeckId() != null && sourceDeckIds.contains(request.getTargetDeckId())) {
+                throw new IllegalArgumentException("병합 대상 덱은 원본 덱에 포함될 수 없습니다.");
+            }
+            if (deckRepository.countByMemberIdAndDeckIdInAndIsDeletedFalse(memberId, sourceDeckIds) != sourceDeckIds.size()) {
+                throw new IllegalArgumentException("덱을 찾을 수 없습니다.");
             }
 
-            // 노트에서 사용 중인 태그들 확인
-            List<NoteTag> noteTags = noteTagRepository.findByMemberId(principal.getMemberId());
-            List<String> noteTagNames = noteTags.stream()
-                    .map(NoteTag::getTagName)
-                    .collect(Collectors.toList());
-
-            // 카드에서 사용되지 않고 노트에서도 사용되지 않는 태그들을 삭제
-            for(String tagName : usedTagNames) {
-                if (!noteTagNames.contains(tagName)) {
-                    Optional<Tag> tag = tagRepository.findByMemberIdAndTagName(principal.getMemberId(), tagName);
-                    tag.ifPresent(tagRepository::delete);
+            Deck target;
+            if (request.getTargetDeckId() != null) {
+                target = deckRepository.findByMemberIdAndDeckIdAndIsDeletedFalse(memberId, request.getTargetDeckId())
+                        .orElseThrow(() -> new IllegalArgumentException("덱을 찾을 수 없습니다."));
+            } else {
+                if (request.getTargetDeckName() == null || request.getTargetDeckName().isBlank()) {
+                    throw new IllegalArgumentException("병합할 덱 이름을 입력해주세요.");
                 }
+                target = createEmptyDeck(memberId, request.getTargetDeckName());
             }
 
-            log.info("debug >>> 덱 안 카드 태그 삭제 성공");
+            long copied = copyCardsIntoDeck(memberId, sourceDeckIds, target, request.isIncludeStats());
+            log.info("debug >>> 덱 병합 성공, {} -> {}, {}장", sourceDeckIds, target.getDeckId(), copied);
 
-            // 북마크에서 삭제된 카드들에 대한 데이터들 삭제
+            if (request.isDeleteSourceDecks()) {
+                for (String sourceDeckId : sourceDeckIds) {
+                    deleteOneDeckService(principal, sourceDeckId);
+                }
+            }
 
+            return toDeckResponseDto(target);
+        }
+
+        private Deck createEmptyDeck(Long memberId, String deckName) {
+            if (deckRepository.existsByMemberIdAndDeckNameAndIsDeletedFalse(memberId, deckName)) {
+                throw new IllegalArgumentException("동일한 이름의 덱이 존재합니다.");
+            }
+            Deck deck = Deck.builder()
+                    .memberId(memberId)
+                    .deckName(deckName)
+                    .isDeleted(false)
+                    .cardCnt(0L)
+                    .updatedAt(LocalDateTime.now())
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            // 이어지는 네이티브 INSERT가 덱을 참조하므로 바로 반영
+            return deckRepository.saveAndFlush(deck);
+        }
+
+        // 카드 -> 카드 태그 -> (선택) 복습 스케줄 -> 시그니처/링크 순으로 복사한 뒤 카드 수를 한 번만 갱신
+        // 복사본은 작업마다 새로 만든 batchId로 구분하므로 같은 덱으로 동시에 병합해도 서로의 행을 건드리지 않음
+        private long copyCardsIntoDeck(Long memberId, List<String> sourceDeckIds, Deck target, boolean includeStats) {
+            String batchId = UUID.randomUUID().toString();
+            int copied = cardRepository.copyCardsToDeck(sourceDeckIds, target.getDeckId(), batchId);
+            if (copied == 0) {
+                return 0;
+            }
+            cardTagRepository.copyTagsForCopiedCards(batchId);
+            tagService.acquireTagsForCopiedCards(memberId, batchId);
+            if (includeStats) {
+                cardStatRepository.copyStatsForCopiedCards(batchId);
+            }
+            cardDuplicateService.copyForCopiedCards(batchId);
+            linkService.copyCardLinks(memberId, batchId);
+            cardRepository.clearCopyBatchId(batchId);
+            deckRepository.addCardCnt(memberId, target.getDeckId(), copied);
+            return copied;
+        }
+
+        // 카드 수/수정 시각은 벌크 UPDATE로 바뀌었으므로 DB 값을 다시 읽어 응답
+        private DeckResponseDto toDeckResponseDto(Deck deck) {
+            entityManager.refresh(deck);
+            return DeckResponseDto.builder()
+                    .deckId(deck.getDeckId())
+                    .deckName(deck.getDeckName())
+                    .createdAt(deck.getCreatedAt())
+                    .updatedAt(deck.getUpdatedAt())
+                    .cardCnt(deck.getCardCnt())
+                    .isDeleted(deck.getIsDeleted())
+                    .memberId(deck.getMemberId())
+                    .build();
+        }
+
+        // 카드 수와 관계없이 몇 개의 벌크 쿼리로 처리 (카드 엔티티를 메모리에 올리지 않음)
+        @Transactional
+        public void deleteOneDeckService(PrincipalMember principal, String deckId) {
+            log.info("debug >>> DeckService deleteDeck");
+            Deck deck = deckRepository.findByMemberIdAndDeckIdAndIsDeletedFalse(principal.getMemberId(), deckId)
+                    .orElseThrow(() -> new IllegalArgumentException("덱을 찾을 수 없습니다."));
+ 
+            deck.setIsDeleted(true);
+            deckRepository.save(deck);
+            log.info("debug >>> 덱 삭제 성공, deckId:" + deckId);
+
+            // 태그/북마크 정리는 카드 삭제 처리 전에 수행해야 살아 있던 카드만 골라낼 수 있음
+            // (이미 휴지통에 있던 카드는 복원될 수 있으므로 태그와 북마크를 그대로 둠)
+            // 덱의 카드에서 사용된 태그 이름만 먼저 수집 (태그 종류 수만큼만 메모리 사용)
+            List<String> usedTagNames = cardTagRepository.findDistinctTagNameByDeckId(deckId);
+            // 덱 카드에 붙은 태그 수만큼 사용 수를 한 번에 감소시킨 뒤 연결 삭제
+            tagService.releaseTagsOfDeck(principal.getMemberId(), deckId);
+            cardTagRepository.deleteByDeckId(deckId);
+
+            // 사용 수가 0이 된 태그 삭제
+            tagService.deleteUnusedTags(principal.getMemberId(), usedTagNames);
+            log.info("debug >>> 덱 안 카드 태그 삭제 성공");
+
+            log.info("debug >>> 덱에 소속된 카드 전체 삭제");
+            List<String> bookmarkedCardIds = cardBookmarkRepository.findLiveCardIdsByMemberIdAndDeckId(principal.getMemberId(), deckId)
+                    .stream().map(String::valueOf).toList();
+            if (!bookmarkedCardIds.isEmpty()) {
+                cardBookmarkRepository.deleteByDeckId(deckId);
+                syncService.recordDeletions(principal.getMemberId(), SyncEntityType.CARD_BOOKMARK, bookmarkedCardIds);
+            }
+            int deletedCards = cardRepository.softDeleteByDeckId(deckId);
+            cardDuplicateService.removeDeck(deckId);
+            log.info("debug >>> 덱 안 카드 삭제 성공: {}장", deletedCards);
         }
 
         // 덱에서 검색어를 입력하면 덱 안에 있는 검색어가 있는 카드들이 표시됨
@@ -254,6 +361,19 @@ public class DeckService {
 
         }
 
+        // card_cnt는 카드 생성/삭제 시 증감 UPDATE로만 관리되므로,
+        // 쓰레기통 이동 등 증감을 거치지 않은 경로로 생긴 오차를 주기적으로 보정
+        @Scheduled(cron = "${pomki.deck.card-count-reconcile-cron:0 30 3 * * ?}")
+        @Transactional
+        public void reconcileCardCounts() {
+            int fixed = deckRepository.reconcileCardCnt();
+            if (fixed > 0) {
+                log.info("덱 카드 개수 보정 완료: {}개 덱", fixed);
+            } else {
+                log.debug("보정할 덱 카드 개수 없음");
+            }
+        }
+
         // 덱 이름 수정
         
         
@@ -0,0 +1,62 @@
+package com.cooltomato.pomki.export.controller;
+
+import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.export.service.ExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "데이터 내보내기 API")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final AsyncTaskExecutor exportTaskExecutor;
+
+    // 대용량 내보내기가 기본 비동기 타임아웃(30초)에 끊기지 않도록 이 요청에만 적용
+    @Value("${pomki.export.timeout-minutes:30}")
+    private long exportTimeoutMinutes;
+
+    public ExportController(ExportService exportService,
+                            @Qualifier("exportTaskExecutor") AsyncTaskExecutor exportTaskExecutor) {
+        this.exportService = exportService;
+        this.exportTaskExecutor = exportTaskExecutor;
+    }
+
+    @GetMapping
+    @Operation(summary = "전체 데이터 내보내기",
+               description = "노트(Markdown), 덱(CSV), 노트 이미지를 하나의 ZIP 파일로 내려받습니다. 파일은 만들어지는 대로 스트리밍됩니다.")
+    public WebAsyncTask<Void> export(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @Parameter(hidden = true) HttpServletResponse response) {
+        Long memberId = principal.getMemberId();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("pomki-export-" + LocalDate.now() + ".zip")
+                .build()
+                .toString());
+        response.setContentType("application/zip");
+
+        // 전역 비동기 설정은 그대로 두고, 내보내기만 전용 스레드 풀과 긴 타임아웃으로 실행
+        return new WebAsyncTask<>(exportTimeoutMinutes * 60 * 1000, exportTaskExecutor, () -> {
+            exportService.writeExport(memberId, response.getOutputStream());
+            return null;
+        });
+    }
+}
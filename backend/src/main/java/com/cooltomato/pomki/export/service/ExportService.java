@@ -0,0 +1,246 @@
+package com.cooltomato.pomki.export.service;
+
+import com.cooltomato.pomki.card.entity.Card;
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.cardtag.entity.CardTag;
+import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
+import com.cooltomato.pomki.global.exception.S3OperationFailedException;
+import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.noteimage.entity.NoteImage;
+import com.cooltomato.pomki.noteimage.repository.NoteImageRepository;
+import com.cooltomato.pomki.noteimage.service.NoteImageService;
+import com.cooltomato.pomki.notetag.entity.NoteTag;
+import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 회원 데이터 전체를 ZIP으로 내보내는 서비스
+ * - notes/*.md: 태그 등을 front-matter로 포함한 Markdown
+ * - decks/*.csv: 덱별 카드 목록
+ * - images/{noteId}/*: 스토리지에서 내려받은 노트 이미지
+ * 노트/카드/이미지는 키셋으로 한 페이지씩 짧게 조회해 바로 ZIP 엔트리로 쓰고 영속성 컨텍스트를 비우므로,
+ * 라이브러리 크기와 관계없이 힙 사용량은 태그 목록과 파일 이름 정도로 유지되고 내보내는 동안 커넥션을 붙잡지 않는다.
+ * 출력 스트림 쓰기 실패(클라이언트 연결 끊김 등)는 그대로 던져 내보내기를 중단한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final String CSV_HEADER = "question,answer,tags,created_at,updated_at\r\n";
+    private static final int PAGE_SIZE = 200;
+
+    private final NoteRepository noteRepository;
+    private final NoteTagRepository noteTagRepository;
+    private final CardRepository cardRepository;
+    private final CardTagRepository cardTagRepository;
+    private final NoteImageRepository noteImageRepository;
+    private final NoteImageService noteImageService;
+    private final EntityManager entityManager;
+
+    // 내보내기 전용 스레드(exportTaskExecutor)에서 호출됨
+    public void writeExport(Long memberId, OutputStream outputStream) throws IOException {
+        log.info("debug >>> 내보내기 시작, memberId: {}", memberId);
+        try (ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8)) {
+            int notes = writeNotes(memberId, zip);
+            int cards = writeDecks(memberId, zip);
+            int images = writeImages(memberId, zip);
+            log.info("debug >>> 내보내기 완료, memberId: {}, 노트 {}건, 카드 {}건, 이미지 {}건", memberId, notes, cards, images);
+        }
+    }
+
+    private int writeNotes(Long memberId, ZipOutputStream zip) throws IOException {
+        // 태그는 노트 본문과 달리 작으므로 미리 한 번에 조회
+        Map<String, List<String>> tagsByNoteId = noteTagRepository.findByMemberId(memberId).stream()
+                .collect(Collectors.groupingBy(NoteTag::getNoteId,
+                        Collectors.mapping(NoteTag::getTagName, Collectors.toList())));
+        Set<String> usedNames = new HashSet<>();
+        String afterNoteId = "";
+        int count = 0;
+
+        while (true) {
+            List<Note> page = noteRepository.findActiveByMemberIdAfter(memberId, afterNoteId, Limit.of(PAGE_SIZE));
+            for (Note note : page) {
+                String fileName = uniqueName(usedNames, "notes/", safeFileName(note.getNoteTitle(), "untitled"), note.getNoteId(), ".md");
+                zip.putNextEntry(new ZipEntry(fileName));
+                zip.write(toMarkdown(note, tagsByNoteId.getOrDefault(note.getNoteId(), List.of())).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+                count++;
+            }
+            entityManager.clear();
+            if (page.size() < PAGE_SIZE) {
+                return count;
+            }
+            afterNoteId = page.get(page.size() - 1).getNoteId();
+        }
+    }
+
+    private int writeDecks(Long memberId, ZipOutputStream zip) throws IOException {
+        Map<Long, List<String>> tagsByCardId = cardTagRepository.findByMemberId(memberId).stream()
+                .collect(Collectors.groupingBy(CardTag::getCardId,
+                        Collectors.mapping(CardTag::getTagName, Collectors.toList())));
+        Set<String> usedNames = new HashSet<>();
+        String currentDeckId = null;
+        String afterDeckId = "";
+        Long afterCardId = 0L;
+        int count = 0;
+
+        // 덱 순서로 정렬되어 있으므로 덱이 바뀔 때마다 새 CSV 엔트리를 시작
+        while (true) {
+            List<Card> page = cardRepository.findActiveByMemberIdAfter(memberId, afterDeckId, afterCardId, Limit.of(PAGE_SIZE));
+            for (Card card : page) {
+                if (!card.getDeck().getDeckId().equals(currentDeckId)) {
+                    if (currentDeckId != null) {
+                        zip.closeEntry();
+                    }
+                    currentDeckId = card.getDeck().getDeckId();
+                    zip.putNextEntry(new ZipEntry(uniqueName(usedNames, "decks/",
+                            safeFileName(card.getDeck().getDeckName(), "deck"), currentDeckId, ".csv")));
+                    // 엑셀에서 UTF-8로 인식하도록 BOM 추가
+                    zip.write(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+                    zip.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+                }
+                String row = csv(card.getContent()) + "," + csv(card.getAnswer()) + ","
+                        + csv(String.join(" ", tagsByCardId.getOrDefault(card.getCardId(), List.of()))) + ","
+                        + csvTime(card.getCreatedAt()) + "," + csvTime(card.getUpdatedAt()) + "\r\n";
+                zip.write(row.getBytes(StandardCharsets.UTF_8));
+                count++;
+            }
+            entityManager.clear();
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            Card last = page.get(page.size() - 1);
+            afterDeckId = last.getDeck().getDeckId();
+            afterCardId = last.getCardId();
+        }
+        if (currentDeckId != null) {
+            zip.closeEntry();
+        }
+        return count;
+    }
+
+    private int writeImages(Long memberId, ZipOutputStream zip) throws IOException {
+        // 이미지는 이미 압축된 형식이므로 다시 압축하지 않음
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        Long afterImageId = 0L;
+        int count = 0;
+
+        while (true) {
+            List<NoteImage> page = noteImageRepository.findByMemberIdAfter(memberId, afterImageId, Limit.of(PAGE_SIZE));
+            for (NoteImage image : page) {
+                String fileName = "images/" + image.getNote().getNoteId() + "/" + image.getImageId() + "_"
+                        + safeFileName(image.getOriFileName(), "image");
+                if (writeImage(image, fileName, zip)) {
+                    count++;
+                }
+            }
+            entityManager.clear();
+            if (page.size() < PAGE_SIZE) {
+                return count;
+            }
+            afterImageId = page.get(page.size() - 1).getImageId();
+        }
+    }
+
+    // 스토리지에서 임시 파일로 끝까지 받은 뒤에만 엔트리를 시작하므로, 다운로드 실패로 잘린 엔트리가 남지 않는다
+    private boolean writeImage(NoteImage image, String fileName, ZipOutputStream zip) throws IOException {
+        Path tempFile = Files.createTempFile("pomki-export-", ".tmp");
+        try {
+            try {
+                noteImageService.downloadImageTo(image.getImageUrl(), tempFile);
+            } catch (S3OperationFailedException | UncheckedIOException e) {
+                // 이미지 하나 때문에 전체 내보내기를 중단하지 않음
+                log.warn("내보내기 이미지 누락: imageId={}, error={}", image.getImageId(), e.getMessage());
+                return false;
+            }
+            zip.putNextEntry(new ZipEntry(fileName));
+            Files.copy(tempFile, zip);
+            zip.closeEntry();
+            return true;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private String toMarkdown(Note note, List<String> tags) {
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("---\n");
+        markdown.append("id: ").append(note.getNoteId()).append('\n');
+        markdown.append("title: ").append(yaml(note.getNoteTitle())).append('\n');
+        markdown.append("tags: [")
+                .append(tags.stream().map(this::yaml).collect(Collectors.joining(", ")))
+                .append("]\n");
+        markdown.append("created: ").append(note.getCreatedAt()).append('\n');
+        if (note.getUpdatedAt() != null) {
+            markdown.append("updated: ").append(note.getUpdatedAt()).append('\n');
+        }
+        markdown.append("ai_enhanced: ").append(Boolean.TRUE.equals(note.getAiEnhanced())).append('\n');
+        markdown.append("---\n\n");
+        if (note.getNoteContent() != null) {
+            markdown.append(note.getNoteContent());
+        }
+        return markdown.toString();
+    }
+
+    private String yaml(String value) {
+        if (value == null) {
+            return "\"\"";
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"")
+                .replace("\r", "\\r").replace("\n", "\\n") + "\"";
+    }
+
+    private String csvTime(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private String safeFileName(String name, String fallback) {
+        if (name == null || name.isBlank()) {
+            return fallback;
+        }
+        String safe = name.strip().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        return safe.length() > 80 ? safe.substring(0, 80) : safe;
+    }
+
+    // 같은 이름이 이미 있으면 ID 일부를 붙여 구분
+    private String uniqueName(Set<String> usedNames, String directory, String baseName, String id, String extension) {
+        String name = directory + baseName + extension;
+        if (!usedNames.add(name)) {
+            String shortId = id.length() > 8 ? id.substring(0, 8) : id;
+            name = directory + baseName + " (" + shortId + ")" + extension;
+            usedNames.add(name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,96 @@
+package com.cooltomato.pomki.global.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 서버 메모리에 두는 크기 제한 LRU + TTL 캐시
+ * - 크기를 넘으면 가장 오래 쓰지 않은 항목부터 버리고, TTL이 지난 항목은 없는 것으로 본다.
+ * - 로딩은 락 밖에서 하며, 로딩하는 동안 변경/삭제가 있었으면 읽어 온 옛 값은 넣지 않는다.
+ * 커밋 후 반영 같은 트랜잭션 처리는 쓰는 쪽에서 AfterCommit으로 감싼다.
+ */
+public final class BoundedCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final long ttlMillis;
+    // 변경/삭제가 있을 때마다 증가 (로딩 중에 바뀐 경우 옛 값을 넣지 않기 위함)
+    private long generation;
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    // TTL 안의 값, 없으면 null
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    // 캐시된 값을 돌려주고, 없으면 락 밖에서 loader로 읽어 그 사이 변경이 없었을 때만 저장
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        V loaded = loader.get();
+        synchronized (this) {
+            if (loadGeneration == generation && loaded != null) {
+                store(key, loaded, ttlMillis);
+            }
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        store(key, value, ttlMillis);
+    }
+
+    // 항목별로 기본 TTL보다 짧게 둘 때 사용
+    public void put(K key, V value, Duration ttl) {
+        store(key, value, Math.min(ttl.toMillis(), ttlMillis));
+    }
+
+    /**
+     * 캐시된 값을 제자리에서 고치기 전에 호출한다. 진행 중인 로딩이 옛 값을 넣지 못하게 하고 현재 값(없으면 null)을 돌려준다.
+     */
+    public synchronized V modify(K key) {
+        generation++;
+        return get(key);
+    }
+
+    public synchronized void remove(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private synchronized void store(K key, V value, long entryTtlMillis) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + entryTtlMillis));
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -65,6 +65,8 @@ public class SecurityConfig {
                                         "/api/notification/test/**" // 알림테스트용
                                 ).permitAll()
                                 .requestMatchers("/api/ai/**").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/blobs/**").permitAll() // 내용 해시 키만 서빙
+                                .requestMatchers(HttpMethod.PUT, "/api/blobs/**").permitAll() // 서명 URL로 검증
                                 .requestMatchers("/api/images/**").hasAnyRole("ADMIN", "USER")
                                 .requestMatchers("/api/**").hasAnyRole("ADMIN", "USER")
                 .anyRequest().authenticated()
@@ -0,0 +1,93 @@
+package com.cooltomato.pomki.global.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 긴 본문(TEXT) 컬럼 압축 컨버터
+ * THRESHOLD_BYTES 이상인 값만 Deflate로 압축해 "헤더 + Base64"로 저장하고, 압축 효과가 없으면 원문 그대로 저장한다.
+ * 읽을 때는 헤더가 있는 값만 풀기 때문에 기존(압축 전) 행도 그대로 읽힌다.
+ * 컬럼 타입은 TEXT 그대로이므로 스키마 변경 없이 적용된다.
+ * 주의: DB에서 LIKE로 본문을 검색하면 압축된 행은 걸리지 않으므로 압축된 행은 헤더로 따로 찾아 애플리케이션에서 검사한다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    // 사용자 입력에 나올 일이 없는 제어 문자로 시작하는 형식 헤더 (버전 포함)
+    public static final String HEADER = "\u0001PZ1:";
+    public static final int THRESHOLD_BYTES = 2048;
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        byte[] raw = attribute.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < THRESHOLD_BYTES) {
+            return attribute;
+        }
+        String encoded = HEADER + Base64.getEncoder().encodeToString(deflate(raw));
+        // Base64로 늘어나는 크기까지 고려해 실제로 줄어든 경우에만 압축본 저장
+        return encoded.length() < raw.length ? encoded : attribute;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (dbData == null || !dbData.startsWith(HEADER)) {
+            return dbData;
+        }
+        try {
+            byte[] compressed = Base64.getDecoder().decode(dbData.substring(HEADER.length()));
+            return new String(inflate(compressed), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException | DataFormatException e) {
+            // 형식이 맞지 않으면 원문으로 취급
+            return dbData;
+        }
+    }
+
+    public static boolean isCompressed(String dbData) {
+        return dbData != null && dbData.startsWith(HEADER);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("압축 데이터가 잘렸습니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
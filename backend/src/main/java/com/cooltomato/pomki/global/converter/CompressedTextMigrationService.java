@@ -0,0 +1,145 @@
+package com.cooltomato.pomki.global.converter;
+
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 압축 컨버터 적용 이전에 저장된 긴 노트/카드 본문을 압축 형식으로 다시 저장하는 마이그레이션
+ * 기본은 꺼져 있으며(pomki.text-compression.migration.enabled), 켜면 정해진 시각에 키셋 순회로 배치마다 짧은 트랜잭션으로 처리한다.
+ * - 읽은 뒤 사용자가 수정한 행은 조건부 UPDATE가 0건이 되므로 덮어쓰지 않고 건너뛴다. (다음 실행에서 다시 확인)
+ * - 압축해도 줄지 않는 값은 원문 그대로 두므로 조회 조건에 계속 걸린다. 이런 행은 다시 쓰지 않고,
+ *   한 번 끝까지 순회하면 이후 저장은 모두 컨버터를 거치므로 서버가 다시 뜰 때까지 실행하지 않는다.
+ * 실행 후 압축 전/후 저장 바이트 수를 로그로 남긴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompressedTextMigrationService {
+
+    private final NoteRepository noteRepository;
+    private final CardRepository cardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Value("${pomki.text-compression.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${pomki.text-compression.migration.batch-size:200}")
+    private int batchSize;
+
+    private volatile boolean completed;
+
+    @Scheduled(cron = "${pomki.text-compression.migration.cron:0 30 4 * * ?}")
+    public void migrate() {
+        if (!enabled || completed) {
+            return;
+        }
+        MigrationStats notes = migrateNotes();
+        MigrationStats cards = migrateCards();
+        log.info("debug >>> 본문 압축 마이그레이션 완료, 노트 {}B -> {}B (압축 불가 {}건, 수정되어 건너뜀 {}건), "
+                        + "카드 {}B -> {}B (압축 불가 {}건, 수정되어 건너뜀 {}건)",
+                notes.bytesBefore, notes.bytesAfter, notes.incompressible, notes.conflicted,
+                cards.bytesBefore, cards.bytesAfter, cards.incompressible, cards.conflicted);
+        // 수정과 겹쳐 건너뛴 행이 없으면 남은 행은 압축 불가뿐이므로 더 돌지 않음
+        completed = notes.conflicted == 0 && cards.conflicted == 0;
+    }
+
+    private MigrationStats migrateNotes() {
+        MigrationStats stats = new MigrationStats();
+        String afterNoteId = "";
+        while (true) {
+            List<Object[]> rows = noteRepository.findUncompressedContents(afterNoteId,
+                    CompressedTextConverter.THRESHOLD_BYTES, CompressedTextConverter.HEADER, batchSize);
+            if (rows.isEmpty()) {
+                return stats;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Object[] row : rows) {
+                    String storedContent = (String) row[1];
+                    String storedOriginal = (String) row[2];
+                    String noteContent = recompress(storedContent);
+                    String originalContent = recompress(storedOriginal);
+                    if (Objects.equals(noteContent, storedContent) && Objects.equals(originalContent, storedOriginal)) {
+                        stats.incompressible++;
+                        continue;
+                    }
+                    if (noteRepository.updateStoredContents((String) row[0], noteContent, originalContent,
+                            storedContent, storedOriginal) == 0) {
+                        stats.conflicted++;
+                        continue;
+                    }
+                    stats.add(storedContent, noteContent);
+                    stats.add(storedOriginal, originalContent);
+                }
+            });
+            afterNoteId = (String) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    private MigrationStats migrateCards() {
+        MigrationStats stats = new MigrationStats();
+        long afterCardId = 0L;
+        while (true) {
+            List<Object[]> rows = cardRepository.findUncompressedContents(afterCardId,
+                    CompressedTextConverter.THRESHOLD_BYTES, CompressedTextConverter.HEADER, batchSize);
+            if (rows.isEmpty()) {
+                return stats;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Object[] row : rows) {
+                    String storedContent = (String) row[1];
+                    String storedAnswer = (String) row[2];
+                    String content = recompress(storedContent);
+                    String answer = recompress(storedAnswer);
+                    if (Objects.equals(content, storedContent) && Objects.equals(answer, storedAnswer)) {
+                        stats.incompressible++;
+                        continue;
+                    }
+                    if (cardRepository.updateStoredContents(((Number) row[0]).longValue(), content, answer,
+                            storedContent, storedAnswer) == 0) {
+                        stats.conflicted++;
+                        continue;
+                    }
+                    stats.add(storedContent, content);
+                    stats.add(storedAnswer, answer);
+                }
+            });
+            afterCardId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        }
+    }
+
+    private String recompress(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        // 이미 압축된 값은 풀었다가 다시 압축해도 같은 결과이므로 원문 기준으로 처리
+        return converter.convertToDatabaseColumn(converter.convertToEntityAttribute(stored));
+    }
+
+    private static final class MigrationStats {
+        private long bytesBefore;
+        private long bytesAfter;
+        private int incompressible;
+        private int conflicted;
+
+        private void add(String stored, String converted) {
+            if (stored == null) {
+                return;
+            }
+            bytesBefore += stored.getBytes(StandardCharsets.UTF_8).length;
+            bytesAfter += converted.getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+}
@@ -186,6 +186,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
     }
 
+    @ExceptionHandler(NoteVersionConflictException.class)
+    public ResponseEntity<String> handleNoteVersionConflictException(NoteVersionConflictException exception) {
+        log.error("NoteVersionConflictException: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+    }
+
     @ExceptionHandler(FirebaseMessagingException.class)
     public ResponseEntity<String> handleFirebaseMessagingException(FirebaseMessagingException exception) {
         log.error("FirebaseMessagingException: ", exception);
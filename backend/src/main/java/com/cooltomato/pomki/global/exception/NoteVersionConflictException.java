@@ -0,0 +1,7 @@
+package com.cooltomato.pomki.global.exception;
+
+public class NoteVersionConflictException extends RuntimeException {
+    public NoteVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cooltomato.pomki.global.storage;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * 이미지 등 바이너리 파일 저장소
+ * pomki.storage.type=s3(기본)이면 S3BlobStore, local이면 LocalBlobStore를 사용한다.
+ * 저장 결과는 DB에 URL로 남기므로 읽기/삭제도 URL로 받는다.
+ */
+public interface BlobStore {
+
+    // 파일에서 스트리밍 업로드 후 접근 URL 반환
+    String put(String key, Path source, long size, String contentType);
+
+    String put(String key, byte[] bytes, String contentType);
+
+    // 출력 스트림으로 복사 후 복사한 바이트 수 반환
+    long copyTo(String url, OutputStream outputStream);
+
+    void download(String url, Path target);
+
+    void delete(String url);
+
+    // 저장소 안에서 복사 (직접 업로드 임시 키 → 내용 주소 키)
+    void copy(String sourceKey, String targetKey);
+
+    String toUrl(String key);
+
+    // 저장된 파일 크기 (없으면 empty)
+    OptionalLong sizeOf(String key);
+
+    // prefix 아래 파일을 키 순서로 startAfter 다음부터 최대 limit개 조회 (정리 작업이 나눠서 순회하는 용도)
+    List<StoredBlob> list(String prefix, String startAfter, int limit);
+
+    // 클라이언트 직접 업로드용 PUT 요청 서명. 크기와 SHA-256이 다르면 저장소가 업로드를 거부한다.
+    PresignedUpload presignPut(String key, String contentType, long size, String sha256Hex, Duration expiry);
+}
@@ -0,0 +1,157 @@
+package com.cooltomato.pomki.global.storage;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 로컬 저장소 파일 서빙
+ * - ETag(크기+수정시각) / If-None-Match → 304
+ * - 단일 Range(bytes=a-b, a-, -n) → 206, 범위 밖이면 416
+ * - Tomcat sendfile을 지원하면 커널에 위임하고, 아니면 FileChannel.transferTo로 힙을 거치지 않고 전송
+ * 저장 키가 콘텐츠 해시이므로 내용이 바뀌지 않아 오래 캐시해도 된다.
+ * GET은 내용 해시를 아는 경우에만 찾을 수 있는 최종 키만 서빙하고(임시 파일, 직접 업로드 임시 키는 404),
+ * PUT은 presignPut으로 발급한 서명 URL로만 받는다.
+ */
+@RestController
+@RequestMapping("/api/blobs")
+@ConditionalOnProperty(name = "pomki.storage.type", havingValue = "local")
+@RequiredArgsConstructor
+@Tag(name = "Blob", description = "로컬 저장소 파일 서빙 API")
+public class LocalBlobController {
+
+    private static final String PREFIX = "/api/blobs/";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalBlobStore localBlobStore;
+
+    @PutMapping("/**")
+    @Operation(summary = "로컬 저장소 직접 업로드", description = "발급받은 서명 URL과 헤더로 파일 본문을 업로드합니다.")
+    public ResponseEntity<Void> upload(HttpServletRequest request,
+                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                       @RequestParam("size") long size,
+                                       @RequestParam("sha256") String sha256,
+                                       @RequestParam("expires") long expires,
+                                       @RequestParam("signature") String signature) throws IOException {
+        localBlobStore.putSigned(keyOf(request), contentType, size, sha256, expires, signature, request.getInputStream());
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/**")
+    @Operation(summary = "로컬 저장소 파일 조회", description = "Range, If-None-Match 헤더를 지원합니다.")
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = localBlobStore.servableFile(keyOf(request));
+
+        long length = Files.size(file);
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(etag))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            start = parsed[0];
+            end = parsed[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .map(Object::toString)
+                .orElse("application/octet-stream"));
+        response.setContentLengthLong(count);
+        if (count == 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LocalBlobStore.transferTo(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private String keyOf(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        return URLDecoder.decode(uri.substring(uri.indexOf(PREFIX) + PREFIX.length()), StandardCharsets.UTF_8);
+    }
+
+    // 단일 범위만 지원. 만족할 수 없는 범위는 null
+    private long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.cooltomato.pomki.global.storage;
+
+import com.cooltomato.pomki.global.exception.NotFoundException;
+import com.cooltomato.pomki.global.exception.UploadFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 디스크 저장소 (pomki.storage.type=local)
+ * AWS 없이 로컬 개발/테스트나 단일 서버 배포에서 이미지 파이프라인 전체를 돌리기 위한 구현.
+ * 파일은 {root}/{key}에 저장하고, LocalBlobController가 {base-url}/{key}로 서빙한다.
+ * 직접 업로드는 S3 presigned URL처럼 키/크기/타입/SHA-256/만료시각을 HMAC으로 서명한 PUT URL로 받는다.
+ */
+@Component
+@ConditionalOnProperty(name = "pomki.storage.type", havingValue = "local")
+@Slf4j
+public class LocalBlobStore implements BlobStore {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // images/{파생 접두어}{SHA-256}[.확장자]
+    private static final Pattern SERVABLE_KEY =
+            Pattern.compile("images/(?:thumb_|resize2x_|resize_|w\\d{1,5}_)?[0-9a-f]{64}(?:\\.[A-Za-z0-9]{1,10})?");
+
+    private final Path root;
+    private final String baseUrl;
+    private final byte[] signingKey;
+
+    public LocalBlobStore(@Value("${pomki.storage.local.root:./data/blobs}") String root,
+                          @Value("${pomki.storage.local.base-url:/api/blobs}") String baseUrl,
+                          @Value("${pomki.storage.local.signing-secret:}") String signingSecret) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        // 비워 두면 기동할 때마다 새 키 생성 (재시작 전에 발급한 업로드 URL은 무효가 됨)
+        if (signingSecret.isBlank()) {
+            this.signingKey = new byte[32];
+            new SecureRandom().nextBytes(this.signingKey);
+        } else {
+            this.signingKey = signingSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        Files.createDirectories(this.root);
+        log.info("로컬 파일 저장소 사용: {}", this.root);
+    }
+
+    @Override
+    public String put(String key, Path source, long size, String contentType) {
+        Path target = resolve(key);
+        try {
+            // 임시 파일에 먼저 복사한 뒤 이동해 읽는 쪽에서 쓰다 만 파일을 보지 않도록 함
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return toUrl(key);
+        } catch (IOException e) {
+            log.error("로컬 저장 실패: {}", key, e);
+            throw new UploadFailedException("파일 저장에 실패했습니다.", e);
+        }
+    }
+
+    @Override
+    public String put(String key, byte[] bytes, String contentType) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return toUrl(key);
+        } catch (IOException e) {
+            log.error("로컬 저장 실패: {}", key, e);
+            throw new UploadFailedException("파일 저장에 실패했습니다.", e);
+        }
+    }
+
+    @Override
+    public long copyTo(String url, OutputStream outputStream) {
+        Path file = existingFile(keyOf(url));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return transferTo(channel, 0, channel.size(), Channels.newChannel(outputStream));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void download(String url, Path target) {
+        try {
+            Files.copy(existingFile(keyOf(url)), target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String url) {
+        try {
+            Files.deleteIfExists(resolve(keyOf(url)));
+        } catch (IOException e) {
+            log.error("로컬 파일 삭제 실패: {}", url, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        Path target = resolve(targetKey);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            Files.copy(existingFile(sourceKey), temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("로컬 파일 복사 실패: {} -> {}", sourceKey, targetKey, e);
+            throw new UploadFailedException("파일 저장에 실패했습니다.", e);
+        }
+    }
+
+    @Override
+    public String toUrl(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public OptionalLong sizeOf(String key) {
+        Path file = resolve(key);
+        try {
+            return Files.isRegularFile(file) ? OptionalLong.of(Files.size(file)) : OptionalLong.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 키의 디렉터리 부분이 prefix인 파일만 조회 (업로드 중인 임시 파일 제외)
+    @Override
+    public List<StoredBlob> list(String prefix, String startAfter, int limit) {
+        Path directory = prefix.isEmpty() ? root : resolve(prefix);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        String after = startAfter == null ? "" : startAfter;
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                    .filter(key -> key.compareTo(after) > 0)
+                    .sorted(Comparator.naturalOrder())
+                    .limit(limit)
+                    .map(this::toStoredBlob)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, long size, String sha256Hex, Duration expiry) {
+        resolve(key);
+        long expires = Instant.now().plus(expiry).getEpochSecond();
+        String signature = sign(key, contentType, size, sha256Hex, expires);
+        String url = toUrl(key)
+                + "?size=" + size
+                + "&sha256=" + sha256Hex
+                + "&expires=" + expires
+                + "&signature=" + URLEncoder.encode(signature, StandardCharsets.UTF_8);
+        return PresignedUpload.builder()
+                .url(url)
+                .method("PUT")
+                .headers(Map.of("Content-Type", contentType))
+                .expiresAt(Instant.ofEpochSecond(expires))
+                .build();
+    }
+
+    /**
+     * 서명된 PUT 요청 본문 저장
+     * 임시 파일에 받으면서 SHA-256을 계산하고, 서명한 크기/해시와 모두 맞을 때만 키 위치로 옮긴다.
+     */
+    public void putSigned(String key, String contentType, long size, String sha256Hex, long expires,
+                          String signature, InputStream body) {
+        if (Instant.now().getEpochSecond() > expires) {
+            throw new IllegalArgumentException("업로드 URL이 만료되었습니다.");
+        }
+        byte[] expected = sign(key, contentType, size, sha256Hex, expires).getBytes(StandardCharsets.UTF_8);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8))) {
+            throw new IllegalArgumentException("업로드 서명이 올바르지 않습니다.");
+        }
+
+        Path target = resolve(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long written = 0;
+            // 서명한 크기를 넘으면 바로 중단해 초과 업로드가 디스크를 채우지 않도록 함
+            try (InputStream inputStream = new DigestInputStream(body, digest);
+                 OutputStream outputStream = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    written += read;
+                    if (written > size) {
+                        throw new IllegalArgumentException("업로드한 파일이 서명한 크기보다 큽니다.");
+                    }
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+            if (written != size || !HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(sha256Hex)) {
+                throw new IllegalArgumentException("업로드한 파일의 크기 또는 해시가 일치하지 않습니다.");
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException e) {
+            log.error("로컬 직접 업로드 저장 실패: {}", key, e);
+            throw new UploadFailedException("파일 저장에 실패했습니다.", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패: {}", temp, e);
+                }
+            }
+        }
+    }
+
+    // 공개 서빙용: 내용 해시로 정해지는 최종 키(원본/파생/반응형 이미지)만 허용하고,
+    // 업로드 중인 임시 파일(.upload-*)과 직접 업로드 임시 키(uploads/)는 없는 것으로 취급 (404)
+    public Path servableFile(String key) {
+        if (!SERVABLE_KEY.matcher(key).matches()) {
+            throw new NotFoundException("파일을 찾을 수 없습니다.");
+        }
+        return existingFile(key);
+    }
+
+    // 키에 해당하는 실제 파일 (없으면 404)
+    private Path existingFile(String key) {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) {
+            throw new NotFoundException("파일을 찾을 수 없습니다.");
+        }
+        return file;
+    }
+
+    // position부터 count 바이트를 채널로 전송 (transferTo는 한 번에 다 보내지 않을 수 있으므로 반복)
+    public static long transferTo(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long sent = channel.transferTo(position + transferred, count - transferred, target);
+            if (sent <= 0) {
+                break;
+            }
+            transferred += sent;
+        }
+        return transferred;
+    }
+
+    private StoredBlob toStoredBlob(String key) {
+        Path file = resolve(key);
+        try {
+            return StoredBlob.builder()
+                    .key(key)
+                    .size(Files.size(file))
+                    .lastModified(Files.getLastModifiedTime(file).toInstant())
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String sign(String key, String contentType, long size, String sha256Hex, long expires) {
+        String payload = String.join("\n", key, contentType, String.valueOf(size), sha256Hex.toLowerCase(), String.valueOf(expires));
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingKey, HMAC_ALGORITHM));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String keyOf(String url) {
+        if (url == null || !url.startsWith(baseUrl + "/")) {
+            throw new IllegalArgumentException("로컬 저장소의 URL이 아닙니다: " + url);
+        }
+        return url.substring(baseUrl.length() + 1);
+    }
+
+    // 키가 저장소 루트 밖을 가리키지 않도록 검사
+    private Path resolve(String key) {
+        Path resolved = root.resolve(key).normalize();
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new IllegalArgumentException("잘못된 파일 경로입니다.");
+        }
+        return resolved;
+    }
+}
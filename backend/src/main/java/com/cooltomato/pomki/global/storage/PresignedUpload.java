@@ -0,0 +1,18 @@
+package com.cooltomato.pomki.global.storage;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+// 클라이언트가 저장소에 직접 올릴 때 쓰는 서명된 요청 정보 (headers는 그대로 보내야 서명이 맞음)
+@Getter
+@Builder
+public class PresignedUpload {
+
+    private final String url;
+    private final String method;
+    private final Map<String, String> headers;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,298 @@
+package com.cooltomato.pomki.global.storage;
+
+import com.cooltomato.pomki.global.exception.S3OperationFailedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+// S3 저장소 (기본)
+@Component
+@ConditionalOnProperty(name = "pomki.storage.type", havingValue = "s3", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+
+    @Value("${pomki.s3.bucket-name}")
+    private String bucketName;
+
+    // 이 크기 이상인 원본은 S3 멀티파트 업로드로 part-size씩 나눠 올림
+    @Value("${pomki.image.upload.multipart-threshold-mb:16}")
+    private long multipartThresholdMb;
+
+    @Value("${pomki.image.upload.part-size-mb:8}")
+    private int partSizeMb;
+
+    @Override
+    public String put(String s3Key, byte[] fileBytes, String mimeType) {
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .contentType(mimeType)
+                    .build();
+
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(fileBytes));
+
+            return toUrl(s3Key);
+        } catch (Exception e) {
+            log.error("S3 업로드 실패: {}", e.getMessage(), e);
+            throw new S3OperationFailedException("S3 업로드에 실패했습니다.", e);
+        }
+    }
+
+    // 파일에서 바로 스트리밍 업로드 (원본 전체를 힙에 올리지 않음)
+    @Override
+    public String put(String s3Key, Path source, long fileSize, String mimeType) {
+        try {
+            if (fileSize >= multipartThresholdMb * 1024 * 1024) {
+                multipartUpload(s3Key, source, mimeType);
+            } else {
+                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(s3Key)
+                        .contentType(mimeType)
+                        .build();
+                s3Client.putObject(putObjectRequest, RequestBody.fromFile(source));
+            }
+            return toUrl(s3Key);
+        } catch (Exception e) {
+            log.error("S3 업로드 실패: {}", e.getMessage(), e);
+            throw new S3OperationFailedException("S3 업로드에 실패했습니다.", e);
+        }
+    }
+
+    // 원본 이미지를 메모리에 올리지 않고 출력 스트림으로 바로 복사 (내보내기용), 복사한 바이트 수 반환
+    @Override
+    public long copyTo(String imageUrl, OutputStream outputStream) {
+        try (ResponseInputStream<GetObjectResponse> inputStream = s3Client.getObject(getObjectRequest(imageUrl))) {
+            return inputStream.transferTo(outputStream);
+        } catch (IOException | SdkException e) {
+            log.error("S3 파일 다운로드 실패: {}, 오류: {}", imageUrl, e.getMessage());
+            throw new S3OperationFailedException("S3 파일 다운로드에 실패했습니다: " + imageUrl, e);
+        }
+    }
+
+    // 파생 이미지 생성용으로 원본을 임시 파일에 내려받음
+    @Override
+    public void download(String imageUrl, Path target) {
+        try (ResponseInputStream<GetObjectResponse> inputStream = s3Client.getObject(getObjectRequest(imageUrl))) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | SdkException e) {
+            log.error("S3 파일 다운로드 실패: {}, 오류: {}", imageUrl, e.getMessage());
+            throw new S3OperationFailedException("S3 파일 다운로드에 실패했습니다: " + imageUrl, e);
+        }
+    }
+
+    @Override
+    public void delete(String imageUrl) {
+        String s3Key = extractKey(imageUrl);
+        try {
+            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .build();
+
+            s3Client.deleteObject(deleteObjectRequest);
+            log.debug("S3 파일 삭제 완료: {}", s3Key);
+        } catch (Exception e) {
+            log.error("S3 파일 삭제 실패: {}, 오류: {}", s3Key, e.getMessage());
+            throw new S3OperationFailedException("S3 파일 삭제에 실패했습니다: " + s3Key, e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceKey, String targetKey) {
+        try {
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucketName)
+                    .sourceKey(sourceKey)
+                    .destinationBucket(bucketName)
+                    .destinationKey(targetKey)
+                    .build());
+        } catch (SdkException e) {
+            log.error("S3 파일 복사 실패: {} -> {}, 오류: {}", sourceKey, targetKey, e.getMessage());
+            throw new S3OperationFailedException("S3 파일 복사에 실패했습니다: " + sourceKey, e);
+        }
+    }
+
+    @Override
+    public OptionalLong sizeOf(String s3Key) {
+        try {
+            return OptionalLong.of(s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .build()).contentLength());
+        } catch (NoSuchKeyException e) {
+            return OptionalLong.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return OptionalLong.empty();
+            }
+            log.error("S3 파일 조회 실패: {}, 오류: {}", s3Key, e.getMessage());
+            throw new S3OperationFailedException("S3 파일 조회에 실패했습니다: " + s3Key, e);
+        }
+    }
+
+    @Override
+    public List<StoredBlob> list(String prefix, String startAfter, int limit) {
+        try {
+            ListObjectsV2Request.Builder request = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .maxKeys(limit);
+            if (startAfter != null && !startAfter.isEmpty()) {
+                request.startAfter(startAfter);
+            }
+            return s3Client.listObjectsV2(request.build()).contents().stream()
+                    .map(object -> StoredBlob.builder()
+                            .key(object.key())
+                            .size(object.size())
+                            .lastModified(object.lastModified())
+                            .build())
+                    .toList();
+        } catch (SdkException e) {
+            log.error("S3 목록 조회 실패: {}, 오류: {}", prefix, e.getMessage());
+            throw new S3OperationFailedException("S3 목록 조회에 실패했습니다: " + prefix, e);
+        }
+    }
+
+    // Content-Length와 x-amz-checksum-sha256이 서명에 포함되어 S3가 크기/내용이 다른 업로드를 거부함
+    @Override
+    public PresignedUpload presignPut(String s3Key, String mimeType, long fileSize, String sha256Hex, Duration expiry) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(mimeType)
+                .contentLength(fileSize)
+                .checksumSHA256(Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256Hex)))
+                .build();
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .putObjectRequest(putObjectRequest)
+                .build());
+
+        // host는 브라우저가 직접 붙이므로 제외
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return PresignedUpload.builder()
+                .url(presigned.url().toString())
+                .method("PUT")
+                .headers(headers)
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    // part-size 버퍼 하나를 재사용하며 나눠 올리고, 실패하면 올리던 멀티파트 업로드를 취소
+    private void multipartUpload(String s3Key, Path source, String mimeType) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(mimeType)
+                .build()).uploadId();
+
+        try (InputStream inputStream = Files.newInputStream(source)) {
+            List<CompletedPart> completedParts = new ArrayList<>();
+            byte[] buffer = new byte[partSizeMb * 1024 * 1024];
+            int partNumber = 1;
+            int read;
+            while ((read = inputStream.readNBytes(buffer, 0, buffer.length)) > 0) {
+                UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(s3Key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) read)
+                        .build();
+                String eTag = s3Client.uploadPart(uploadPartRequest, RequestBody.fromBytes(Arrays.copyOf(buffer, read))).eTag();
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            log.debug("S3 멀티파트 업로드 완료: {}, part 수={}", s3Key, completedParts.size());
+        } catch (IOException | RuntimeException e) {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .uploadId(uploadId)
+                    .build());
+            throw e;
+        }
+    }
+
+    private GetObjectRequest getObjectRequest(String imageUrl) {
+        return GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(extractKey(imageUrl))
+                .build();
+    }
+
+    @Override
+    public String toUrl(String s3Key) {
+        return new StringBuilder()
+                .append("https://")
+                .append(bucketName)
+                .append(".s3.ap-northeast-2.amazonaws.com/")
+                .append(s3Key)
+                .toString();
+    }
+
+    private String extractKey(String url) {
+        if (url == null) return "";
+
+        String[] parts = url.split("/", 4);
+        return parts.length > 3 ? parts[3] : "";
+    }
+}
@@ -0,0 +1,16 @@
+package com.cooltomato.pomki.global.storage;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// 저장소 목록 조회 결과 한 건
+@Getter
+@Builder
+public class StoredBlob {
+
+    private final String key;
+    private final long size;
+    private final Instant lastModified;
+}
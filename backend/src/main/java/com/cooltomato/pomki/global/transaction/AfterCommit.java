@@ -0,0 +1,27 @@
+package com.cooltomato.pomki.global.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 캐시 무효화, 저장소 파일 삭제처럼 DB 변경이 확정된 뒤에만 해야 하는 작업을 커밋 후로 미룬다.
+ * 트랜잭션 밖에서 호출되면 바로 실행하고, 롤백되면 실행하지 않는다.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
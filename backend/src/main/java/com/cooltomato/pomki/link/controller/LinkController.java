@@ -0,0 +1,50 @@
+package com.cooltomato.pomki.link.controller;
+
+import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.link.dto.LinkGraphResponseDto;
+import com.cooltomato.pomki.link.dto.LinkNodeResponseDto;
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+import com.cooltomato.pomki.link.service.LinkService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/links")
+@RequiredArgsConstructor
+@Tag(name = "Link", description = "노트/카드 위키 링크 그래프 API")
+public class LinkController {
+
+    private final LinkService linkService;
+
+    @GetMapping("/backlinks")
+    @Operation(summary = "백링크 조회", description = "[[위키 링크]]로 해당 노트/카드를 가리키는 노트와 카드를 조회합니다.")
+    public ResponseEntity<List<LinkNodeResponseDto>> readBacklinks(
+            @Parameter(description = "노드 종류 (NOTE, CARD)", example = "NOTE") @RequestParam LinkNodeType type,
+            @Parameter(description = "노트 ID 또는 카드 ID") @RequestParam String id,
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal) {
+        return ResponseEntity.ok(linkService.readBacklinks(principal.getMemberId(), type, id));
+    }
+
+    @GetMapping("/neighbors")
+    @Operation(summary = "연결 그래프 조회", description = "링크 방향과 관계없이 depth 단계(최대 3) 이내로 연결된 노드와 그 사이의 링크를 조회합니다.")
+    public ResponseEntity<LinkGraphResponseDto> readNeighbors(
+            @Parameter(description = "노드 종류 (NOTE, CARD)", example = "NOTE") @RequestParam LinkNodeType type,
+            @Parameter(description = "노트 ID 또는 카드 ID") @RequestParam String id,
+            @Parameter(description = "탐색 단계 (1~3)", example = "2") @RequestParam(defaultValue = "2") int depth,
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal) {
+        return ResponseEntity.ok(linkService.readNeighbors(principal.getMemberId(), type, id, depth));
+    }
+}
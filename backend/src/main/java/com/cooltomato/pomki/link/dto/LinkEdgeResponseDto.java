@@ -0,0 +1,19 @@
+package com.cooltomato.pomki.link.dto;
+
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkEdgeResponseDto {
+    private LinkNodeType sourceType;
+    private String sourceId;
+    private LinkNodeType targetType;
+    private String targetId;
+}
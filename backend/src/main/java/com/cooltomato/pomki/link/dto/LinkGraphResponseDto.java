@@ -0,0 +1,19 @@
+package com.cooltomato.pomki.link.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkGraphResponseDto {
+    private List<LinkNodeResponseDto> nodes;
+    private List<LinkEdgeResponseDto> edges;
+    // 노드 수 제한에 걸려 일부만 내려준 경우
+    private boolean truncated;
+}
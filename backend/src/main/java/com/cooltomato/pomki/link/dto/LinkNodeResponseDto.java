@@ -0,0 +1,21 @@
+package com.cooltomato.pomki.link.dto;
+
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkNodeResponseDto {
+    private LinkNodeType type;
+    private String id;
+    // 노트는 제목, 카드는 문제 앞부분
+    private String title;
+    // 기준 노드에서 몇 단계 떨어져 있는지 (기준 노드는 0)
+    private int distance;
+}
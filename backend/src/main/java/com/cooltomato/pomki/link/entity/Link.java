@@ -0,0 +1,54 @@
+package com.cooltomato.pomki.link.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 노트 본문/카드 내용의 [[위키 링크]] 한 개 = 간선 한 개
+// 제목으로 건 링크가 아직 없는 노트를 가리키면 target_id 없이 target_title만 남기고, 해당 제목의 노트가 생기면 연결한다.
+@Entity
+@Table(name = "link", indexes = {
+    @Index(name = "idx_link_source", columnList = "member_id, source_type, source_id"),
+    @Index(name = "idx_link_target", columnList = "member_id, target_type, target_id"),
+    @Index(name = "idx_link_target_title", columnList = "member_id, target_title")
+})
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class Link {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "link_id")
+    private Long linkId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 10)
+    private LinkNodeType sourceType;
+
+    @Column(name = "source_id", nullable = false, length = 50)
+    private String sourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 10)
+    private LinkNodeType targetType;
+
+    @Column(name = "target_id", length = 50)
+    private String targetId;
+
+    @Column(name = "target_title", length = 255)
+    private String targetTitle;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.cooltomato.pomki.link.entity;
+
+public enum LinkNodeType {
+    NOTE,
+    CARD
+}
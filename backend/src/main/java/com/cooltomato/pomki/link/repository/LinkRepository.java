@@ -0,0 +1,56 @@
+package com.cooltomato.pomki.link.repository;
+
+import com.cooltomato.pomki.link.entity.Link;
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LinkRepository extends JpaRepository<Link, Long> {
+
+    // 그래프 캐시 적재용: 대상이 확정된 간선만 (source_type, source_id, target_type, target_id)
+    @Query("SELECT l.sourceType, l.sourceId, l.targetType, l.targetId FROM Link l " +
+           "WHERE l.memberId = :memberId AND l.targetId IS NOT NULL")
+    List<Object[]> findResolvedEdgesByMemberId(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query("DELETE FROM Link l WHERE l.memberId = :memberId AND l.sourceType = :sourceType AND l.sourceId = :sourceId")
+    int deleteBySource(@Param("memberId") Long memberId, @Param("sourceType") LinkNodeType sourceType,
+                       @Param("sourceId") String sourceId);
+
+    // 새 노트 제목과 같은 제목을 가리키던 미연결 링크를 연결
+    @Modifying
+    @Query("UPDATE Link l SET l.targetId = :noteId WHERE l.memberId = :memberId " +
+           "AND l.targetType = com.cooltomato.pomki.link.entity.LinkNodeType.NOTE " +
+           "AND l.targetId IS NULL AND l.targetTitle = :title AND l.sourceId <> :noteId")
+    int resolveDanglingNoteLinks(@Param("memberId") Long memberId, @Param("title") String title,
+                                 @Param("noteId") String noteId);
+
+    // 덱 복제/병합: 복사본 카드는 원본과 내용이 같으므로 원본 카드의 나가는 간선을 그대로 복사
+    @Modifying
+    @Query(value = "INSERT INTO link (member_id, source_type, source_id, target_type, target_id, target_title, created_at) " +
+                   "SELECT l.member_id, l.source_type, CAST(c.card_id AS CHAR), l.target_type, l.target_id, l.target_title, NOW(6) " +
+                   "FROM card c JOIN link l ON l.source_type = 'CARD' AND l.source_id = CAST(c.copied_from_card_id AS CHAR) " +
+                   "WHERE c.copy_batch_id = :batchId AND l.member_id = :memberId", nativeQuery = true)
+    int copyCardLinksForBatch(@Param("memberId") Long memberId, @Param("batchId") String batchId);
+
+    // 영구 삭제된 노드를 ID로 가리키던 링크는 되살릴 제목이 없으므로 삭제
+    @Modifying
+    @Query("DELETE FROM Link l WHERE l.memberId = :memberId AND l.targetType = :targetType " +
+           "AND l.targetId = :targetId AND l.targetTitle IS NULL")
+    int deleteIdLinksToTarget(@Param("memberId") Long memberId, @Param("targetType") LinkNodeType targetType,
+                              @Param("targetId") String targetId);
+
+    // 영구 삭제된 노드를 제목으로 가리키던 링크는 제목만 남은 미연결 링크로 되돌림
+    @Modifying
+    @Query("UPDATE Link l SET l.targetId = NULL WHERE l.memberId = :memberId " +
+           "AND l.targetType = :targetType AND l.targetId = :targetId AND l.targetTitle IS NOT NULL")
+    int detachTarget(@Param("memberId") Long memberId, @Param("targetType") LinkNodeType targetType,
+                     @Param("targetId") String targetId);
+}
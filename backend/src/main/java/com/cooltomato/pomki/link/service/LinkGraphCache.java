@@ -0,0 +1,156 @@
+package com.cooltomato.pomki.link.service;
+
+import com.cooltomato.pomki.global.cache.BoundedCache;
+import com.cooltomato.pomki.global.transaction.AfterCommit;
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+import com.cooltomato.pomki.link.repository.LinkRepository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * 회원별 링크 그래프(정방향/역방향 인접 리스트)를 담는 크기 제한 LRU 캐시
+ * 처음 조회할 때 확정된 간선을 한 번에 읽어 만들고, 이후 k-hop 탐색은 재귀 SQL 없이 메모리에서 BFS로 처리한다.
+ * 노드 하나의 링크가 다시 저장되면 캐시에 올라와 있는 회원만 해당 노드의 나가는 간선을 교체하고,
+ * 여러 노드의 들어오는 간선이 바뀌는 경우(미연결 링크 연결, 영구 삭제)는 evict 후 다시 만든다.
+ * 교체와 evict는 호출한 트랜잭션이 커밋된 뒤에 반영하고(롤백되면 버림), 그 사이 읽기 시작한 그래프는 캐시에 넣지 않는다.
+ */
+@Component
+public class LinkGraphCache {
+
+    private final LinkRepository linkRepository;
+    private final BoundedCache<Long, MemberGraph> cache;
+
+    public LinkGraphCache(LinkRepository linkRepository,
+                          @Value("${pomki.link.graph.cache-size:500}") int maxSize,
+                          @Value("${pomki.link.graph.ttl-seconds:600}") long ttlSeconds) {
+        this.linkRepository = linkRepository;
+        this.cache = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    static String key(LinkNodeType type, String id) {
+        return type + ":" + id;
+    }
+
+    public List<String> backlinks(Long memberId, String node) {
+        return get(memberId).backlinks(node);
+    }
+
+    // 방향과 관계없이 depth 단계 이내의 노드와 거리 (시작 노드 포함, 최대 maxNodes개)
+    public Map<String, Integer> neighbors(Long memberId, String node, int depth, int maxNodes) {
+        return get(memberId).neighbors(node, depth, maxNodes);
+    }
+
+    // 주어진 노드들 사이의 간선 [source, target]
+    public List<String[]> edgesAmong(Long memberId, Collection<String> nodes) {
+        return get(memberId).edgesAmong(nodes);
+    }
+
+    public void replaceOutgoing(Long memberId, String source, Set<String> targets) {
+        AfterCommit.run(() -> {
+            MemberGraph graph = cache.modify(memberId);
+            if (graph != null) {
+                graph.replaceOutgoing(source, targets);
+            }
+        });
+    }
+
+    public void evict(Long memberId) {
+        AfterCommit.run(() -> cache.remove(memberId));
+    }
+
+    // DB 조회는 캐시 락 밖에서 수행
+    private MemberGraph get(Long memberId) {
+        return cache.get(memberId, () -> load(memberId));
+    }
+
+    private MemberGraph load(Long memberId) {
+        MemberGraph graph = new MemberGraph();
+        for (Object[] row : linkRepository.findResolvedEdgesByMemberId(memberId)) {
+            graph.addEdge(key((LinkNodeType) row[0], (String) row[1]), key((LinkNodeType) row[2], (String) row[3]));
+        }
+        return graph;
+    }
+
+    private static class MemberGraph {
+        private final Map<String, Set<String>> outgoing = new HashMap<>();
+        private final Map<String, Set<String>> incoming = new HashMap<>();
+
+        synchronized void addEdge(String source, String target) {
+            outgoing.computeIfAbsent(source, k -> new LinkedHashSet<>()).add(target);
+            incoming.computeIfAbsent(target, k -> new LinkedHashSet<>()).add(source);
+        }
+
+        synchronized void replaceOutgoing(String source, Set<String> targets) {
+            Set<String> previous = outgoing.remove(source);
+            if (previous != null) {
+                for (String target : previous) {
+                    Set<String> sources = incoming.get(target);
+                    if (sources != null) {
+                        sources.remove(source);
+                        if (sources.isEmpty()) {
+                            incoming.remove(target);
+                        }
+                    }
+                }
+            }
+            for (String target : targets) {
+                addEdge(source, target);
+            }
+        }
+
+        synchronized List<String> backlinks(String node) {
+            return new ArrayList<>(incoming.getOrDefault(node, Set.of()));
+        }
+
+        synchronized Map<String, Integer> neighbors(String start, int depth, int maxNodes) {
+            Map<String, Integer> distances = new LinkedHashMap<>();
+            distances.put(start, 0);
+            Queue<String> queue = new ArrayDeque<>();
+            queue.add(start);
+            while (!queue.isEmpty() && distances.size() < maxNodes) {
+                String node = queue.poll();
+                int distance = distances.get(node);
+                if (distance >= depth) {
+                    continue;
+                }
+                for (Map<String, Set<String>> adjacency : List.of(outgoing, incoming)) {
+                    for (String next : adjacency.getOrDefault(node, Set.of())) {
+                        if (distances.size() >= maxNodes) {
+                            break;
+                        }
+                        if (distances.putIfAbsent(next, distance + 1) == null) {
+                            queue.add(next);
+                        }
+                    }
+                }
+            }
+            return distances;
+        }
+
+        synchronized List<String[]> edgesAmong(Collection<String> nodes) {
+            Set<String> nodeSet = nodes instanceof Set<String> set ? set : new LinkedHashSet<>(nodes);
+            List<String[]> edges = new ArrayList<>();
+            for (String source : nodeSet) {
+                for (String target : outgoing.getOrDefault(source, Set.of())) {
+                    if (nodeSet.contains(target)) {
+                        edges.add(new String[] {source, target});
+                    }
+                }
+            }
+            return edges;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.cooltomato.pomki.link.service;
+
+import com.cooltomato.pomki.card.entity.Card;
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.global.exception.NotFoundException;
+import com.cooltomato.pomki.link.dto.LinkEdgeResponseDto;
+import com.cooltomato.pomki.link.dto.LinkGraphResponseDto;
+import com.cooltomato.pomki.link.dto.LinkNodeResponseDto;
+import com.cooltomato.pomki.link.entity.Link;
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+import com.cooltomato.pomki.link.repository.LinkRepository;
+import com.cooltomato.pomki.link.service.WikiLinkParser.ParsedLink;
+import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 노트/카드 사이의 [[위키 링크]] 그래프
+ * 저장 시 본문을 파싱해 link 테이블(정방향 source, 역방향 target 인덱스)에 간선을 다시 쓰고,
+ * 백링크와 k-hop 이웃 조회는 LinkGraphCache의 인접 리스트에서 처리한다.
+ * 휴지통에 있는 노트/카드는 간선은 남겨 두고 응답에서만 제외한다. (복원 시 그대로 이어짐)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class LinkService {
+
+    private static final int MAX_DEPTH = 3;
+    private static final int CARD_TITLE_LENGTH = 50;
+
+    private final LinkRepository linkRepository;
+    private final LinkGraphCache linkGraphCache;
+    private final NoteRepository noteRepository;
+    private final CardRepository cardRepository;
+
+    @Value("${pomki.link.graph.max-nodes:500}")
+    private int maxNodes;
+
+    @Transactional
+    public void updateNoteLinks(Long memberId, Note note) {
+        replaceLinks(memberId, LinkNodeType.NOTE, note.getNoteId(), WikiLinkParser.parse(note.getNoteContent()));
+
+        // 이 노트의 제목을 가리키던 미연결 링크 연결
+        String title = note.getNoteTitle() == null ? "" : note.getNoteTitle().strip();
+        if (!title.isEmpty() && linkRepository.resolveDanglingNoteLinks(memberId, title, note.getNoteId()) > 0) {
+            linkGraphCache.evict(memberId);
+        }
+    }
+
+    @Transactional
+    public void updateCardLinks(Long memberId, Card card) {
+        replaceLinks(memberId, LinkNodeType.CARD, String.valueOf(card.getCardId()),
+                WikiLinkParser.parse(card.getContent(), card.getAnswer()));
+    }
+
+    // 새로 만든 카드 여러 장: 기존 간선이 없으므로 링크가 있는 카드만 저장
+    @Transactional
+    public void createCardLinks(Long memberId, List<Card> cards) {
+        for (Card card : cards) {
+            Set<ParsedLink> parsed = WikiLinkParser.parse(card.getContent(), card.getAnswer());
+            if (!parsed.isEmpty()) {
+                replaceLinks(memberId, LinkNodeType.CARD, String.valueOf(card.getCardId()), parsed);
+            }
+        }
+    }
+
+    // 덱 복제/병합으로 만들어진 카드: 원본 카드의 간선을 SQL로 복사 (복사본 ID를 따로 모르므로 그래프 캐시는 다시 만든다)
+    @Transactional
+    public void copyCardLinks(Long memberId, String batchId) {
+        if (linkRepository.copyCardLinksForBatch(memberId, batchId) > 0) {
+            linkGraphCache.evict(memberId);
+        }
+    }
+
+    // 영구 삭제: 나가는 간선과 ID로 건 들어오는 간선은 지우고, 제목으로 건 들어오는 간선은 미연결 링크로 되돌림
+    @Transactional
+    public void removeNode(Long memberId, LinkNodeType type, String id) {
+        linkRepository.deleteBySource(memberId, type, id);
+        linkRepository.deleteIdLinksToTarget(memberId, type, id);
+        linkRepository.detachTarget(memberId, type, id);
+        linkGraphCache.evict(memberId);
+    }
+
+    public List<LinkNodeResponseDto> readBacklinks(Long memberId, LinkNodeType type, String id) {
+        String node = LinkGraphCache.key(type, id);
+        List<String> sources = linkGraphCache.backlinks(memberId, node);
+        List<String> nodes = new ArrayList<>(sources.size() + 1);
+        nodes.add(node);
+        nodes.addAll(sources);
+
+        Map<String, String> titles = readTitles(memberId, nodes);
+        if (!titles.containsKey(node)) {
+            throw new NotFoundException("노트 또는 카드를 찾을 수 없습니다.");
+        }
+        return sources.stream()
+                .filter(titles::containsKey)
+                .map(source -> toNodeDto(source, titles.get(source), 1))
+                .toList();
+    }
+
+    public LinkGraphResponseDto readNeighbors(Long memberId, LinkNodeType type, String id, int depth) {
+        String start = LinkGraphCache.key(type, id);
+        Map<String, Integer> distances = linkGraphCache.neighbors(memberId, start,
+                Math.min(Math.max(1, depth), MAX_DEPTH), maxNodes);
+
+        Map<String, String> titles = readTitles(memberId, distances.keySet());
+        if (!titles.containsKey(start)) {
+            throw new NotFoundException("노트 또는 카드를 찾을 수 없습니다.");
+        }
+        Set<String> visible = new LinkedHashSet<>();
+        List<LinkNodeResponseDto> nodes = new ArrayList<>();
+        distances.forEach((node, distance) -> {
+            if (titles.containsKey(node)) {
+                visible.add(node);
+                nodes.add(toNodeDto(node, titles.get(node), distance));
+            }
+        });
+        List<LinkEdgeResponseDto> edges = linkGraphCache.edgesAmong(memberId, visible).stream()
+                .map(edge -> {
+                    String[] source = split(edge[0]);
+                    String[] target = split(edge[1]);
+                    return LinkEdgeResponseDto.builder()
+                            .sourceType(LinkNodeType.valueOf(source[0]))
+                            .sourceId(source[1])
+                            .targetType(LinkNodeType.valueOf(target[0]))
+                            .targetId(target[1])
+                            .build();
+                })
+                .toList();
+
+        return LinkGraphResponseDto.builder()
+                .nodes(nodes)
+                .edges(edges)
+                .truncated(distances.size() >= maxNodes)
+                .build();
+    }
+
+    private void replaceLinks(Long memberId, LinkNodeType sourceType, String sourceId, Set<ParsedLink> parsed) {
+        linkRepository.deleteBySource(memberId, sourceType, sourceId);
+        String source = LinkGraphCache.key(sourceType, sourceId);
+        if (parsed.isEmpty()) {
+            linkGraphCache.replaceOutgoing(memberId, source, Set.of());
+            return;
+        }
+
+        // 링크 대상을 종류별로 한 번씩 조회해 확인
+        Set<String> titles = new LinkedHashSet<>();
+        Set<String> noteIds = new LinkedHashSet<>();
+        Set<Long> cardIds = new LinkedHashSet<>();
+        for (ParsedLink link : parsed) {
+            if (!link.byId()) {
+                titles.add(link.value());
+            } else if (link.type() == LinkNodeType.NOTE) {
+                noteIds.add(link.value());
+            } else {
+                cardIds.add(Long.valueOf(link.value()));
+            }
+        }
+        Map<String, String> noteIdByTitle = new HashMap<>();
+        if (!titles.isEmpty()) {
+            for (Object[] row : noteRepository.findIdsByMemberIdAndNoteTitleIn(memberId, titles)) {
+                noteIdByTitle.putIfAbsent(((String) row[1]).toLowerCase(Locale.ROOT), (String) row[0]);
+            }
+        }
+        Set<String> existingNoteIds = new LinkedHashSet<>();
+        if (!noteIds.isEmpty()) {
+            noteRepository.findTitlesByMemberIdAndNoteIdIn(memberId, noteIds).forEach(row -> existingNoteIds.add((String) row[0]));
+        }
+        Set<String> existingCardIds = new LinkedHashSet<>();
+        if (!cardIds.isEmpty()) {
+            cardRepository.findContentsByMemberIdAndCardIdIn(memberId, cardIds).forEach(row -> existingCardIds.add(String.valueOf(row[0])));
+        }
+
+        List<Link> links = new ArrayList<>();
+        Set<String> targets = new LinkedHashSet<>();
+        for (ParsedLink link : parsed) {
+            String targetId;
+            if (!link.byId()) {
+                targetId = noteIdByTitle.get(link.value().toLowerCase(Locale.ROOT));
+            } else if (link.type() == LinkNodeType.NOTE) {
+                targetId = existingNoteIds.contains(link.value()) ? link.value() : null;
+            } else {
+                targetId = existingCardIds.contains(link.value()) ? link.value() : null;
+            }
+            if (targetId != null && link.type() == sourceType && targetId.equals(sourceId)) {
+                continue;
+            }
+            if (targetId != null && !targets.add(LinkGraphCache.key(link.type(), targetId))) {
+                continue;
+            }
+            links.add(Link.builder()
+                    .memberId(memberId)
+                    .sourceType(sourceType)
+                    .sourceId(sourceId)
+                    .targetType(link.type())
+                    .targetId(targetId)
+                    .targetTitle(link.byId() ? null : truncate(link.value(), 255))
+                    .build());
+        }
+        linkRepository.saveAll(links);
+        linkGraphCache.replaceOutgoing(memberId, source, targets);
+    }
+
+    // 노드 키 → 표시 이름 (삭제되었거나 휴지통에 있는 노드는 빠짐)
+    private Map<String, String> readTitles(Long memberId, Collection<String> nodes) {
+        List<String> noteIds = new ArrayList<>();
+        List<Long> cardIds = new ArrayList<>();
+        for (String node : nodes) {
+            String[] parts = split(node);
+            if (LinkNodeType.NOTE.name().equals(parts[0])) {
+                noteIds.add(parts[1]);
+            } else {
+                try {
+                    cardIds.add(Long.valueOf(parts[1]));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("잘못된 카드 ID입니다.");
+                }
+            }
+        }
+        Map<String, String> titles = new HashMap<>();
+        if (!noteIds.isEmpty()) {
+            for (Object[] row : noteRepository.findTitlesByMemberIdAndNoteIdIn(memberId, noteIds)) {
+                titles.put(LinkGraphCache.key(LinkNodeType.NOTE, (String) row[0]), (String) row[1]);
+            }
+        }
+        if (!cardIds.isEmpty()) {
+            for (Object[] row : cardRepository.findContentsByMemberIdAndCardIdIn(memberId, cardIds)) {
+                String content = ((String) row[1]).replaceAll("\\s+", " ").strip();
+                titles.put(LinkGraphCache.key(LinkNodeType.CARD, String.valueOf(row[0])), truncate(content, CARD_TITLE_LENGTH));
+            }
+        }
+        return titles;
+    }
+
+    private LinkNodeResponseDto toNodeDto(String node, String title, int distance) {
+        String[] parts = split(node);
+        return LinkNodeResponseDto.builder()
+                .type(LinkNodeType.valueOf(parts[0]))
+                .id(parts[1])
+                .title(title)
+                .distance(distance)
+                .build();
+    }
+
+    private String[] split(String node) {
+        int separator = node.indexOf(':');
+        return new String[] {node.substring(0, separator), node.substring(separator + 1)};
+    }
+
+    private String truncate(String value, int length) {
+        return value.length() > length ? value.substring(0, length) : value;
+    }
+}
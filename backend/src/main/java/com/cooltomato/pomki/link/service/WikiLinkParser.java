@@ -0,0 +1,56 @@
+package com.cooltomato.pomki.link.service;
+
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * [[위키 링크]] 파서
+ * - [[노트 제목]], [[노트 제목|보여줄 이름]]: 제목으로 노트 연결
+ * - [[note:노트ID]], [[card:카드ID]]: ID로 노트/카드 연결
+ */
+final class WikiLinkParser {
+
+    private static final Pattern WIKI_LINK = Pattern.compile("\\[\\[([^\\[\\]|\\n]{1,255})(?:\\|[^\\[\\]\\n]*)?]]");
+    private static final String NOTE_PREFIX = "note:";
+    private static final String CARD_PREFIX = "card:";
+
+    // byId가 false면 value는 노트 제목
+    record ParsedLink(LinkNodeType type, String value, boolean byId) {
+    }
+
+    private WikiLinkParser() {
+    }
+
+    static Set<ParsedLink> parse(String... texts) {
+        Set<ParsedLink> links = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null || text.indexOf("[[") < 0) {
+                continue;
+            }
+            Matcher matcher = WIKI_LINK.matcher(text);
+            while (matcher.find()) {
+                String target = matcher.group(1).strip();
+                if (target.isEmpty()) {
+                    continue;
+                }
+                String lower = target.toLowerCase(Locale.ROOT);
+                if (lower.startsWith(CARD_PREFIX)) {
+                    String cardId = target.substring(CARD_PREFIX.length()).strip();
+                    if (cardId.matches("\\d{1,18}")) {
+                        links.add(new ParsedLink(LinkNodeType.CARD, cardId, true));
+                    }
+                } else if (lower.startsWith(NOTE_PREFIX)) {
+                    links.add(new ParsedLink(LinkNodeType.NOTE, target.substring(NOTE_PREFIX.length()).strip(), true));
+                } else {
+                    links.add(new ParsedLink(LinkNodeType.NOTE, target, false));
+                }
+            }
+        }
+        return links;
+    }
+}
@@ -1,9 +1,13 @@
 package com.cooltomato.pomki.note.controller;
 
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.note.dto.NoteAutosaveRequestDto;
+import com.cooltomato.pomki.note.dto.NoteAutosaveResponseDto;
 import com.cooltomato.pomki.note.dto.NoteCreateRequestDto;
 import com.cooltomato.pomki.note.dto.NoteListResponseDto;
+import com.cooltomato.pomki.note.dto.NotePageResponseDto;
 import com.cooltomato.pomki.note.dto.NoteResponseDto;
+import com.cooltomato.pomki.note.dto.NoteRevisionResponseDto;
 import com.cooltomato.pomki.note.dto.NoteUpdateRequestDto;
 import com.cooltomato.pomki.note.service.NoteService;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -74,6 +78,16 @@ public class NoteController {
         return ResponseEntity.ok(responseDto);
     }
 
+    @Operation(summary = "노트 목록 페이지 조회", description = "노트 목록을 최근 생성 순으로 페이지 단위로 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다.")
+    @GetMapping("/page")
+    public ResponseEntity<NotePageResponseDto> readNotePage(
+            @Parameter(description = "이전 페이지 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(value = "size", defaultValue = "20") int size,
+            @AuthenticationPrincipal PrincipalMember memberInfoDto) {
+        NotePageResponseDto responseDto = noteService.readNotePage(memberInfoDto, cursor, size);
+        return ResponseEntity.ok(responseDto);
+    }
+
     @Operation(summary = "노트 단건 조회", description = "노트 ID로 단일 노트 정보를 조회합니다.")
     @GetMapping("/{id}")
     public ResponseEntity<NoteResponseDto> readNoteById(@Parameter(name = "id", example = "1", description = "복습노트 고유 아이디", required = true)
@@ -101,4 +115,47 @@ public class NoteController {
         NoteResponseDto responseDto = noteService.updateNote(id, noteRequestDto, memberInfoDto);
         return ResponseEntity.ok(responseDto);
     }
+
+    @Operation(summary = "노트 자동 저장", description = "편집 중인 제목/내용을 임시 저장합니다. 변경분은 일정 시간마다 한 번에 반영되며, baseVersion이 현재 버전과 다르면 409를 반환합니다.")
+    @PatchMapping("/{id}/autosave")
+    public ResponseEntity<NoteAutosaveResponseDto> autosaveNote(@PathVariable("id") String id,
+                                                                @Valid @RequestBody NoteAutosaveRequestDto requestDto,
+                                                                @AuthenticationPrincipal PrincipalMember memberInfoDto) {
+        NoteAutosaveResponseDto responseDto = noteService.autosaveNote(id, requestDto, memberInfoDto);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    @Operation(summary = "노트 저장", description = "자동 저장된 내용을 즉시 반영하고 최신 노트를 반환합니다.")
+    @PostMapping("/{id}/save")
+    public ResponseEntity<NoteResponseDto> saveNote(@PathVariable("id") String id,
+                                                    @AuthenticationPrincipal PrincipalMember memberInfoDto) {
+        NoteResponseDto responseDto = noteService.saveNote(id, memberInfoDto);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    @Operation(summary = "노트 리비전 목록 조회", description = "노트의 수정 이력을 최신 순으로 조회합니다. (본문 제외)")
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<List<NoteRevisionResponseDto>> readRevisions(@PathVariable("id") String id,
+                                                                       @AuthenticationPrincipal PrincipalMember memberInfoDto) {
+        List<NoteRevisionResponseDto> responseDto = noteService.readRevisions(id, memberInfoDto);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    @Operation(summary = "노트 리비전 조회", description = "특정 리비전 시점의 노트 제목과 본문을 조회합니다.")
+    @GetMapping("/{id}/revisions/{revisionNo}")
+    public ResponseEntity<NoteRevisionResponseDto> readRevision(@PathVariable("id") String id,
+                                                                @PathVariable("revisionNo") Integer revisionNo,
+                                                                @AuthenticationPrincipal PrincipalMember memberInfoDto) {
+        NoteRevisionResponseDto responseDto = noteService.readRevision(id, revisionNo, memberInfoDto);
+        return ResponseEntity.ok(responseDto);
+    }
+
+    @Operation(summary = "노트 리비전 복원", description = "노트를 특정 리비전 시점의 내용으로 되돌립니다.")
+    @PostMapping("/{id}/revisions/{revisionNo}/restore")
+    public ResponseEntity<NoteResponseDto> restoreRevision(@PathVariable("id") String id,
+                                                           @PathVariable("revisionNo") Integer revisionNo,
+                                                           @AuthenticationPrincipal PrincipalMember memberInfoDto) {
+        NoteResponseDto responseDto = noteService.restoreRevision(id, revisionNo, memberInfoDto);
+        return ResponseEntity.ok(responseDto);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.cooltomato.pomki.note.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoteAutosaveRequestDto {
+    // 클라이언트가 편집을 시작한 버전 (마지막 응답의 version)
+    @NotNull(message = "기준 버전은 비워둘 수 없습니다.")
+    private Long baseVersion;
+
+    // 바뀐 필드만 전달 (null이면 기존 값 유지)
+    private String noteTitle;
+    private String noteContent;
+}
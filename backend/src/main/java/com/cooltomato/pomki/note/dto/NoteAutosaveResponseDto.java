@@ -0,0 +1,12 @@
+package com.cooltomato.pomki.note.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class NoteAutosaveResponseDto {
+    private String noteId;
+    // 다음 자동 저장 요청의 baseVersion
+    private Long version;
+}
@@ -1,6 +1,7 @@
 package com.cooltomato.pomki.note.dto;
 
 import com.cooltomato.pomki.note.entity.Note;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,6 +12,7 @@ import java.util.List;
 @Getter
 @Setter
 @Builder
+@AllArgsConstructor
 public class NoteListResponseDto {
     private String noteId;
     private String noteTitle;
@@ -20,6 +22,15 @@ public class NoteListResponseDto {
     private List<String> tags;
     private boolean isBookmarked;
 
+    // 목록 조회용 프로젝션 (본문 LONGTEXT 컬럼은 읽지 않음)
+    public NoteListResponseDto(String noteId, String noteTitle, Boolean aiEnhanced, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.noteId = noteId;
+        this.noteTitle = noteTitle;
+        this.aiEnhanced = aiEnhanced;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public static NoteListResponseDto from(Note note) {
         return NoteListResponseDto.builder()
                 .noteId(note.getNoteId())
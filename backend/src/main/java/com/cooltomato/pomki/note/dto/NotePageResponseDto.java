@@ -0,0 +1,15 @@
+package com.cooltomato.pomki.note.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class NotePageResponseDto {
+    private List<NoteListResponseDto> notes;
+    // 다음 페이지 조회 시 cursor로 그대로 전달 (마지막 페이지면 null)
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -27,6 +27,8 @@ public class NoteResponseDto {
     private List<String> tags;
     private boolean isBookmarked;
     private List<NoteImageResponseDto> images;
+    // 자동 저장 시 baseVersion으로 전달
+    private Long version;
 
     public static NoteResponseDto from(Note note) {
         return NoteResponseDto.builder()
@@ -37,6 +39,7 @@ public class NoteResponseDto {
                 .originalContent(note.getOriginalContent())
                 .createdAt(note.getCreatedAt())
                 .updatedAt(note.getUpdatedAt())
+                .version(note.currentContentVersion())
                 .build();
     }
 
@@ -0,0 +1,50 @@
+package com.cooltomato.pomki.note.dto;
+
+import com.cooltomato.pomki.note.entity.NoteRevision;
+import com.cooltomato.pomki.note.entity.NoteRevisionSource;
+import com.cooltomato.pomki.note.repository.NoteRevisionSummary;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+public class NoteRevisionResponseDto {
+    private Integer revisionNo;
+    private String noteTitle;
+    private NoteRevisionSource source;
+    private boolean snapshot;
+    // 본문 크기와 실제 저장된 크기 (델타는 수정한 만큼만 저장됨)
+    private Integer contentLength;
+    private Integer storedLength;
+    private LocalDateTime createdAt;
+    // 단건 조회 시에만 채워짐
+    private String noteContent;
+
+    public static NoteRevisionResponseDto from(NoteRevision revision) {
+        return NoteRevisionResponseDto.builder()
+                .revisionNo(revision.getRevisionNo())
+                .noteTitle(revision.getNoteTitle())
+                .source(revision.getSource())
+                .snapshot(revision.getIsSnapshot())
+                .contentLength(revision.getContentLength())
+                .storedLength(revision.getPayload().length)
+                .createdAt(revision.getCreatedAt())
+                .build();
+    }
+
+    public static NoteRevisionResponseDto from(NoteRevisionSummary summary) {
+        return NoteRevisionResponseDto.builder()
+                .revisionNo(summary.getRevisionNo())
+                .noteTitle(summary.getNoteTitle())
+                .source(summary.getSource())
+                .snapshot(Boolean.TRUE.equals(summary.getSnapshot()))
+                .contentLength(summary.getContentLength())
+                .storedLength(summary.getStoredLength())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+}
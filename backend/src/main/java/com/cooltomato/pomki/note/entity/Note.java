@@ -3,18 +3,25 @@ package com.cooltomato.pomki.note.entity;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import com.cooltomato.pomki.bookmark.entity.Bookmark;
+import com.cooltomato.pomki.global.converter.CompressedTextConverter;
 import com.cooltomato.pomki.member.entity.Member;
 import com.cooltomato.pomki.noteimage.entity.NoteImage;
 import com.cooltomato.pomki.notetag.entity.NoteTag;
 import com.cooltomato.pomki.trash.entity.TrashNote;
 
 @Entity
-@Table(name = "note")
+@Table(name = "note", indexes = {
+    @Index(name = "idx_note_member_updated", columnList = "member_id, updated_at"),
+    @Index(name = "idx_note_member_created", columnList = "member_id, created_at, note_id")
+})
 @Data
 public class Note {
     @Id
@@ -29,24 +36,38 @@ public class Note {
     @Column(name = "note_title", length = 255)
     private String noteTitle;
 
+    // 긴 본문은 압축해서 저장 (CompressedTextConverter)
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "note_content", columnDefinition = "LONGTEXT", nullable = false)
     private String noteContent;
 
     @Column(name = "ai_enhanced")
     private Boolean aiEnhanced;
 
+    @Convert(converter = CompressedTextConverter.class)
     @Column(name = "original_content", columnDefinition = "LONGTEXT")
     private String originalContent;
 
-    @Column(name = "created_at")
+    // 동기화 워터마크와 같은 시계를 쓰도록 DB 시각으로 기록
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp(source = SourceType.DB)
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
     @Column(name = "is_deleted")
     private Boolean isDeleted;
 
+    // 자동 저장 충돌 검사용 본문 버전 (기존 행은 NULL = 0)
+    @Column(name = "content_version")
+    private Long contentVersion;
+
+    public long currentContentVersion() {
+        return contentVersion == null ? 0L : contentVersion;
+    }
+
     // 연관관계: NOTE_IMAGE(1:N)
     @OneToMany(mappedBy = "note", cascade = CascadeType.ALL)
     private List<NoteImage> noteImages;
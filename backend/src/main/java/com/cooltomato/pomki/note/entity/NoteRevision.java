@@ -0,0 +1,61 @@
+package com.cooltomato.pomki.note.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 노트 본문 리비전: 스냅샷은 압축한 전체 본문, 나머지는 직전 리비전 대비 압축한 바이너리 델타
+@Entity
+@Table(name = "note_revision",
+    uniqueConstraints = @UniqueConstraint(name = "uk_note_revision_note_no", columnNames = {"note_id", "revision_no"}))
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class NoteRevision {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "revision_id")
+    private Long revisionId;
+
+    @Column(name = "note_id", nullable = false, length = 50)
+    private String noteId;
+
+    @Column(name = "revision_no", nullable = false)
+    private Integer revisionNo;
+
+    // 복원 시작점이 되는 스냅샷 리비전 번호 (스냅샷이면 자기 자신)
+    @Column(name = "base_revision_no", nullable = false)
+    private Integer baseRevisionNo;
+
+    @Column(name = "is_snapshot", nullable = false)
+    private Boolean isSnapshot;
+
+    @Column(name = "note_title", length = 255)
+    private String noteTitle;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+
+    // 복원된 본문의 UTF-8 바이트 수
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    // 복원된 본문의 CRC32 (델타 적용 결과와 현재 본문이 기록된 리비전과 같은지 확인, 기존 행은 NULL)
+    @Column(name = "content_checksum")
+    private Long contentChecksum;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 20)
+    private NoteRevisionSource source;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,13 @@
+package com.cooltomato.pomki.note.entity;
+
+// 노트 리비전이 만들어진 경위
+public enum NoteRevisionSource {
+    CREATE,
+    // 리비전 기록 이전에 만들어진 노트의 첫 수정 직전 본문
+    INITIAL,
+    EDIT,
+    // 자동 저장 버퍼를 DB에 반영할 때 (여러 번의 입력이 한 리비전으로 합쳐짐)
+    AUTOSAVE,
+    AI_POLISH,
+    RESTORE
+}
@@ -2,8 +2,18 @@ package com.cooltomato.pomki.note.repository;
 
 import com.cooltomato.pomki.member.entity.Member;
 import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.dto.NoteListResponseDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +23,85 @@ public interface NoteRepository extends JpaRepository<Note, String> {
     Optional<Note> findByMember_MemberIdAndNoteId(Long memberId, String noteId);
     Optional<Note> findByMember_MemberIdAndNoteIdAndIsDeletedIsFalse(Long memberId, String noteId);
     Optional<Note> findByMember_MemberIdAndNoteIdAndIsDeletedIsTrue(Long memberId, String noteId);
-} 
\ No newline at end of file
+    List<Note> findAllByMember_MemberIdAndIsDeletedIsFalse(Long memberId);
+
+    // 리비전 번호 배정과 자동 저장 반영이 같은 노트에서 겹치지 않도록 노트 행을 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Note n WHERE n.noteId = :noteId")
+    Optional<Note> findByIdForUpdate(@Param("noteId") String noteId);
+    // 동기화: 워터마크 이후 생성/수정/삭제된 노트 (삭제된 노트 포함)
+    List<Note> findByMember_MemberIdAndUpdatedAtAfter(Long memberId, LocalDateTime since);
+    // 태그 검색 비트맵: 회원의 살아 있는 노트 ID만 조회
+    @Query("SELECT n.noteId FROM Note n WHERE n.member.memberId = :memberId AND n.isDeleted = false")
+    List<String> findActiveNoteIdsByMemberId(@Param("memberId") Long memberId);
+
+    // 태그 검색 결과: 노트 목록과 같은 최근 생성 순으로 조회
+    @Query("SELECT n FROM Note n WHERE n.noteId IN :noteIds AND n.isDeleted = false ORDER BY n.createdAt DESC, n.noteId DESC")
+    List<Note> findActiveByNoteIdIn(@Param("noteIds") Collection<String> noteIds);
+
+    // 노트 목록: 본문을 제외한 컬럼만 조회, 최근 생성 순 (created_at, note_id 키셋 정렬)
+    @Query("SELECT new com.cooltomato.pomki.note.dto.NoteListResponseDto(n.noteId, n.noteTitle, n.aiEnhanced, n.createdAt, n.updatedAt) " +
+           "FROM Note n WHERE n.member.memberId = :memberId AND n.isDeleted = false " +
+           "ORDER BY n.createdAt DESC, n.noteId DESC")
+    List<NoteListResponseDto> findListByMemberId(@Param("memberId") Long memberId, Limit limit);
+
+    // 키셋 페이지네이션: 이전 페이지 마지막 노트(createdAt, noteId) 다음부터 조회
+    @Query("SELECT new com.cooltomato.pomki.note.dto.NoteListResponseDto(n.noteId, n.noteTitle, n.aiEnhanced, n.createdAt, n.updatedAt) " +
+           "FROM Note n WHERE n.member.memberId = :memberId AND n.isDeleted = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.noteId < :noteId)) " +
+           "ORDER BY n.createdAt DESC, n.noteId DESC")
+    List<NoteListResponseDto> findListByMemberIdAfter(@Param("memberId") Long memberId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("noteId") String noteId,
+                                                      Limit limit);
+
+    // 본문 압축 마이그레이션: 아직 압축되지 않은 긴 본문 (note_id 키셋 순회)
+    @Query(value = "SELECT note_id, note_content, original_content FROM note WHERE note_id > :afterNoteId " +
+                   "AND ((LENGTH(note_content) >= :threshold AND note_content NOT LIKE CONCAT(:header, '%')) " +
+                   "OR (LENGTH(original_content) >= :threshold AND original_content NOT LIKE CONCAT(:header, '%'))) " +
+                   "ORDER BY note_id LIMIT :batchSize", nativeQuery = true)
+    List<Object[]> findUncompressedContents(@Param("afterNoteId") String afterNoteId, @Param("threshold") int threshold,
+                                            @Param("header") String header, @Param("batchSize") int batchSize);
+
+    // 저장 형식만 바꾸므로 updated_at은 건드리지 않음 (동기화 대상 아님)
+    // 읽은 뒤 그 사이 수정된 행은 덮어쓰지 않도록 읽었던 값 그대로일 때만 갱신 (BINARY: 대소문자/공백 차이도 수정으로 봄)
+    @Modifying
+    @Query(value = "UPDATE note SET note_content = :noteContent, original_content = :originalContent WHERE note_id = :noteId " +
+                   "AND BINARY note_content <=> BINARY :oldNoteContent AND BINARY original_content <=> BINARY :oldOriginalContent", nativeQuery = true)
+    int updateStoredContents(@Param("noteId") String noteId, @Param("noteContent") String noteContent, @Param("originalContent") String originalContent,
+                             @Param("oldNoteContent") String oldNoteContent, @Param("oldOriginalContent") String oldOriginalContent);
+
+    // 태그 일괄 적용/이름 변경 후 동기화 대상이 되도록 수정 시각 갱신
+    @Modifying
+    @Query(value = "UPDATE note SET updated_at = NOW(6) WHERE member_id = :memberId AND is_deleted = false AND note_id IN (:noteIds)", nativeQuery = true)
+    int touchByNoteIds(@Param("memberId") Long memberId, @Param("noteIds") Collection<String> noteIds);
+
+    @Modifying
+    @Query(value = "UPDATE note n JOIN note_tag nt ON nt.note_id = n.note_id SET n.updated_at = NOW(6) " +
+                   "WHERE nt.member_id = :memberId AND nt.tag_name = :tagName", nativeQuery = true)
+    int touchByTagName(@Param("memberId") Long memberId, @Param("tagName") String tagName);
+
+    // 내보내기: 전체를 한 번에 올리지 않고 note_id 키셋으로 한 페이지씩 읽음 (페이지마다 짧게 조회하고 커넥션을 돌려줌)
+    @Query("SELECT n FROM Note n WHERE n.member.memberId = :memberId AND n.isDeleted = false AND n.noteId > :afterNoteId " +
+           "ORDER BY n.noteId")
+    List<Note> findActiveByMemberIdAfter(@Param("memberId") Long memberId, @Param("afterNoteId") String afterNoteId,
+                                         Limit limit);
+
+    // 이미지 정리: 노트 본문 키셋 순회 (휴지통에서 복원될 수 있으므로 삭제된 노트 포함)
+    @Query("SELECT n.noteId, n.noteContent, n.originalContent FROM Note n WHERE n.noteId > :afterNoteId ORDER BY n.noteId")
+    List<Object[]> findContentsAfter(@Param("afterNoteId") String afterNoteId, Limit limit);
+
+    @Query("SELECT n.noteId, n.noteContent, n.originalContent FROM Note n " +
+           "WHERE n.updatedAt >= :since AND n.noteId > :afterNoteId ORDER BY n.noteId")
+    List<Object[]> findContentsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterNoteId") String afterNoteId,
+                                            Limit limit);
+
+    // 링크 그래프: 노드 이름 표시와 링크 대상 확인용 (본문 제외)
+    @Query("SELECT n.noteId, n.noteTitle FROM Note n WHERE n.member.memberId = :memberId AND n.isDeleted = false AND n.noteId IN :noteIds")
+    List<Object[]> findTitlesByMemberIdAndNoteIdIn(@Param("memberId") Long memberId, @Param("noteIds") Collection<String> noteIds);
+
+    // 제목으로 건 링크의 대상 노트 (같은 제목이 여럿이면 먼저 만든 노트)
+    @Query("SELECT n.noteId, n.noteTitle FROM Note n WHERE n.member.memberId = :memberId AND n.isDeleted = false " +
+           "AND n.noteTitle IN :titles ORDER BY n.createdAt")
+    List<Object[]> findIdsByMemberIdAndNoteTitleIn(@Param("memberId") Long memberId, @Param("titles") Collection<String> titles);
+}
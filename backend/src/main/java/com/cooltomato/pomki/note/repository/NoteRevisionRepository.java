@@ -0,0 +1,41 @@
+package com.cooltomato.pomki.note.repository;
+
+import com.cooltomato.pomki.note.entity.NoteRevision;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface NoteRevisionRepository extends JpaRepository<NoteRevision, Long> {
+    Optional<NoteRevision> findTopByNoteIdOrderByRevisionNoDesc(String noteId);
+
+    Optional<NoteRevision> findByNoteIdAndRevisionNo(String noteId, Integer revisionNo);
+
+    // 리비전 번호 기준 키셋 페이지 (전체 리비전을 한 번에 읽지 않기 위함)
+    List<NoteRevision> findByNoteIdAndRevisionNoGreaterThanOrderByRevisionNoAsc(String noteId, Integer afterRevisionNo, Limit limit);
+
+    // 목록 조회: 본문(payload)은 읽지 않고 저장 크기만 계산
+    @Query(value = "SELECT revision_no AS revisionNo, note_title AS noteTitle, source AS source, is_snapshot AS snapshot, " +
+                   "content_length AS contentLength, LENGTH(payload) AS storedLength, created_at AS createdAt " +
+                   "FROM note_revision WHERE note_id = :noteId ORDER BY revision_no DESC", nativeQuery = true)
+    List<NoteRevisionSummary> findSummariesByNoteId(@Param("noteId") String noteId);
+
+    // 보관 개수를 넘긴 리비전 정리: 남길 리비전의 복원 시작점(스냅샷) 이전만 삭제
+    @Query("SELECT MAX(r.revisionNo) FROM NoteRevision r WHERE r.noteId = :noteId AND r.isSnapshot = true AND r.revisionNo <= :revisionNo")
+    Integer findSnapshotNoAtOrBefore(@Param("noteId") String noteId, @Param("revisionNo") Integer revisionNo);
+
+    @Modifying
+    @Query("DELETE FROM NoteRevision r WHERE r.noteId = :noteId AND r.revisionNo < :revisionNo")
+    int deleteByNoteIdAndRevisionNoLessThan(@Param("noteId") String noteId, @Param("revisionNo") Integer revisionNo);
+
+    // 스냅샷부터 대상 리비전까지의 체인 (스냅샷 간격만큼만 읽음)
+    List<NoteRevision> findByNoteIdAndRevisionNoBetweenOrderByRevisionNoAsc(String noteId, Integer fromRevisionNo, Integer toRevisionNo);
+
+    @Modifying
+    @Query("DELETE FROM NoteRevision r WHERE r.noteId = :noteId")
+    int deleteByNoteId(@Param("noteId") String noteId);
+}
@@ -0,0 +1,22 @@
+package com.cooltomato.pomki.note.repository;
+
+import com.cooltomato.pomki.note.entity.NoteRevisionSource;
+
+import java.time.LocalDateTime;
+
+// 리비전 목록용 projection (payload 대신 저장 크기만)
+public interface NoteRevisionSummary {
+    Integer getRevisionNo();
+
+    String getNoteTitle();
+
+    NoteRevisionSource getSource();
+
+    Boolean getSnapshot();
+
+    Integer getContentLength();
+
+    Integer getStoredLength();
+
+    LocalDateTime getCreatedAt();
+}
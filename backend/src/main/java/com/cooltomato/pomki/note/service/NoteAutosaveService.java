@@ -0,0 +1,245 @@
+package com.cooltomato.pomki.note.service;
+
+import com.cooltomato.pomki.global.exception.NoteNotFoundException;
+import com.cooltomato.pomki.global.exception.NoteVersionConflictException;
+import com.cooltomato.pomki.global.transaction.AfterCommit;
+import com.cooltomato.pomki.link.service.LinkService;
+import com.cooltomato.pomki.note.dto.NoteAutosaveRequestDto;
+import com.cooltomato.pomki.note.dto.NoteAutosaveResponseDto;
+import com.cooltomato.pomki.note.dto.NoteResponseDto;
+import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.entity.NoteRevisionSource;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 노트 자동 저장 버퍼
+ * 편집 중 들어오는 패치를 노트별 Redis 해시에 버전과 함께 합쳐 두고, 처음 버퍼링된 지 flush-delay-seconds가 지났거나
+ * 명시적으로 저장을 요청했을 때 마지막 상태만 DB에 한 번 반영한다. (여러 서버가 같은 버퍼를 공유)
+ * 버전 검사와 버퍼 갱신은 Lua 스크립트로 원자적으로 처리하며, 기준 버전이 다르면 409로 거절한다.
+ * 기본 RedisTemplate은 DB 트랜잭션에 묶여 MULTI로 지연 실행되므로 트랜잭션 지원이 없는 StringRedisTemplate을 사용한다.
+ * 주기 반영은 Redis 임대(SET NX PX)를 잡은 서버 한 곳에서만 실행하고, 반영할 노트 행은 잠근 뒤 다시 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NoteAutosaveService {
+
+    private static final String KEY_PREFIX = "autosave:note:";
+    private static final String DIRTY_KEY = "autosave:note:dirty";
+    private static final String FLUSH_LEASE_KEY = "autosave:note:flush-lease";
+
+    // KEYS: 버퍼, 대기열 / ARGV: DB 버전, 기준 버전, memberId, 제목 여부, 제목, 본문 여부, 본문, TTL(ms), 현재 시각, noteId
+    private static final DefaultRedisScript<List> PATCH_SCRIPT = new DefaultRedisScript<>(
+            "local cur = redis.call('HGET', KEYS[1], 'version') " +
+            "if not cur then cur = ARGV[1] end " +
+            "if cur ~= ARGV[2] then return {0, tonumber(cur)} end " +
+            "local nextVersion = tonumber(cur) + 1 " +
+            "redis.call('HSET', KEYS[1], 'version', tostring(nextVersion), 'memberId', ARGV[3]) " +
+            "if ARGV[4] == '1' then redis.call('HSET', KEYS[1], 'title', ARGV[5]) end " +
+            "if ARGV[6] == '1' then redis.call('HSET', KEYS[1], 'content', ARGV[7]) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[8]) " +
+            "redis.call('ZADD', KEYS[2], 'NX', ARGV[9], ARGV[10]) " +
+            "return {1, nextVersion}", List.class);
+
+    // DB에 반영한 버전 그대로면 버퍼 삭제, 그 사이 새 패치가 들어왔으면 다음 주기로 미룸
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local cur = redis.call('HGET', KEYS[1], 'version') " +
+            "if (not cur) or cur == ARGV[1] then " +
+            "redis.call('DEL', KEYS[1]) redis.call('ZREM', KEYS[2], ARGV[2]) return 1 end " +
+            "redis.call('ZADD', KEYS[2], ARGV[3], ARGV[2]) " +
+            "return 0", Long.class);
+
+    // 전체 수정으로 커밋한 버전 이하의 버퍼만 삭제 (커밋 뒤 들어온 더 새로운 패치는 남김)
+    private static final DefaultRedisScript<Long> DISCARD_SCRIPT = new DefaultRedisScript<>(
+            "local cur = redis.call('HGET', KEYS[1], 'version') " +
+            "if (not cur) or tonumber(cur) <= tonumber(ARGV[1]) then " +
+            "redis.call('DEL', KEYS[1]) redis.call('ZREM', KEYS[2], ARGV[2]) return 1 end " +
+            "return 0", Long.class);
+
+    // 임대를 잡은 서버만 반납
+    private static final DefaultRedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0", Long.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NoteRepository noteRepository;
+    private final NoteRevisionService noteRevisionService;
+    private final LinkService linkService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${pomki.note.autosave.flush-delay-seconds:30}")
+    private long flushDelaySeconds;
+
+    @Value("${pomki.note.autosave.buffer-ttl-hours:24}")
+    private long bufferTtlHours;
+
+    // 한 주기의 반영이 이 시간 안에 끝나지 않으면 다른 서버가 이어받음
+    @Value("${pomki.note.autosave.flush-lease-seconds:60}")
+    private long flushLeaseSeconds;
+
+    public NoteAutosaveResponseDto autosave(String noteId, Long memberId, NoteAutosaveRequestDto request) {
+        if (request.getNoteTitle() == null && request.getNoteContent() == null) {
+            throw new IllegalArgumentException("변경된 제목 또는 내용이 없습니다.");
+        }
+        String key = KEY_PREFIX + noteId;
+
+        // 버퍼가 있으면 소유자만 확인하고 DB는 읽지 않음
+        List<Object> buffered = stringRedisTemplate.opsForHash().multiGet(key, List.of("memberId", "version"));
+        String dbVersion;
+        if (buffered.get(0) != null) {
+            if (!String.valueOf(memberId).equals(buffered.get(0))) {
+                throw new NoteNotFoundException();
+            }
+            dbVersion = (String) buffered.get(1);
+        } else {
+            Note note = noteRepository.findByMember_MemberIdAndNoteIdAndIsDeletedIsFalse(memberId, noteId)
+                    .orElseThrow(NoteNotFoundException::new);
+            dbVersion = String.valueOf(note.currentContentVersion());
+        }
+
+        long now = System.currentTimeMillis();
+        List<?> result = stringRedisTemplate.execute(PATCH_SCRIPT, List.of(key, DIRTY_KEY),
+                dbVersion,
+                String.valueOf(request.getBaseVersion()),
+                String.valueOf(memberId),
+                request.getNoteTitle() != null ? "1" : "0",
+                request.getNoteTitle() != null ? request.getNoteTitle() : "",
+                request.getNoteContent() != null ? "1" : "0",
+                request.getNoteContent() != null ? request.getNoteContent() : "",
+                String.valueOf(bufferTtlHours * 3600_000L),
+                String.valueOf(now),
+                noteId);
+
+        long version = ((Number) result.get(1)).longValue();
+        if (((Number) result.get(0)).longValue() == 0) {
+            throw new NoteVersionConflictException("다른 곳에서 먼저 수정된 노트입니다. 최신 내용을 다시 불러와 주세요. (현재 버전: " + version + ")");
+        }
+        return NoteAutosaveResponseDto.builder()
+                .noteId(noteId)
+                .version(version)
+                .build();
+    }
+
+    // 명시적 저장: 버퍼를 바로 DB에 반영
+    public void flush(String noteId, Long memberId) {
+        Object owner = stringRedisTemplate.opsForHash().get(KEY_PREFIX + noteId, "memberId");
+        if (owner != null && !String.valueOf(memberId).equals(owner)) {
+            throw new NoteNotFoundException();
+        }
+        flushNote(noteId);
+    }
+
+    @Scheduled(fixedDelayString = "${pomki.note.autosave.flush-interval-ms:5000}")
+    public void flushDueNotes() {
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                .setIfAbsent(FLUSH_LEASE_KEY, instanceId, Duration.ofSeconds(flushLeaseSeconds)))) {
+            return;
+        }
+        try {
+            long dueBefore = System.currentTimeMillis() - flushDelaySeconds * 1000;
+            Set<String> dueNoteIds = stringRedisTemplate.opsForZSet().rangeByScore(DIRTY_KEY, 0, dueBefore);
+            if (dueNoteIds == null || dueNoteIds.isEmpty()) {
+                return;
+            }
+            for (String noteId : dueNoteIds) {
+                try {
+                    flushNote(noteId);
+                } catch (RuntimeException e) {
+                    log.error("자동 저장 반영 실패: noteId={}", noteId, e);
+                }
+            }
+            log.info("debug >>> 자동 저장 버퍼 반영: {}건", dueNoteIds.size());
+        } finally {
+            stringRedisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(FLUSH_LEASE_KEY), instanceId);
+        }
+    }
+
+    // 단건 조회 시 아직 DB에 반영되지 않은 제목/본문/버전을 덮어씀
+    public void overlayBuffered(NoteResponseDto response) {
+        List<Object> buffered = stringRedisTemplate.opsForHash().multiGet(KEY_PREFIX + response.getNoteId(),
+                List.of("version", "title", "content"));
+        if (buffered.get(0) == null) {
+            return;
+        }
+        response.setVersion(Long.valueOf((String) buffered.get(0)));
+        if (buffered.get(1) != null) {
+            response.setNoteTitle((String) buffered.get(1));
+        }
+        if (buffered.get(2) != null) {
+            response.setNoteContent((String) buffered.get(2));
+        }
+    }
+
+    // 전체 수정(PUT)에 쓸 새 버전: DB와 아직 반영되지 않은 버퍼 중 큰 쪽 다음 (버퍼보다 낮은 버전으로 되돌아가지 않게)
+    public long nextVersion(Note note) {
+        Object buffered = stringRedisTemplate.opsForHash().get(KEY_PREFIX + note.getNoteId(), "version");
+        long bufferedVersion = buffered != null ? Long.parseLong((String) buffered) : 0L;
+        return Math.max(note.currentContentVersion(), bufferedVersion) + 1;
+    }
+
+    // 전체 수정(PUT)처럼 버퍼보다 나중 내용으로 덮어쓸 때 버퍼 폐기
+    // 롤백되면 버퍼를 잃지 않도록 커밋 후에 지우고, 커밋한 버전보다 새로운 패치가 들어와 있으면 남긴다
+    public void discard(String noteId, long committedVersion) {
+        AfterCommit.run(() -> stringRedisTemplate.execute(DISCARD_SCRIPT, List.of(KEY_PREFIX + noteId, DIRTY_KEY),
+                String.valueOf(committedVersion), noteId));
+    }
+
+    // AI 다듬기처럼 오래 걸리는 작업 도중 새 자동 저장이 들어왔는지 확인
+    public boolean hasBuffered(String noteId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY_PREFIX + noteId));
+    }
+
+    private void flushNote(String noteId) {
+        String key = KEY_PREFIX + noteId;
+        Map<Object, Object> buffered = stringRedisTemplate.opsForHash().entries(key);
+        if (buffered.isEmpty()) {
+            stringRedisTemplate.opsForZSet().remove(DIRTY_KEY, noteId);
+            return;
+        }
+        Long memberId = Long.valueOf((String) buffered.get("memberId"));
+        // 명시적 저장과 주기 반영이 겹쳐도 같은 버퍼를 두 번 반영하지 않도록 노트 행을 잠근 뒤 버전을 비교
+        transactionTemplate.executeWithoutResult(status ->
+                noteRepository.findByIdForUpdate(noteId)
+                        .filter(note -> !Boolean.TRUE.equals(note.getIsDeleted())
+                                && memberId.equals(note.getMember().getMemberId()))
+                        .ifPresent(note -> {
+                            applyToNote(note, buffered);
+                            noteRepository.save(note);
+                        }));
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(key, DIRTY_KEY),
+                (String) buffered.get("version"), noteId, String.valueOf(System.currentTimeMillis()));
+    }
+
+    private void applyToNote(Note note, Map<Object, Object> buffered) {
+        long version = Long.parseLong((String) buffered.get("version"));
+        // 이미 더 새로운 내용이 저장된 경우(전체 수정 등)는 무시
+        if (version <= note.currentContentVersion()) {
+            return;
+        }
+        String title = buffered.containsKey("title") ? (String) buffered.get("title") : note.getNoteTitle();
+        String content = buffered.containsKey("content") ? (String) buffered.get("content") : note.getNoteContent();
+        noteRevisionService.recordRevision(note, title, content, NoteRevisionSource.AUTOSAVE);
+        note.setNoteTitle(title);
+        note.setNoteContent(content);
+        note.setContentVersion(version);
+        linkService.updateNoteLinks(note.getMember().getMemberId(), note);
+    }
+}
@@ -0,0 +1,179 @@
+package com.cooltomato.pomki.note.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 노트 리비전 저장용 바이너리 델타 / 압축 코덱
+ * 델타 형식: [newLength varint] 다음에 명령 반복
+ *  - COPY(0) offset varint, length varint : 이전 본문의 구간을 그대로 복사
+ *  - INSERT(1) length varint, bytes : 새로 들어간 바이트
+ * 이전 본문을 BLOCK 바이트 단위로 색인해 새 본문에서 같은 구간을 찾으므로,
+ * 여러 군데를 고쳐도 델타 크기는 바뀐 부분 크기에 비례한다.
+ */
+final class NoteDeltaCodec {
+
+    private static final int BLOCK = 16;
+    private static final byte COPY = 0;
+    private static final byte INSERT = 1;
+
+    private NoteDeltaCodec() {
+    }
+
+    static byte[] diff(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarInt(out, target.length);
+
+        // 이전 본문의 BLOCK 단위 구간 해시 -> 위치 (같은 해시는 처음 위치만)
+        Map<Long, Integer> blocks = new HashMap<>();
+        for (int i = 0; i + BLOCK <= base.length; i += BLOCK) {
+            blocks.putIfAbsent(hash(base, i), i);
+        }
+
+        int literalStart = 0;
+        int i = 0;
+        while (i + BLOCK <= target.length) {
+            Integer candidate = blocks.get(hash(target, i));
+            if (candidate == null || !Arrays.equals(base, candidate, candidate + BLOCK, target, i, i + BLOCK)) {
+                i++;
+                continue;
+            }
+            // 앞뒤로 일치 구간 확장
+            int baseStart = candidate;
+            int targetStart = i;
+            while (baseStart > 0 && targetStart > literalStart && base[baseStart - 1] == target[targetStart - 1]) {
+                baseStart--;
+                targetStart--;
+            }
+            int baseEnd = candidate + BLOCK;
+            int targetEnd = i + BLOCK;
+            while (baseEnd < base.length && targetEnd < target.length && base[baseEnd] == target[targetEnd]) {
+                baseEnd++;
+                targetEnd++;
+            }
+            writeInsert(out, target, literalStart, targetStart);
+            out.write(COPY);
+            writeVarInt(out, baseStart);
+            writeVarInt(out, baseEnd - baseStart);
+            literalStart = targetEnd;
+            i = targetEnd;
+        }
+        writeInsert(out, target, literalStart, target.length);
+        return out.toByteArray();
+    }
+
+    static byte[] apply(byte[] base, byte[] delta) {
+        int[] position = {0};
+        int length = readVarInt(delta, position);
+        byte[] result = new byte[length];
+        int written = 0;
+        while (position[0] < delta.length) {
+            byte op = delta[position[0]++];
+            if (op == COPY) {
+                int offset = readVarInt(delta, position);
+                int copyLength = readVarInt(delta, position);
+                System.arraycopy(base, offset, result, written, copyLength);
+                written += copyLength;
+            } else if (op == INSERT) {
+                int insertLength = readVarInt(delta, position);
+                System.arraycopy(delta, position[0], result, written, insertLength);
+                position[0] += insertLength;
+                written += insertLength;
+            } else {
+                throw new IllegalStateException("알 수 없는 델타 명령입니다: " + op);
+            }
+        }
+        if (written != length) {
+            throw new IllegalStateException("노트 리비전 복원 길이가 일치하지 않습니다.");
+        }
+        return result;
+    }
+
+    static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    static byte[] compress(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                // 빈 본문은 첫 inflate가 0바이트를 돌려주며 바로 끝나므로 끝난 경우는 손상으로 보지 않음
+                if (read == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("손상된 노트 리비전 데이터입니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("손상된 노트 리비전 데이터입니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeInsert(ByteArrayOutputStream out, byte[] target, int from, int to) {
+        if (to <= from) {
+            return;
+        }
+        out.write(INSERT);
+        writeVarInt(out, to - from);
+        out.write(target, from, to - from);
+    }
+
+    private static long hash(byte[] bytes, int offset) {
+        long h = 1125899906842597L;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.cooltomato.pomki.note.service;
+
+import com.cooltomato.pomki.global.exception.NotFoundException;
+import com.cooltomato.pomki.note.dto.NoteRevisionResponseDto;
+import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.entity.NoteRevision;
+import com.cooltomato.pomki.note.entity.NoteRevisionSource;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.note.repository.NoteRevisionRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 노트 리비전 기록/복원
+ * 리비전마다 직전 리비전 대비 바이너리 델타만 저장하고, snapshot-interval 리비전마다 또는
+ * 델타가 본문 절반보다 클 때(AI 다듬기처럼 전체가 바뀐 경우) 전체 본문 스냅샷을 저장한다.
+ * 어떤 리비전이든 가장 가까운 스냅샷에서 최대 snapshot-interval개의 델타만 적용하면 복원된다.
+ * 리비전마다 복원 결과의 CRC32를 함께 저장해 복원 시 검증하고, 기록을 거치지 않은 수정도 이것으로 알아챈다.
+ * 노트당 max-revisions개를 넘으면 가장 오래된 스냅샷 구간부터 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NoteRevisionService {
+
+    private static final int REVISION_SCAN_BATCH = 20;
+
+    private final NoteRevisionRepository noteRevisionRepository;
+    private final NoteRepository noteRepository;
+    private final EntityManager entityManager;
+
+    @Value("${pomki.note.revision.snapshot-interval:20}")
+    private int snapshotInterval;
+
+    @Value("${pomki.note.revision.max-revisions:200}")
+    private int maxRevisions;
+
+    // 새 노트 생성 직후 첫 리비전(스냅샷) 기록
+    @Transactional
+    public void recordCreated(Note note) {
+        saveSnapshot(note.getNoteId(), 1, note.getNoteTitle(), bytes(note.getNoteContent()), NoteRevisionSource.CREATE);
+    }
+
+    // 노트 제목/본문을 바꾸기 직전에 호출 (note에는 아직 이전 내용이 들어 있어야 함)
+    // 같은 노트의 동시 수정이 같은 리비전 번호를 배정하지 않도록 노트 행을 잠근 뒤 최신 리비전을 읽음
+    @Transactional
+    public void recordRevision(Note note, String newTitle, String newContent, NoteRevisionSource source) {
+        String noteId = note.getNoteId();
+        noteRepository.findByIdForUpdate(noteId);
+        byte[] previous = bytes(note.getNoteContent());
+        NoteRevision latest = noteRevisionRepository.findTopByNoteIdOrderByRevisionNoDesc(noteId).orElse(null);
+        if (latest == null) {
+            // 리비전 기록 이전에 만들어진 노트: 현재 본문을 첫 스냅샷으로 남김
+            latest = saveSnapshot(noteId, 1, note.getNoteTitle(), previous, NoteRevisionSource.INITIAL);
+        }
+        if (Objects.equals(note.getNoteContent(), newContent) && Objects.equals(note.getNoteTitle(), newTitle)) {
+            return;
+        }
+
+        byte[] target = bytes(newContent);
+        int revisionNo = latest.getRevisionNo() + 1;
+        // 직전 리비전과 현재 본문이 어긋나면(기록을 거치지 않은 수정) 델타 기준이 틀리므로 스냅샷으로 저장
+        boolean diverged = latest.getContentLength() != previous.length
+                || (latest.getContentChecksum() != null && latest.getContentChecksum() != NoteDeltaCodec.checksum(previous));
+        boolean snapshotDue = revisionNo - latest.getBaseRevisionNo() >= snapshotInterval || diverged;
+        if (!snapshotDue) {
+            byte[] delta = NoteDeltaCodec.compress(NoteDeltaCodec.diff(previous, target));
+            if (delta.length * 2 < target.length) {
+                noteRevisionRepository.save(NoteRevision.builder()
+                        .noteId(noteId)
+                        .revisionNo(revisionNo)
+                        .baseRevisionNo(latest.getBaseRevisionNo())
+                        .isSnapshot(false)
+                        .noteTitle(newTitle)
+                        .payload(delta)
+                        .contentLength(target.length)
+                        .contentChecksum(NoteDeltaCodec.checksum(target))
+                        .source(source)
+                        .build());
+                log.info("debug >>> 노트 리비전 델타 저장, noteId: {}, revision: {}, {}B -> {}B", noteId, revisionNo, target.length, delta.length);
+                return;
+            }
+        }
+        saveSnapshot(noteId, revisionNo, newTitle, target, source);
+        pruneRevisions(noteId, revisionNo);
+    }
+
+    @Transactional(readOnly = true)
+    public List<NoteRevisionResponseDto> readRevisions(String noteId) {
+        return noteRevisionRepository.findSummariesByNoteId(noteId).stream()
+                .map(NoteRevisionResponseDto::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public NoteRevisionResponseDto readRevision(String noteId, Integer revisionNo) {
+        NoteRevision revision = noteRevisionRepository.findByNoteIdAndRevisionNo(noteId, revisionNo)
+                .orElseThrow(() -> new NotFoundException("노트 리비전을 찾을 수 없습니다."));
+
+        // 스냅샷부터 순서대로 델타 적용
+        byte[] content = null;
+        for (NoteRevision step : noteRevisionRepository.findByNoteIdAndRevisionNoBetweenOrderByRevisionNoAsc(
+                noteId, revision.getBaseRevisionNo(), revision.getRevisionNo())) {
+            byte[] payload = NoteDeltaCodec.decompress(step.getPayload());
+            content = step.getIsSnapshot() ? payload : NoteDeltaCodec.apply(content, payload);
+            if (step.getContentChecksum() != null && step.getContentChecksum() != NoteDeltaCodec.checksum(content)) {
+                log.error("노트 리비전 체크섬 불일치: noteId={}, revision={}", noteId, step.getRevisionNo());
+                throw new IllegalStateException("손상된 노트 리비전 데이터입니다.");
+            }
+        }
+
+        NoteRevisionResponseDto response = NoteRevisionResponseDto.from(revision);
+        response.setNoteContent(new String(content, StandardCharsets.UTF_8));
+        return response;
+    }
+
+    // 노트의 남아 있는 모든 리비전 본문을 오래된 순서로 넘김 (이미지 정리에서 복원될 수 있는 본문의 참조 확인용)
+    // 델타는 직전 리비전 기준이므로 앞에서부터 한 번씩만 적용하면 된다.
+    // 리비전은 REVISION_SCAN_BATCH개씩 읽고 처리한 행은 바로 detach해, 호출한 쪽 트랜잭션에도 쌓이지 않고
+    // 메모리에는 한 페이지의 행과 복원 중인 본문 하나만 남는다.
+    @Transactional(readOnly = true)
+    public void forEachRevisionContent(String noteId, Consumer<String> consumer) {
+        byte[] content = null;
+        int afterRevisionNo = 0;
+        List<NoteRevision> revisions;
+        do {
+            revisions = noteRevisionRepository.findByNoteIdAndRevisionNoGreaterThanOrderByRevisionNoAsc(
+                    noteId, afterRevisionNo, Limit.of(REVISION_SCAN_BATCH));
+            for (NoteRevision revision : revisions) {
+                afterRevisionNo = revision.getRevisionNo();
+                byte[] payload = NoteDeltaCodec.decompress(revision.getPayload());
+                entityManager.detach(revision);
+                if (revision.getIsSnapshot()) {
+                    content = payload;
+                } else if (content == null) {
+                    // 정리되어 기준 스냅샷이 없는 델타 (정상적으로는 생기지 않음)
+                    continue;
+                } else {
+                    content = NoteDeltaCodec.apply(content, payload);
+                }
+                consumer.accept(new String(content, StandardCharsets.UTF_8));
+            }
+        } while (revisions.size() == REVISION_SCAN_BATCH);
+    }
+
+    @Transactional
+    public void deleteRevisions(String noteId) {
+        noteRevisionRepository.deleteByNoteId(noteId);
+    }
+
+    private NoteRevision saveSnapshot(String noteId, int revisionNo, String title, byte[] content, NoteRevisionSource source) {
+        NoteRevision snapshot = noteRevisionRepository.save(NoteRevision.builder()
+                .noteId(noteId)
+                .revisionNo(revisionNo)
+                .baseRevisionNo(revisionNo)
+                .isSnapshot(true)
+                .noteTitle(title)
+                .payload(NoteDeltaCodec.compress(content))
+                .contentLength(content.length)
+                .contentChecksum(NoteDeltaCodec.checksum(content))
+                .source(source)
+                .build());
+        log.info("debug >>> 노트 리비전 스냅샷 저장, noteId: {}, revision: {}", noteId, revisionNo);
+        return snapshot;
+    }
+
+    // 스냅샷이 새로 생길 때만 경계가 바뀌므로 스냅샷 저장 후에만 정리 (남는 수는 최대 max-revisions + 스냅샷 간격 정도)
+    private void pruneRevisions(String noteId, int latestRevisionNo) {
+        int keepFrom = latestRevisionNo - maxRevisions + 1;
+        if (keepFrom <= 1) {
+            return;
+        }
+        Integer base = noteRevisionRepository.findSnapshotNoAtOrBefore(noteId, keepFrom);
+        if (base == null) {
+            return;
+        }
+        int deleted = noteRevisionRepository.deleteByNoteIdAndRevisionNoLessThan(noteId, base);
+        if (deleted > 0) {
+            log.info("debug >>> 오래된 노트 리비전 정리, noteId: {}, {}건", noteId, deleted);
+        }
+    }
+
+    private byte[] bytes(String content) {
+        return content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+    }
+}
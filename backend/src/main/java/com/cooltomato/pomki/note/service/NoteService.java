@@ -3,35 +3,50 @@ package com.cooltomato.pomki.note.service;
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
 import com.cooltomato.pomki.bookmark.entity.Bookmark;
 import com.cooltomato.pomki.bookmark.repository.BookmarkRepository;
-import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
 import com.cooltomato.pomki.global.exception.MemberNotFoundException;
 import com.cooltomato.pomki.global.exception.NoteNotFoundException;
+import com.cooltomato.pomki.global.exception.NoteVersionConflictException;
+import com.cooltomato.pomki.link.service.LinkService;
 import com.cooltomato.pomki.member.entity.Member;
 import com.cooltomato.pomki.member.repository.MemberRepository;
+import com.cooltomato.pomki.note.dto.NoteAutosaveRequestDto;
+import com.cooltomato.pomki.note.dto.NoteAutosaveResponseDto;
 import com.cooltomato.pomki.note.dto.NoteCreateRequestDto;
 import com.cooltomato.pomki.note.dto.NoteResponseDto;
 import com.cooltomato.pomki.note.dto.NoteListResponseDto;
+import com.cooltomato.pomki.note.dto.NotePageResponseDto;
+import com.cooltomato.pomki.note.dto.NoteRevisionResponseDto;
 import com.cooltomato.pomki.note.dto.NoteUpdateRequestDto;
 import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.entity.NoteRevisionSource;
 import com.cooltomato.pomki.note.repository.NoteRepository;
 import com.cooltomato.pomki.noteimage.dto.NoteImageResponseDto;
+import com.cooltomato.pomki.noteimage.dto.NoteImageUploadResultDto;
 import com.cooltomato.pomki.noteimage.service.NoteImageService;
 import com.cooltomato.pomki.notetag.entity.NoteTag;
 import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
-import com.cooltomato.pomki.tag.entity.Tag;
-import com.cooltomato.pomki.tag.repository.TagRepository;
+import com.cooltomato.pomki.tag.service.TagBitmapCache;
+import com.cooltomato.pomki.tag.service.TagService;
 
 import com.cooltomato.pomki.ai.service.AIService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -43,61 +58,128 @@ public class NoteService {
     private final NoteRepository noteRepository;
     private final MemberRepository memberRepository;
     private final NoteTagRepository noteTagRepository;
-    private final TagRepository tagRepository;
-    private final CardTagRepository cardTagRepository;
     private final AIService aiService;
     private final BookmarkRepository bookmarkRepository;
     private final NoteImageService noteImageService;
+    private final TagService tagService;
+    private final TagBitmapCache tagBitmapCache;
+    private final NoteRevisionService noteRevisionService;
+    private final NoteAutosaveService noteAutosaveService;
+    private final LinkService linkService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // 노트는 먼저 짧은 트랜잭션으로 커밋하고, 이미지는 그 뒤에 저장소 전송 동안 DB 커넥션을 잡지 않도록 트랜잭션 밖에서 업로드
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public NoteResponseDto createNote(NoteCreateRequestDto noteRequestDto, PrincipalMember memberInfoDto) {
-        Member member = getMember(memberInfoDto.getMemberId());
+        Note savedNote = transactionTemplate.execute(status -> {
+            Member member = getMember(memberInfoDto.getMemberId());
 
-        Note note = new Note();
-        note.setNoteId(UUID.randomUUID().toString());
-        note.setMember(member);
-        note.setNoteTitle(noteRequestDto.getNoteTitle());
-        note.setNoteContent(noteRequestDto.getNoteContent());
-        note.setOriginalContent(noteRequestDto.getOriginalContent());
-        note.setAiEnhanced(noteRequestDto.getAiEnhanced());
-        note.setCreatedAt(LocalDateTime.now());
-        note.setIsDeleted(false);
+            Note note = new Note();
+            note.setNoteId(UUID.randomUUID().toString());
+            note.setMember(member);
+            note.setNoteTitle(noteRequestDto.getNoteTitle());
+            note.setNoteContent(noteRequestDto.getNoteContent());
+            note.setOriginalContent(noteRequestDto.getOriginalContent());
+            note.setAiEnhanced(noteRequestDto.getAiEnhanced());
+            note.setIsDeleted(false);
+            note.setContentVersion(0L);
 
-        Note savedNote = noteRepository.save(note);
-        
-        // 이미지 파일이 있는 경우 업로드 처리
+            Note saved = noteRepository.save(note);
+            tagBitmapCache.noteAdded(member.getMemberId(), saved.getNoteId());
+            noteRevisionService.recordCreated(saved);
+            linkService.updateNoteLinks(member.getMemberId(), saved);
+            return saved;
+        });
+
+        // 이미지 파일이 있는 경우 업로드 처리 (실패한 파일은 건너뛰고 노트와 나머지 이미지는 생성)
+        List<NoteImageResponseDto> images = List.of();
         if (noteRequestDto.getImageFiles() != null && !noteRequestDto.getImageFiles().isEmpty()) {
-            try {
-                noteImageService.uploadMultipleImages(savedNote.getNoteId(), noteRequestDto.getImageFiles());
-                log.info("노트 생성 시 이미지 업로드 완료: noteId={}, 이미지 개수={}", 
-                        savedNote.getNoteId(), noteRequestDto.getImageFiles().size());
-            } catch (Exception e) {
-                log.error("노트 생성 시 이미지 업로드 실패: noteId={}, error={}", 
-                        savedNote.getNoteId(), e.getMessage(), e);
-                // 이미지 업로드 실패 시에도 노트는 생성되도록 처리
-                // 필요에 따라 예외를 던져 트랜잭션 롤백을 할 수도 있음
-            }
+            NoteImageUploadResultDto uploadResult = noteImageService.uploadMultipleImages(savedNote.getNoteId(), noteRequestDto.getImageFiles());
+            images = uploadResult.getUploaded();
+            log.info("노트 생성 시 이미지 업로드 완료: noteId={}, 이미지 개수={}, 실패 수={}",
+                    savedNote.getNoteId(), images.size(), uploadResult.getFailed().size());
         }
 
         NoteResponseDto noteResponseDto = NoteResponseDto.from(savedNote);
         noteResponseDto.setIsBookmarked(false);
+        noteResponseDto.setImages(images);
         
         return noteResponseDto;
     }
 
+    // 노트 수와 관계없이 쿼리 3번: 본문 제외 목록, 회원 태그 전체, 북마크 노트 ID
     public List<NoteListResponseDto> readNote(PrincipalMember memberInfoDto) {
-        Member member = getMember(memberInfoDto.getMemberId());
-        List<Note> notes = noteRepository.findAllByMemberAndIsDeletedIsFalse(member);
-        List<NoteListResponseDto> noteListResponseDtos = new ArrayList<>();
-        List<Bookmark> bookmarkedNotes = bookmarkRepository.findByMemberMemberId(member.getMemberId());
-        for(Note note : notes) {
-            List<String> tags = noteTagRepository.findTagNameByNoteIdAndMemberId(note.getNoteId(), member.getMemberId());
-            NoteListResponseDto noteListResponseDto = NoteListResponseDto.from(note);
-            noteListResponseDto.setTags(tags);
-            noteListResponseDto.setIsBookmarked(bookmarkedNotes.stream().anyMatch(bookmark -> bookmark.getNote().getNoteId().equals(note.getNoteId())));
-            noteListResponseDtos.add(noteListResponseDto);
+        Long memberId = memberInfoDto.getMemberId();
+        List<NoteListResponseDto> notes = noteRepository.findListByMemberId(memberId, Limit.unlimited());
+        Map<String, List<String>> tagsByNoteId = groupTagsByNoteId(noteTagRepository.findByMemberId(memberId));
+        Set<String> bookmarkedNoteIds = new HashSet<>(bookmarkRepository.findNoteIdsByMemberId(memberId));
+        fillTagsAndBookmarks(notes, tagsByNoteId, bookmarkedNoteIds);
+        return notes;
+    }
+
+    // 키셋 페이지네이션: OFFSET 없이 (created_at, note_id) 인덱스에서 바로 이어서 조회
+    public NotePageResponseDto readNotePage(PrincipalMember memberInfoDto, String cursor, int size) {
+        Long memberId = memberInfoDto.getMemberId();
+        int pageSize = Math.min(Math.max(1, size), 100);
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부 판단
+        List<NoteListResponseDto> notes;
+        if (cursor == null || cursor.isBlank()) {
+            notes = noteRepository.findListByMemberId(memberId, Limit.of(pageSize + 1));
+        } else {
+            NoteCursor decoded = decodeCursor(cursor);
+            notes = noteRepository.findListByMemberIdAfter(memberId, decoded.createdAt(), decoded.noteId(), Limit.of(pageSize + 1));
+        }
+        boolean hasNext = notes.size() > pageSize;
+        if (hasNext) {
+            notes = notes.subList(0, pageSize);
+        }
+
+        if (!notes.isEmpty()) {
+            List<String> noteIds = notes.stream().map(NoteListResponseDto::getNoteId).toList();
+            Map<String, List<String>> tagsByNoteId = groupTagsByNoteId(noteTagRepository.findByMemberIdAndNoteIdIn(memberId, noteIds));
+            Set<String> bookmarkedNoteIds = new HashSet<>(bookmarkRepository.findNoteIdsByMemberIdAndNoteIdIn(memberId, noteIds));
+            fillTagsAndBookmarks(notes, tagsByNoteId, bookmarkedNoteIds);
+        }
+
+        return NotePageResponseDto.builder()
+                .notes(notes)
+                .nextCursor(hasNext ? encodeCursor(notes.get(notes.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private Map<String, List<String>> groupTagsByNoteId(List<NoteTag> noteTags) {
+        return noteTags.stream().collect(Collectors.groupingBy(NoteTag::getNoteId,
+                Collectors.mapping(NoteTag::getTagName, Collectors.toList())));
+    }
+
+    private void fillTagsAndBookmarks(List<NoteListResponseDto> notes, Map<String, List<String>> tagsByNoteId, Set<String> bookmarkedNoteIds) {
+        for (NoteListResponseDto note : notes) {
+            note.setTags(tagsByNoteId.getOrDefault(note.getNoteId(), List.of()));
+            note.setIsBookmarked(bookmarkedNoteIds.contains(note.getNoteId()));
+        }
+    }
+
+    private record NoteCursor(LocalDateTime createdAt, String noteId) {
+    }
+
+    private String encodeCursor(NoteListResponseDto last) {
+        String raw = last.getCreatedAt() + "|" + last.getNoteId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private NoteCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+            }
+            return new NoteCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
         }
-        return noteListResponseDtos;
     }
 
     public NoteResponseDto readNoteById(String id, PrincipalMember memberInfoDto) {
@@ -111,6 +193,8 @@ public class NoteService {
         NoteResponseDto noteResponseDto = NoteResponseDto.from(note);
         noteResponseDto.setTags(tags);
         noteResponseDto.setImages(images);
+        // 아직 DB에 반영되지 않은 자동 저장 내용 우선
+        noteAutosaveService.overlayBuffered(noteResponseDto);
         
         Optional<Bookmark> bookmarked = bookmarkRepository.findByMemberMemberIdAndNoteNoteId(member.getMemberId(), note.getNoteId());
 
@@ -127,52 +211,44 @@ public class NoteService {
         Member member = getMember(memberInfoDto.getMemberId());
         Note note = getNote(id, member);
         note.setIsDeleted(true);
-        note.setUpdatedAt(LocalDateTime.now());
         noteRepository.save(note);
+        tagBitmapCache.noteRemoved(member.getMemberId(), id);
 
         noteImageService.deleteImagesByNoteId(id);
 
         bookmarkRepository.deleteByMemberMemberIdAndNoteNoteId(memberInfoDto.getMemberId(), id);
 
-        // 카드 태그 삭제 전에 태그 이름들을 먼저 저장
-        List<NoteTag> noteTags = noteTagRepository.findByNote_NoteId(id);
-        List<String> noteTagNames = noteTags.stream()
-                .map(NoteTag::getTagName)
-                .collect(Collectors.toList());
-        
-        // 카드 태그는 엔터티 관계상 자동으로 삭제되므로 별도 삭제 불필요
-        noteTagRepository.deleteAll(noteTags);
-
-        // 다른 카드에서 해당 태그를 사용하지 않고 노트에 대해서도 해당 태그가 없다면 태그 테이블에서 삭제
-        for(String tagName : noteTagNames) {
-            // 다른 노트에서 해당 태그 사용 여부 확인
-            long remainingNoteTagCount = noteTagRepository.countByTagNameAndMemberId(tagName, memberInfoDto.getMemberId());
-            
-            // 카드에서 해당 태그 사용 여부 확인
-            long cardTagCount = cardTagRepository.countByTagNameAndMemberId(tagName, memberInfoDto.getMemberId());
-            
-            // 카드와 노트 모두에서 해당 태그를 사용하지 않으면 태그 테이블에서 삭제
-            if(remainingNoteTagCount == 0 && cardTagCount == 0) {
-                Optional<Tag> tag = tagRepository.findByMemberIdAndTagName(memberInfoDto.getMemberId(), tagName);
-                tag.ifPresent(tagRepository::delete);
-                log.info("debug >>> CardService deleteNote 태그 삭제 완료: " + tagName);
-            }
-        }
-
-        
-        
+        // 노트 태그 삭제 후 태그 사용 수 감소, 사용 수가 0이 된 태그만 삭제
+        List<String> noteTagNames = noteTagRepository.findTagNameByNoteIdAndMemberId(id, memberInfoDto.getMemberId());
+        noteTagRepository.deleteByNoteId(id);
+        tagService.releaseTags(memberInfoDto.getMemberId(), noteTagNames);
     }
 
-    @Transactional
+    // 편집 중인 자동 저장 버퍼를 먼저 DB에 반영해 최신 내용을 기준으로 다듬고, LLM 호출은 트랜잭션(DB 커넥션) 밖에서 수행
+    // 호출하는 동안 노트가 다시 수정되었으면 그 수정을 덮어쓰지 않도록 409로 거절
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String polishNote(String noteId, String style, PrincipalMember principalMember) {
-        Member member = getMember(principalMember.getMemberId());
-        Note note = getNote(noteId, member);
+        Long memberId = principalMember.getMemberId();
+        noteAutosaveService.flush(noteId, memberId);
+        Note source = getNote(noteId, getMember(memberId));
+        long baseVersion = source.currentContentVersion();
 
-        String polishedContent = aiService.polishNote(note.getNoteContent(), style);
+        String polishedContent = aiService.polishNote(source.getNoteContent(), style);
 
-        note.setNoteContent(polishedContent);
-        note.setAiEnhanced(true);
-        noteRepository.save(note);
+        transactionTemplate.executeWithoutResult(status -> {
+            Note note = noteRepository.findByIdForUpdate(noteId)
+                    .filter(locked -> !Boolean.TRUE.equals(locked.getIsDeleted()))
+                    .orElseThrow(NoteNotFoundException::new);
+            if (note.currentContentVersion() != baseVersion || noteAutosaveService.hasBuffered(noteId)) {
+                throw new NoteVersionConflictException("AI 다듬기 중에 노트가 수정되었습니다. 최신 내용으로 다시 시도해 주세요.");
+            }
+            noteRevisionService.recordRevision(note, note.getNoteTitle(), polishedContent, NoteRevisionSource.AI_POLISH);
+            note.setNoteContent(polishedContent);
+            note.setAiEnhanced(true);
+            note.setContentVersion(note.currentContentVersion() + 1);
+            noteRepository.save(note);
+            linkService.updateNoteLinks(memberId, note);
+        });
         return polishedContent;
     }
 
@@ -181,11 +257,15 @@ public class NoteService {
         Member member = getMember(memberInfoDto.getMemberId());
         Note note = getNote(id, member);
 
+        noteRevisionService.recordRevision(note, noteRequestDto.getNoteTitle(), noteRequestDto.getNoteContent(), NoteRevisionSource.EDIT);
         note.setNoteTitle(noteRequestDto.getNoteTitle());
         note.setNoteContent(noteRequestDto.getNoteContent());
         note.setAiEnhanced(noteRequestDto.getAiEnhanced());
-        note.setUpdatedAt(LocalDateTime.now());
+        note.setContentVersion(noteAutosaveService.nextVersion(note));
         noteRepository.save(note);
+        linkService.updateNoteLinks(member.getMemberId(), note);
+        // 전체 수정 내용이 최신이므로 남은 자동 저장 버퍼는 커밋 후 폐기
+        noteAutosaveService.discard(id, note.currentContentVersion());
 
         List<NoteTag> noteTags = noteTagRepository.findByNoteId(id);
         List<String> tagNames = noteTags.stream()
@@ -198,6 +278,48 @@ public class NoteService {
         return noteResponseDto;
     }
 
+    public List<NoteRevisionResponseDto> readRevisions(String id, PrincipalMember memberInfoDto) {
+        Note note = getNote(id, getMember(memberInfoDto.getMemberId()));
+        return noteRevisionService.readRevisions(note.getNoteId());
+    }
+
+    public NoteRevisionResponseDto readRevision(String id, Integer revisionNo, PrincipalMember memberInfoDto) {
+        Note note = getNote(id, getMember(memberInfoDto.getMemberId()));
+        return noteRevisionService.readRevision(note.getNoteId(), revisionNo);
+    }
+
+    // 이전 리비전 내용으로 되돌리기 (되돌린 내용도 새 리비전으로 기록)
+    @Transactional
+    public NoteResponseDto restoreRevision(String id, Integer revisionNo, PrincipalMember memberInfoDto) {
+        Note note = getNote(id, getMember(memberInfoDto.getMemberId()));
+        NoteRevisionResponseDto revision = noteRevisionService.readRevision(note.getNoteId(), revisionNo);
+
+        noteRevisionService.recordRevision(note, revision.getNoteTitle(), revision.getNoteContent(), NoteRevisionSource.RESTORE);
+        note.setNoteTitle(revision.getNoteTitle());
+        note.setNoteContent(revision.getNoteContent());
+        note.setContentVersion(noteAutosaveService.nextVersion(note));
+        noteRepository.save(note);
+        linkService.updateNoteLinks(memberInfoDto.getMemberId(), note);
+        noteAutosaveService.discard(id, note.currentContentVersion());
+
+        NoteResponseDto noteResponseDto = NoteResponseDto.from(note);
+        noteResponseDto.setTags(noteTagRepository.findTagNameByNoteIdAndMemberId(id, memberInfoDto.getMemberId()));
+        return noteResponseDto;
+    }
+
+    // 편집 중 패치는 버퍼에만 쌓고 DB 반영은 주기적으로 한 번에
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NoteAutosaveResponseDto autosaveNote(String id, NoteAutosaveRequestDto requestDto, PrincipalMember memberInfoDto) {
+        return noteAutosaveService.autosave(id, memberInfoDto.getMemberId(), requestDto);
+    }
+
+    // 명시적 저장: 자동 저장 버퍼를 즉시 반영한 뒤 최신 노트 반환 (반영은 별도 트랜잭션)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NoteResponseDto saveNote(String id, PrincipalMember memberInfoDto) {
+        noteAutosaveService.flush(id, memberInfoDto.getMemberId());
+        return readNoteById(id, memberInfoDto);
+    }
+
     private Member getMember(Long memberId) {
         return memberRepository.findByMemberIdAndIsDeletedIsFalse(memberId)
                 .orElseThrow(() -> new MemberNotFoundException("존재하지 않는 사용자입니다."));
@@ -1,18 +1,26 @@
 package com.cooltomato.pomki.noteimage.controller;
 
+import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.noteimage.dto.NoteImagePresignRequestDto;
+import com.cooltomato.pomki.noteimage.dto.NoteImagePresignResponseDto;
 import com.cooltomato.pomki.noteimage.dto.NoteImageRequestDto;
 import com.cooltomato.pomki.noteimage.dto.NoteImageResponseDto;
+import com.cooltomato.pomki.noteimage.dto.NoteImageUploadResultDto;
 import com.cooltomato.pomki.noteimage.service.NoteImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 
@@ -42,6 +50,35 @@ public class NoteImageController {
         return ResponseEntity.ok(responseDto);
     }
 
+    @PostMapping(value = "/upload/multiple", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "다중 이미지 업로드", description = "여러 이미지를 동시에 업로드합니다. 실패한 파일은 failed에 담기고 나머지는 등록됩니다.")
+    public ResponseEntity<NoteImageUploadResultDto> uploadImages(
+            @Parameter(description = "노트 ID (선택사항)", required = false)
+            @RequestParam(value = "noteId", required = false) String noteId,
+            @Parameter(description = "업로드할 이미지 파일 목록", required = true)
+            @RequestParam("imageFiles") List<MultipartFile> imageFiles) {
+
+        return ResponseEntity.ok(noteImageService.uploadMultipleImages(noteId, imageFiles));
+    }
+
+    @PostMapping("/presign")
+    @Operation(summary = "이미지 직접 업로드 URL 발급",
+               description = "파일 내용의 SHA-256과 크기로 저장소에 바로 올릴 서명된 PUT URL을 발급합니다. " +
+                             "uploadRequired가 false면 내 노트에 같은 이미지가 이미 있으므로 업로드 없이 완료 요청을 보냅니다.")
+    public ResponseEntity<NoteImagePresignResponseDto> presignUpload(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @Valid @RequestBody NoteImagePresignRequestDto requestDto) {
+        return ResponseEntity.ok(noteImageService.presignUpload(principal.getMemberId(), requestDto));
+    }
+
+    @PostMapping("/presign/complete")
+    @Operation(summary = "이미지 직접 업로드 완료", description = "업로드된 파일을 확인하고 이미지를 등록합니다. 파생 이미지는 비동기로 생성됩니다.")
+    public ResponseEntity<NoteImageResponseDto> completeUpload(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @Valid @RequestBody NoteImagePresignRequestDto requestDto) {
+        return ResponseEntity.ok(noteImageService.completeUpload(principal.getMemberId(), requestDto));
+    }
+
     @GetMapping("/note/{noteId}")
     @Operation(summary = "노트 이미지 목록 조회", description = "특정 노트의 모든 이미지를 조회합니다.")
     public ResponseEntity<List<NoteImageResponseDto>> getImagesByNoteId(
@@ -52,6 +89,26 @@ public class NoteImageController {
         return ResponseEntity.ok(images);
     }
 
+    @GetMapping("/{imageId}/content")
+    @Operation(summary = "표시용 이미지 선택",
+               description = "Accept 헤더와 표시 너비(w)에 맞는 가장 작은 이미지로 리다이렉트합니다. " +
+                             "반응형 이미지가 아직 없으면 기존 파생 이미지나 원본으로 리다이렉트합니다.")
+    public ResponseEntity<Void> redirectToImage(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @Parameter(description = "이미지 ID", required = true)
+            @PathVariable("imageId") Long imageId,
+            @Parameter(description = "표시 너비(px), 기기 픽셀 비율을 곱한 값")
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        String imageUrl = noteImageService.resolveImageUrl(principal.getMemberId(), imageId, accept, width);
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .header(HttpHeaders.LOCATION, imageUrl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .header(HttpHeaders.CACHE_CONTROL, "private, max-age=300")
+                .build();
+    }
+
     @DeleteMapping("/note/{noteId}")
     @Operation(summary = "노트 이미지 전체 삭제", description = "특정 노트의 모든 이미지를 삭제합니다.")
     public ResponseEntity<Void> deleteImagesByNoteId(
@@ -0,0 +1,27 @@
+package com.cooltomato.pomki.noteimage.dto;
+
+import com.cooltomato.pomki.noteimage.entity.ImageRendition;
+import lombok.Builder;
+import lombok.Getter;
+
+// srcset 구성용 너비별 이미지
+@Getter
+@Builder
+public class ImageRenditionResponseDto {
+
+    private final int width;
+    private final int height;
+    private final String mimeType;
+    private final long fileSize;
+    private final String url;
+
+    public static ImageRenditionResponseDto from(ImageRendition rendition) {
+        return ImageRenditionResponseDto.builder()
+                .width(rendition.getWidth())
+                .height(rendition.getHeight())
+                .mimeType(rendition.getMimeType())
+                .fileSize(rendition.getFileSize())
+                .url(rendition.getUrl())
+                .build();
+    }
+}
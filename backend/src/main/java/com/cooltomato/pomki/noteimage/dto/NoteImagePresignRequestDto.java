@@ -0,0 +1,44 @@
+package com.cooltomato.pomki.noteimage.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+// 직접 업로드 URL 발급과 업로드 완료 처리에 같은 값을 보냄
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoteImagePresignRequestDto {
+
+    private String noteId; // null 허용
+
+    @NotBlank(message = "파일 이름은 필수입니다.")
+    private String fileName;
+
+    @NotBlank(message = "파일 형식은 필수입니다.")
+    private String contentType;
+
+    @NotNull(message = "파일 크기는 필수입니다.")
+    @Positive(message = "파일 크기는 0보다 커야 합니다.")
+    private Long fileSize;
+
+    // 클라이언트가 계산한 파일 내용의 SHA-256 (16진수)
+    @NotBlank(message = "파일 해시는 필수입니다.")
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "파일 해시는 SHA-256 16진수 문자열이어야 합니다.")
+    private String contentHash;
+
+    @Builder
+    public NoteImagePresignRequestDto(String noteId, String fileName, String contentType, Long fileSize, String contentHash) {
+        this.noteId = noteId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.fileSize = fileSize;
+        this.contentHash = contentHash;
+    }
+}
@@ -0,0 +1,21 @@
+package com.cooltomato.pomki.noteimage.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Builder
+public class NoteImagePresignResponseDto {
+
+    private final String contentHash;
+    // false면 같은 내용이 이미 저장되어 있으므로 업로드 없이 바로 완료 요청
+    private final boolean uploadRequired;
+    private final String uploadUrl;
+    private final String method;
+    // 업로드 요청에 그대로 붙여야 하는 헤더 (서명에 포함됨)
+    private final Map<String, String> headers;
+    private final Instant expiresAt;
+}
@@ -1,9 +1,15 @@
 package com.cooltomato.pomki.noteimage.dto;
 
+import com.cooltomato.pomki.noteimage.entity.ImageRendition;
+import com.cooltomato.pomki.noteimage.entity.ImageVariant;
+import com.cooltomato.pomki.noteimage.entity.NoteImage;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 
 @Getter
 @Builder
@@ -18,4 +24,35 @@ public class NoteImageResponseDto {
     private final LocalDateTime createdAt;
     private final String oriFileName;
     private final String resizeImageUrl;
+    private final String thumbnailUrl;
+    private final String resize2xImageUrl;
+    // 생성이 끝난 파생 이미지 (업로드 직후에는 비어 있음)
+    private final List<ImageVariant> readyVariants;
+    // 반응형 너비별 이미지 (너비 오름차순, 생성 전에는 비어 있음)
+    private final List<ImageRenditionResponseDto> renditions;
+
+    public static NoteImageResponseDto from(NoteImage image) {
+        return from(image, List.of());
+    }
+
+    public static NoteImageResponseDto from(NoteImage image, List<ImageRendition> renditions) {
+        return NoteImageResponseDto.builder()
+                .imageId(image.getImageId())
+                .noteId(image.getNote() != null ? image.getNote().getNoteId() : null)
+                .imageUrl(image.getImageUrl())
+                .imageName(image.getImageName())
+                .fileSize(image.getFileSize())
+                .mimeType(image.getMimeType())
+                .createdAt(image.getCreatedAt())
+                .oriFileName(image.getOriFileName())
+                .resizeImageUrl(image.getResizeImageUrl())
+                .thumbnailUrl(image.getThumbnailUrl())
+                .resize2xImageUrl(image.getResize2xImageUrl())
+                .readyVariants(Arrays.stream(ImageVariant.values()).filter(image::isVariantReady).toList())
+                .renditions(renditions.stream()
+                        .sorted(Comparator.comparingInt(ImageRendition::getWidth))
+                        .map(ImageRenditionResponseDto::from)
+                        .toList())
+                .build();
+    }
 } 
\ No newline at end of file
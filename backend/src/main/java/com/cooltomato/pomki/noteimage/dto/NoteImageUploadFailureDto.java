@@ -0,0 +1,12 @@
+package com.cooltomato.pomki.noteimage.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class NoteImageUploadFailureDto {
+
+    private final String fileName;
+    private final String message;
+}
@@ -0,0 +1,15 @@
+package com.cooltomato.pomki.noteimage.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 다중 업로드 결과: 실패한 파일이 있어도 나머지는 등록됨
+@Getter
+@Builder
+public class NoteImageUploadResultDto {
+
+    private final List<NoteImageResponseDto> uploaded;
+    private final List<NoteImageUploadFailureDto> failed;
+}
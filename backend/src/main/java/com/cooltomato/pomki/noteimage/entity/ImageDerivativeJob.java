@@ -0,0 +1,53 @@
+package com.cooltomato.pomki.noteimage.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// 이미지 한 장의 파생 이미지(썸네일, 리사이즈, 2x) 생성 작업. 서버가 재시작되어도 남아 있도록 DB에 기록
+@Entity
+@Table(name = "image_derivative_job", indexes = {
+    @Index(name = "idx_image_derivative_job_status", columnList = "status, updated_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ImageDerivativeJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "image_id", nullable = false, unique = true)
+    private Long imageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImageDerivativeJobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 선점(claim)과 오래 멈춘 작업 판단이 DB 시각 기준이므로 저장할 때마다 DB 시각으로 기록
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.cooltomato.pomki.noteimage.entity;
+
+public enum ImageDerivativeJobStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package com.cooltomato.pomki.noteimage.entity;
+
+// 이미지 정리 작업 단계 (한 회차는 MARK → MARK_CARDS → SWEEP_ROWS → SWEEP_STORAGE 순서로 진행)
+public enum ImageGcPhase {
+    // 노트 본문과 노트 리비전을 순회하며 참조된 이미지 표시
+    MARK,
+    // 카드 질문/답변을 순회하며 참조된 이미지 표시
+    MARK_CARDS,
+    // 노트에 연결되지 않고 이번 회차에 참조되지 않은 NOTE_IMAGE 행 삭제
+    SWEEP_ROWS,
+    // 어떤 행도 가리키지 않는 저장소 파일 삭제
+    SWEEP_STORAGE,
+    // 회차 종료, 다음 회차 시작 시각까지 대기
+    IDLE
+}
@@ -0,0 +1,59 @@
+package com.cooltomato.pomki.noteimage.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// 이미지 정리 작업의 진행 위치. 배치마다 저장하므로 서버가 재시작되어도 이어서 진행
+@Entity
+@Table(name = "image_gc_state")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ImageGcState {
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false, length = 20)
+    private ImageGcPhase phase;
+
+    // 단계별 키셋 위치 (노트 ID, 이미지 ID, 저장소 키)
+    @Column(name = "cursor_value", length = 512)
+    private String cursor;
+
+    @Column(name = "epoch_started_at")
+    private LocalDateTime epochStartedAt;
+
+    // 회차 시작 시각(UTC). 저장소 파일 수정 시각(Instant)과 비교할 때 사용
+    @Column(name = "epoch_started_utc")
+    private Instant epochStartedUtc;
+
+    // 회차 중에 수정된 노트/카드를 여기까지 다시 확인함 (DB 시각)
+    @Column(name = "checked_until")
+    private LocalDateTime checkedUntil;
+
+    // 진행 중인 재확인의 시작 시각(DB 시각)과 위치 (note:{노트 ID} 또는 card:{카드 ID})
+    @Column(name = "recheck_started_at")
+    private LocalDateTime recheckStartedAt;
+
+    @Column(name = "recheck_cursor", length = 512)
+    private String recheckCursor;
+
+    @Column(name = "epoch_finished_at")
+    private LocalDateTime epochFinishedAt;
+
+    // 여러 서버 중 한 곳만 배치를 실행하도록 잡는 임대 만료 시각
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+}
@@ -0,0 +1,47 @@
+package com.cooltomato.pomki.noteimage.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 반응형 표시용으로 여러 너비로 만들어 둔 이미지 (불투명 이미지는 JPEG, 투명 영역이 있으면 PNG)
+@Entity
+@Table(name = "image_rendition", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_image_rendition", columnNames = {"image_id", "width", "mime_type"})
+})
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class ImageRendition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rendition_id")
+    private Long renditionId;
+
+    @Column(name = "image_id", nullable = false)
+    private Long imageId;
+
+    @Column(name = "width", nullable = false)
+    private int width;
+
+    @Column(name = "height", nullable = false)
+    private int height;
+
+    @Column(name = "mime_type", nullable = false, length = 100)
+    private String mimeType;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "url", nullable = false, length = 512)
+    private String url;
+
+    // 같은 내용의 다른 이미지가 만들어 둔 것을 공유
+    public ImageRendition copyFor(Long otherImageId) {
+        return new ImageRendition(null, otherImageId, width, height, mimeType, fileSize, url);
+    }
+}
@@ -0,0 +1,18 @@
+package com.cooltomato.pomki.noteimage.entity;
+
+// 원본에서 만들어 두는 파생 이미지 (S3 키 접두어)
+public enum ImageVariant {
+    THUMBNAIL("thumb_"),
+    RESIZED("resize_"),
+    RESIZED_2X("resize2x_");
+
+    private final String keyPrefix;
+
+    ImageVariant(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+}
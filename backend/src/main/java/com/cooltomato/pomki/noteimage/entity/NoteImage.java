@@ -12,7 +12,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "NOTE_IMAGE")
+@Table(name = "NOTE_IMAGE", indexes = {
+    @Index(name = "idx_note_image_content_hash", columnList = "content_hash"),
+    @Index(name = "idx_note_image_url", columnList = "image_url")
+})
 @Getter
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
@@ -49,9 +52,24 @@ public class NoteImage {
     @Column(name = "resize_image_url", length = 512)
     private String resizeImageUrl;
 
+    // 파생 이미지는 업로드 후 비동기로 만들어지며, URL이 채워지면 해당 변형이 준비된 것
+    @Column(name = "thumbnail_url", length = 512)
+    private String thumbnailUrl;
+
+    @Column(name = "resize_2x_image_url", length = 512)
+    private String resize2xImageUrl;
+
+    // 원본 내용의 SHA-256 (image_blob 키). 중복 제거 이전에 올라간 이미지는 NULL
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 정리 작업(ImageGarbageCollector)이 노트 본문에서 참조를 마지막으로 확인한 회차 시작 시각
+    @Column(name = "last_referenced_at")
+    private LocalDateTime lastReferencedAt;
+
     @Builder
     public NoteImage(Note note, String imageUrl, String imageName, Long fileSize, 
-                     String mimeType, String oriFileName, String resizeImageUrl) {
+                     String mimeType, String oriFileName, String resizeImageUrl, String contentHash) {
         this.note = note;
         this.imageUrl = imageUrl;
         this.imageName = imageName;
@@ -59,5 +77,26 @@ public class NoteImage {
         this.mimeType = mimeType;
         this.oriFileName = oriFileName;
         this.resizeImageUrl = resizeImageUrl;
+        this.contentHash = contentHash;
+    }
+
+    public String getVariantUrl(ImageVariant variant) {
+        return switch (variant) {
+            case THUMBNAIL -> thumbnailUrl;
+            case RESIZED -> resizeImageUrl;
+            case RESIZED_2X -> resize2xImageUrl;
+        };
+    }
+
+    public boolean isVariantReady(ImageVariant variant) {
+        return getVariantUrl(variant) != null;
+    }
+
+    public void applyVariantUrl(ImageVariant variant, String url) {
+        switch (variant) {
+            case THUMBNAIL -> this.thumbnailUrl = url;
+            case RESIZED -> this.resizeImageUrl = url;
+            case RESIZED_2X -> this.resize2xImageUrl = url;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.cooltomato.pomki.noteimage.repository;
+
+import com.cooltomato.pomki.noteimage.entity.ImageBlob;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    // 참조 추가: 없으면 참조 수 1로 생성 (반환값 1 = 새로 생성, 2 = 기존 blob 재사용)
+    // 행 잠금이 커밋까지 유지되므로 같은 내용을 동시에 올리거나 지우는 요청과 순서가 보장됨
+    @Modifying
+    @Query(value = "INSERT INTO image_blob (content_hash, image_url, file_size, mime_type, ref_count, created_at) " +
+                   "VALUES (:contentHash, :imageUrl, :fileSize, :mimeType, 1, NOW(6)) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    int acquire(@Param("contentHash") String contentHash, @Param("imageUrl") String imageUrl,
+                @Param("fileSize") Long fileSize, @Param("mimeType") String mimeType);
+
+    @Modifying
+    @Query("UPDATE ImageBlob b SET b.refCount = b.refCount - :count WHERE b.contentHash = :contentHash")
+    int release(@Param("contentHash") String contentHash, @Param("count") long count);
+
+    // 마지막 참조까지 사라진 blob
+    @Query("SELECT b FROM ImageBlob b WHERE b.contentHash IN :contentHashes AND b.refCount <= 0")
+    List<ImageBlob> findUnreferenced(@Param("contentHashes") Collection<String> contentHashes);
+
+    @Query("SELECT b.contentHash FROM ImageBlob b WHERE b.contentHash IN :contentHashes")
+    List<String> findExistingHashes(@Param("contentHashes") Collection<String> contentHashes);
+}
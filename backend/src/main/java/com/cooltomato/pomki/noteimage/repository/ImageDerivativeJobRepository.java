@@ -0,0 +1,43 @@
+package com.cooltomato.pomki.noteimage.repository;
+
+import com.cooltomato.pomki.noteimage.entity.ImageDerivativeJob;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageDerivativeJobRepository extends JpaRepository<ImageDerivativeJob, Long> {
+
+    Optional<ImageDerivativeJob> findByImageId(Long imageId);
+
+    // 대기 중이거나, 처리 중에 서버가 내려가 오래 멈춰 있는 작업
+    @Query("SELECT j.jobId FROM ImageDerivativeJob j " +
+           "WHERE j.status = com.cooltomato.pomki.noteimage.entity.ImageDerivativeJobStatus.PENDING " +
+           "OR (j.status = com.cooltomato.pomki.noteimage.entity.ImageDerivativeJobStatus.PROCESSING AND j.updatedAt < :staleBefore) " +
+           "ORDER BY j.jobId")
+    List<Long> findRunnableJobIds(@Param("staleBefore") LocalDateTime staleBefore, Limit limit);
+
+    // 반응형 이미지가 하나도 없는 이미지 (image_id 키셋 순회, 도입 전 이미지 작업 재예약용)
+    @Query("SELECT ni.imageId FROM NoteImage ni WHERE ni.imageId > :afterImageId " +
+           "AND NOT EXISTS (SELECT 1 FROM ImageRendition r WHERE r.imageId = ni.imageId) ORDER BY ni.imageId")
+    List<Long> findImageIdsWithoutRenditions(@Param("afterImageId") Long afterImageId, Limit limit);
+
+    // 여러 워커/서버가 같은 작업을 동시에 가져가지 않도록 조건부 UPDATE로 선점 (1이면 선점 성공)
+    @Modifying
+    @Query("UPDATE ImageDerivativeJob j SET j.status = com.cooltomato.pomki.noteimage.entity.ImageDerivativeJobStatus.PROCESSING, " +
+           "j.updatedAt = LOCAL DATETIME WHERE j.jobId = :jobId " +
+           "AND (j.status = com.cooltomato.pomki.noteimage.entity.ImageDerivativeJobStatus.PENDING " +
+           "OR (j.status = com.cooltomato.pomki.noteimage.entity.ImageDerivativeJobStatus.PROCESSING AND j.updatedAt < :staleBefore))")
+    int claim(@Param("jobId") Long jobId, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("DELETE FROM ImageDerivativeJob j WHERE j.imageId IN :imageIds")
+    int deleteByImageIdIn(@Param("imageIds") Collection<Long> imageIds);
+}
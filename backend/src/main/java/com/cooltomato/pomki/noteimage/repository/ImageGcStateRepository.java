@@ -0,0 +1,23 @@
+package com.cooltomato.pomki.noteimage.repository;
+
+import com.cooltomato.pomki.noteimage.entity.ImageGcState;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ImageGcStateRepository extends JpaRepository<ImageGcState, String> {
+
+    // 임대가 비어 있거나 만료되었을 때만 잡음 (1이면 이 서버가 이번 배치를 실행)
+    @Modifying
+    @Query("UPDATE ImageGcState s SET s.leasedUntil = :leaseUntil " +
+           "WHERE s.name = :name AND (s.leasedUntil IS NULL OR s.leasedUntil < :now)")
+    int tryLease(@Param("name") String name, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 노트/카드 updated_at이 DB 시각으로 기록되므로 수정 여부 재확인 기준도 DB 시각을 씀
+    @Query(value = "SELECT NOW(6)", nativeQuery = true)
+    LocalDateTime currentDbTime();
+}
@@ -0,0 +1,24 @@
+package com.cooltomato.pomki.noteimage.repository;
+
+import com.cooltomato.pomki.noteimage.entity.ImageRendition;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+    List<ImageRendition> findByImageIdOrderByWidthAsc(Long imageId);
+
+    List<ImageRendition> findByImageIdIn(Collection<Long> imageIds);
+
+    boolean existsByImageId(Long imageId);
+
+    @Modifying
+    @Query("DELETE FROM ImageRendition r WHERE r.imageId IN :imageIds")
+    int deleteByImageIdIn(@Param("imageIds") Collection<Long> imageIds);
+}
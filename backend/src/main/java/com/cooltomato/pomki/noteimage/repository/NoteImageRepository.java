@@ -1,14 +1,61 @@
 package com.cooltomato.pomki.noteimage.repository;
 
 import com.cooltomato.pomki.noteimage.entity.NoteImage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface NoteImageRepository extends JpaRepository<NoteImage, Long> {
     
     List<NoteImage> findByNote_NoteId(String noteId);
+
+    List<NoteImage> findByNote_NoteIdIn(Collection<String> noteIds);
     
     void deleteByNote_NoteId(String noteId);
 
-} 
\ No newline at end of file
+    // 같은 내용의 다른 이미지 (이미 만들어진 파생 이미지 재사용)
+    Optional<NoteImage> findFirstByContentHashAndImageIdNotOrderByImageIdAsc(String contentHash, Long imageId);
+
+    // 직접 업로드 중복 확인: 회원 자신의 노트에 같은 내용의 이미지가 있는지 (다른 회원의 이미지는 보지 않음)
+    boolean existsByContentHashAndNote_Member_MemberId(String contentHash, Long memberId);
+
+    // 내보내기: 회원의 살아 있는 노트에 연결된 이미지를 image_id 키셋으로 한 페이지씩 (노트 본문은 읽지 않음)
+    @Query("SELECT ni FROM NoteImage ni WHERE ni.note.member.memberId = :memberId AND ni.note.isDeleted = false " +
+           "AND ni.imageId > :afterImageId ORDER BY ni.imageId")
+    List<NoteImage> findByMemberIdAfter(@Param("memberId") Long memberId, @Param("afterImageId") Long afterImageId,
+                                        Limit limit);
+
+    // 노트 영구 삭제 시 이미지 행을 노트에서 떼어 두고 정리 작업이 다른 노트의 참조 여부를 확인해 지움
+    @Modifying
+    @Query("UPDATE NoteImage ni SET ni.note = null WHERE ni.note.noteId = :noteId")
+    int detachFromNote(@Param("noteId") String noteId);
+
+    // 이미지 정리(mark): 노트 본문에서 참조된 원본 URL / 이미지 ID 표시
+    @Modifying
+    @Query("UPDATE NoteImage ni SET ni.lastReferencedAt = :markedAt WHERE ni.imageUrl IN :imageUrls")
+    int markReferencedByUrls(@Param("imageUrls") Collection<String> imageUrls, @Param("markedAt") LocalDateTime markedAt);
+
+    @Modifying
+    @Query("UPDATE NoteImage ni SET ni.lastReferencedAt = :markedAt WHERE ni.imageId IN :imageIds")
+    int markReferencedByIds(@Param("imageIds") Collection<Long> imageIds, @Param("markedAt") LocalDateTime markedAt);
+
+    // 이미지 정리(sweep): 노트에 연결되지 않았고, 유예 기간이 지났고, 이번 회차에 참조되지 않은 행 (note_id 인덱스로 키셋 순회)
+    @Query("SELECT ni FROM NoteImage ni WHERE ni.note IS NULL AND ni.imageId > :afterImageId " +
+           "AND ni.createdAt < :createdBefore " +
+           "AND (ni.lastReferencedAt IS NULL OR ni.lastReferencedAt < :epochStartedAt) " +
+           "ORDER BY ni.imageId")
+    List<NoteImage> findUnreferencedDetached(@Param("afterImageId") Long afterImageId,
+                                             @Param("createdBefore") LocalDateTime createdBefore,
+                                             @Param("epochStartedAt") LocalDateTime epochStartedAt,
+                                             Limit limit);
+
+    @Query("SELECT ni.imageUrl FROM NoteImage ni WHERE ni.imageUrl IN :imageUrls")
+    List<String> findExistingImageUrls(@Param("imageUrls") Collection<String> imageUrls);
+}
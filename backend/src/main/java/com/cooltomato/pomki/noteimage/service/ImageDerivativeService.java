@@ -0,0 +1,308 @@
+package com.cooltomato.pomki.noteimage.service;
+
+import com.cooltomato.pomki.global.storage.BlobStore;
+import com.cooltomato.pomki.noteimage.entity.ImageDerivativeJob;
+import com.cooltomato.pomki.noteimage.entity.ImageDerivativeJobStatus;
+import com.cooltomato.pomki.noteimage.entity.ImageGcPhase;
+import com.cooltomato.pomki.noteimage.entity.ImageGcState;
+import com.cooltomato.pomki.noteimage.entity.ImageRendition;
+import com.cooltomato.pomki.noteimage.entity.ImageVariant;
+import com.cooltomato.pomki.noteimage.entity.NoteImage;
+import com.cooltomato.pomki.noteimage.repository.ImageDerivativeJobRepository;
+import com.cooltomato.pomki.noteimage.repository.ImageGcStateRepository;
+import com.cooltomato.pomki.noteimage.repository.ImageRenditionRepository;
+import com.cooltomato.pomki.noteimage.repository.NoteImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 파생 이미지(썸네일, 리사이즈, 2x, 반응형 너비별 이미지) 비동기 생성
+ * 업로드 요청은 원본 저장과 작업 행(image_derivative_job) 기록까지만 하고, 커밋 후 전용 워커 풀에 넘긴다.
+ * 워커 풀이 가득 찼거나 서버가 재시작되어 남은 작업은 주기적으로 다시 가져가며, 작업 선점은 조건부 UPDATE로 한다.
+ * 반응형 이미지가 도입되기 전에 올라온 이미지는 조회 요청과 무관하게 image_id 순서로 한 번씩 작업을 다시 예약한다.
+ * (진행 위치와 임대는 이미지 정리 작업과 같은 image_gc_state 행으로 관리)
+ */
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    private static final String BACKFILL_STATE_NAME = "rendition-backfill";
+
+    private final ImageDerivativeJobRepository imageDerivativeJobRepository;
+    private final ImageGcStateRepository imageGcStateRepository;
+    private final NoteImageRepository noteImageRepository;
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final BlobStore blobStore;
+    private final ImageResizer imageResizer;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor imageDerivativeExecutor;
+
+    @Value("${pomki.image.derivative.max-attempts:3}")
+    private int maxAttempts;
+
+    // 이 시간 동안 PROCESSING에 머문 작업은 처리하던 서버가 내려간 것으로 보고 다시 가져감
+    @Value("${pomki.image.derivative.stale-minutes:10}")
+    private long staleMinutes;
+
+    @Value("${pomki.image.derivative.poll-batch-size:50}")
+    private int pollBatchSize;
+
+    @Value("${pomki.image.derivative.backfill-lease-seconds:300}")
+    private long backfillLeaseSeconds;
+
+    public ImageDerivativeService(ImageDerivativeJobRepository imageDerivativeJobRepository,
+                                  ImageGcStateRepository imageGcStateRepository,
+                                  NoteImageRepository noteImageRepository,
+                                  ImageRenditionRepository imageRenditionRepository,
+                                  BlobStore blobStore,
+                                  ImageResizer imageResizer,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("imageDerivativeExecutor") TaskExecutor imageDerivativeExecutor) {
+        this.imageDerivativeJobRepository = imageDerivativeJobRepository;
+        this.imageGcStateRepository = imageGcStateRepository;
+        this.noteImageRepository = noteImageRepository;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.blobStore = blobStore;
+        this.imageResizer = imageResizer;
+        this.transactionTemplate = transactionTemplate;
+        this.imageDerivativeExecutor = imageDerivativeExecutor;
+    }
+
+    // 업로드 트랜잭션 안에서 호출: 작업을 기록하고 커밋된 뒤에 워커에 넘김
+    public void enqueue(Long imageId) {
+        ImageDerivativeJob job = imageDerivativeJobRepository.save(ImageDerivativeJob.builder()
+                .imageId(imageId)
+                .status(ImageDerivativeJobStatus.PENDING)
+                .attempts(0)
+                .build());
+
+        Long jobId = job.getJobId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(jobId);
+                }
+            });
+        } else {
+            dispatch(jobId);
+        }
+    }
+
+    /**
+     * 반응형 이미지가 없는 이미지의 작업을 image_id 순서로 한 배치씩 다시 예약
+     * 위치는 앞으로만 움직이므로 이미지마다 한 번만 예약되고, 끝까지 간 뒤에는 새 이미지(업로드 때 이미 예약됨)만 훑는다.
+     */
+    @Scheduled(initialDelayString = "${pomki.image.derivative.backfill-initial-delay-ms:60000}",
+               fixedDelayString = "${pomki.image.derivative.backfill-interval-ms:60000}")
+    public void backfillRenditions() {
+        if (!tryBackfillLease()) {
+            return;
+        }
+        ImageGcState state = imageGcStateRepository.findById(BACKFILL_STATE_NAME).orElseThrow();
+        try {
+            long afterImageId = state.getCursor() == null ? 0L : Long.parseLong(state.getCursor());
+            List<Long> imageIds = imageDerivativeJobRepository.findImageIdsWithoutRenditions(afterImageId, Limit.of(pollBatchSize));
+            if (!imageIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> imageIds.forEach(this::requestRenditions));
+                state.setCursor(String.valueOf(imageIds.get(imageIds.size() - 1)));
+            }
+        } catch (RuntimeException e) {
+            log.error("반응형 이미지 작업 예약 실패: cursor={}", state.getCursor(), e);
+        } finally {
+            state.setLeasedUntil(null);
+            transactionTemplate.executeWithoutResult(status -> imageGcStateRepository.save(state));
+        }
+    }
+
+    // 작업이 없으면 새로 만들고, 반응형 이미지 없이 끝난 작업은 다시 대기 상태로 (대기/처리 중인 작업은 그대로)
+    private void requestRenditions(Long imageId) {
+        Optional<ImageDerivativeJob> existing = imageDerivativeJobRepository.findByImageId(imageId);
+        if (existing.isEmpty()) {
+            enqueue(imageId);
+        } else if (existing.get().getStatus() == ImageDerivativeJobStatus.DONE) {
+            ImageDerivativeJob job = existing.get();
+            job.setStatus(ImageDerivativeJobStatus.PENDING);
+            job.setAttempts(0);
+        }
+    }
+
+    private boolean tryBackfillLease() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!imageGcStateRepository.existsById(BACKFILL_STATE_NAME)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> imageGcStateRepository.save(ImageGcState.builder()
+                        .name(BACKFILL_STATE_NAME)
+                        .phase(ImageGcPhase.IDLE)
+                        .build()));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 서버가 먼저 만든 경우
+            }
+        }
+        Integer leased = transactionTemplate.execute(status ->
+                imageGcStateRepository.tryLease(BACKFILL_STATE_NAME, now, now.plusSeconds(backfillLeaseSeconds)));
+        return leased != null && leased == 1;
+    }
+
+    public void deleteJobs(List<Long> imageIds) {
+        if (!imageIds.isEmpty()) {
+            imageDerivativeJobRepository.deleteByImageIdIn(imageIds);
+            imageRenditionRepository.deleteByImageIdIn(imageIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pomki.image.derivative.poll-interval-ms:10000}")
+    public void dispatchPendingJobs() {
+        List<Long> jobIds = imageDerivativeJobRepository.findRunnableJobIds(staleBefore(), Limit.of(pollBatchSize));
+        for (Long jobId : jobIds) {
+            if (!dispatch(jobId)) {
+                break;
+            }
+        }
+    }
+
+    private boolean dispatch(Long jobId) {
+        try {
+            imageDerivativeExecutor.execute(() -> process(jobId));
+            return true;
+        } catch (TaskRejectedException e) {
+            // 워커 풀이 가득 차면 PENDING으로 두고 다음 주기에 다시 시도
+            log.debug("파생 이미지 작업 대기: jobId={}", jobId);
+            return false;
+        }
+    }
+
+    private void process(Long jobId) {
+        Integer claimed = transactionTemplate.execute(status -> imageDerivativeJobRepository.claim(jobId, staleBefore()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        ImageDerivativeJob job = imageDerivativeJobRepository.findById(jobId).orElse(null);
+        Optional<NoteImage> image = job == null ? Optional.empty() : noteImageRepository.findById(job.getImageId());
+        if (image.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> imageDerivativeJobRepository.deleteById(jobId));
+            return;
+        }
+
+        Path tempFile = null;
+        List<String> uploadedUrls = new ArrayList<>();
+        try {
+            NoteImage noteImage = image.get();
+            Set<ImageVariant> variants = EnumSet.noneOf(ImageVariant.class);
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (!noteImage.isVariantReady(variant)) {
+                    variants.add(variant);
+                }
+            }
+
+            boolean withRenditions = !imageRenditionRepository.existsByImageId(noteImage.getImageId());
+
+            Map<ImageVariant, String> variantUrls = new EnumMap<>(ImageVariant.class);
+            List<ImageRendition> renditions = new ArrayList<>();
+            if (!variants.isEmpty() || withRenditions) {
+                tempFile = Files.createTempFile("pomki-derivative-", ".tmp");
+                blobStore.download(noteImage.getImageUrl(), tempFile);
+                ImageResizer.Derivatives derivatives = imageResizer.resize(tempFile, extensionOf(noteImage.getImageName()),
+                        variants, withRenditions);
+
+                String baseFileName = baseNameOf(noteImage.getImageName());
+                for (Map.Entry<ImageVariant, byte[]> entry : derivatives.variants().entrySet()) {
+                    String url = blobStore.put("images/" + entry.getKey().getKeyPrefix() + baseFileName,
+                            entry.getValue(), noteImage.getMimeType());
+                    uploadedUrls.add(url);
+                    variantUrls.put(entry.getKey(), url);
+                }
+                for (ImageResizer.Rendition rendition : derivatives.renditions()) {
+                    String url = blobStore.put("images/w" + rendition.width() + "_" + baseFileName + "." + rendition.extension(),
+                            rendition.bytes(), rendition.mimeType());
+                    uploadedUrls.add(url);
+                    renditions.add(ImageRendition.builder()
+                            .imageId(noteImage.getImageId())
+                            .width(rendition.width())
+                            .height(rendition.height())
+                            .mimeType(rendition.mimeType())
+                            .fileSize(rendition.bytes().length)
+                            .url(url)
+                            .build());
+                }
+            }
+
+            boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                Optional<NoteImage> current = noteImageRepository.findById(noteImage.getImageId());
+                if (current.isEmpty()) {
+                    imageDerivativeJobRepository.deleteById(jobId);
+                    return false;
+                }
+                variantUrls.forEach(current.get()::applyVariantUrl);
+                if (!imageRenditionRepository.existsByImageId(noteImage.getImageId())) {
+                    imageRenditionRepository.saveAll(renditions);
+                }
+                imageDerivativeJobRepository.findById(jobId).ifPresent(done -> {
+                    done.setStatus(ImageDerivativeJobStatus.DONE);
+                    done.setLastError(null);
+                });
+                return true;
+            }));
+            if (!applied && noteImage.getContentHash() == null) {
+                // 처리 중에 이미지가 삭제된 경우 방금 올린 파생 이미지 정리 (내용 주소 방식은 다른 이미지와 공유하므로 그대로 둠)
+                uploadedUrls.forEach(blobStore::delete);
+            }
+            log.info("파생 이미지 생성 완료: imageId={}, 변형 수={}, 반응형 이미지 수={}",
+                    noteImage.getImageId(), variantUrls.size(), renditions.size());
+        } catch (IOException | RuntimeException e) {
+            log.error("파생 이미지 생성 실패: jobId={}, error={}", jobId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> imageDerivativeJobRepository.findById(jobId).ifPresent(failed -> {
+                failed.setAttempts(failed.getAttempts() + 1);
+                failed.setStatus(failed.getAttempts() >= maxAttempts ? ImageDerivativeJobStatus.FAILED : ImageDerivativeJobStatus.PENDING);
+                String message = String.valueOf(e.getMessage());
+                failed.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+            }));
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패: {}", tempFile, e);
+                }
+            }
+        }
+    }
+
+    // 작업 updated_at은 DB 시각으로 기록되므로 기준 시각도 DB 시각에서 계산 (서버와 DB의 시간대/시계가 달라도 맞게 비교)
+    private LocalDateTime staleBefore() {
+        return imageGcStateRepository.currentDbTime().minusMinutes(staleMinutes);
+    }
+
+    private String extensionOf(String imageName) {
+        int dot = imageName.lastIndexOf('.');
+        return dot < 0 ? "" : imageName.substring(dot + 1);
+    }
+
+    private String baseNameOf(String imageName) {
+        int dot = imageName.lastIndexOf('.');
+        return dot < 0 ? imageName : imageName.substring(0, dot);
+    }
+}
@@ -0,0 +1,379 @@
+package com.cooltomato.pomki.noteimage.service;
+
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.global.storage.BlobStore;
+import com.cooltomato.pomki.global.storage.StoredBlob;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.note.service.NoteRevisionService;
+import com.cooltomato.pomki.noteimage.entity.ImageGcPhase;
+import com.cooltomato.pomki.noteimage.entity.ImageGcState;
+import com.cooltomato.pomki.noteimage.entity.NoteImage;
+import com.cooltomato.pomki.noteimage.repository.ImageBlobRepository;
+import com.cooltomato.pomki.noteimage.repository.ImageGcStateRepository;
+import com.cooltomato.pomki.noteimage.repository.NoteImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 노트에서 더 이상 쓰지 않는 이미지 정리 (mark-and-sweep)
+ * - MARK: 노트 본문(휴지통 포함)과 그 노트의 리비전 본문(복원하면 다시 쓰임)을 키셋 순회하며
+ *   들어 있는 이미지 URL / 이미지 ID를 이번 회차 시각으로 표시
+ * - MARK_CARDS: 카드 질문/답변(휴지통 포함)을 같은 방식으로 표시
+ * - SWEEP_ROWS: 노트에 연결되지 않은 채(작성 중 업로드, 노트 영구 삭제) 유예 기간이 지났고 이번 회차에 표시되지 않은 행 삭제
+ *   (배치마다 먼저 표시 단계 이후 수정된 노트/카드를 다시 표시)
+ * - SWEEP_STORAGE: 저장소 목록을 키 순서로 순회하며 어떤 행도 가리키지 않는, 유예 기간이 지난 파일 삭제
+ * 주기마다 현재 단계의 배치 하나만 처리하고 위치를 image_gc_state에 저장하므로 긴 스캔 없이 나눠서 진행되고 재시작해도 이어진다.
+ * 배치는 DB 임대를 잡은 서버 한 곳에서만 실행된다.
+ */
+@Service
+@Slf4j
+public class ImageGarbageCollector {
+
+    private static final String STATE_NAME = "note-image";
+    private static final String IMAGE_PREFIX = "images/";
+    private static final String RECHECK_NOTE = "note:";
+    private static final String RECHECK_CARD = "card:";
+    private static final Pattern IMAGE_ENDPOINT = Pattern.compile("/api/images/(\\d+)/content");
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    // 파생 이미지 키 접두어 (ImageVariant, 반응형 w{너비}_)
+    private static final Pattern DERIVATIVE_PREFIX = Pattern.compile("^(?:thumb_|resize2x_|resize_|w\\d+_)");
+
+    private final ImageGcStateRepository imageGcStateRepository;
+    private final NoteImageRepository noteImageRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final NoteRepository noteRepository;
+    private final CardRepository cardRepository;
+    private final NoteRevisionService noteRevisionService;
+    private final NoteImageService noteImageService;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Pattern storedUrl;
+
+    @Value("${pomki.image.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pomki.image.gc.batch-size:200}")
+    private int batchSize;
+
+    // 이 기간보다 최근에 만들어진 행/파일은 업로드나 노트 저장이 끝나지 않았을 수 있으므로 건드리지 않음
+    @Value("${pomki.image.gc.grace-hours:168}")
+    private long graceHours;
+
+    // 회차가 끝난 뒤 다음 회차를 시작하기까지의 간격
+    @Value("${pomki.image.gc.epoch-interval-hours:24}")
+    private long epochIntervalHours;
+
+    @Value("${pomki.image.gc.lease-seconds:300}")
+    private long leaseSeconds;
+
+    public ImageGarbageCollector(ImageGcStateRepository imageGcStateRepository,
+                                 NoteImageRepository noteImageRepository,
+                                 ImageBlobRepository imageBlobRepository,
+                                 NoteRepository noteRepository,
+                                 CardRepository cardRepository,
+                                 NoteRevisionService noteRevisionService,
+                                 NoteImageService noteImageService,
+                                 BlobStore blobStore,
+                                 TransactionTemplate transactionTemplate) {
+        this.imageGcStateRepository = imageGcStateRepository;
+        this.noteImageRepository = noteImageRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.noteRepository = noteRepository;
+        this.cardRepository = cardRepository;
+        this.noteRevisionService = noteRevisionService;
+        this.noteImageService = noteImageService;
+        this.blobStore = blobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.storedUrl = Pattern.compile(Pattern.quote(blobStore.toUrl(IMAGE_PREFIX)) + "([A-Za-z0-9._-]+)");
+    }
+
+    // 배치 사이 간격이 곧 처리 속도 제한
+    @Scheduled(initialDelayString = "${pomki.image.gc.initial-delay-ms:60000}",
+               fixedDelayString = "${pomki.image.gc.interval-ms:30000}")
+    public void runBatch() {
+        if (!enabled || !tryLease()) {
+            return;
+        }
+
+        ImageGcState state = imageGcStateRepository.findById(STATE_NAME).orElseThrow();
+        try {
+            switch (state.getPhase()) {
+                case IDLE -> startEpochIfDue(state);
+                case MARK -> markBatch(state);
+                case MARK_CARDS -> markCardsBatch(state);
+                case SWEEP_ROWS -> sweepRowsBatch(state);
+                case SWEEP_STORAGE -> sweepStorageBatch(state);
+            }
+        } catch (RuntimeException e) {
+            log.error("이미지 정리 배치 실패: phase={}, cursor={}", state.getPhase(), state.getCursor(), e);
+        } finally {
+            // 진행 위치 저장과 임대 반납 (실패한 배치는 같은 위치부터 다시 시도)
+            state.setLeasedUntil(null);
+            transactionTemplate.executeWithoutResult(status -> imageGcStateRepository.save(state));
+        }
+    }
+
+    private boolean tryLease() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!imageGcStateRepository.existsById(STATE_NAME)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> imageGcStateRepository.save(ImageGcState.builder()
+                        .name(STATE_NAME)
+                        .phase(ImageGcPhase.IDLE)
+                        .build()));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 서버가 먼저 만든 경우
+            }
+        }
+        Integer leased = transactionTemplate.execute(status ->
+                imageGcStateRepository.tryLease(STATE_NAME, now, now.plusSeconds(leaseSeconds)));
+        return leased != null && leased == 1;
+    }
+
+    private void startEpochIfDue(ImageGcState state) {
+        LocalDateTime now = LocalDateTime.now();
+        if (state.getEpochFinishedAt() != null && state.getEpochFinishedAt().plusHours(epochIntervalHours).isAfter(now)) {
+            return;
+        }
+        state.setPhase(ImageGcPhase.MARK);
+        state.setCursor("");
+        state.setEpochStartedAt(now);
+        state.setEpochStartedUtc(Instant.now());
+        state.setCheckedUntil(imageGcStateRepository.currentDbTime());
+        state.setRecheckStartedAt(null);
+        state.setRecheckCursor(null);
+        log.info("이미지 정리 회차 시작: {}", now);
+    }
+
+    private void markBatch(ImageGcState state) {
+        List<Object[]> rows = noteRepository.findContentsAfter(state.getCursor(), Limit.of(batchSize));
+        References references = new References();
+        for (Object[] row : rows) {
+            references.collect((String) row[1]);
+            references.collect((String) row[2]);
+            noteRevisionService.forEachRevisionContent((String) row[0], references::collect);
+        }
+        markReferences(references, state.getEpochStartedAt());
+        if (rows.size() < batchSize) {
+            state.setPhase(ImageGcPhase.MARK_CARDS);
+            state.setCursor("0");
+        } else {
+            state.setCursor((String) rows.get(rows.size() - 1)[0]);
+        }
+    }
+
+    private void markCardsBatch(ImageGcState state) {
+        List<Object[]> rows = cardRepository.findContentsAfter(Long.parseLong(state.getCursor()), Limit.of(batchSize));
+        markReferences(collectAll(rows), state.getEpochStartedAt());
+        if (rows.size() < batchSize) {
+            state.setPhase(ImageGcPhase.SWEEP_ROWS);
+            state.setCursor("0");
+            log.info("이미지 정리 표시 단계 완료");
+        } else {
+            state.setCursor(String.valueOf(rows.get(rows.size() - 1)[0]));
+        }
+    }
+
+    private void sweepRowsBatch(ImageGcState state) {
+        // 표시 단계가 지나간 뒤에 저장된 노트/카드가 옛 이미지를 다시 참조했을 수 있으므로 먼저 확인
+        if (!recheckUpdated(state)) {
+            return;
+        }
+
+        LocalDateTime createdBefore = state.getEpochStartedAt().minusHours(graceHours);
+        List<NoteImage> candidates = noteImageRepository.findUnreferencedDetached(
+                Long.parseLong(state.getCursor()), createdBefore, state.getEpochStartedAt(), Limit.of(batchSize));
+        if (!candidates.isEmpty()) {
+            noteImageService.deleteImages(candidates);
+            log.info("참조되지 않는 이미지 행 정리: {}건", candidates.size());
+        }
+        if (candidates.size() < batchSize) {
+            state.setPhase(ImageGcPhase.SWEEP_STORAGE);
+            state.setCursor("");
+        } else {
+            state.setCursor(String.valueOf(candidates.get(candidates.size() - 1).getImageId()));
+        }
+    }
+
+    private void sweepStorageBatch(ImageGcState state) {
+        List<StoredBlob> blobs = blobStore.list(IMAGE_PREFIX, state.getCursor(), batchSize);
+        // 저장소 수정 시각은 Instant이므로 회차 시작도 UTC 기준 값과 비교 (서버/DB 시간대와 무관)
+        if (state.getEpochStartedUtc() == null) {
+            // 시작 시각(UTC)이 없는 이전 회차는 지우지 않고 새 회차에서 다시 진행
+            state.setPhase(ImageGcPhase.IDLE);
+            state.setCursor(null);
+            return;
+        }
+        Instant modifiedBefore = state.getEpochStartedUtc().minus(Duration.ofHours(graceHours));
+
+        // 원본/파생 이미지 키는 모두 같은 원본 키로 묶어서 원본이 살아 있는지 확인
+        Map<String, List<StoredBlob>> byOwner = new HashMap<>();
+        for (StoredBlob blob : blobs) {
+            if (blob.getLastModified().isBefore(modifiedBefore)) {
+                byOwner.computeIfAbsent(ownerKey(blob.getKey()), key -> new ArrayList<>()).add(blob);
+            }
+        }
+
+        int deleted = 0;
+        if (!byOwner.isEmpty()) {
+            Set<String> liveOwners = findLiveOwners(byOwner.keySet());
+            for (Map.Entry<String, List<StoredBlob>> entry : byOwner.entrySet()) {
+                if (liveOwners.contains(entry.getKey())) {
+                    continue;
+                }
+                for (StoredBlob blob : entry.getValue()) {
+                    blobStore.delete(blobStore.toUrl(blob.getKey()));
+                    deleted++;
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.info("참조되지 않는 저장소 파일 정리: {}건", deleted);
+        }
+
+        if (blobs.size() < batchSize) {
+            state.setPhase(ImageGcPhase.IDLE);
+            state.setCursor(null);
+            state.setEpochFinishedAt(LocalDateTime.now());
+            log.info("이미지 정리 회차 완료: 시작={}", state.getEpochStartedAt());
+        } else {
+            state.setCursor(blobs.get(blobs.size() - 1).getKey());
+        }
+    }
+
+    /**
+     * 마지막 확인 이후 수정된 노트와 카드를 한 페이지씩 다시 표시하고 위치를 state에 남긴다.
+     * 꽉 찬 페이지를 처리한 배치는 거기서 끝내고 다음 배치가 이어 가며, 끝까지 확인했으면 true (이번 배치에서 정리 진행)
+     */
+    private boolean recheckUpdated(ImageGcState state) {
+        if (state.getRecheckStartedAt() == null) {
+            state.setRecheckStartedAt(imageGcStateRepository.currentDbTime());
+            state.setRecheckCursor(RECHECK_NOTE);
+        }
+        if (state.getRecheckCursor().startsWith(RECHECK_NOTE)) {
+            String afterNoteId = state.getRecheckCursor().substring(RECHECK_NOTE.length());
+            List<Object[]> rows = noteRepository.findContentsUpdatedSince(state.getCheckedUntil(), afterNoteId, Limit.of(batchSize));
+            markReferences(collectAll(rows), state.getEpochStartedAt());
+            if (rows.size() >= batchSize) {
+                state.setRecheckCursor(RECHECK_NOTE + rows.get(rows.size() - 1)[0]);
+                return false;
+            }
+            state.setRecheckCursor(RECHECK_CARD + 0);
+        }
+
+        long afterCardId = Long.parseLong(state.getRecheckCursor().substring(RECHECK_CARD.length()));
+        List<Object[]> rows = cardRepository.findContentsUpdatedSince(state.getCheckedUntil(), afterCardId, Limit.of(batchSize));
+        markReferences(collectAll(rows), state.getEpochStartedAt());
+        if (rows.size() >= batchSize) {
+            state.setRecheckCursor(RECHECK_CARD + rows.get(rows.size() - 1)[0]);
+            return false;
+        }
+        state.setCheckedUntil(state.getRecheckStartedAt());
+        state.setRecheckStartedAt(null);
+        state.setRecheckCursor(null);
+        return true;
+    }
+
+    // (ID, 본문, 본문) 행의 본문 두 칸에서 참조 수집
+    private References collectAll(List<Object[]> rows) {
+        References references = new References();
+        for (Object[] row : rows) {
+            references.collect((String) row[1]);
+            references.collect((String) row[2]);
+        }
+        return references;
+    }
+
+    private void markReferences(References references, LocalDateTime markedAt) {
+        if (references.imageUrls.isEmpty() && references.imageIds.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!references.imageUrls.isEmpty()) {
+                noteImageRepository.markReferencedByUrls(references.imageUrls, markedAt);
+            }
+            if (!references.imageIds.isEmpty()) {
+                noteImageRepository.markReferencedByIds(references.imageIds, markedAt);
+            }
+        });
+    }
+
+    // 본문 속 저장소 URL(원본/파생 이미지)은 원본 URL로 바꿔서, 이미지 조회 API 경로는 이미지 ID로 모음
+    private class References {
+        private final Set<String> imageUrls = new HashSet<>();
+        private final Set<Long> imageIds = new HashSet<>();
+
+        void collect(String content) {
+            if (content == null || content.isEmpty()) {
+                return;
+            }
+            Matcher urlMatcher = storedUrl.matcher(content);
+            while (urlMatcher.find()) {
+                imageUrls.add(blobStore.toUrl(ownerKey(IMAGE_PREFIX + urlMatcher.group(1))));
+            }
+            Matcher endpointMatcher = IMAGE_ENDPOINT.matcher(content);
+            while (endpointMatcher.find()) {
+                try {
+                    imageIds.add(Long.parseLong(endpointMatcher.group(1)));
+                } catch (NumberFormatException e) {
+                    // 범위를 넘는 숫자는 이미지 ID가 아님
+                }
+            }
+        }
+    }
+
+    // 원본 키가 NOTE_IMAGE 행이나 image_blob에 남아 있으면 살아 있는 것으로 봄
+    private Set<String> findLiveOwners(Set<String> ownerKeys) {
+        Map<String, String> keyByUrl = new HashMap<>();
+        Map<String, String> keyByHash = new HashMap<>();
+        for (String ownerKey : ownerKeys) {
+            keyByUrl.put(blobStore.toUrl(ownerKey), ownerKey);
+            String base = ownerKey.substring(IMAGE_PREFIX.length());
+            if (CONTENT_HASH.matcher(base).matches()) {
+                keyByHash.put(base, ownerKey);
+            }
+        }
+
+        Set<String> live = new HashSet<>();
+        noteImageRepository.findExistingImageUrls(keyByUrl.keySet()).forEach(url -> live.add(keyByUrl.get(url)));
+        if (!keyByHash.isEmpty()) {
+            imageBlobRepository.findExistingHashes(keyByHash.keySet()).forEach(hash -> live.add(keyByHash.get(hash)));
+        }
+        return live;
+    }
+
+    /**
+     * 저장소 키 → 원본 키
+     * images/{base}가 원본이고 파생 이미지는 images/{접두어}{base}, 반응형 이미지는 images/w{너비}_{base}.{확장자}로 저장된다.
+     */
+    private String ownerKey(String key) {
+        String name = key.substring(IMAGE_PREFIX.length());
+        Matcher prefix = DERIVATIVE_PREFIX.matcher(name);
+        if (!prefix.find()) {
+            return key;
+        }
+        String base = name.substring(prefix.end());
+        if (name.startsWith("w")) {
+            int dot = base.lastIndexOf('.');
+            base = dot < 0 ? base : base.substring(0, dot);
+        }
+        return IMAGE_PREFIX + base;
+    }
+}
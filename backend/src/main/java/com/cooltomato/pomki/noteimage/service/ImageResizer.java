@@ -0,0 +1,224 @@
+package com.cooltomato.pomki.noteimage.service;
+
+import com.cooltomato.pomki.global.exception.ProcessingFailedException;
+import com.cooltomato.pomki.noteimage.entity.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.util.exif.ExifFilterUtils;
+import net.coobird.thumbnailator.util.exif.ExifUtils;
+import net.coobird.thumbnailator.util.exif.Orientation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파일에 있는 원본 이미지로 파생 이미지를 만든다.
+ * 가장 큰 변형의 2배 이상을 유지하는 만큼만 픽셀을 건너뛰며 한 번 디코딩하고, 그 결과로 모든 변형을 만든다.
+ * (원본 해상도 전체를 디코딩하지 않으므로 사진 크기와 관계없이 메모리 사용량이 제한됨)
+ *
+ * 반응형 이미지는 원본 형식과 관계없이 불투명하면 JPEG, 투명 픽셀이 있으면 PNG로 너비별로 만든다.
+ * (PNG 스크린샷도 대부분 불투명하므로 JPEG로 바꾸는 것만으로 크기가 크게 줄어듦)
+ */
+@Component
+@Slf4j
+public class ImageResizer {
+
+    @Value("${pomki.image.resize.width:1280}")
+    private int resizeWidth;
+
+    @Value("${pomki.image.resize.height:720}")
+    private int resizeHeight;
+
+    @Value("${pomki.image.thumbnail.size:320}")
+    private int thumbnailSize;
+
+    // 원본보다 넓은 너비는 만들지 않음
+    @Value("${pomki.image.responsive.widths:320,640,960,1280,1920}")
+    private int[] responsiveWidths;
+
+    @Value("${pomki.image.responsive.quality:0.8}")
+    private double responsiveQuality;
+
+    public record Rendition(int width, int height, String mimeType, String extension, byte[] bytes) {
+    }
+
+    public record Derivatives(Map<ImageVariant, byte[]> variants, List<Rendition> renditions) {
+    }
+
+    public int[] dimensionsOf(ImageVariant variant) {
+        return switch (variant) {
+            case THUMBNAIL -> new int[] {thumbnailSize, thumbnailSize};
+            case RESIZED -> new int[] {resizeWidth, resizeHeight};
+            case RESIZED_2X -> new int[] {resizeWidth * 2, resizeHeight * 2};
+        };
+    }
+
+    public Derivatives resize(Path source, String extension, Collection<ImageVariant> variants, boolean withRenditions) {
+        String outputFormat = extension.toLowerCase().equals("jpg") ? "jpeg" : extension.toLowerCase();
+        int maxWidth = 1;
+        int maxHeight = 1;
+        for (ImageVariant variant : variants) {
+            int[] dimensions = dimensionsOf(variant);
+            maxWidth = Math.max(maxWidth, dimensions[0]);
+            maxHeight = Math.max(maxHeight, dimensions[1]);
+        }
+
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = imageInputStream == null ? null : ImageIO.getImageReaders(imageInputStream);
+            Map<ImageVariant, byte[]> results = new EnumMap<>(ImageVariant.class);
+            if (readers == null || !readers.hasNext()) {
+                // 직접 읽을 수 없는 형식은 Thumbnailator에 맡김 (반응형 이미지는 만들지 않음)
+                for (ImageVariant variant : variants) {
+                    int[] dimensions = dimensionsOf(variant);
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    Thumbnails.of(source.toFile())
+                            .size(dimensions[0], dimensions[1])
+                            .keepAspectRatio(true)
+                            .outputQuality(0.8)
+                            .outputFormat(outputFormat)
+                            .toOutputStream(outputStream);
+                    results.put(variant, outputStream.toByteArray());
+                }
+                return new Derivatives(results, List.of());
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, false);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                Orientation orientation = readOrientation(reader);
+                boolean rotated = isQuarterTurn(orientation);
+                int orientedWidth = rotated ? sourceHeight : sourceWidth;
+                int orientedHeight = rotated ? sourceWidth : sourceHeight;
+
+                int[] renditionWidths = withRenditions ? renditionWidths(orientedWidth) : new int[0];
+                if (renditionWidths.length > 0) {
+                    int widest = renditionWidths[renditionWidths.length - 1];
+                    maxWidth = Math.max(maxWidth, widest);
+                    maxHeight = Math.max(maxHeight, (int) Math.ceil((double) widest * orientedHeight / orientedWidth));
+                }
+                if (rotated) {
+                    int swap = maxWidth;
+                    maxWidth = maxHeight;
+                    maxHeight = swap;
+                }
+
+                int subsampling = Math.max(1, Math.min(sourceWidth / (maxWidth * 2), sourceHeight / (maxHeight * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+                // BufferedImage로 넘기면 EXIF 회전 정보가 빠지므로 한 번만 직접 적용
+                if (orientation != null && orientation != Orientation.TOP_LEFT) {
+                    decoded = ExifFilterUtils.getFilterForOrientation(orientation).apply(decoded);
+                }
+
+                for (ImageVariant variant : variants) {
+                    int[] dimensions = dimensionsOf(variant);
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    Thumbnails.of(decoded)
+                            .size(dimensions[0], dimensions[1])
+                            .keepAspectRatio(true)
+                            .outputQuality(0.8)
+                            .outputFormat(outputFormat)
+                            .toOutputStream(outputStream);
+                    results.put(variant, outputStream.toByteArray());
+                }
+
+                List<Rendition> renditions = new ArrayList<>();
+                if (renditionWidths.length > 0) {
+                    boolean opaque = isOpaque(decoded);
+                    for (int width : renditionWidths) {
+                        renditions.add(encodeRendition(decoded, width, orientedWidth, orientedHeight, opaque));
+                    }
+                }
+                return new Derivatives(results, renditions);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("이미지 리사이징 실패: {}", e.getMessage(), e);
+            throw new ProcessingFailedException("이미지 리사이징에 실패했습니다.", e);
+        }
+    }
+
+    // 원본보다 좁은 너비만 만들고, 원본이 가장 작은 너비보다 좁으면 원본 너비로 하나만 만듦
+    private int[] renditionWidths(int orientedWidth) {
+        int[] widths = Arrays.stream(responsiveWidths).filter(width -> width > 0 && width < orientedWidth).sorted().toArray();
+        return widths.length > 0 ? widths : new int[] {orientedWidth};
+    }
+
+    private Rendition encodeRendition(BufferedImage decoded, int width, int orientedWidth, int orientedHeight,
+                                      boolean opaque) throws IOException {
+        int height = Math.max(1, (int) Math.round((double) width * orientedHeight / orientedWidth));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Thumbnails.Builder<BufferedImage> builder = Thumbnails.of(decoded)
+                .size(width, height)
+                .keepAspectRatio(true);
+        if (opaque) {
+            // JPEG 인코더는 알파 채널이 있으면 실패하므로 RGB로 변환
+            builder.imageType(BufferedImage.TYPE_INT_RGB)
+                    .outputQuality(responsiveQuality)
+                    .outputFormat("jpeg");
+        } else {
+            builder.outputFormat("png");
+        }
+        builder.toOutputStream(outputStream);
+        return opaque
+                ? new Rendition(width, height, "image/jpeg", "jpg", outputStream.toByteArray())
+                : new Rendition(width, height, "image/png", "png", outputStream.toByteArray());
+    }
+
+    // 알파 채널이 있어도 모든 픽셀이 불투명하면 JPEG로 만들 수 있음 (투명 픽셀을 찾으면 바로 중단)
+    private boolean isOpaque(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return true;
+        }
+        WritableRaster alpha = image.getAlphaRaster();
+        if (alpha == null) {
+            // 팔레트(IndexColorModel) 이미지는 알파 래스터가 없으므로 색상표 기준으로 판단
+            return image.getColorModel().getTransparency() == Transparency.OPAQUE;
+        }
+        int max = (1 << image.getColorModel().getComponentSize(image.getColorModel().getNumComponents() - 1)) - 1;
+        int[] row = new int[alpha.getWidth()];
+        for (int y = 0; y < alpha.getHeight(); y++) {
+            alpha.getSamples(0, y, alpha.getWidth(), 1, 0, row);
+            for (int value : row) {
+                if (value < max) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isQuarterTurn(Orientation orientation) {
+        return orientation == Orientation.LEFT_TOP || orientation == Orientation.RIGHT_TOP
+                || orientation == Orientation.RIGHT_BOTTOM || orientation == Orientation.LEFT_BOTTOM;
+    }
+
+    private Orientation readOrientation(ImageReader reader) {
+        try {
+            return ExifUtils.getExifOrientation(reader, 0);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
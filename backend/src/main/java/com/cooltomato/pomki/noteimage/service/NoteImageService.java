@@ -1,198 +1,481 @@
 package com.cooltomato.pomki.noteimage.service;
 
-import com.cooltomato.pomki.global.exception.BadRequestException;
 import com.cooltomato.pomki.global.exception.EmptyFileException;
+import com.cooltomato.pomki.global.exception.FileSizeExceededException;
+import com.cooltomato.pomki.global.exception.ImageException;
+import com.cooltomato.pomki.global.exception.NotFoundException;
 import com.cooltomato.pomki.global.exception.NoteNotFoundException;
 import com.cooltomato.pomki.global.exception.UnsupportedFormatException;
 import com.cooltomato.pomki.global.exception.UploadFailedException;
-import com.cooltomato.pomki.global.exception.ProcessingFailedException;
-import com.cooltomato.pomki.global.exception.S3OperationFailedException;
+import com.cooltomato.pomki.global.storage.BlobStore;
+import com.cooltomato.pomki.global.storage.PresignedUpload;
+import com.cooltomato.pomki.global.transaction.AfterCommit;
+import com.cooltomato.pomki.noteimage.dto.NoteImagePresignRequestDto;
+import com.cooltomato.pomki.noteimage.dto.NoteImagePresignResponseDto;
 import com.cooltomato.pomki.noteimage.dto.NoteImageRequestDto;
 import com.cooltomato.pomki.noteimage.dto.NoteImageResponseDto;
+import com.cooltomato.pomki.noteimage.dto.NoteImageUploadFailureDto;
+import com.cooltomato.pomki.noteimage.dto.NoteImageUploadResultDto;
+import com.cooltomato.pomki.noteimage.entity.ImageVariant;
+import com.cooltomato.pomki.noteimage.entity.ImageBlob;
+import com.cooltomato.pomki.noteimage.entity.ImageRendition;
 import com.cooltomato.pomki.noteimage.entity.NoteImage;
+import com.cooltomato.pomki.noteimage.repository.ImageBlobRepository;
+import com.cooltomato.pomki.noteimage.repository.ImageRenditionRepository;
 import com.cooltomato.pomki.noteimage.repository.NoteImageRepository;
 import com.cooltomato.pomki.note.entity.Note;
 import com.cooltomato.pomki.note.repository.NoteRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class NoteImageService {
 
-    private final S3Client s3Client;
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
     private final NoteImageRepository noteImageRepository;
+    private final ImageBlobRepository imageBlobRepository;
+    private final ImageRenditionRepository imageRenditionRepository;
+    private final ImageResizer imageResizer;
     private final NoteRepository noteRepository;
-
-    @Value("${pomki.s3.bucket-name}")
-    private String bucketName;
+    private final TaskExecutor imageUploadExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public NoteImageService(BlobStore blobStore,
+                            ImageDerivativeService imageDerivativeService,
+                            NoteImageRepository noteImageRepository,
+                            ImageBlobRepository imageBlobRepository,
+                            ImageRenditionRepository imageRenditionRepository,
+                            ImageResizer imageResizer,
+                            NoteRepository noteRepository,
+                            @Qualifier("imageUploadExecutor") TaskExecutor imageUploadExecutor,
+                            TransactionTemplate transactionTemplate) {
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
+        this.noteImageRepository = noteImageRepository;
+        this.imageBlobRepository = imageBlobRepository;
+        this.imageRenditionRepository = imageRenditionRepository;
+        this.imageResizer = imageResizer;
+        this.noteRepository = noteRepository;
+        this.imageUploadExecutor = imageUploadExecutor;
+        this.transactionTemplate = transactionTemplate;
+    }
 
     @Value("${pomki.image.allowed-extensions:jpeg,jpg,png,gif,webp}")
     private String[] allowedExtensions;
 
-    @Value("${pomki.image.resize.width:1280}")
-    private int resizeWidth;
+    @Value("${pomki.image.presign.expiry-minutes:10}")
+    private long presignExpiryMinutes;
 
-    @Value("${pomki.image.resize.height:720}")
-    private int resizeHeight;
+    @Value("${pomki.image.presign.max-size-mb:20}")
+    private long presignMaxSizeMb;
 
-    @Transactional
+    // w 힌트가 없을 때 고르는 표시 너비
+    @Value("${pomki.image.responsive.default-width:1280}")
+    private int defaultDisplayWidth;
+
+    // 저장소 전송 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행하고, 행 등록만 짧은 트랜잭션으로 처리
     public NoteImageResponseDto uploadImage(NoteImageRequestDto requestDto) {
         MultipartFile file = requestDto.getImageFile();
         String noteId = requestDto.getNoteId();
 
-        // noteId가 null이 아닌 경우에만 노트 조회
-        Note note = null;
-        if (noteId != null && !noteId.trim().isEmpty()) {
-            note = noteRepository.findById(noteId)
-                    .orElseThrow(() -> new NoteNotFoundException("해당 ID의 노트를 찾을 수 없습니다."));
-        }
+        // noteId가 null이 아닌 경우에만 노트 조회 (전송 전에 먼저 확인)
+        findNoteIfPresent(noteId);
 
-        if (file.isEmpty()) {
-            throw new EmptyFileException("이미지 파일이 비어있습니다.");
+        PreparedUpload prepared = prepareUpload(file);
+        try {
+            return registerUploads(noteId, List.of(prepared)).get(0);
+        } finally {
+            deleteTempFile(prepared.tempFile());
         }
+    }
 
-        String originalFileName = file.getOriginalFilename();
-        if (originalFileName == null || !hasAllowedExtension(originalFileName)) {
-            throw new UnsupportedFormatException("지원하지 않는 이미지 형식입니다. 지원 형식: " + 
-                    String.join(", ", allowedExtensions));
+    /**
+     * 직접 업로드 URL 발급
+     * 이미지 바이트가 API 서버를 거치지 않도록 저장소에 바로 올릴 서명된 PUT 요청을 내려준다.
+     * 회원 자신의 노트에 같은 내용의 이미지가 이미 있을 때만 업로드 없이 완료 요청을 받는다.
+     * (다른 회원의 이미지 존재 여부가 드러나지 않도록, 그 외에는 내용이 저장되어 있어도 회원별 임시 키로 다시 올리게 함)
+     */
+    @Transactional(readOnly = true)
+    public NoteImagePresignResponseDto presignUpload(Long memberId, NoteImagePresignRequestDto requestDto) {
+        findOwnedNoteIfPresent(requestDto.getNoteId(), memberId);
+        validateDirectUpload(requestDto);
+        String contentHash = requestDto.getContentHash().toLowerCase(Locale.ROOT);
+
+        if (noteImageRepository.existsByContentHashAndNote_Member_MemberId(contentHash, memberId)) {
+            return NoteImagePresignResponseDto.builder()
+                    .contentHash(contentHash)
+                    .uploadRequired(false)
+                    .build();
         }
 
-        try {
-            String fileExtension = getFileExtension(originalFileName);
-            String mimeType = file.getContentType();
-            long fileSize = file.getSize();
+        PresignedUpload upload = blobStore.presignPut(stagingKey(memberId, contentHash), requestDto.getContentType(),
+                requestDto.getFileSize(), contentHash, Duration.ofMinutes(presignExpiryMinutes));
+        return NoteImagePresignResponseDto.builder()
+                .contentHash(contentHash)
+                .uploadRequired(true)
+                .uploadUrl(upload.getUrl())
+                .method(upload.getMethod())
+                .headers(upload.getHeaders())
+                .expiresAt(upload.getExpiresAt())
+                .build();
+    }
 
-            String timestamp = ZonedDateTime.now(ZoneOffset.UTC).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-            String uuid = UUID.randomUUID().toString().replace("-", "");
-            
-            StringBuilder sb = new StringBuilder();
-            
-            String uniqueFileName = sb.append(timestamp)
-                    .append("_")
-                    .append(uuid)
-                    .append(".")
-                    .append(fileExtension)
-                    .toString();
-            
-            sb.setLength(0);
-            String baseFileName = sb.append(timestamp)
-                    .append("_")
-                    .append(uuid)
-                    .toString();
-            
-            String s3Key = "images/" + baseFileName;
-            String resizeS3Key = "images/resize_" + baseFileName;
-
-            String imageUrl = uploadToS3(s3Key, file.getBytes(), mimeType);
-
-            byte[] resizedImageBytes = resizeImage(file.getInputStream(), fileExtension);
-            String resizeImageUrl = uploadToS3(resizeS3Key, resizedImageBytes, mimeType);
-
-            NoteImage noteImage = NoteImage.builder()
-                    .note(note)
-                    .imageUrl(imageUrl)
-                    .imageName(uniqueFileName)
-                    .fileSize(fileSize)
-                    .mimeType(mimeType)
-                    .oriFileName(originalFileName)
-                    .resizeImageUrl(resizeImageUrl)
-                    .build();
+    /**
+     * 직접 업로드 완료 처리
+     * 회원이 이미 가진 내용이 아니면 회원별 임시 키에 올라온 파일을 확인하고(내용 일치는 업로드 시 저장소가 서명된 SHA-256으로 검증),
+     * 새 blob이면 임시 키에서 내용 주소 키로 복사한다. 해시만 알고 남의 이미지를 가져다 붙일 수는 없다.
+     */
+    @Transactional
+    public NoteImageResponseDto completeUpload(Long memberId, NoteImagePresignRequestDto requestDto) {
+        Note note = findOwnedNoteIfPresent(requestDto.getNoteId(), memberId);
+        validateDirectUpload(requestDto);
+        String contentHash = requestDto.getContentHash().toLowerCase(Locale.ROOT);
+        long fileSize = requestDto.getFileSize();
+        String mimeType = requestDto.getContentType();
+
+        boolean owned = noteImageRepository.existsByContentHashAndNote_Member_MemberId(contentHash, memberId);
+        String stagingKey = stagingKey(memberId, contentHash);
+        if (!owned) {
+            verifyStoredSize(stagingKey, fileSize);
+        }
 
-            NoteImage savedNoteImage = noteImageRepository.save(noteImage);
-            log.info("이미지 업로드 완료: noteId={}, imageId={}", noteId, savedNoteImage.getImageId());
-
-            return NoteImageResponseDto.builder()
-                    .imageId(savedNoteImage.getImageId())
-                    .noteId(savedNoteImage.getNote() != null ? savedNoteImage.getNote().getNoteId() : null)
-                    .imageUrl(savedNoteImage.getImageUrl())
-                    .imageName(savedNoteImage.getImageName())
-                    .fileSize(savedNoteImage.getFileSize())
-                    .mimeType(savedNoteImage.getMimeType())
-                    .createdAt(savedNoteImage.getCreatedAt())
-                    .oriFileName(savedNoteImage.getOriFileName())
-                    .resizeImageUrl(savedNoteImage.getResizeImageUrl())
-                    .build();
-        } catch (IOException e) {
-            log.error("이미지 업로드 중 오류 발생: {}", e.getMessage(), e);
-            throw new UploadFailedException("이미지 업로드에 실패했습니다.", e);
+        String imageUrl = blobStore.toUrl(blobKey(contentHash));
+        if (imageBlobRepository.acquire(contentHash, imageUrl, fileSize, mimeType) == 1) {
+            if (owned) {
+                // 확인 직후 마지막 참조가 정리된 경우: 원본이 남아 있을 때만 그대로 사용
+                verifyStoredSize(blobKey(contentHash), fileSize);
+            } else {
+                blobStore.copy(stagingKey, blobKey(contentHash));
+            }
+        }
+        if (!owned) {
+            AfterCommit.run(() -> blobStore.delete(blobStore.toUrl(stagingKey)));
         }
+
+        return saveNoteImage(note, contentHash, imageUrl, getFileExtension(requestDto.getFileName()),
+                requestDto.getFileName(), fileSize, mimeType);
     }
 
-    @Transactional
-    public List<NoteImageResponseDto> uploadMultipleImages(String noteId, List<MultipartFile> files) {
+    /**
+     * 다중 이미지 업로드
+     * 파일별 임시 저장/해시 계산/저장소 전송은 트랜잭션 밖에서 업로드 풀로 동시에 처리하고, 끝난 뒤 NOTE_IMAGE 행만 짧은 트랜잭션에서 한 번에 등록한다.
+     * (저장소 전송 동안 DB 커넥션을 잡지 않으므로 노트는 호출 전에 커밋되어 있어야 함)
+     * 형식 오류나 전송 실패는 파일별로 모아 돌려주고 나머지 파일은 그대로 등록한다.
+     */
+    public NoteImageUploadResultDto uploadMultipleImages(String noteId, List<MultipartFile> files) {
         if (files == null || files.isEmpty()) {
             throw new EmptyFileException("업로드할 이미지 파일이 없습니다.");
         }
+        findNoteIfPresent(noteId); // noteId는 null일 수 있음
 
-        List<NoteImageResponseDto> results = new ArrayList<>();
-        
-        for (MultipartFile file : files) {
-            if (!file.isEmpty()) {
-                NoteImageRequestDto requestDto = NoteImageRequestDto.builder()
-                        .noteId(noteId) // noteId는 null일 수 있음
-                        .imageFile(file)
-                        .build();
-                
-                results.add(uploadImage(requestDto));
+        List<MultipartFile> targets = files.stream().filter(file -> !file.isEmpty()).toList();
+        List<CompletableFuture<PreparedUpload>> futures = targets.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> prepareUpload(file), imageUploadExecutor))
+                .toList();
+
+        List<NoteImageResponseDto> uploaded = new ArrayList<>();
+        List<NoteImageUploadFailureDto> failed = new ArrayList<>();
+        List<PreparedUpload> prepared = new ArrayList<>();
+        try {
+            for (int i = 0; i < targets.size(); i++) {
+                try {
+                    prepared.add(futures.get(i).join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("이미지 업로드 실패: fileName={}, error={}", targets.get(i).getOriginalFilename(), cause.getMessage());
+                    failed.add(NoteImageUploadFailureDto.builder()
+                            .fileName(targets.get(i).getOriginalFilename())
+                            .message(cause instanceof ImageException ? cause.getMessage() : "이미지 업로드에 실패했습니다.")
+                            .build());
+                }
             }
+            if (!prepared.isEmpty()) {
+                uploaded.addAll(registerUploads(noteId, prepared));
+            }
+        } finally {
+            prepared.forEach(upload -> deleteTempFile(upload.tempFile()));
         }
-        
-        log.info("다중 이미지 업로드 완료: noteId={}, 업로드된 이미지 수={}", noteId, results.size());
-        return results;
+
+        log.info("다중 이미지 업로드 완료: noteId={}, 업로드된 이미지 수={}, 실패 수={}", noteId, uploaded.size(), failed.size());
+        return NoteImageUploadResultDto.builder()
+                .uploaded(uploaded)
+                .failed(failed)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public List<NoteImageResponseDto> readImagesByNoteId(String noteId) {
         List<NoteImage> images = noteImageRepository.findByNote_NoteId(noteId);
+        Map<Long, List<ImageRendition>> renditions = findRenditions(images);
         return images.stream()
-                .map(image -> NoteImageResponseDto.builder()
-                        .imageId(image.getImageId())
-                        .noteId(image.getNote().getNoteId())
-                        .imageUrl(image.getImageUrl())
-                        .imageName(image.getImageName())
-                        .fileSize(image.getFileSize())
-                        .mimeType(image.getMimeType())
-                        .createdAt(image.getCreatedAt())
-                        .oriFileName(image.getOriFileName())
-                        .resizeImageUrl(image.getResizeImageUrl())
-                        .build())
+                .map(image -> NoteImageResponseDto.from(image, renditions.getOrDefault(image.getImageId(), List.of())))
+                .toList();
+    }
+
+    // 여러 노트의 이미지를 한 번에 조회 (노트 ID별로 묶음)
+    @Transactional(readOnly = true)
+    public Map<String, List<NoteImageResponseDto>> readImagesByNoteIds(Collection<String> noteIds) {
+        List<NoteImage> images = noteImageRepository.findByNote_NoteIdIn(noteIds);
+        Map<Long, List<ImageRendition>> renditions = findRenditions(images);
+        return images.stream().collect(Collectors.groupingBy(image -> image.getNote().getNoteId(),
+                Collectors.mapping(image -> NoteImageResponseDto.from(image, renditions.getOrDefault(image.getImageId(), List.of())),
+                        Collectors.toList())));
+    }
+
+    /**
+     * 표시할 이미지 URL 선택
+     * Accept로 받을 수 있는 형식 중 w 이상인 가장 좁은 너비(없으면 가장 넓은 것)를 고르고, 같은 너비면 더 작은 파일을 고른다.
+     * 반응형 이미지가 아직 없으면 기존 파생 이미지/원본에서 고른다. (생성 예약은 업로드와 ImageDerivativeService의 재예약 작업이 담당)
+     * 요청한 회원의 노트에 연결된 이미지만 조회할 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public String resolveImageUrl(Long memberId, Long imageId, String accept, Integer width) {
+        NoteImage image = noteImageRepository.findById(imageId)
+                .filter(found -> found.getNote() != null && found.getNote().getMember().getMemberId().equals(memberId))
+                .orElseThrow(() -> new NotFoundException("해당 ID의 이미지를 찾을 수 없습니다."));
+        int targetWidth = width != null && width > 0 ? width : defaultDisplayWidth;
+
+        List<ImageRendition> renditions = imageRenditionRepository.findByImageIdOrderByWidthAsc(imageId);
+
+        List<MediaType> acceptedTypes = parseAccept(accept);
+        List<ImageRendition> candidates = renditions.stream()
+                .filter(rendition -> isAcceptable(rendition.getMimeType(), acceptedTypes))
                 .toList();
+        if (candidates.isEmpty()) {
+            return fallbackImageUrl(image, targetWidth);
+        }
+
+        int chosenWidth = candidates.stream()
+                .mapToInt(ImageRendition::getWidth)
+                .filter(candidateWidth -> candidateWidth >= targetWidth)
+                .min()
+                .orElse(candidates.get(candidates.size() - 1).getWidth());
+        return candidates.stream()
+                .filter(rendition -> rendition.getWidth() == chosenWidth)
+                .min(Comparator.comparingLong(ImageRendition::getFileSize))
+                .map(ImageRendition::getUrl)
+                .orElseThrow();
     }
 
     @Transactional
     public void deleteImagesByNoteId(String noteId) {
         List<NoteImage> images = noteImageRepository.findByNote_NoteId(noteId);
-        
+        deleteImages(images);
+        log.info("노트 이미지 삭제 완료: noteId={}, 삭제된 이미지 수={}", noteId, images.size());
+    }
+
+    // 이미지 행과 파생 작업/반응형 이미지 삭제, 저장소 파일은 더 이상 참조하는 행이 없을 때만 삭제
+    // 저장소 파일은 커밋 후에 지우므로 롤백되어 행이 남으면 파일도 남는다 (커밋 후 삭제에 실패한 파일은 정리 작업이 지움)
+    @Transactional
+    public void deleteImages(List<NoteImage> images) {
+        if (images.isEmpty()) {
+            return;
+        }
+
+        // 내용 주소 이미지는 참조 수만 줄이고, 마지막 참조가 사라진 blob만 실제로 삭제
+        Map<String, Long> releaseCounts = images.stream()
+                .filter(image -> image.getContentHash() != null)
+                .collect(Collectors.groupingBy(NoteImage::getContentHash, Collectors.counting()));
+        releaseCounts.forEach(imageBlobRepository::release);
+
+        Map<Long, List<ImageRendition>> renditions = findRenditions(images);
+        List<String> storedUrls = new ArrayList<>();
         for (NoteImage image : images) {
-            deleteFromS3(extractS3KeyFromUrl(image.getImageUrl()));
-            if (image.getResizeImageUrl() != null) {
-                deleteFromS3(extractS3KeyFromUrl(image.getResizeImageUrl()));
+            if (image.getContentHash() == null) {
+                collectStoredUrls(image.getImageUrl(), image, renditions.getOrDefault(image.getImageId(), List.of()), storedUrls);
+            }
+        }
+        if (!releaseCounts.isEmpty()) {
+            for (ImageBlob blob : imageBlobRepository.findUnreferenced(releaseCounts.keySet())) {
+                images.stream()
+                        .filter(image -> blob.getContentHash().equals(image.getContentHash()))
+                        .findFirst()
+                        .ifPresent(image -> collectStoredUrls(blob.getImageUrl(), image,
+                                renditions.getOrDefault(image.getImageId(), List.of()), storedUrls));
+                imageBlobRepository.delete(blob);
             }
         }
 
-        noteImageRepository.deleteByNote_NoteId(noteId);
-        log.info("노트 이미지 삭제 완료: noteId={}, 삭제된 이미지 수={}", noteId, images.size());
+        imageDerivativeService.deleteJobs(images.stream().map(NoteImage::getImageId).toList());
+        noteImageRepository.deleteAllInBatch(images);
+        AfterCommit.run(() -> deleteStoredFiles(storedUrls));
+    }
+
+    // 트랜잭션 밖에서 해도 되는 파일 단위 작업: 검증, 임시 파일 저장과 SHA-256 계산, 처음 보는 내용이면 저장소 전송
+    private PreparedUpload prepareUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new EmptyFileException("이미지 파일이 비어있습니다.");
+        }
+
+        String originalFileName = file.getOriginalFilename();
+        if (originalFileName == null || !hasAllowedExtension(originalFileName)) {
+            throw new UnsupportedFormatException("지원하지 않는 이미지 형식입니다. 지원 형식: " + 
+                    String.join(", ", allowedExtensions));
+        }
+
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("pomki-upload-", ".tmp");
+            String contentHash = copyAndHash(file, tempFile);
+            String mimeType = file.getContentType();
+            long fileSize = file.getSize();
+
+            // 내용 주소 키이므로 같은 파일을 두 번 올려도 결과가 같음 (참조 등록 전에 올려 두어도 안전)
+            boolean stored = false;
+            if (!imageBlobRepository.existsById(contentHash)) {
+                blobStore.put(blobKey(contentHash), tempFile, fileSize, mimeType);
+                stored = true;
+            }
+            return new PreparedUpload(originalFileName, getFileExtension(originalFileName), mimeType, fileSize,
+                    contentHash, tempFile, stored);
+        } catch (IOException e) {
+            deleteTempFile(tempFile);
+            log.error("이미지 업로드 중 오류 발생: {}", e.getMessage(), e);
+            throw new UploadFailedException("이미지 업로드에 실패했습니다.", e);
+        } catch (RuntimeException e) {
+            deleteTempFile(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 준비된 파일들의 행을 하나의 짧은 트랜잭션에서 등록한다.
+     * 준비 단계 이후 같은 내용의 blob이 정리되어 직접 올려야 하는 파일이 있으면 트랜잭션을 되돌리고,
+     * 트랜잭션 밖에서 올린 뒤 다시 등록한다. (파일마다 한 번만 일어나므로 반복 횟수는 파일 수를 넘지 않음)
+     */
+    private List<NoteImageResponseDto> registerUploads(String noteId, List<PreparedUpload> uploads) {
+        List<PreparedUpload> pending = new ArrayList<>(uploads);
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Note note = findNoteIfPresent(noteId);
+                    List<NoteImageResponseDto> registered = new ArrayList<>();
+                    for (int i = 0; i < pending.size(); i++) {
+                        registered.add(registerUpload(note, pending.get(i), i));
+                    }
+                    return registered;
+                });
+            } catch (MissingBlobException e) {
+                PreparedUpload upload = pending.get(e.index);
+                blobStore.put(blobKey(upload.contentHash()), upload.tempFile(), upload.fileSize(), upload.mimeType());
+                pending.set(e.index, upload.asStored());
+            }
+        }
+    }
+
+    // 같은 내용이 이미 저장되어 있으면 참조만 추가, 파생 이미지는 커밋 후 워커가 만듦 (같은 내용의 이미지가 이미 만들어 둔 것은 재사용)
+    private NoteImageResponseDto registerUpload(Note note, PreparedUpload upload, int index) {
+        String imageUrl = blobStore.toUrl(blobKey(upload.contentHash()));
+        if (imageBlobRepository.acquire(upload.contentHash(), imageUrl, upload.fileSize(), upload.mimeType()) == 1) {
+            // 준비 단계 이후 같은 내용의 blob이 정리되었을 수 있으므로 직접 올리지 않았으면 트랜잭션 밖에서 다시 올림
+            if (!upload.stored()) {
+                throw new MissingBlobException(index);
+            }
+        } else {
+            log.info("동일한 이미지 재사용: contentHash={}", upload.contentHash());
+        }
+        return saveNoteImage(note, upload.contentHash(), imageUrl, upload.extension(), upload.originalFileName(),
+                upload.fileSize(), upload.mimeType());
+    }
+
+    private NoteImageResponseDto saveNoteImage(Note note, String contentHash, String imageUrl, String fileExtension,
+                                               String originalFileName, long fileSize, String mimeType) {
+        // 파생 이미지 키도 내용 해시로 정해지도록 이름을 해시 기준으로 지정
+        NoteImage noteImage = NoteImage.builder()
+                .note(note)
+                .imageUrl(imageUrl)
+                .imageName(contentHash + "." + fileExtension)
+                .fileSize(fileSize)
+                .mimeType(mimeType)
+                .oriFileName(originalFileName)
+                .contentHash(contentHash)
+                .build();
+
+        NoteImage savedNoteImage = noteImageRepository.save(noteImage);
+        List<ImageRendition> renditions = new ArrayList<>();
+        if (!reuseVariants(savedNoteImage, renditions)) {
+            imageDerivativeService.enqueue(savedNoteImage.getImageId());
+        }
+        log.info("이미지 업로드 완료: noteId={}, imageId={}", note != null ? note.getNoteId() : null, savedNoteImage.getImageId());
+        return NoteImageResponseDto.from(savedNoteImage, renditions);
+    }
+
+    // 직접 업로드는 요청한 회원의 노트에만 붙일 수 있음
+    private Note findOwnedNoteIfPresent(String noteId, Long memberId) {
+        Note note = findNoteIfPresent(noteId);
+        if (note != null && !note.getMember().getMemberId().equals(memberId)) {
+            throw new NoteNotFoundException("해당 ID의 노트를 찾을 수 없습니다.");
+        }
+        return note;
+    }
+
+    private void verifyStoredSize(String key, long fileSize) {
+        OptionalLong storedSize = blobStore.sizeOf(key);
+        if (storedSize.isEmpty()) {
+            throw new IllegalArgumentException("업로드된 파일을 찾을 수 없습니다. 업로드를 먼저 완료해 주세요.");
+        }
+        if (storedSize.getAsLong() != fileSize) {
+            throw new IllegalArgumentException("업로드된 파일의 크기가 요청과 다릅니다.");
+        }
+    }
+
+    private Note findNoteIfPresent(String noteId) {
+        if (noteId == null || noteId.trim().isEmpty()) {
+            return null;
+        }
+        return noteRepository.findById(noteId)
+                .orElseThrow(() -> new NoteNotFoundException("해당 ID의 노트를 찾을 수 없습니다."));
+    }
+
+    private void validateDirectUpload(NoteImagePresignRequestDto requestDto) {
+        if (!hasAllowedExtension(requestDto.getFileName()) || !requestDto.getContentType().startsWith("image/")) {
+            throw new UnsupportedFormatException("지원하지 않는 이미지 형식입니다. 지원 형식: " +
+                    String.join(", ", allowedExtensions));
+        }
+        if (requestDto.getFileSize() > presignMaxSizeMb * 1024 * 1024) {
+            throw new FileSizeExceededException("이미지 크기는 " + presignMaxSizeMb + "MB를 넘을 수 없습니다.");
+        }
+    }
+
+    private String blobKey(String contentHash) {
+        return "images/" + contentHash;
+    }
+
+    // 직접 업로드를 받는 회원별 임시 키 (완료 처리 후 삭제)
+    private String stagingKey(Long memberId, String contentHash) {
+        return "uploads/" + memberId + "/" + contentHash;
     }
 
     private boolean hasAllowedExtension(String fileName) {
@@ -207,69 +490,134 @@ public class NoteImageService {
         return fileName.substring(fileName.lastIndexOf(".") + 1);
     }
 
-    private String uploadToS3(String s3Key, byte[] fileBytes, String mimeType) {
-        try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .contentType(mimeType)
-                    .build();
+    // 원본 이미지를 메모리에 올리지 않고 임시 파일로 내려받음 (내보내기용)
+    public void downloadImageTo(String imageUrl, Path target) {
+        blobStore.download(imageUrl, target);
+    }
+
+    private void collectStoredUrls(String originalUrl, NoteImage image, List<ImageRendition> renditions, List<String> storedUrls) {
+        storedUrls.add(originalUrl);
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (image.isVariantReady(variant)) {
+                storedUrls.add(image.getVariantUrl(variant));
+            }
+        }
+        for (ImageRendition rendition : renditions) {
+            storedUrls.add(rendition.getUrl());
+        }
+    }
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(fileBytes));
-            
-            String imageUrl = new StringBuilder()
-                    .append("https://")
-                    .append(bucketName)
-                    .append(".s3.ap-northeast-2.amazonaws.com/")
-                    .append(s3Key)
-                    .toString();
+    // 이미 커밋된 뒤이므로 실패해도 요청을 실패시키지 않고 남은 파일은 정리 작업에 맡김
+    private void deleteStoredFiles(List<String> storedUrls) {
+        for (String url : storedUrls) {
+            try {
+                blobStore.delete(url);
+            } catch (RuntimeException e) {
+                log.warn("저장소 파일 삭제 실패, 정리 작업에서 다시 지웁니다: {}, error={}", url, e.getMessage());
+            }
+        }
+    }
 
-            return imageUrl;
-        } catch (Exception e) {
-            log.error("S3 업로드 실패: {}", e.getMessage(), e);
-            throw new S3OperationFailedException("S3 업로드에 실패했습니다.", e);
+    private Map<Long, List<ImageRendition>> findRenditions(List<NoteImage> images) {
+        if (images.isEmpty()) {
+            return Map.of();
         }
+        return imageRenditionRepository.findByImageIdIn(images.stream().map(NoteImage::getImageId).toList()).stream()
+                .collect(Collectors.groupingBy(ImageRendition::getImageId));
     }
 
-    private byte[] resizeImage(java.io.InputStream inputStream, String extension) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        
+    // Accept가 없거나 잘못되었으면 모든 형식 허용
+    private List<MediaType> parseAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return List.of(MediaType.ALL);
+        }
         try {
-            Thumbnails.of(inputStream)
-                    .size(resizeWidth, resizeHeight)
-                    .keepAspectRatio(true)
-                    .outputQuality(0.8)
-                    .outputFormat(extension.toLowerCase().equals("jpg") ? "jpeg" : extension.toLowerCase())
-                    .toOutputStream(outputStream);
-            
-            return outputStream.toByteArray();
-        } catch (Exception e) {
-            log.error("이미지 리사이징 실패: {}", e.getMessage(), e);
-            throw new ProcessingFailedException("이미지 리사이징에 실패했습니다.", e);
-        } finally {
-            outputStream.close();
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of(MediaType.ALL);
         }
     }
 
-    private void deleteFromS3(String s3Key) {
+    private boolean isAcceptable(String mimeType, List<MediaType> acceptedTypes) {
+        MediaType type = MediaType.parseMediaType(mimeType);
+        return acceptedTypes.stream().anyMatch(accepted -> accepted.getQualityValue() > 0 && accepted.includes(type));
+    }
+
+    // 썸네일 → 리사이즈 → 2x 순으로 w 이상인 첫 파생 이미지, 없으면 원본
+    private String fallbackImageUrl(NoteImage image, int targetWidth) {
+        return Arrays.stream(ImageVariant.values())
+                .filter(image::isVariantReady)
+                .filter(variant -> imageResizer.dimensionsOf(variant)[0] >= targetWidth)
+                .min(Comparator.comparingInt(variant -> imageResizer.dimensionsOf(variant)[0]))
+                .map(image::getVariantUrl)
+                .orElse(image.getImageUrl());
+    }
+
+    // 같은 내용의 이미지에 이미 만들어진 파생 이미지 URL과 반응형 이미지 복사 (모두 준비되어 있으면 true)
+    private boolean reuseVariants(NoteImage noteImage, List<ImageRendition> copiedRenditions) {
+        return noteImageRepository.findFirstByContentHashAndImageIdNotOrderByImageIdAsc(noteImage.getContentHash(), noteImage.getImageId())
+                .map(sibling -> {
+                    boolean allReady = true;
+                    for (ImageVariant variant : ImageVariant.values()) {
+                        if (sibling.isVariantReady(variant)) {
+                            noteImage.applyVariantUrl(variant, sibling.getVariantUrl(variant));
+                        } else {
+                            allReady = false;
+                        }
+                    }
+                    List<ImageRendition> siblingRenditions = imageRenditionRepository.findByImageIdOrderByWidthAsc(sibling.getImageId());
+                    if (siblingRenditions.isEmpty()) {
+                        allReady = false;
+                    } else {
+                        copiedRenditions.addAll(imageRenditionRepository.saveAll(siblingRenditions.stream()
+                                .map(rendition -> rendition.copyFor(noteImage.getImageId()))
+                                .toList()));
+                    }
+                    return allReady;
+                })
+                .orElse(false);
+    }
+
+    // 한 번 읽으면서 임시 파일 저장과 SHA-256 계산을 같이 함
+    private String copyAndHash(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest;
         try {
-            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .build();
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(inputStream, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record PreparedUpload(String originalFileName, String extension, String mimeType, long fileSize,
+                                  String contentHash, Path tempFile, boolean stored) {
 
-            s3Client.deleteObject(deleteObjectRequest);
-            log.debug("S3 파일 삭제 완료: {}", s3Key);
-        } catch (Exception e) {
-            log.error("S3 파일 삭제 실패: {}, 오류: {}", s3Key, e.getMessage());
-            throw new S3OperationFailedException("S3 파일 삭제에 실패했습니다: " + s3Key, e);
+        PreparedUpload asStored() {
+            return new PreparedUpload(originalFileName, extension, mimeType, fileSize, contentHash, tempFile, true);
         }
     }
 
-    private String extractS3KeyFromUrl(String url) {
-        if (url == null) return "";
-        
-        String[] parts = url.split("/", 4);
-        return parts.length > 3 ? parts[3] : "";
+    // 등록 트랜잭션을 되돌리고 index 번째 파일을 다시 올리라는 신호
+    private static class MissingBlobException extends RuntimeException {
+        private final int index;
+
+        MissingBlobException(int index) {
+            super(null, null, false, false);
+            this.index = index;
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", tempFile, e);
+        }
     }
-} 
\ No newline at end of file
+}
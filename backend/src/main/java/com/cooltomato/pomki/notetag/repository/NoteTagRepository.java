@@ -3,10 +3,12 @@ package com.cooltomato.pomki.notetag.repository;
 import com.cooltomato.pomki.notetag.entity.NoteTag;
 import com.cooltomato.pomki.notetag.entity.NoteTagId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 @Repository
 public interface NoteTagRepository extends JpaRepository<NoteTag, NoteTagId> {
@@ -32,4 +34,36 @@ public interface NoteTagRepository extends JpaRepository<NoteTag, NoteTagId> {
     List<NoteTag> findByNoteId(String id);
 
     List<NoteTag> findByNote_NoteId(String id);
-} 
+
+    List<NoteTag> findByMemberIdAndNoteIdIn(Long memberId, Collection<String> noteIds);
+
+    // 이미 붙어 있는 태그면 무시 (반환값 1일 때만 태그 사용 수 증가)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO note_tag (member_id, tag_name, note_id) VALUES (:memberId, :tagName, :noteId)", nativeQuery = true)
+    int insertIgnore(@Param("memberId") Long memberId, @Param("tagName") String tagName, @Param("noteId") String noteId);
+
+    @Modifying
+    @Query("DELETE FROM NoteTag nt WHERE nt.memberId = :memberId AND nt.tagName = :tagName AND nt.noteId = :noteId")
+    int deleteLink(@Param("memberId") Long memberId, @Param("tagName") String tagName, @Param("noteId") String noteId);
+
+    @Modifying
+    @Query("DELETE FROM NoteTag nt WHERE nt.noteId = :noteId")
+    int deleteByNoteId(@Param("noteId") String noteId);
+
+    // 태그 일괄 적용: 회원 소유의 살아 있는 노트에만 태그를 한 번에 연결 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO note_tag (member_id, tag_name, note_id) " +
+                   "SELECT n.member_id, t.tag_name, n.note_id " +
+                   "FROM note n JOIN tag t ON t.member_id = n.member_id AND t.tag_name IN (:tagNames) " +
+                   "WHERE n.member_id = :memberId AND n.is_deleted = false AND n.note_id IN (:noteIds)", nativeQuery = true)
+    int bulkInsertIgnore(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames, @Param("noteIds") Collection<String> noteIds);
+
+    // 태그 이름 변경: 새 이름이 이미 붙은 노트는 건너뛰고(IGNORE) 나머지 연결만 새 이름으로 변경
+    @Modifying
+    @Query(value = "UPDATE IGNORE note_tag SET tag_name = :newTagName WHERE member_id = :memberId AND tag_name = :tagName", nativeQuery = true)
+    int renameTag(@Param("memberId") Long memberId, @Param("tagName") String tagName, @Param("newTagName") String newTagName);
+
+    @Modifying
+    @Query("DELETE FROM NoteTag nt WHERE nt.memberId = :memberId AND nt.tagName = :tagName")
+    int deleteByMemberIdAndTagName(@Param("memberId") Long memberId, @Param("tagName") String tagName);
+}
@@ -2,26 +2,31 @@ package com.cooltomato.pomki.notetag.service;
 
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
-import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
+import com.cooltomato.pomki.bookmark.repository.BookmarkRepository;
 import com.cooltomato.pomki.note.dto.NoteResponseDto;
 import com.cooltomato.pomki.note.entity.Note;
 import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.noteimage.dto.NoteImageResponseDto;
+import com.cooltomato.pomki.noteimage.service.NoteImageService;
 import com.cooltomato.pomki.notetag.dto.NoteTagRequestDto;
 import com.cooltomato.pomki.notetag.dto.NoteTagResponseDto;
 import com.cooltomato.pomki.notetag.entity.NoteTag;
-import com.cooltomato.pomki.notetag.entity.NoteTagId;
 import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
-import com.cooltomato.pomki.tag.entity.Tag;
-import com.cooltomato.pomki.tag.entity.TagId;
-import com.cooltomato.pomki.tag.repository.TagRepository;
+import com.cooltomato.pomki.tag.service.TagBitmapCache;
+import com.cooltomato.pomki.tag.service.TagQuery;
+import com.cooltomato.pomki.tag.service.TagService;
 
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
@@ -35,9 +40,11 @@ import lombok.extern.slf4j.Slf4j;
 public class NoteTagService {
 
     private final NoteTagRepository noteTagRepository ;
-    private final TagRepository tagRepository ;
     private final NoteRepository noteRepository ;
-    private final CardTagRepository cardTagRepository ;
+    private final TagService tagService ;
+    private final TagBitmapCache tagBitmapCache ;
+    private final BookmarkRepository bookmarkRepository ;
+    private final NoteImageService noteImageService ;
 
     public List<NoteTagResponseDto> readAllNoteTagService(PrincipalMember principal) {
         List<NoteTag> NoteTagList = noteTagRepository.findByMemberId(principal.getMemberId());
@@ -50,6 +57,7 @@ public class NoteTagService {
                 .collect(Collectors.toList());
       }
     
+    @Transactional
     public List<NoteTagResponseDto> createNoteTagService(PrincipalMember principal, NoteTagRequestDto request) {
         log.info("debug >>> 노트에 태그 추가 시작") ;
         
@@ -66,86 +74,71 @@ public class NoteTagService {
 
         List<NoteTagResponseDto> createdTags = new ArrayList<>();
 
+        // 새로 붙은 태그만 사용 수 증가 (태그가 없으면 생성)
         for (String tagName : request.getTagNames()) {
-            NoteTag entity = NoteTag.builder()
-                                    .noteId(request.getNoteId())
-                                    .memberId(principal.getMemberId())
-                                    .tagName(tagName)
-                                    .note(note)  // Set the note for @MapsId relationship
-                                .build();
-            noteTagRepository.save(entity) ;
+            if (noteTagRepository.insertIgnore(principal.getMemberId(), tagName, request.getNoteId()) == 0) {
+                log.info("debug >>> 이미 노트에 붙어 있는 태그입니다.") ;
+                continue ;
+            }
+            tagService.acquireTag(principal.getMemberId(), tagName) ;
+            tagBitmapCache.noteTagAdded(principal.getMemberId(), request.getNoteId(), tagName) ;
 
             createdTags.add(NoteTagResponseDto.builder()
                         .noteId(request.getNoteId())
                         .memberId(principal.getMemberId())
                         .tagNames(tagName)
                         .build());
-
-            if (tagRepository.findById(TagId.builder()
-                                .tagName(tagName)
-                                .memberId(principal.getMemberId())
-                                .build()).isPresent()) {
-            log.info("debug >>> 이미 존재하는 태그입니다.") ;
-        } else {
-            tagRepository.save(Tag.builder()
-                                .tagName(tagName)
-                                .memberId(principal.getMemberId())
-                                .build()) ;
-            log.info("debug >>> Tag에 추가 완료") ;
-        }
         }
+
+        // 태그 목록도 노트의 일부로 동기화되므로 노트 수정 시각 갱신 (DB 시각)
+        noteRepository.touchByNoteIds(principal.getMemberId(), List.of(request.getNoteId())) ;
         
         return createdTags ;
        
     }
 
 
+    @Transactional
     public void deleteNoteTagService(PrincipalMember principal, String noteId, String tagName) {
-        NoteTagId noteTagIdEntity = NoteTagId.builder()
-                                .noteId(noteId)
-                                .memberId(principal.getMemberId())
-                                .tagName(tagName)
-                                .build() ;
-
-        noteTagRepository.deleteById(noteTagIdEntity) ;
-
-        log.info("debug >>> 해당 태그가 다른 노트에서도 사용되는지 확인");
-        Long remainingNoteTagCount = noteTagRepository.countByTagNameAndMemberId(
-            tagName, principal.getMemberId());
-        
-        Long cardTagCount = cardTagRepository.countByTagNameAndMemberId(tagName, principal.getMemberId());
-        
-        // 다른 노트에서 사용되지 않는다면 Tag 테이블에서도 삭제
-        if (remainingNoteTagCount == 0 && cardTagCount == 0) {
-            log.info("debug >>> Tag에서 삭제 시작 (다른 노트에서 사용되지 않음)") ;
-            
-            TagId tagIdEntity = TagId.builder()
-                                    .tagName(tagName)
-                                    .memberId(principal.getMemberId())
-                                    .build() ;
-
-            tagRepository.deleteById(tagIdEntity) ;
-            log.info("debug >>> Tag에서 삭제 완료") ;
-            
-        } else {
-            log.info("debug >>> Tag는 유지 (다른 노트에서 {}개 사용 중)", remainingNoteTagCount) ;
-            
+        if (noteTagRepository.deleteLink(principal.getMemberId(), tagName, noteId) == 0) {
+            log.info("debug >>> 노트에 해당 태그가 없습니다.") ;
+            return ;
         }
+        tagBitmapCache.noteTagRemoved(principal.getMemberId(), noteId, tagName) ;
+        noteRepository.touchByNoteIds(principal.getMemberId(), List.of(noteId)) ;
+
+        // 다른 노트/카드에서 사용되지 않는다면(사용 수 0) Tag 테이블에서도 삭제
+        tagService.releaseTags(principal.getMemberId(), List.of(tagName)) ;
     }
 
     public List<NoteResponseDto> readNoteByTagNameService(PrincipalMember principal, String tagName) {
-      List<NoteTag> allSameTagName = noteTagRepository.findAllNoteIdByMemberIdAndTagName(principal.getMemberId(), tagName) ;
-
-      List<Note> NotesWithTagName = noteRepository.findAllById(allSameTagName.stream()
-                                                                                    .map(NoteTag::getNoteId)
-                                                                                    .collect(Collectors.toList())) ;
-      List<NoteResponseDto> response = NotesWithTagName.stream()
-                                                            .map(NoteResponseDto::from)
-                                                            .collect(Collectors.toList()) ;
-      return response ;
+      return readNotesByTagQuery(principal.getMemberId(), TagQuery.tag(tagName)) ;
     }
-;
 
+    // 태그 검색식(AND/OR/NOT) 조회: 회원별 태그 비트맵 연산으로 노트 ID를 구한 뒤 한 번에 조회
+    public List<NoteResponseDto> queryNotesByTagsService(PrincipalMember principal, String query) {
+      return readNotesByTagQuery(principal.getMemberId(), TagQuery.parse(query)) ;
+    }
+
+    private List<NoteResponseDto> readNotesByTagQuery(Long memberId, TagQuery query) {
+      List<String> noteIds = tagBitmapCache.queryNoteIds(memberId, query) ;
+      if (noteIds.isEmpty()) {
+        return List.of() ;
+      }
+      Map<String, List<String>> tagsByNoteId = noteTagRepository.findByMemberIdAndNoteIdIn(memberId, noteIds).stream()
+                            .collect(Collectors.groupingBy(NoteTag::getNoteId,
+                                    Collectors.mapping(NoteTag::getTagName, Collectors.toList()))) ;
+      Set<String> bookmarkedNoteIds = new HashSet<>(bookmarkRepository.findNoteIdsByMemberIdAndNoteIdIn(memberId, noteIds)) ;
+      Map<String, List<NoteImageResponseDto>> imagesByNoteId = noteImageService.readImagesByNoteIds(noteIds) ;
+      return noteRepository.findActiveByNoteIdIn(noteIds).stream()
+                            .map(note -> {
+                              NoteResponseDto dto = NoteResponseDto.from(note) ;
+                              dto.setTags(tagsByNoteId.getOrDefault(note.getNoteId(), List.of())) ;
+                              dto.setIsBookmarked(bookmarkedNoteIds.contains(note.getNoteId())) ;
+                              dto.setImages(imagesByNoteId.getOrDefault(note.getNoteId(), List.of())) ;
+                              return dto ;
+                            })
+                            .collect(Collectors.toList()) ;
+    }
 
-    
 }
@@ -3,6 +3,7 @@ package com.cooltomato.pomki.stats.repository;
 import com.cooltomato.pomki.stats.entity.CardStat;
 import com.cooltomato.pomki.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -95,4 +96,19 @@ public interface CardStatRepository extends JpaRepository<CardStat, Long> {
      * @return List<CardStat>
      */
     List<CardStat> findByMember_MemberIdAndDueAtBetweenOrderByDueAtAsc(Long memberId, LocalDateTime startInclusive, LocalDateTime endExclusive);
-} 
\ No newline at end of file
+
+    /**
+     * 덱 복제/병합으로 새로 만들어진 카드에 원본 카드의 복습 스케줄(간격, 복습 예정일, 복습 횟수 등)을 복사합니다.
+     *
+     * @param batchId 복제/병합 작업 ID (card.copy_batch_id)
+     * @return 복사된 CardStat 개수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_stat (card_id, member_id, deck_id, interval_days, due_at, last_reviewed_at, " +
+                   "last_difficulty, total_reviews, created_at, updated_at) " +
+                   "SELECT c.card_id, cs.member_id, c.deck_id, cs.interval_days, cs.due_at, cs.last_reviewed_at, " +
+                   "cs.last_difficulty, cs.total_reviews, NOW(6), NOW(6) " +
+                   "FROM card c JOIN card_stat cs ON cs.card_id = c.copied_from_card_id " +
+                   "WHERE c.copy_batch_id = :batchId", nativeQuery = true)
+    int copyStatsForCopiedCards(@Param("batchId") String batchId);
+}
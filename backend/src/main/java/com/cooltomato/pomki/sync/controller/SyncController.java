@@ -0,0 +1,51 @@
+package com.cooltomato.pomki.sync.controller;
+
+import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.sync.dto.SyncChangesResponseDto;
+import com.cooltomato.pomki.sync.service.SyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sync", description = "클라이언트 동기화 API")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Operation(summary = "변경분 동기화",
+               description = "since 이후 생성/수정/삭제된 덱, 카드, 노트, 태그, 북마크를 조회합니다. since가 없으면 전체 데이터를 내려줍니다. " +
+                             "응답의 watermark를 다음 요청의 since로 사용합니다.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "동기화 데이터 조회 성공"),
+        @ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<SyncChangesResponseDto> getChanges(
+        @Parameter(description = "인증된 사용자 정보") @AuthenticationPrincipal PrincipalMember principal,
+        @Parameter(description = "마지막 동기화 워터마크 (ISO-8601)")
+        @RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        log.info("debug >>> SyncController getChanges");
+        SyncChangesResponseDto response = syncService.getChangesService(principal.getMemberId(), since);
+        return ResponseEntity.ok(response);
+    }
+}
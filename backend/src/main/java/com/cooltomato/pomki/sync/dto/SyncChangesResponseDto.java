@@ -0,0 +1,34 @@
+package com.cooltomato.pomki.sync.dto;
+
+import com.cooltomato.pomki.card.dto.CardResponseDto;
+import com.cooltomato.pomki.deck.dto.DeckResponseDto;
+import com.cooltomato.pomki.note.dto.NoteResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChangesResponseDto {
+    // 다음 요청의 since로 그대로 보내면 되는 값
+    private LocalDateTime watermark;
+    // true면 변경분이 아닌 전체 데이터이므로 클라이언트 로컬 데이터를 교체해야 함
+    private boolean fullSync;
+    private List<DeckResponseDto> decks;
+    // 카드 북마크 여부는 cardBookmarks로 전달
+    private List<CardResponseDto> cards;
+    private List<NoteResponseDto> notes;
+    private List<String> tags;
+    private List<String> noteBookmarks;
+    private List<Long> cardBookmarks;
+    private List<SyncDeletedItemDto> deleted;
+}
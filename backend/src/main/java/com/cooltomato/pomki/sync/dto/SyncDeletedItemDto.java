@@ -0,0 +1,23 @@
+package com.cooltomato.pomki.sync.dto;
+
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncDeletedItemDto {
+    private SyncEntityType entityType;
+    // 태그는 태그 이름, 그 외에는 각 엔티티의 ID
+    private String entityId;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,10 @@
+package com.cooltomato.pomki.sync.entity;
+
+public enum SyncEntityType {
+    DECK,
+    CARD,
+    NOTE,
+    TAG,
+    NOTE_BOOKMARK,
+    CARD_BOOKMARK
+}
@@ -0,0 +1,43 @@
+package com.cooltomato.pomki.sync.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.LocalDateTime;
+
+// 행이 실제로 지워져 updated_at으로는 알 수 없는 삭제(태그, 북마크, 영구 삭제)를 동기화용으로 기록
+@Entity
+@Table(name = "sync_tombstone", indexes = {
+    @Index(name = "idx_sync_tombstone_member_deleted", columnList = "member_id, deleted_at"),
+    @Index(name = "idx_sync_tombstone_deleted", columnList = "deleted_at")
+})
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class SyncTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tombstone_id")
+    private Long tombstoneId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false, length = 100)
+    private String entityId;
+
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
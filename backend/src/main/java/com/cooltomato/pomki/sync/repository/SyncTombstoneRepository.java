@@ -0,0 +1,26 @@
+package com.cooltomato.pomki.sync.repository;
+
+import com.cooltomato.pomki.sync.entity.SyncTombstone;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    List<SyncTombstone> findByMemberIdAndDeletedAtAfter(Long memberId, LocalDateTime since);
+
+    // 워터마크는 행에 찍히는 시각과 같은 DB 시계에서 가져옴 (앱 서버 시계와 어긋나면 변경분이 빠지거나 중복됨)
+    @Query(value = "SELECT NOW(6)", nativeQuery = true)
+    LocalDateTime currentDbTime();
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,269 @@
+package com.cooltomato.pomki.sync.service;
+
+import com.cooltomato.pomki.bookmark.repository.BookmarkRepository;
+import com.cooltomato.pomki.bookmark.repository.CardBookmarkRepository;
+import com.cooltomato.pomki.card.dto.CardResponseDto;
+import com.cooltomato.pomki.card.entity.Card;
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.cardtag.entity.CardTag;
+import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
+import com.cooltomato.pomki.deck.dto.DeckResponseDto;
+import com.cooltomato.pomki.deck.entity.Deck;
+import com.cooltomato.pomki.deck.repository.DeckRepository;
+import com.cooltomato.pomki.note.dto.NoteResponseDto;
+import com.cooltomato.pomki.note.entity.Note;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.notetag.entity.NoteTag;
+import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
+import com.cooltomato.pomki.sync.dto.SyncChangesResponseDto;
+import com.cooltomato.pomki.sync.dto.SyncDeletedItemDto;
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+import com.cooltomato.pomki.sync.entity.SyncTombstone;
+import com.cooltomato.pomki.sync.repository.SyncTombstoneRepository;
+import com.cooltomato.pomki.tag.entity.Tag;
+import com.cooltomato.pomki.tag.repository.TagRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 워터마크(since) 이후 변경분만 내려주는 동기화 서비스
+ * - 덱/카드/노트: 소프트 삭제이므로 updated_at 인덱스로 생성·수정·삭제를 모두 조회
+ * - 태그/북마크/영구 삭제: 행이 사라지므로 sync_tombstone에 삭제 기록을 남겨 전달
+ * 카드/노트의 태그 목록은 카드/노트의 일부로 취급하여 태그 변경 시 해당 카드/노트의 updated_at을 갱신한다.
+ * 워터마크와 각 행의 생성/수정/삭제 시각은 모두 DB 시계(NOW(6))를 기준으로 한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private final DeckRepository deckRepository;
+    private final CardRepository cardRepository;
+    private final CardTagRepository cardTagRepository;
+    private final NoteRepository noteRepository;
+    private final NoteTagRepository noteTagRepository;
+    private final TagRepository tagRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final CardBookmarkRepository cardBookmarkRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    // 워터마크 직전에 시작해 늦게 커밋된 트랜잭션을 놓치지 않도록 겹쳐서 조회하는 구간
+    @Value("${pomki.sync.overlap-seconds:5}")
+    private long overlapSeconds;
+
+    @Value("${pomki.sync.tombstone-retention-days:90}")
+    private long tombstoneRetentionDays;
+
+    @Transactional(readOnly = true)
+    public SyncChangesResponseDto getChangesService(Long memberId, LocalDateTime since) {
+        log.info("debug >>> SyncService getChanges, since: {}", since);
+        LocalDateTime watermark = syncTombstoneRepository.currentDbTime();
+
+        // 삭제 기록 보관 기간보다 오래된 워터마크는 변경분을 보장할 수 없으므로 전체 동기화
+        if (since == null || since.isBefore(watermark.minusDays(tombstoneRetentionDays))) {
+            return fullSync(memberId, watermark);
+        }
+
+        LocalDateTime from = since.minusSeconds(overlapSeconds);
+        List<SyncDeletedItemDto> deleted = new ArrayList<>();
+
+        List<DeckResponseDto> decks = new ArrayList<>();
+        for (Deck deck : deckRepository.findByMemberIdAndUpdatedAtAfter(memberId, from)) {
+            if (deck.getIsDeleted()) {
+                deleted.add(deletedItem(SyncEntityType.DECK, deck.getDeckId(), deck.getUpdatedAt()));
+            } else {
+                decks.add(toDeckResponseDto(deck));
+            }
+        }
+
+        List<Card> changedCards = new ArrayList<>();
+        for (Card card : cardRepository.findChangedByMemberId(memberId, from)) {
+            if (card.getIsDeleted()) {
+                deleted.add(deletedItem(SyncEntityType.CARD, String.valueOf(card.getCardId()), card.getUpdatedAt()));
+            } else {
+                changedCards.add(card);
+            }
+        }
+        Map<Long, List<String>> cardTags = changedCards.isEmpty() ? Map.of()
+                : groupCardTags(cardTagRepository.findByMemberIdAndCardIdIn(memberId,
+                        changedCards.stream().map(Card::getCardId).toList()));
+
+        List<Note> changedNotes = new ArrayList<>();
+        for (Note note : noteRepository.findByMember_MemberIdAndUpdatedAtAfter(memberId, from)) {
+            if (Boolean.TRUE.equals(note.getIsDeleted())) {
+                deleted.add(deletedItem(SyncEntityType.NOTE, note.getNoteId(), note.getUpdatedAt()));
+            } else {
+                changedNotes.add(note);
+            }
+        }
+        Map<String, List<String>> noteTags = changedNotes.isEmpty() ? Map.of()
+                : groupNoteTags(noteTagRepository.findByMemberIdAndNoteIdIn(memberId,
+                        changedNotes.stream().map(Note::getNoteId).toList()));
+
+        // 행이 사라지는 엔티티는 같은 구간에 삭제 후 다시 만들어질 수 있으므로 엔티티별로 가장 나중 상태만 내려줌
+        Map<String, LocalDateTime> tags = new LinkedHashMap<>();
+        tagRepository.findByMemberIdAndCreatedAtAfter(memberId, from)
+                .forEach(tag -> tags.put(tag.getTagName(), tag.getCreatedAt()));
+        Map<String, LocalDateTime> noteBookmarks = new LinkedHashMap<>();
+        bookmarkRepository.findByMemberMemberIdAndCreatedAtAfter(memberId, from)
+                .forEach(bookmark -> noteBookmarks.put(bookmark.getNote().getNoteId(), bookmark.getCreatedAt()));
+        Map<String, LocalDateTime> cardBookmarks = new LinkedHashMap<>();
+        cardBookmarkRepository.findByMemberMemberIdAndCreatedAtAfter(memberId, from)
+                .forEach(bookmark -> cardBookmarks.put(String.valueOf(bookmark.getCard().getCardId()), bookmark.getCreatedAt()));
+
+        Map<String, SyncTombstone> tombstones = new LinkedHashMap<>();
+        for (SyncTombstone tombstone : syncTombstoneRepository.findByMemberIdAndDeletedAtAfter(memberId, from)) {
+            tombstones.merge(tombstone.getEntityType() + ":" + tombstone.getEntityId(), tombstone,
+                    (current, candidate) -> candidate.getDeletedAt().isAfter(current.getDeletedAt()) ? candidate : current);
+        }
+        for (SyncTombstone tombstone : tombstones.values()) {
+            Map<String, LocalDateTime> upserts = switch (tombstone.getEntityType()) {
+                case TAG -> tags;
+                case NOTE_BOOKMARK -> noteBookmarks;
+                case CARD_BOOKMARK -> cardBookmarks;
+                default -> Map.of();
+            };
+            LocalDateTime createdAt = upserts.get(tombstone.getEntityId());
+            if (createdAt != null && !createdAt.isBefore(tombstone.getDeletedAt())) {
+                continue;
+            }
+            if (createdAt != null) {
+                upserts.remove(tombstone.getEntityId());
+            }
+            deleted.add(deletedItem(tombstone.getEntityType(), tombstone.getEntityId(), tombstone.getDeletedAt()));
+        }
+
+        return SyncChangesResponseDto.builder()
+                .watermark(watermark)
+                .fullSync(false)
+                .decks(decks)
+                .cards(changedCards.stream().map(card -> toCardResponseDto(card, cardTags)).toList())
+                .notes(changedNotes.stream().map(note -> toNoteResponseDto(note, noteTags)).toList())
+                .tags(new ArrayList<>(tags.keySet()))
+                .noteBookmarks(new ArrayList<>(noteBookmarks.keySet()))
+                .cardBookmarks(cardBookmarks.keySet().stream().map(Long::valueOf).toList())
+                .deleted(deleted)
+                .build();
+    }
+
+    private SyncChangesResponseDto fullSync(Long memberId, LocalDateTime watermark) {
+        log.info("debug >>> SyncService 전체 동기화, memberId: {}", memberId);
+        List<Card> cards = cardRepository.findAllActiveByMemberId(memberId);
+        Map<Long, List<String>> cardTags = groupCardTags(cardTagRepository.findByMemberId(memberId));
+        List<Note> notes = noteRepository.findAllByMember_MemberIdAndIsDeletedIsFalse(memberId);
+        Map<String, List<String>> noteTags = groupNoteTags(noteTagRepository.findByMemberId(memberId));
+
+        return SyncChangesResponseDto.builder()
+                .watermark(watermark)
+                .fullSync(true)
+                .decks(deckRepository.findAllDecksByMemberIdAndIsDeletedFalse(memberId).stream()
+                        .map(this::toDeckResponseDto).toList())
+                .cards(cards.stream().map(card -> toCardResponseDto(card, cardTags)).toList())
+                .notes(notes.stream().map(note -> toNoteResponseDto(note, noteTags)).toList())
+                .tags(tagRepository.findByMemberId(memberId).stream().map(Tag::getTagName).toList())
+                .noteBookmarks(bookmarkRepository.findByMemberMemberId(memberId).stream()
+                        .map(bookmark -> bookmark.getNote().getNoteId()).toList())
+                .cardBookmarks(cardBookmarkRepository.findByMemberMemberId(memberId).stream()
+                        .map(bookmark -> bookmark.getCard().getCardId()).toList())
+                .deleted(List.of())
+                .build();
+    }
+
+    // 행을 실제로 지우는 곳(태그, 북마크 해제, 영구 삭제)에서 호출
+    @Transactional
+    public void recordDeletion(Long memberId, SyncEntityType entityType, String entityId) {
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .memberId(memberId)
+                .entityType(entityType)
+                .entityId(entityId)
+                .build());
+    }
+
+    @Transactional
+    public void recordDeletions(Long memberId, SyncEntityType entityType, Collection<String> entityIds) {
+        syncTombstoneRepository.saveAll(entityIds.stream()
+                .map(entityId -> SyncTombstone.builder()
+                        .memberId(memberId)
+                        .entityType(entityType)
+                        .entityId(entityId)
+                        .build())
+                .toList());
+    }
+
+    @Scheduled(cron = "${pomki.sync.tombstone-purge-cron:0 0 4 * * ?}")
+    @Transactional
+    public void purgeOldTombstones() {
+        LocalDateTime now = syncTombstoneRepository.currentDbTime();
+        int purged = syncTombstoneRepository.deleteByDeletedAtBefore(now.minusDays(tombstoneRetentionDays));
+        log.info("debug >>> 오래된 동기화 삭제 기록 정리: {}건", purged);
+        // 생성 시각이 없는 기존 태그는 변경분 조회에 걸리지 않으므로 한 번 채워 다음 동기화에 내려가게 함
+        int backfilled = tagRepository.backfillCreatedAt();
+        if (backfilled > 0) {
+            log.info("debug >>> 생성 시각이 없던 태그 보정: {}건", backfilled);
+        }
+    }
+
+    private Map<Long, List<String>> groupCardTags(List<CardTag> cardTags) {
+        return cardTags.stream().collect(Collectors.groupingBy(CardTag::getCardId,
+                Collectors.mapping(CardTag::getTagName, Collectors.toList())));
+    }
+
+    private Map<String, List<String>> groupNoteTags(List<NoteTag> noteTags) {
+        return noteTags.stream().collect(Collectors.groupingBy(NoteTag::getNoteId,
+                Collectors.mapping(NoteTag::getTagName, Collectors.toList())));
+    }
+
+    private SyncDeletedItemDto deletedItem(SyncEntityType entityType, String entityId, LocalDateTime deletedAt) {
+        return SyncDeletedItemDto.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .deletedAt(deletedAt)
+                .build();
+    }
+
+    private DeckResponseDto toDeckResponseDto(Deck deck) {
+        return DeckResponseDto.builder()
+                .deckId(deck.getDeckId())
+                .deckName(deck.getDeckName())
+                .createdAt(deck.getCreatedAt())
+                .updatedAt(deck.getUpdatedAt())
+                .cardCnt(deck.getCardCnt())
+                .isDeleted(deck.getIsDeleted())
+                .memberId(deck.getMemberId())
+                .build();
+    }
+
+    private CardResponseDto toCardResponseDto(Card card, Map<Long, List<String>> cardTags) {
+        return CardResponseDto.builder()
+                .cardId(card.getCardId())
+                .deckId(card.getDeck().getDeckId())
+                .deckName(card.getDeck().getDeckName())
+                .content(card.getContent())
+                .answer(card.getAnswer())
+                .createdAt(card.getCreatedAt())
+                .updatedAt(card.getUpdatedAt())
+                .isDeleted(card.getIsDeleted())
+                .tags(cardTags.getOrDefault(card.getCardId(), List.of()))
+                .build();
+    }
+
+    private NoteResponseDto toNoteResponseDto(Note note, Map<String, List<String>> noteTags) {
+        NoteResponseDto dto = NoteResponseDto.from(note);
+        dto.setTags(noteTags.getOrDefault(note.getNoteId(), List.of()));
+        return dto;
+    }
+}
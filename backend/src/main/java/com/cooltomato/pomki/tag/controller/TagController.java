@@ -4,6 +4,9 @@ import com.cooltomato.pomki.ai.dto.TagRecommendationRequestDto;
 import com.cooltomato.pomki.ai.dto.TagRecommendationResponseDto;
 import com.cooltomato.pomki.ai.service.TagRecommendationService;
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.tag.dto.TagBulkApplyRequestDto;
+import com.cooltomato.pomki.tag.dto.TagBulkApplyResponseDto;
+import com.cooltomato.pomki.tag.dto.TagRenameRequestDto;
 import com.cooltomato.pomki.tag.dto.TagResponseDto;
 import com.cooltomato.pomki.tag.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +45,35 @@ public class TagController {
         return ResponseEntity.ok(response) ;
     }
 
+    @Operation(summary = "태그 자동완성", description = "입력한 접두어로 시작하는 태그를 사용 수가 많은 순으로 조회합니다.")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TagResponseDto>> suggestTags(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @Parameter(description = "태그 접두어") @RequestParam(value = "prefix", defaultValue = "") String prefix,
+            @Parameter(description = "최대 개수") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<TagResponseDto> response = service.suggestTagsService(principal, prefix, limit) ;
+        return ResponseEntity.ok(response) ;
+    }
+
+    @Operation(summary = "태그 일괄 적용", description = "여러 태그를 여러 카드/노트 또는 덱 전체 카드에 한 번에 붙입니다. 이미 붙어 있는 태그는 건너뜁니다.")
+    @PostMapping("/bulk-apply")
+    public ResponseEntity<TagBulkApplyResponseDto> bulkApplyTags(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @RequestBody TagBulkApplyRequestDto request) {
+        TagBulkApplyResponseDto response = service.bulkApplyService(principal, request) ;
+        return ResponseEntity.ok(response) ;
+    }
+
+    @Operation(summary = "태그 이름 변경", description = "태그 이름을 변경합니다. 이미 있는 태그 이름으로 변경하면 두 태그를 합칩니다.")
+    @PostMapping("/{tagName}/rename")
+    public ResponseEntity<TagResponseDto> renameTag(
+            @Parameter(hidden = true) @AuthenticationPrincipal PrincipalMember principal,
+            @Parameter(description = "변경할 태그 이름") @PathVariable("tagName") String tagName,
+            @RequestBody TagRenameRequestDto request) {
+        TagResponseDto response = service.renameTagService(principal, tagName, request) ;
+        return ResponseEntity.ok(response) ;
+    }
+
     @Operation(
         summary = "AI 기반 태그 추천",
         description = "카드 내용을 기반으로 AI가 추천하는 태그 목록을 조회합니다.",
@@ -0,0 +1,22 @@
+package com.cooltomato.pomki.tag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagBulkApplyRequestDto {
+  private List<String> tagNames ;
+  private List<Long> cardIds ;
+  private List<String> noteIds ;
+  // 덱 전체 카드에 태그를 붙일 때 사용 (cardIds와 함께 써도 됨)
+  private String deckId ;
+}
@@ -0,0 +1,20 @@
+package com.cooltomato.pomki.tag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagBulkApplyResponseDto {
+
+  private List<String> tagNames ;
+  // 새로 생긴 카드/노트 태그 연결 수 (이미 붙어 있던 연결은 제외)
+  private int appliedCardTags ;
+  private int appliedNoteTags ;
+}
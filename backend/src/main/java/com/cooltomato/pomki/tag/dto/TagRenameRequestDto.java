@@ -0,0 +1,17 @@
+package com.cooltomato.pomki.tag.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagRenameRequestDto {
+  // 이미 있는 태그 이름이면 두 태그를 합침
+  private String newTagName ;
+}
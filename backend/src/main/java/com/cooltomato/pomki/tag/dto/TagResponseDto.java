@@ -13,5 +13,7 @@ public class TagResponseDto {
 
   private String tagName ;
   private Long memberId ;
+  // 이 태그가 붙은 카드/노트 수
+  private Long usageCount ;
   }
 
@@ -8,7 +8,11 @@ import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tag")
@@ -25,4 +29,14 @@ public class Tag implements Serializable {
     @Id
     @Column(name = "member_id", nullable = false)
     private Long memberId;
+
+    // 이 태그가 붙은 카드/노트 수 (0이 되면 삭제 대상)
+    @Builder.Default
+    @Column(name = "usage_count", nullable = false)
+    private Long usageCount = 0L;
+
+    // 동기화 API에서 새로 생긴 태그를 찾기 위해 사용 (기존 행은 NULL)
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
 }
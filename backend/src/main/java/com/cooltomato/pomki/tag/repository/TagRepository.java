@@ -1,11 +1,19 @@
 package com.cooltomato.pomki.tag.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 
 import com.cooltomato.pomki.tag.entity.Tag;
 import com.cooltomato.pomki.tag.entity.TagId;
@@ -16,5 +24,88 @@ public interface TagRepository extends JpaRepository<Tag, TagId> {
   List<Tag> findByMemberId(Long memberId);
 
   Optional<Tag> findByMemberIdAndTagName(Long memberId, String tagName);
-    
+
+  // 태그 연결이 추가될 때: 태그가 없으면 usage_count = 1로 생성, 있으면 1 증가 (한 문장)
+  @Modifying
+  @Query(value = "INSERT INTO tag (tag_name, member_id, usage_count, created_at) VALUES (:tagName, :memberId, 1, NOW(6)) " +
+                 "ON DUPLICATE KEY UPDATE usage_count = usage_count + 1", nativeQuery = true)
+  int incrementUsage(@Param("memberId") Long memberId, @Param("tagName") String tagName);
+
+  // 태그 연결이 하나씩 삭제될 때 (카드/노트 하나에는 같은 태그가 한 번만 붙음)
+  @Modifying
+  @Query("UPDATE Tag t SET t.usageCount = t.usageCount - 1 WHERE t.memberId = :memberId AND t.tagName IN :tagNames")
+  int decrementUsage(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames);
+
+  // 덱 삭제 시 덱의 카드에 붙은 태그 수만큼 한 번에 감소
+  @Modifying
+  @Query(value = "UPDATE tag t JOIN (SELECT ct.member_id, ct.tag_name, COUNT(*) AS cnt FROM card_tag ct " +
+                 "JOIN card c ON c.card_id = ct.card_id WHERE c.deck_id = :deckId AND c.is_deleted = false " +
+                 "GROUP BY ct.member_id, ct.tag_name) u ON u.member_id = t.member_id AND u.tag_name = t.tag_name " +
+                 "SET t.usage_count = t.usage_count - u.cnt", nativeQuery = true)
+  int decrementUsageByDeckId(@Param("deckId") String deckId);
+
+  // 덱 영구 삭제 시 휴지통 카드까지 포함한 덱의 모든 카드 태그 수만큼 한 번에 감소
+  @Modifying
+  @Query(value = "UPDATE tag t JOIN (SELECT ct.member_id, ct.tag_name, COUNT(*) AS cnt FROM card_tag ct " +
+                 "JOIN card c ON c.card_id = ct.card_id WHERE c.deck_id = :deckId " +
+                 "GROUP BY ct.member_id, ct.tag_name) u ON u.member_id = t.member_id AND u.tag_name = t.tag_name " +
+                 "SET t.usage_count = t.usage_count - u.cnt", nativeQuery = true)
+  int decrementUsageOfAllCardsByDeckId(@Param("deckId") String deckId);
+
+  // 덱 복제/병합으로 복사된 카드 태그 수만큼 한 번에 증가
+  @Modifying
+  @Query(value = "UPDATE tag t JOIN (SELECT ct.member_id, ct.tag_name, COUNT(*) AS cnt FROM card_tag ct " +
+                 "JOIN card c ON c.card_id = ct.card_id " +
+                 "WHERE c.copy_batch_id = :batchId " +
+                 "GROUP BY ct.member_id, ct.tag_name) u ON u.member_id = t.member_id AND u.tag_name = t.tag_name " +
+                 "SET t.usage_count = t.usage_count + u.cnt", nativeQuery = true)
+  int incrementUsageForCopiedCards(@Param("batchId") String batchId);
+
+  @Query("SELECT t.tagName FROM Tag t WHERE t.memberId = :memberId AND t.tagName IN :tagNames AND t.usageCount <= 0")
+  List<String> findUnusedTagNames(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames);
+
+  // 카드와 노트 어디에서도 쓰이지 않게 된 태그 삭제
+  @Modifying
+  @Query("DELETE FROM Tag t WHERE t.memberId = :memberId AND t.tagName IN :tagNames AND t.usageCount <= 0")
+  int deleteUnusedTags(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames);
+
+  // 사용 수 보정을 회원 범위 단위로 나누기 위한 키 목록
+  @Query(value = "SELECT DISTINCT member_id FROM tag WHERE member_id > :afterMemberId ORDER BY member_id LIMIT :limit", nativeQuery = true)
+  List<Long> findMemberIdsAfter(@Param("afterMemberId") Long afterMemberId, @Param("limit") int limit);
+
+  // 보정하는 동안 같은 범위의 +1/-1 갱신이 끼어들지 않도록 태그 행을 먼저 잠금
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT t FROM Tag t WHERE t.memberId BETWEEN :fromMemberId AND :toMemberId")
+  List<Tag> lockByMemberIdRange(@Param("fromMemberId") Long fromMemberId, @Param("toMemberId") Long toMemberId);
+
+  // 카운터가 실제 연결 수와 어긋난 태그 보정 (영구 삭제 cascade 등 카운터를 거치지 않는 삭제 대비)
+  @Modifying(clearAutomatically = true)
+  @Query(value = "UPDATE tag t SET t.usage_count = " +
+                 "(SELECT COUNT(*) FROM card_tag ct WHERE ct.member_id = t.member_id AND ct.tag_name = t.tag_name) + " +
+                 "(SELECT COUNT(*) FROM note_tag nt WHERE nt.member_id = t.member_id AND nt.tag_name = t.tag_name) " +
+                 "WHERE t.member_id BETWEEN :fromMemberId AND :toMemberId", nativeQuery = true)
+  int reconcileUsageCount(@Param("fromMemberId") Long fromMemberId, @Param("toMemberId") Long toMemberId);
+
+  @Query("SELECT t FROM Tag t WHERE t.memberId BETWEEN :fromMemberId AND :toMemberId AND t.usageCount <= 0")
+  List<Tag> findUnusedByMemberIdRange(@Param("fromMemberId") Long fromMemberId, @Param("toMemberId") Long toMemberId);
+
+  List<Tag> findByMemberIdAndCreatedAtAfter(Long memberId, LocalDateTime since);
+
+  // created_at 컬럼 추가 전에 만들어진 태그는 NULL이라 변경분 조회에 걸리지 않으므로 현재 시각으로 채움
+  @Modifying
+  @Query(value = "UPDATE tag SET created_at = NOW(6) WHERE created_at IS NULL", nativeQuery = true)
+  int backfillCreatedAt();
+
+  // 일괄 적용/이름 변경 전에 태그 행만 먼저 만들어 둠 (사용 수는 recountUsage로 맞춤)
+  @Modifying
+  @Query(value = "INSERT IGNORE INTO tag (tag_name, member_id, usage_count, created_at) VALUES (:tagName, :memberId, 0, NOW(6))", nativeQuery = true)
+  int insertIgnore(@Param("memberId") Long memberId, @Param("tagName") String tagName);
+
+  // 일괄 적용/이름 변경처럼 연결이 한꺼번에 바뀐 태그만 실제 연결 수로 다시 계산
+  @Modifying
+  @Query(value = "UPDATE tag t SET t.usage_count = " +
+                 "(SELECT COUNT(*) FROM card_tag ct WHERE ct.member_id = t.member_id AND ct.tag_name = t.tag_name) + " +
+                 "(SELECT COUNT(*) FROM note_tag nt WHERE nt.member_id = t.member_id AND nt.tag_name = t.tag_name) " +
+                 "WHERE t.member_id = :memberId AND t.tag_name IN (:tagNames)", nativeQuery = true)
+  int recountUsage(@Param("memberId") Long memberId, @Param("tagNames") Collection<String> tagNames);
 }
@@ -0,0 +1,123 @@
+package com.cooltomato.pomki.tag.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.cardtag.entity.CardTag;
+import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
+import com.cooltomato.pomki.global.cache.BoundedCache;
+import com.cooltomato.pomki.global.transaction.AfterCommit;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.notetag.entity.NoteTag;
+import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
+
+/**
+ * 회원별 카드/노트 태그 비트맵을 담는 크기 제한 LRU 캐시
+ * 처음 조회할 때 한 번 만들고, 이후 태그 연결과 카드/노트 생성·삭제는 캐시에 올라와 있는 회원만 비트맵을 직접 고친다.
+ * 덱 삭제/복제, 휴지통 이동처럼 한 번에 많이 바뀌는 경우와 다른 서버에서 바뀐 경우는 evict 또는 TTL로 다시 만든다.
+ * 변경과 evict는 호출한 트랜잭션이 커밋된 뒤에 반영하고(롤백되면 버림), 그 사이 읽기 시작한 비트맵은 캐시에 넣지 않는다.
+ */
+@Component
+public class TagBitmapCache {
+
+  private final CardRepository cardRepository ;
+  private final CardTagRepository cardTagRepository ;
+  private final NoteRepository noteRepository ;
+  private final NoteTagRepository noteTagRepository ;
+
+  private final BoundedCache<Long, MemberBitmaps> cache ;
+
+  public TagBitmapCache(CardRepository cardRepository,
+                        CardTagRepository cardTagRepository,
+                        NoteRepository noteRepository,
+                        NoteTagRepository noteTagRepository,
+                        @Value("${pomki.tag.bitmap.cache-size:1000}") int maxSize,
+                        @Value("${pomki.tag.bitmap.ttl-seconds:600}") long ttlSeconds) {
+    this.cardRepository = cardRepository ;
+    this.cardTagRepository = cardTagRepository ;
+    this.noteRepository = noteRepository ;
+    this.noteTagRepository = noteTagRepository ;
+    this.cache = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds)) ;
+  }
+
+  public List<Long> queryCardIds(Long memberId, TagQuery query) {
+    return get(memberId).cards.query(query) ;
+  }
+
+  public List<String> queryNoteIds(Long memberId, TagQuery query) {
+    return get(memberId).notes.query(query) ;
+  }
+
+  public void cardAdded(Long memberId, Long cardId) {
+    ifCached(memberId, bitmaps -> bitmaps.cards.addItem(cardId)) ;
+  }
+
+  public void cardRemoved(Long memberId, Long cardId) {
+    ifCached(memberId, bitmaps -> bitmaps.cards.removeItem(cardId)) ;
+  }
+
+  public void cardTagAdded(Long memberId, Long cardId, String tagName) {
+    ifCached(memberId, bitmaps -> bitmaps.cards.addTag(cardId, tagName)) ;
+  }
+
+  public void cardTagRemoved(Long memberId, Long cardId, String tagName) {
+    ifCached(memberId, bitmaps -> bitmaps.cards.removeTag(cardId, tagName)) ;
+  }
+
+  public void noteAdded(Long memberId, String noteId) {
+    ifCached(memberId, bitmaps -> bitmaps.notes.addItem(noteId)) ;
+  }
+
+  public void noteRemoved(Long memberId, String noteId) {
+    ifCached(memberId, bitmaps -> bitmaps.notes.removeItem(noteId)) ;
+  }
+
+  public void noteTagAdded(Long memberId, String noteId, String tagName) {
+    ifCached(memberId, bitmaps -> bitmaps.notes.addTag(noteId, tagName)) ;
+  }
+
+  public void noteTagRemoved(Long memberId, String noteId, String tagName) {
+    ifCached(memberId, bitmaps -> bitmaps.notes.removeTag(noteId, tagName)) ;
+  }
+
+  public void evict(Long memberId) {
+    AfterCommit.run(() -> cache.remove(memberId)) ;
+  }
+
+  // DB 조회는 캐시 락 밖에서 수행
+  private MemberBitmaps get(Long memberId) {
+    return cache.get(memberId, () -> load(memberId)) ;
+  }
+
+  private void ifCached(Long memberId, Consumer<MemberBitmaps> update) {
+    AfterCommit.run(() -> {
+      MemberBitmaps bitmaps = cache.modify(memberId) ;
+      if (bitmaps != null) {
+        update.accept(bitmaps) ;
+      }
+    }) ;
+  }
+
+  private MemberBitmaps load(Long memberId) {
+    MemberBitmaps bitmaps = new MemberBitmaps() ;
+    cardRepository.findActiveCardIdsByMemberId(memberId).forEach(bitmaps.cards::addItem) ;
+    for (CardTag cardTag : cardTagRepository.findByMemberId(memberId)) {
+      bitmaps.cards.addTag(cardTag.getCardId(), cardTag.getTagName()) ;
+    }
+    noteRepository.findActiveNoteIdsByMemberId(memberId).forEach(bitmaps.notes::addItem) ;
+    for (NoteTag noteTag : noteTagRepository.findByMemberId(memberId)) {
+      bitmaps.notes.addTag(noteTag.getNoteId(), noteTag.getTagName()) ;
+    }
+    return bitmaps ;
+  }
+
+  private static final class MemberBitmaps {
+    private final TagBitmapIndex<Long> cards = new TagBitmapIndex<>() ;
+    private final TagBitmapIndex<String> notes = new TagBitmapIndex<>() ;
+  }
+}
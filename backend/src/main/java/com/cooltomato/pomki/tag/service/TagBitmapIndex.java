@@ -0,0 +1,91 @@
+package com.cooltomato.pomki.tag.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원 한 명의 카드(또는 노트) 태그 비트맵 인덱스
+ * 카드/노트 ID에 0부터 촘촘한 순번을 매기고, 태그마다 순번 비트맵을 둔다.
+ * 순번이 회원 단위로 촘촘하므로 ID 값이 커도 비트맵 크기는 회원이 가진 항목 수에 비례한다.
+ * 삭제된 항목의 순번은 비워 두었다가 다음에 추가되는 항목에 다시 배정해 비트맵이 계속 늘어나지 않게 한다.
+ */
+public final class TagBitmapIndex<K> {
+
+  private final Map<K, Integer> ordinals = new HashMap<>() ;
+  private final List<K> keys = new ArrayList<>() ;
+  // 삭제된 항목에서 반납된 순번 (비트가 모두 꺼진 상태)
+  private final BitSet freeOrdinals = new BitSet() ;
+  private final BitSet live = new BitSet() ;
+  private final Map<String, BitSet> bitmapsByTag = new HashMap<>() ;
+
+  public synchronized void addItem(K key) {
+    live.set(ordinalOf(key)) ;
+  }
+
+  public synchronized void removeItem(K key) {
+    Integer ordinal = ordinals.get(key) ;
+    if (ordinal == null) {
+      return ;
+    }
+    live.clear(ordinal) ;
+    bitmapsByTag.values().removeIf(bitmap -> {
+      bitmap.clear(ordinal) ;
+      return bitmap.isEmpty() ;
+    }) ;
+    ordinals.remove(key) ;
+    keys.set(ordinal, null) ;
+    freeOrdinals.set(ordinal) ;
+  }
+
+  public synchronized void addTag(K key, String tagName) {
+    bitmapsByTag.computeIfAbsent(tagName, name -> new BitSet()).set(ordinalOf(key)) ;
+  }
+
+  public synchronized void removeTag(K key, String tagName) {
+    Integer ordinal = ordinals.get(key) ;
+    BitSet bitmap = bitmapsByTag.get(tagName) ;
+    if (ordinal == null || bitmap == null) {
+      return ;
+    }
+    bitmap.clear(ordinal) ;
+    if (bitmap.isEmpty()) {
+      bitmapsByTag.remove(tagName) ;
+    }
+  }
+
+  // 태그 검색식을 비트맵 연산으로 평가해 살아 있는 항목 ID만 반환
+  public synchronized List<K> query(TagQuery query) {
+    BitSet result = query.evaluate(tagName -> {
+      BitSet bitmap = bitmapsByTag.get(tagName) ;
+      return bitmap == null ? new BitSet() : (BitSet) bitmap.clone() ;
+    }, (BitSet) live.clone()) ;
+    result.and(live) ;
+
+    List<K> matched = new ArrayList<>(result.cardinality()) ;
+    for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+      matched.add(keys.get(ordinal)) ;
+    }
+    return matched ;
+  }
+
+  private int ordinalOf(K key) {
+    Integer ordinal = ordinals.get(key) ;
+    if (ordinal != null) {
+      return ordinal ;
+    }
+    int free = freeOrdinals.nextSetBit(0) ;
+    if (free >= 0) {
+      freeOrdinals.clear(free) ;
+      keys.set(free, key) ;
+      ordinal = free ;
+    } else {
+      ordinal = keys.size() ;
+      keys.add(key) ;
+    }
+    ordinals.put(key, ordinal) ;
+    return ordinal ;
+  }
+}
@@ -0,0 +1,166 @@
+package com.cooltomato.pomki.tag.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * AND / OR / NOT 과 괄호를 지원하는 태그 검색식
+ * 예) grammar AND NOT easy, (toeic OR toefl) AND "voca list"
+ * 공백이 들어간 태그는 큰따옴표로 감싼다. 우선순위는 NOT > AND > OR.
+ */
+public abstract class TagQuery {
+
+  /**
+   * @param tagBitmap 태그 이름 -> 해당 태그 항목 비트맵 (호출마다 새 객체)
+   * @param universe 전체 살아 있는 항목 비트맵 (NOT 계산용, 새 객체)
+   */
+  public abstract BitSet evaluate(Function<String, BitSet> tagBitmap, BitSet universe) ;
+
+  public static TagQuery parse(String expression) {
+    if (expression == null || expression.isBlank()) {
+      throw new IllegalArgumentException("태그 검색식이 비어 있습니다.") ;
+    }
+    Parser parser = new Parser(tokenize(expression)) ;
+    TagQuery query = parser.parseOr() ;
+    if (parser.hasNext()) {
+      throw new IllegalArgumentException("잘못된 태그 검색식입니다: " + expression) ;
+    }
+    return query ;
+  }
+
+  public static TagQuery tag(String tagName) {
+    return new TagQuery() {
+      @Override
+      public BitSet evaluate(Function<String, BitSet> tagBitmap, BitSet universe) {
+        return tagBitmap.apply(tagName) ;
+      }
+    } ;
+  }
+
+  private static TagQuery and(TagQuery left, TagQuery right) {
+    return new TagQuery() {
+      @Override
+      public BitSet evaluate(Function<String, BitSet> tagBitmap, BitSet universe) {
+        BitSet result = left.evaluate(tagBitmap, universe) ;
+        result.and(right.evaluate(tagBitmap, (BitSet) universe.clone())) ;
+        return result ;
+      }
+    } ;
+  }
+
+  private static TagQuery or(TagQuery left, TagQuery right) {
+    return new TagQuery() {
+      @Override
+      public BitSet evaluate(Function<String, BitSet> tagBitmap, BitSet universe) {
+        BitSet result = left.evaluate(tagBitmap, universe) ;
+        result.or(right.evaluate(tagBitmap, (BitSet) universe.clone())) ;
+        return result ;
+      }
+    } ;
+  }
+
+  private static TagQuery not(TagQuery operand) {
+    return new TagQuery() {
+      @Override
+      public BitSet evaluate(Function<String, BitSet> tagBitmap, BitSet universe) {
+        BitSet result = (BitSet) universe.clone() ;
+        result.andNot(operand.evaluate(tagBitmap, universe)) ;
+        return result ;
+      }
+    } ;
+  }
+
+  private static List<String> tokenize(String expression) {
+    List<String> tokens = new ArrayList<>() ;
+    int i = 0 ;
+    while (i < expression.length()) {
+      char c = expression.charAt(i) ;
+      if (Character.isWhitespace(c)) {
+        i++ ;
+      } else if (c == '(' || c == ')') {
+        tokens.add(String.valueOf(c)) ;
+        i++ ;
+      } else if (c == '"') {
+        int end = expression.indexOf('"', i + 1) ;
+        if (end < 0) {
+          throw new IllegalArgumentException("따옴표가 닫히지 않았습니다: " + expression) ;
+        }
+        // 따옴표로 감싼 태그는 연산자와 구분하기 위해 앞에 따옴표를 남겨 둠
+        tokens.add("\"" + expression.substring(i + 1, end)) ;
+        i = end + 1 ;
+      } else {
+        int start = i ;
+        while (i < expression.length() && !Character.isWhitespace(expression.charAt(i))
+                && expression.charAt(i) != '(' && expression.charAt(i) != ')') {
+          i++ ;
+        }
+        tokens.add(expression.substring(start, i)) ;
+      }
+    }
+    return tokens ;
+  }
+
+  private static final class Parser {
+    private final List<String> tokens ;
+    private int position = 0 ;
+
+    private Parser(List<String> tokens) {
+      this.tokens = tokens ;
+    }
+
+    private boolean hasNext() {
+      return position < tokens.size() ;
+    }
+
+    private boolean accept(String keyword) {
+      if (hasNext() && tokens.get(position).equalsIgnoreCase(keyword)) {
+        position++ ;
+        return true ;
+      }
+      return false ;
+    }
+
+    private TagQuery parseOr() {
+      TagQuery query = parseAnd() ;
+      while (accept("OR")) {
+        query = or(query, parseAnd()) ;
+      }
+      return query ;
+    }
+
+    private TagQuery parseAnd() {
+      TagQuery query = parseNot() ;
+      while (accept("AND")) {
+        query = and(query, parseNot()) ;
+      }
+      return query ;
+    }
+
+    private TagQuery parseNot() {
+      if (accept("NOT")) {
+        return not(parseNot()) ;
+      }
+      return parsePrimary() ;
+    }
+
+    private TagQuery parsePrimary() {
+      if (!hasNext()) {
+        throw new IllegalArgumentException("태그 검색식이 완성되지 않았습니다.") ;
+      }
+      if (accept("(")) {
+        TagQuery query = parseOr() ;
+        if (!accept(")")) {
+          throw new IllegalArgumentException("괄호가 닫히지 않았습니다.") ;
+        }
+        return query ;
+      }
+      String token = tokens.get(position++) ;
+      if (token.equals(")") || token.equalsIgnoreCase("AND") || token.equalsIgnoreCase("OR")) {
+        throw new IllegalArgumentException("잘못된 위치의 연산자입니다: " + token) ;
+      }
+      return tag(token.startsWith("\"") ? token.substring(1) : token) ;
+    }
+  }
+}
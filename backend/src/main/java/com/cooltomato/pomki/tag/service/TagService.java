@@ -1,11 +1,28 @@
 package com.cooltomato.pomki.tag.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
+import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.cardtag.repository.CardTagRepository;
+import com.cooltomato.pomki.global.exception.NotFoundException;
+import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.notetag.repository.NoteTagRepository;
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+import com.cooltomato.pomki.sync.service.SyncService;
+import com.cooltomato.pomki.tag.dto.TagBulkApplyRequestDto;
+import com.cooltomato.pomki.tag.dto.TagBulkApplyResponseDto;
+import com.cooltomato.pomki.tag.dto.TagRenameRequestDto;
 import com.cooltomato.pomki.tag.dto.TagResponseDto;
 import com.cooltomato.pomki.tag.entity.Tag;
 import com.cooltomato.pomki.tag.repository.TagRepository;
@@ -19,6 +36,17 @@ import lombok.extern.slf4j.Slf4j;
 public class TagService {
 
   private final TagRepository tagRepository ;
+  private final SyncService syncService ;
+  private final TagSuggestCache tagSuggestCache ;
+  private final TagBitmapCache tagBitmapCache ;
+  private final CardTagRepository cardTagRepository ;
+  private final NoteTagRepository noteTagRepository ;
+  private final CardRepository cardRepository ;
+  private final NoteRepository noteRepository ;
+  private final TransactionTemplate transactionTemplate ;
+
+  @Value("${pomki.tag.usage-count-reconcile-batch-size:200}")
+  private int reconcileBatchSize ;
 
 
   public List<TagResponseDto> readAllNoteTagService(PrincipalMember principal) {
@@ -28,10 +56,260 @@ public class TagService {
                                                         .map(tag -> TagResponseDto.builder()
                                                         .tagName(tag.getTagName())
                                                         .memberId(tag.getMemberId())
+                                                        .usageCount(tag.getUsageCount())
                                                         .build())
                                                         .collect(Collectors.toList()) ;
     
     return response ;
   }
+
+  // 태그 자동완성: 접두어로 시작하는 태그를 사용 수가 많은 순으로 limit개
+  public List<TagResponseDto> suggestTagsService(PrincipalMember principal, String prefix, int limit) {
+    Long memberId = principal.getMemberId() ;
+    TagSuggestIndex index = tagSuggestCache.get(memberId, () -> new TagSuggestIndex(tagRepository.findByMemberId(memberId))) ;
+    return index.suggest(prefix == null ? "" : prefix, Math.min(Math.max(1, limit), 50)).stream()
+                .map(suggestion -> TagResponseDto.builder()
+                        .tagName(suggestion.tagName())
+                        .memberId(memberId)
+                        .usageCount(suggestion.usageCount())
+                        .build())
+                .collect(Collectors.toList()) ;
+  }
+
+  // 태그 일괄 적용: 카드/노트 수와 관계없이 태그 수 + 몇 개의 INSERT IGNORE ... SELECT / UPDATE로 처리
+  @Transactional
+  public TagBulkApplyResponseDto bulkApplyService(PrincipalMember principal, TagBulkApplyRequestDto request) {
+    Long memberId = principal.getMemberId() ;
+    List<String> tagNames = request.getTagNames() == null ? List.of()
+            : request.getTagNames().stream().map(this::normalizeTagName).distinct().toList() ;
+    if (tagNames.isEmpty()) {
+      throw new IllegalArgumentException("적용할 태그를 입력해주세요.") ;
+    }
+    List<Long> cardIds = request.getCardIds() == null ? List.of()
+            : request.getCardIds().stream().filter(Objects::nonNull).distinct().toList() ;
+    List<String> noteIds = request.getNoteIds() == null ? List.of()
+            : request.getNoteIds().stream().filter(Objects::nonNull).distinct().toList() ;
+    boolean hasDeck = request.getDeckId() != null && !request.getDeckId().isBlank() ;
+    if (cardIds.isEmpty() && noteIds.isEmpty() && !hasDeck) {
+      throw new IllegalArgumentException("태그를 적용할 카드 또는 노트를 선택해주세요.") ;
+    }
+    log.info("debug >>> 태그 일괄 적용 시작, 태그: {}, 카드: {}개, 노트: {}개, 덱: {}", tagNames, cardIds.size(), noteIds.size(), request.getDeckId()) ;
+
+    // 연결 INSERT ... SELECT가 tag 행과 조인하므로 태그 행을 먼저 만듦
+    for (String tagName : tagNames) {
+      tagRepository.insertIgnore(memberId, tagName) ;
+    }
+
+    int appliedCardTags = 0 ;
+    if (!cardIds.isEmpty()) {
+      int applied = cardTagRepository.bulkInsertIgnore(memberId, tagNames, cardIds) ;
+      if (applied > 0) {
+        cardRepository.touchByCardIds(memberId, cardIds) ;
+      }
+      appliedCardTags += applied ;
+    }
+    if (hasDeck) {
+      int applied = cardTagRepository.bulkInsertIgnoreByDeckId(memberId, tagNames, request.getDeckId()) ;
+      if (applied > 0) {
+        cardRepository.touchByDeckId(memberId, request.getDeckId()) ;
+      }
+      appliedCardTags += applied ;
+    }
+    int appliedNoteTags = 0 ;
+    if (!noteIds.isEmpty()) {
+      appliedNoteTags = noteTagRepository.bulkInsertIgnore(memberId, tagNames, noteIds) ;
+      if (appliedNoteTags > 0) {
+        noteRepository.touchByNoteIds(memberId, noteIds) ;
+      }
+    }
+
+    tagRepository.recountUsage(memberId, tagNames) ;
+    // 대상이 하나도 없어 연결되지 않은 새 태그는 다시 삭제
+    deleteUnusedTags(memberId, tagNames) ;
+    tagSuggestCache.evict(memberId) ;
+    tagBitmapCache.evict(memberId) ;
+    log.info("debug >>> 태그 일괄 적용 완료, 카드 태그 {}건, 노트 태그 {}건", appliedCardTags, appliedNoteTags) ;
+
+    return TagBulkApplyResponseDto.builder()
+            .tagNames(tagNames)
+            .appliedCardTags(appliedCardTags)
+            .appliedNoteTags(appliedNoteTags)
+            .build() ;
+  }
+
+  // 태그 이름 변경: 새 이름이 이미 있으면 두 태그를 합침 (연결 수와 관계없이 UPDATE 몇 번으로 처리)
+  @Transactional
+  public TagResponseDto renameTagService(PrincipalMember principal, String rawTagName, TagRenameRequestDto request) {
+    Long memberId = principal.getMemberId() ;
+    // 경로로 받은 현재 이름도 본문의 새 이름과 같은 규칙으로 정리해 비교/조회
+    String tagName = normalizeTagName(rawTagName) ;
+    String newTagName = normalizeTagName(request.getNewTagName()) ;
+    if (newTagName.equals(tagName)) {
+      throw new IllegalArgumentException("현재 태그 이름과 같습니다.") ;
+    }
+    // 대소문자를 구분하지 않는 collation에서는 같은 키로 취급되어 합치기 과정에서 연결이 지워질 수 있음
+    if (newTagName.equalsIgnoreCase(tagName)) {
+      throw new IllegalArgumentException("대소문자만 다른 이름으로는 변경할 수 없습니다.") ;
+    }
+    tagRepository.findByMemberIdAndTagName(memberId, tagName)
+            .orElseThrow(() -> new NotFoundException("태그를 찾을 수 없습니다.")) ;
+    log.info("debug >>> 태그 이름 변경 시작: {} -> {}", tagName, newTagName) ;
+
+    tagRepository.insertIgnore(memberId, newTagName) ;
+
+    // 태그 목록도 카드/노트의 일부로 동기화되므로 이름을 바꾸기 전에 수정 시각 갱신
+    cardRepository.touchByTagName(memberId, tagName) ;
+    noteRepository.touchByTagName(memberId, tagName) ;
+
+    // 새 이름이 이미 붙어 있던 연결은 UPDATE IGNORE에서 건너뛰므로 남은 옛 이름 연결은 삭제
+    cardTagRepository.renameTag(memberId, tagName, newTagName) ;
+    cardTagRepository.deleteByMemberIdAndTagName(memberId, tagName) ;
+    noteTagRepository.renameTag(memberId, tagName, newTagName) ;
+    noteTagRepository.deleteByMemberIdAndTagName(memberId, tagName) ;
+
+    tagRepository.recountUsage(memberId, List.of(tagName, newTagName)) ;
+    // 옛 태그 삭제 (동기화 삭제 기록 포함)
+    deleteUnusedTags(memberId, List.of(tagName)) ;
+    tagSuggestCache.evict(memberId) ;
+    tagBitmapCache.evict(memberId) ;
+
+    Tag renamed = tagRepository.findByMemberIdAndTagName(memberId, newTagName)
+            .orElseThrow(() -> new NotFoundException("태그를 찾을 수 없습니다.")) ;
+    log.info("debug >>> 태그 이름 변경 완료: {} -> {}, 사용 수: {}", tagName, newTagName, renamed.getUsageCount()) ;
+    return TagResponseDto.builder()
+            .tagName(renamed.getTagName())
+            .memberId(memberId)
+            .usageCount(renamed.getUsageCount())
+            .build() ;
+  }
+
+  private String normalizeTagName(String tagName) {
+    if (tagName == null || tagName.isBlank()) {
+      throw new IllegalArgumentException("태그 이름을 입력해주세요.") ;
+    }
+    String normalized = tagName.trim() ;
+    if (normalized.length() > 50) {
+      throw new IllegalArgumentException("태그 이름은 50자 이하로 입력해주세요.") ;
+    }
+    return normalized ;
+  }
+
+  // 카드/노트에 태그 연결이 새로 생겼을 때 호출 (태그가 없으면 생성)
+  @Transactional
+  public void acquireTag(Long memberId, String tagName) {
+    tagRepository.incrementUsage(memberId, tagName) ;
+    tagSuggestCache.evict(memberId) ;
+  }
+
+  // 덱 복제/병합으로 복사된 카드 태그만큼 사용 수 증가
+  @Transactional
+  public void acquireTagsForCopiedCards(Long memberId, String batchId) {
+    tagRepository.incrementUsageForCopiedCards(batchId) ;
+    tagSuggestCache.evict(memberId) ;
+    // 복사된 카드는 ID를 따로 알 수 없으므로 태그 비트맵은 다시 만든다
+    tagBitmapCache.evict(memberId) ;
+  }
+
+  // 덱 삭제 시 덱 카드에 붙은 태그 수만큼 사용 수 감소 (카드 태그 연결을 지우기 전에 호출)
+  @Transactional
+  public void releaseTagsOfDeck(Long memberId, String deckId) {
+    tagRepository.decrementUsageByDeckId(deckId) ;
+    tagSuggestCache.evict(memberId) ;
+    tagBitmapCache.evict(memberId) ;
+  }
+
+  // 덱 영구 삭제 시 덱 엔티티를 지우기 전에 호출 (cascade로 지워지는 카드 태그 연결을 먼저 지우고 같은 트랜잭션에서 사용 수 감소)
+  @Transactional
+  public void purgeTagsOfDeck(Long memberId, String deckId) {
+    List<String> tagNames = cardTagRepository.findDistinctTagNameOfAllCardsByDeckId(deckId) ;
+    if (tagNames.isEmpty()) {
+      return ;
+    }
+    tagRepository.decrementUsageOfAllCardsByDeckId(deckId) ;
+    cardTagRepository.deleteAllCardsByDeckId(deckId) ;
+    tagSuggestCache.evict(memberId) ;
+    tagBitmapCache.evict(memberId) ;
+    deleteUnusedTags(memberId, tagNames) ;
+  }
+
+  // 카드 영구 삭제 시 카드 엔티티를 지우기 전에 호출
+  @Transactional
+  public void purgeTagsOfCard(Long memberId, Long cardId) {
+    List<String> tagNames = cardTagRepository.findTagNameByCardId(cardId, memberId) ;
+    cardTagRepository.deleteByCardId(cardId) ;
+    releaseTags(memberId, tagNames) ;
+  }
+
+  // 노트 영구 삭제 시 노트 엔티티를 지우기 전에 호출
+  @Transactional
+  public void purgeTagsOfNote(Long memberId, String noteId) {
+    List<String> tagNames = noteTagRepository.findTagNameByNoteIdAndMemberId(noteId, memberId) ;
+    noteTagRepository.deleteByNoteId(noteId) ;
+    releaseTags(memberId, tagNames) ;
+  }
+
+  // 카드/노트에서 태그 연결이 삭제됐을 때 호출, 더 이상 쓰이지 않는 태그는 삭제
+  @Transactional
+  public void releaseTags(Long memberId, Collection<String> tagNames) {
+    if (tagNames.isEmpty()) {
+      return ;
+    }
+    tagRepository.decrementUsage(memberId, tagNames) ;
+    tagSuggestCache.evict(memberId) ;
+    deleteUnusedTags(memberId, tagNames) ;
+  }
+
+  // 사용 수가 0이 된 태그만 삭제 (count 쿼리 없이 usage_count로 판단)
+  @Transactional
+  public void deleteUnusedTags(Long memberId, Collection<String> tagNames) {
+    if (tagNames.isEmpty()) {
+      return ;
+    }
+    List<String> unusedTagNames = tagRepository.findUnusedTagNames(memberId, tagNames) ;
+    if (unusedTagNames.isEmpty()) {
+      return ;
+    }
+    tagRepository.deleteUnusedTags(memberId, unusedTagNames) ;
+    tagSuggestCache.evict(memberId) ;
+    syncService.recordDeletions(memberId, SyncEntityType.TAG, unusedTagNames) ;
+    log.info("debug >>> 사용되지 않는 태그 삭제: {}", unusedTagNames) ;
+  }
+
+  // 사용 수는 연결을 바꾸는 트랜잭션에서 바로 맞추므로 이 작업은 안전망: 주기적으로 실제 연결 수에 맞춰 보정하고, 보정 결과 쓰이지 않는 태그는 삭제
+  // 전체 테이블을 한 번에 갱신하지 않고 회원 범위별로 태그 행을 잠근 짧은 트랜잭션으로 나눠 처리
+  @Scheduled(cron = "${pomki.tag.usage-count-reconcile-cron:0 45 3 * * ?}")
+  public void reconcileUsageCounts() {
+    int updated = 0 ;
+    int deleted = 0 ;
+    Long afterMemberId = 0L ;
+    while (true) {
+      List<Long> memberIds = tagRepository.findMemberIdsAfter(afterMemberId, reconcileBatchSize) ;
+      if (memberIds.isEmpty()) {
+        break ;
+      }
+      Long fromMemberId = memberIds.get(0) ;
+      Long toMemberId = memberIds.get(memberIds.size() - 1) ;
+      int[] result = transactionTemplate.execute(status -> reconcileRange(fromMemberId, toMemberId)) ;
+      updated += result[0] ;
+      deleted += result[1] ;
+      afterMemberId = toMemberId ;
+    }
+    tagSuggestCache.clear() ;
+    log.info("debug >>> 태그 사용 수 보정 완료: {}건, 삭제된 태그: {}건", updated, deleted) ;
+  }
+
+  private int[] reconcileRange(Long fromMemberId, Long toMemberId) {
+    tagRepository.lockByMemberIdRange(fromMemberId, toMemberId) ;
+    int updated = tagRepository.reconcileUsageCount(fromMemberId, toMemberId) ;
+
+    Map<Long, List<String>> unusedByMember = tagRepository.findUnusedByMemberIdRange(fromMemberId, toMemberId).stream()
+        .collect(Collectors.groupingBy(Tag::getMemberId, Collectors.mapping(Tag::getTagName, Collectors.toList()))) ;
+    int deleted = 0 ;
+    for (Map.Entry<Long, List<String>> entry : unusedByMember.entrySet()) {
+      deleted += tagRepository.deleteUnusedTags(entry.getKey(), entry.getValue()) ;
+      syncService.recordDeletions(entry.getKey(), SyncEntityType.TAG, entry.getValue()) ;
+    }
+    return new int[] {updated, deleted} ;
+  }
     
 }
@@ -0,0 +1,39 @@
+package com.cooltomato.pomki.tag.service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cooltomato.pomki.global.cache.BoundedCache;
+import com.cooltomato.pomki.global.transaction.AfterCommit;
+
+/**
+ * 회원별 태그 자동완성 인덱스를 담는 크기 제한 LRU 캐시
+ * 태그가 바뀌면 해당 회원 항목을 비우고, 다른 서버에서 바뀐 경우를 대비해 TTL이 지나면 다시 만든다.
+ * 비우기는 호출한 트랜잭션이 커밋된 뒤에 수행하고, 비우기 전에 읽기 시작한 인덱스는 다시 넣지 않는다.
+ */
+@Component
+public class TagSuggestCache {
+
+  private final BoundedCache<Long, TagSuggestIndex> cache ;
+
+  public TagSuggestCache(@Value("${pomki.tag.suggest.cache-size:1000}") int maxSize,
+                         @Value("${pomki.tag.suggest.ttl-seconds:300}") long ttlSeconds) {
+    this.cache = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds)) ;
+  }
+
+  // DB 조회는 캐시 락 밖에서 수행
+  public TagSuggestIndex get(Long memberId, Supplier<TagSuggestIndex> loader) {
+    return cache.get(memberId, loader) ;
+  }
+
+  public void evict(Long memberId) {
+    AfterCommit.run(() -> cache.remove(memberId)) ;
+  }
+
+  public void clear() {
+    AfterCommit.run(cache::clear) ;
+  }
+}
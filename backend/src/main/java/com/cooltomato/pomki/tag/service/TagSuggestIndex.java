@@ -0,0 +1,78 @@
+package com.cooltomato.pomki.tag.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+import com.cooltomato.pomki.tag.entity.Tag;
+
+/**
+ * 회원 한 명의 태그 자동완성 인덱스
+ * 소문자로 정규화한 태그 이름을 정렬된 배열로 들고 있고, 접두어의 시작 위치를 이진 탐색으로 찾은 뒤
+ * 같은 접두어 구간만 훑으면서 사용 수가 큰 상위 k개를 고른다. 생성 후에는 변경하지 않는다.
+ */
+public final class TagSuggestIndex {
+
+  private final String[] keys ;
+  private final String[] tagNames ;
+  private final long[] usageCounts ;
+
+  public TagSuggestIndex(List<Tag> tags) {
+    Tag[] sorted = tags.toArray(new Tag[0]) ;
+    Arrays.sort(sorted, Comparator.comparing(tag -> normalize(tag.getTagName()))) ;
+    this.keys = new String[sorted.length] ;
+    this.tagNames = new String[sorted.length] ;
+    this.usageCounts = new long[sorted.length] ;
+    for (int i = 0; i < sorted.length; i++) {
+      keys[i] = normalize(sorted[i].getTagName()) ;
+      tagNames[i] = sorted[i].getTagName() ;
+      usageCounts[i] = sorted[i].getUsageCount() == null ? 0 : sorted[i].getUsageCount() ;
+    }
+  }
+
+  // 접두어로 시작하는 태그 중 사용 수 상위 limit개 (사용 수 내림차순, 같으면 이름순)
+  public List<Suggestion> suggest(String prefix, int limit) {
+    String key = normalize(prefix) ;
+    Comparator<Integer> ranking = Comparator.<Integer>comparingLong(i -> usageCounts[i])
+                                            .thenComparing(i -> keys[i], Comparator.reverseOrder()) ;
+    PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking) ;
+    for (int i = lowerBound(key); i < keys.length && keys[i].startsWith(key); i++) {
+      top.offer(i) ;
+      if (top.size() > limit) {
+        top.poll() ;
+      }
+    }
+    List<Suggestion> result = new ArrayList<>(top.size()) ;
+    while (!top.isEmpty()) {
+      int i = top.poll() ;
+      result.add(new Suggestion(tagNames[i], usageCounts[i])) ;
+    }
+    Collections.reverse(result) ;
+    return result ;
+  }
+
+  private int lowerBound(String key) {
+    int low = 0 ;
+    int high = keys.length ;
+    while (low < high) {
+      int mid = (low + high) >>> 1 ;
+      if (keys[mid].compareTo(key) < 0) {
+        low = mid + 1 ;
+      } else {
+        high = mid ;
+      }
+    }
+    return low ;
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT) ;
+  }
+
+  public record Suggestion(String tagName, long usageCount) {
+  }
+}
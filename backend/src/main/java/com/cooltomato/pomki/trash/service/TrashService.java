@@ -3,13 +3,22 @@ package com.cooltomato.pomki.trash.service;
 import com.cooltomato.pomki.auth.dto.PrincipalMember;
 import com.cooltomato.pomki.card.entity.Card;
 import com.cooltomato.pomki.card.repository.CardRepository;
+import com.cooltomato.pomki.card.service.CardDuplicateService;
 import com.cooltomato.pomki.deck.entity.Deck;
 import com.cooltomato.pomki.deck.repository.DeckRepository;
 import com.cooltomato.pomki.global.exception.NotFoundException;
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+import com.cooltomato.pomki.link.service.LinkService;
 import com.cooltomato.pomki.member.entity.Member;
 import com.cooltomato.pomki.member.repository.MemberRepository;
 import com.cooltomato.pomki.note.entity.Note;
 import com.cooltomato.pomki.note.repository.NoteRepository;
+import com.cooltomato.pomki.note.repository.NoteRevisionRepository;
+import com.cooltomato.pomki.noteimage.repository.NoteImageRepository;
+import com.cooltomato.pomki.sync.entity.SyncEntityType;
+import com.cooltomato.pomki.sync.service.SyncService;
+import com.cooltomato.pomki.tag.service.TagBitmapCache;
+import com.cooltomato.pomki.tag.service.TagService;
 import com.cooltomato.pomki.trash.dto.TrashItemDto;
 import com.cooltomato.pomki.trash.dto.TrashResponseDto;
 import com.cooltomato.pomki.trash.entity.*;
@@ -37,7 +46,14 @@ public class TrashService {
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
     private final NoteRepository noteRepository;
+    private final NoteRevisionRepository noteRevisionRepository;
+    private final NoteImageRepository noteImageRepository;
     private final MemberRepository memberRepository;
+    private final SyncService syncService;
+    private final TagBitmapCache tagBitmapCache;
+    private final LinkService linkService;
+    private final CardDuplicateService cardDuplicateService;
+    private final TagService tagService;
     
     /**
      * 사용자의 쓰레기통 목록 조회
@@ -136,6 +152,7 @@ public class TrashService {
         // 덱을 삭제 상태로 변경
         deck.setIsDeleted(true);
         deckRepository.save(deck);
+        tagBitmapCache.evict(memberId);
         
         log.info("덱이 쓰레기통으로 이동되었습니다. deckId: {}, memberId: {}", deckId, memberId);
     }
@@ -155,6 +172,9 @@ public class TrashService {
         if (!card.getDeck().getMemberId().equals(memberId)) {
             throw new NotFoundException("카드에 대한 권한이 없습니다.");
         }
+        if (Boolean.TRUE.equals(card.getIsDeleted())) {
+            throw new NotFoundException("카드를 찾을 수 없습니다.");
+        }
         
         // Member 조회
         Member member = memberRepository.findById(memberId)
@@ -176,6 +196,9 @@ public class TrashService {
         // 카드를 삭제 상태로 변경
         card.setIsDeleted(true);
         cardRepository.save(card);
+        // 덱의 카드 개수도 같은 트랜잭션에서 원자적으로 감소 (덱이 이미 휴지통이면 0건 갱신, 복원 시 정합성 배치가 보정)
+        deckRepository.addCardCnt(memberId, card.getDeck().getDeckId(), -1);
+        tagBitmapCache.cardRemoved(memberId, cardId);
         
         log.info("카드가 쓰레기통으로 이동되었습니다. cardId: {}, memberId: {}", cardId, memberId);
     }
@@ -216,6 +239,7 @@ public class TrashService {
         // 노트를 삭제 상태로 변경
         note.setIsDeleted(true);
         noteRepository.save(note);
+        tagBitmapCache.noteRemoved(memberId, noteId);
         
         log.info("노트가 쓰레기통으로 이동되었습니다. noteId: {}, memberId: {}", noteId, memberId);
     }
@@ -248,9 +272,10 @@ public class TrashService {
         List<TrashCard> trashCards = trashCardRepository.findByIdTrashId(trashId);
         for (TrashCard trashCard : trashCards) {
             Optional<Card> card = cardRepository.findById(trashCard.getCardId());
-            if (card.isPresent()) {
+            if (card.isPresent() && Boolean.TRUE.equals(card.get().getIsDeleted())) {
                 card.get().setIsDeleted(false);
                 cardRepository.save(card.get());
+                deckRepository.addCardCnt(memberId, card.get().getDeck().getDeckId(), 1);
             }
         }
         
@@ -269,6 +294,7 @@ public class TrashService {
         trashCardRepository.deleteByIdTrashId(trashId);
         trashNoteRepository.deleteByIdTrashId(trashId);
         trashRepository.delete(trash);
+        tagBitmapCache.evict(memberId);
         
         log.info("쓰레기통에서 복원되었습니다. trashId: {}, memberId: {}", trashId, memberId);
     }
@@ -290,19 +316,38 @@ public class TrashService {
         // 덱 영구 삭제
         List<TrashDeck> trashDecks = trashDeckRepository.findByIdTrashId(trashId);
         for (TrashDeck trashDeck : trashDecks) {
+            // 덱과 함께 지워지는 카드의 링크도 정리
+            for (Long cardId : cardRepository.findCardIdsByDeckId(trashDeck.getDeckId())) {
+                linkService.removeNode(memberId, LinkNodeType.CARD, String.valueOf(cardId));
+            }
+            // 중복 탐지 시그니처/버킷은 카드 FK가 없으므로 덱의 카드가 지워지기 전에 직접 삭제
+            cardDuplicateService.removeDeck(trashDeck.getDeckId());
+            // cascade로 지워질 카드 태그 연결은 먼저 지우고 같은 트랜잭션에서 태그 사용 수 감소
+            tagService.purgeTagsOfDeck(memberId, trashDeck.getDeckId());
             deckRepository.deleteById(trashDeck.getDeckId());
+            syncService.recordDeletion(memberId, SyncEntityType.DECK, trashDeck.getDeckId());
         }
         
         // 카드 영구 삭제
         List<TrashCard> trashCards = trashCardRepository.findByIdTrashId(trashId);
         for (TrashCard trashCard : trashCards) {
+            cardDuplicateService.removeCard(trashCard.getCardId());
+            tagService.purgeTagsOfCard(memberId, trashCard.getCardId());
             cardRepository.deleteById(trashCard.getCardId());
+            syncService.recordDeletion(memberId, SyncEntityType.CARD, String.valueOf(trashCard.getCardId()));
+            linkService.removeNode(memberId, LinkNodeType.CARD, String.valueOf(trashCard.getCardId()));
         }
         
         // 노트 영구 삭제
         List<TrashNote> trashNotes = trashNoteRepository.findByIdTrashId(trashId);
         for (TrashNote trashNote : trashNotes) {
+            noteRevisionRepository.deleteByNoteId(trashNote.getNoteId());
+            // 이미지는 다른 노트 본문에서도 쓰일 수 있으므로 떼어 두고 정리 작업(ImageGarbageCollector)이 지움
+            noteImageRepository.detachFromNote(trashNote.getNoteId());
+            tagService.purgeTagsOfNote(memberId, trashNote.getNoteId());
             noteRepository.deleteById(trashNote.getNoteId());
+            syncService.recordDeletion(memberId, SyncEntityType.NOTE, trashNote.getNoteId());
+            linkService.removeNode(memberId, LinkNodeType.NOTE, trashNote.getNoteId());
         }
         
         // 쓰레기통에서 제거
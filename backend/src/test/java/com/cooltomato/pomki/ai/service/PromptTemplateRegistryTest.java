@@ -0,0 +1,54 @@
+package com.cooltomato.pomki.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptTemplateRegistryTest {
+
+    private final PromptTemplateRegistry registry = new PromptTemplateRegistry();
+
+    @Test
+    void 한_겹과_두_겹_중괄호_변수를_모두_치환() {
+        registry.register("Greeting", "안녕 {name}, 오늘은 {{day}} 입니다.");
+
+        assertThat(registry.render("Greeting", Map.of("name", "토마토", "day", "월요일")))
+                .isEqualTo("안녕 토마토, 오늘은 월요일 입니다.");
+    }
+
+    @Test
+    void 값_안의_중괄호_변수는_다시_치환하지_않는다() {
+        registry.register("Echo", "입력: {content} / 스타일: {style}");
+
+        assertThat(registry.render("Echo", Map.of("content", "{style} 그리고 {{style}}", "style", "간결")))
+                .isEqualTo("입력: {style} 그리고 {{style}} / 스타일: 간결");
+    }
+
+    @Test
+    void 넘기지_않은_변수와_JSON_중괄호는_원문_그대로() {
+        registry.register("Json", "{{missing}} {missing} {\"tags\": [\"{tag}\"]}");
+
+        assertThat(registry.render("Json", Map.of("tag", "자바")))
+                .isEqualTo("{{missing}} {missing} {\"tags\": [\"자바\"]}");
+    }
+
+    @Test
+    void 기본_이름으로_조회하면_최신_버전을_쓴다() {
+        registry.register("NotePolishingv2", "v2 {content}");
+        registry.register("NotePolishingv10", "v10 {content}");
+        registry.register("NotePolishingv1", "v1 {content}");
+
+        assertThat(registry.render("NotePolishing", Map.of("content", "본문"))).isEqualTo("v10 본문");
+        assertThat(registry.render("NotePolishing", 2, Map.of("content", "본문"))).isEqualTo("v2 본문");
+    }
+
+    @Test
+    void 파일명으로_조회하면_해당_파일을_쓴다() {
+        registry.register("QuizGenerationv1", "퀴즈 v1");
+        registry.register("QuizGenerationv2", "퀴즈 v2");
+
+        assertThat(registry.render("QuizGenerationv1", Map.of())).isEqualTo("퀴즈 v1");
+    }
+}
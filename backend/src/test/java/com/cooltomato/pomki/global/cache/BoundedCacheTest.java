@@ -0,0 +1,69 @@
+package com.cooltomato.pomki.global.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void 크기를_넘으면_가장_오래_쓰지_않은_항목을_버린다() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+    }
+
+    @Test
+    void TTL이_지난_항목은_없는_것으로_본다() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "1", Duration.ZERO);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("a", () -> "2")).isEqualTo("2");
+        assertThat(cache.get("a")).isEqualTo("2");
+    }
+
+    @Test
+    void 로딩_중에_삭제되면_읽어_온_값을_넣지_않는다() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        String loaded = cache.get("a", () -> {
+            cache.remove("a");
+            return "옛 값";
+        });
+
+        assertThat(loaded).isEqualTo("옛 값");
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void 로딩_중에_변경되면_읽어_온_값을_넣지_않는다() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("b", "1");
+
+        cache.get("a", () -> {
+            assertThat(cache.modify("b")).isEqualTo("1");
+            return "옛 값";
+        });
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("1");
+    }
+
+    @Test
+    void 전체_비우기() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.clear();
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
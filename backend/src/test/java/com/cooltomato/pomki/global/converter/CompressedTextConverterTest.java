@@ -0,0 +1,54 @@
+package com.cooltomato.pomki.global.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void 기준보다_짧은_값은_그대로_저장() {
+        String shortText = "짧은 카드 답변";
+        assertThat(converter.convertToDatabaseColumn(shortText)).isEqualTo(shortText);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void 긴_본문은_압축되고_원문으로_복원() {
+        String note = "## 영단어 정리\n- apple: 사과\n- banana: 바나나\n".repeat(200);
+
+        String stored = converter.convertToDatabaseColumn(note);
+
+        assertThat(CompressedTextConverter.isCompressed(stored)).isTrue();
+        assertThat(stored.getBytes(StandardCharsets.UTF_8).length)
+                .isLessThan(note.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(note);
+    }
+
+    @Test
+    void 압축해도_줄지_않는_값은_원문_그대로() {
+        // 무작위 바이트를 Base64로 만든 값은 Deflate + Base64로 다시 줄일 수 없음
+        byte[] random = new byte[4096];
+        new Random(7).nextBytes(random);
+        String incompressible = java.util.Base64.getEncoder().encodeToString(random);
+
+        assertThat(converter.convertToDatabaseColumn(incompressible)).isEqualTo(incompressible);
+    }
+
+    @Test
+    void 압축_전에_저장된_값은_그대로_읽힘() {
+        String legacy = "압축 컨버터 적용 전에 저장된 본문 ".repeat(200);
+        assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo(legacy);
+    }
+
+    @Test
+    void 헤더만_같고_형식이_틀린_값은_원문으로_취급() {
+        String broken = CompressedTextConverter.HEADER + "not-base64!!";
+        assertThat(converter.convertToEntityAttribute(broken)).isEqualTo(broken);
+    }
+}
@@ -0,0 +1,69 @@
+package com.cooltomato.pomki.link.service;
+
+import com.cooltomato.pomki.link.entity.LinkNodeType;
+import com.cooltomato.pomki.link.service.WikiLinkParser.ParsedLink;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WikiLinkParserTest {
+
+    @Test
+    void 제목_링크와_표시_이름() {
+        Set<ParsedLink> links = WikiLinkParser.parse("앞 [[자료구조]] 중간 [[ 알고리즘 |보여줄 이름]] 끝");
+
+        assertThat(List.copyOf(links)).isEqualTo(List.of(
+                new ParsedLink(LinkNodeType.NOTE, "자료구조", false),
+                new ParsedLink(LinkNodeType.NOTE, "알고리즘", false)));
+    }
+
+    @Test
+    void ID_링크는_접두어_대소문자를_가리지_않는다() {
+        Set<ParsedLink> links = WikiLinkParser.parse("[[note: abc-123 ]] [[CARD:42]]");
+
+        assertThat(List.copyOf(links)).isEqualTo(List.of(
+                new ParsedLink(LinkNodeType.NOTE, "abc-123", true),
+                new ParsedLink(LinkNodeType.CARD, "42", true)));
+    }
+
+    @Test
+    void 숫자가_아닌_카드_ID는_무시() {
+        assertThat(WikiLinkParser.parse("[[card:abc]] [[card:]] [[card:1234567890123456789]]").isEmpty()).isTrue();
+    }
+
+    @Test
+    void 빈_링크와_줄바꿈이_든_링크는_무시() {
+        assertThat(WikiLinkParser.parse("[[]] [[   ]] [[첫 줄\n둘째 줄]] [[|이름만]]").isEmpty()).isTrue();
+    }
+
+    @Test
+    void 중첩_괄호는_안쪽_링크만_인식() {
+        Set<ParsedLink> links = WikiLinkParser.parse("[[바깥 [[안쪽]] 끝]]");
+
+        assertThat(List.copyOf(links)).isEqualTo(List.of(new ParsedLink(LinkNodeType.NOTE, "안쪽", false)));
+    }
+
+    @Test
+    void 여러_본문의_같은_링크는_한_번만() {
+        Set<ParsedLink> links = WikiLinkParser.parse("질문 [[운영체제]]", null, "답 [[운영체제]] [[운영체제|OS]]");
+
+        assertThat(List.copyOf(links)).isEqualTo(List.of(new ParsedLink(LinkNodeType.NOTE, "운영체제", false)));
+    }
+
+    @Test
+    void 링크가_없으면_빈_결과() {
+        assertThat(WikiLinkParser.parse("대괄호 [하나] 뿐인 본문", "").isEmpty()).isTrue();
+    }
+
+    @Test
+    void 제목은_255자까지만_인식() {
+        String longTitle = "가".repeat(256);
+
+        assertThat(WikiLinkParser.parse("[[" + longTitle + "]]").isEmpty()).isTrue();
+        assertThat(WikiLinkParser.parse("[[" + longTitle.substring(1) + "]]").size()).isEqualTo(1);
+    }
+}
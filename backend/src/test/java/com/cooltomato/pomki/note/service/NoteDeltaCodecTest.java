@@ -0,0 +1,105 @@
+package com.cooltomato.pomki.note.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoteDeltaCodecTest {
+
+    @Test
+    void 빈_본문끼리_왕복() {
+        assertRoundTrip("", "");
+    }
+
+    @Test
+    void 빈_본문에서_새_본문으로() {
+        assertRoundTrip("", "처음 작성한 노트 본문입니다.");
+    }
+
+    @Test
+    void 본문을_모두_지우기() {
+        assertRoundTrip("지워질 노트 본문입니다. 충분히 길게 써서 블록 단위 색인이 생기도록 합니다.", "");
+    }
+
+    @Test
+    void 같은_본문은_복사_명령만_남는다() {
+        String content = "변하지 않는 노트 본문입니다. ".repeat(50);
+        byte[] base = bytes(content);
+
+        byte[] delta = NoteDeltaCodec.diff(base, base);
+
+        assertThat(NoteDeltaCodec.apply(base, delta)).isEqualTo(base);
+        assertThat(delta.length).isLessThan(16);
+    }
+
+    @Test
+    void 겹치는_부분이_없는_본문() {
+        assertRoundTrip("abcdefghijklmnopqrstuvwxyz0123456789".repeat(4), "완전히 다른 한국어 본문으로 바뀌었습니다. ".repeat(4));
+    }
+
+    @Test
+    void 멀티바이트_UTF8_중간_수정() {
+        String base = "가나다라마바사아자차카타파하 ".repeat(20) + "🍅 뽀모도로 25분 ".repeat(10);
+        String target = base.substring(0, 100) + "새로 넣은 문장 🍅🍅" + base.substring(120);
+        assertRoundTrip(base, target);
+    }
+
+    @Test
+    void 여러_델타를_차례로_적용() {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder("단어장 정리 노트입니다. ".repeat(40));
+        List<byte[]> versions = new ArrayList<>();
+        List<byte[]> deltas = new ArrayList<>();
+        versions.add(bytes(content.toString()));
+
+        for (int i = 0; i < 30; i++) {
+            int position = random.nextInt(content.length());
+            if (random.nextBoolean()) {
+                content.insert(position, "추가" + i + " 🍅");
+            } else {
+                content.delete(position, Math.min(content.length(), position + random.nextInt(20)));
+            }
+            byte[] previous = versions.get(versions.size() - 1);
+            byte[] next = bytes(content.toString());
+            deltas.add(NoteDeltaCodec.compress(NoteDeltaCodec.diff(previous, next)));
+            versions.add(next);
+        }
+
+        byte[] restored = versions.get(0);
+        for (int i = 0; i < deltas.size(); i++) {
+            restored = NoteDeltaCodec.apply(restored, NoteDeltaCodec.decompress(deltas.get(i)));
+            assertThat(NoteDeltaCodec.checksum(restored)).isEqualTo(NoteDeltaCodec.checksum(versions.get(i + 1)));
+        }
+        assertThat(restored).isEqualTo(versions.get(versions.size() - 1));
+    }
+
+    @Test
+    void 압축_왕복() {
+        byte[] raw = bytes("압축 왕복 확인용 본문 ".repeat(100));
+        assertThat(NoteDeltaCodec.decompress(NoteDeltaCodec.compress(raw))).isEqualTo(raw);
+        assertThat(NoteDeltaCodec.decompress(NoteDeltaCodec.compress(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void 같은_길이의_다른_본문은_체크섬이_다르다() {
+        assertThat(NoteDeltaCodec.checksum(bytes("노트 본문 A")))
+                .isNotEqualTo(NoteDeltaCodec.checksum(bytes("노트 본문 B")));
+    }
+
+    private static void assertRoundTrip(String base, String target) {
+        byte[] baseBytes = bytes(base);
+        byte[] targetBytes = bytes(target);
+        byte[] delta = NoteDeltaCodec.compress(NoteDeltaCodec.diff(baseBytes, targetBytes));
+        byte[] restored = NoteDeltaCodec.apply(baseBytes, NoteDeltaCodec.decompress(delta));
+        assertThat(new String(restored, StandardCharsets.UTF_8)).isEqualTo(target);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.cooltomato.pomki.tag.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagBitmapIndexTest {
+
+  @Test
+  void 태그_검색식으로_항목_조회() {
+    TagBitmapIndex<Long> index = indexOf(1L, 2L, 3L) ;
+    index.addTag(1L, "grammar") ;
+    index.addTag(2L, "grammar") ;
+    index.addTag(2L, "easy") ;
+
+    assertThat(index.query(TagQuery.parse("grammar AND NOT easy"))).isEqualTo(List.of(1L)) ;
+    assertThat(index.query(TagQuery.parse("NOT grammar"))).isEqualTo(List.of(3L)) ;
+  }
+
+  @Test
+  void 삭제된_항목은_NOT_결과에도_나오지_않는다() {
+    TagBitmapIndex<Long> index = indexOf(1L, 2L, 3L) ;
+    index.addTag(1L, "grammar") ;
+    index.removeItem(3L) ;
+
+    assertThat(index.query(TagQuery.parse("NOT grammar"))).isEqualTo(List.of(2L)) ;
+  }
+
+  @Test
+  void 반납된_순번은_새_항목에_다시_배정되고_옛_태그가_남지_않는다() {
+    TagBitmapIndex<Long> index = indexOf(1L, 2L) ;
+    index.addTag(1L, "old") ;
+    index.addTag(2L, "keep") ;
+    index.removeItem(1L) ;
+
+    // 1번의 순번(0)을 이어받은 99번이 앞에 오고, 1번의 태그는 물려받지 않음
+    index.addItem(99L) ;
+    assertThat(index.query(TagQuery.parse("NOT keep"))).isEqualTo(List.of(99L)) ;
+    assertThat(index.query(TagQuery.parse("old"))).isEqualTo(List.of()) ;
+
+    index.addTag(99L, "new") ;
+    index.addItem(100L) ;
+    assertThat(index.query(TagQuery.parse("new OR keep"))).isEqualTo(List.of(99L, 2L)) ;
+    assertThat(index.query(TagQuery.parse("NOT new"))).isEqualTo(List.of(2L, 100L)) ;
+  }
+
+  @Test
+  void 태그_연결_해제() {
+    TagBitmapIndex<String> index = new TagBitmapIndex<>() ;
+    index.addItem("note-1") ;
+    index.addTag("note-1", "java") ;
+    index.removeTag("note-1", "java") ;
+    index.removeTag("note-1", "없는태그") ;
+    index.removeTag("없는노트", "java") ;
+
+    assertThat(index.query(TagQuery.parse("java"))).isEqualTo(List.of()) ;
+    assertThat(index.query(TagQuery.parse("NOT java"))).isEqualTo(List.of("note-1")) ;
+  }
+
+  @Test
+  void 추가되지_않은_항목에_붙은_태그는_결과에서_제외() {
+    TagBitmapIndex<Long> index = indexOf(1L) ;
+    index.addTag(1L, "java") ;
+    index.addTag(2L, "java") ;
+
+    assertThat(index.query(TagQuery.parse("java"))).isEqualTo(List.of(1L)) ;
+  }
+
+  private static TagBitmapIndex<Long> indexOf(Long... keys) {
+    TagBitmapIndex<Long> index = new TagBitmapIndex<>() ;
+    for (Long key : keys) {
+      index.addItem(key) ;
+    }
+    return index ;
+  }
+}
@@ -0,0 +1,80 @@
+package com.cooltomato.pomki.tag.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TagQueryTest {
+
+  // 항목 0~6, 태그별 항목 번호
+  private static final Map<String, BitSet> BITMAPS = Map.of(
+          "a", bits(0, 1, 2),
+          "b", bits(1, 3),
+          "c", bits(2, 3, 4),
+          "AND", bits(5),
+          "voca list", bits(6)) ;
+  private static final BitSet UNIVERSE = bits(0, 1, 2, 3, 4, 5, 6) ;
+
+  @Test
+  void AND가_OR보다_먼저_묶인다() {
+    assertThat(evaluate("a OR b AND c")).isEqualTo(bits(0, 1, 2, 3)) ;
+    assertThat(evaluate("(a OR b) AND c")).isEqualTo(bits(2, 3)) ;
+  }
+
+  @Test
+  void NOT이_AND보다_먼저_묶인다() {
+    assertThat(evaluate("NOT a AND b")).isEqualTo(bits(3)) ;
+    assertThat(evaluate("NOT (a AND b)")).isEqualTo(bits(0, 2, 3, 4, 5, 6)) ;
+    assertThat(evaluate("NOT NOT a")).isEqualTo(bits(0, 1, 2)) ;
+  }
+
+  @Test
+  void NOT은_전체_항목_기준으로_계산() {
+    BitSet universe = bits(0, 1, 2, 3) ;
+
+    assertThat(TagQuery.parse("NOT a").evaluate(TagQueryTest::bitmap, universe)).isEqualTo(bits(3)) ;
+  }
+
+  @Test
+  void 연산자는_대소문자를_가리지_않는다() {
+    assertThat(evaluate("a and not b or c")).isEqualTo(bits(0, 2, 3, 4)) ;
+  }
+
+  @Test
+  void 따옴표로_감싼_태그는_연산자로_보지_않는다() {
+    assertThat(evaluate("\"AND\" OR \"voca list\"")).isEqualTo(bits(5, 6)) ;
+  }
+
+  @Test
+  void 없는_태그는_빈_결과() {
+    assertThat(evaluate("없는태그 OR b")).isEqualTo(bits(1, 3)) ;
+  }
+
+  @Test
+  void 잘못된_검색식은_예외() {
+    for (String expression : new String[] {"", "  ", "a AND", "(a OR b", "a b", "OR a", "a )", "\"voca list", "()"}) {
+      assertThatThrownBy(() -> TagQuery.parse(expression)).isInstanceOf(IllegalArgumentException.class) ;
+    }
+  }
+
+  private static BitSet evaluate(String expression) {
+    return TagQuery.parse(expression).evaluate(TagQueryTest::bitmap, (BitSet) UNIVERSE.clone()) ;
+  }
+
+  private static BitSet bitmap(String tagName) {
+    BitSet bitmap = BITMAPS.get(tagName) ;
+    return bitmap == null ? new BitSet() : (BitSet) bitmap.clone() ;
+  }
+
+  private static BitSet bits(int... indexes) {
+    BitSet bits = new BitSet() ;
+    for (int index : indexes) {
+      bits.set(index) ;
+    }
+    return bits ;
+  }
+}